@@ -20,10 +20,18 @@ public class InventoryKeys {
 
   public static final Map<String, String> fieldDelimiters = new HashMap<>();
 
+  /** The characters of the field delimiters, for readers that do not split on a regex. */
+  public static final Map<String, Character> fieldDelimiterCharacters = new HashMap<>();
+
   static {
     fieldDelimiters.put("comma", ",");
     fieldDelimiters.put("horizontal_tab", "\\t");
     fieldDelimiters.put("semicolon", ";");
     fieldDelimiters.put("vertical_bar", "\\|");
+
+    fieldDelimiterCharacters.put("comma", ',');
+    fieldDelimiterCharacters.put("horizontal_tab", '\t');
+    fieldDelimiterCharacters.put("semicolon", ';');
+    fieldDelimiterCharacters.put("vertical_bar", '|');
   }
 }
@@ -0,0 +1,284 @@
+// Copyright 2006-2017, by the California Institute of Technology.
+// ALL RIGHTS RESERVED. United States Government Sponsorship acknowledged.
+// Any commercial use must be negotiated with the Office of Technology Transfer
+// at the California Institute of Technology.
+//
+// This software is subject to U. S. export control laws and regulations
+// (22 C.F.R. 120-130 and 15 C.F.R. 730-774). To the extent that the software
+// is subject to U.S. export control laws and regulations, the recipient has
+// the responsibility to obtain export licenses or other export authority as
+// may be required before exporting such information to foreign countries or
+// providing access to foreign nationals.
+//
+// $Id$
+package gov.nasa.pds.tools.inventory.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams the records of a delimited inventory table one line at a time without decoding the
+ * whole line: the bytes of each line are copied into a reused buffer, the field boundaries are
+ * located by scanning for the delimiter byte, and only the fields asked for are turned into
+ * strings.
+ *
+ * <p>
+ * Local data files larger than {@link #MAP_THRESHOLD} are read through memory-mapped windows of
+ * the file, so inventories of several gigabytes are read without copying them through a stream
+ * buffer. Other data files are read through a channel on the URL stream.
+ * </p>
+ *
+ * <p>
+ * Field numbering follows {@link String#split(String)} on the line, which the reader used before:
+ * trailing empty fields do not exist.
+ * </p>
+ */
+public class InventoryRecordScanner implements Closeable {
+  /** Local files at least this large are memory mapped. */
+  static final long MAP_THRESHOLD = 8L * 1024 * 1024;
+
+  /** Size of each mapped window. */
+  private static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  /** Strings for single ASCII characters, such as the P and S member status values. */
+  private static final String[] SINGLE_CHARACTERS = new String[128];
+
+  static {
+    for (int i = 0; i < SINGLE_CHARACTERS.length; i++) {
+      SINGLE_CHARACTERS[i] = String.valueOf((char) i).intern();
+    }
+  }
+
+  private final byte fieldDelimiter;
+
+  private final ReadableByteChannel channel;
+
+  /** The mapped file, or null if the data file is read as a stream. */
+  private final FileChannel fileChannel;
+
+  private long mappedPosition = 0;
+
+  private ByteBuffer buffer;
+
+  private boolean endOfInput = false;
+
+  /** Set when a line ended with a carriage return, to skip a following line feed. */
+  private boolean skipLineFeed = false;
+
+  private byte[] line = new byte[256];
+
+  private int lineLength = 0;
+
+  private int[] starts = new int[8];
+
+  private int[] ends = new int[8];
+
+  private int fieldCount = 0;
+
+  private long lineNumber = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile The inventory data file.
+   * @param fieldDelimiter The character separating the fields.
+   *
+   * @throws IOException If the data file cannot be opened.
+   */
+  public InventoryRecordScanner(URL dataFile, char fieldDelimiter) throws IOException {
+    this.fieldDelimiter = (byte) fieldDelimiter;
+    Path path = toPath(dataFile);
+    if (path != null && path.toFile().length() >= MAP_THRESHOLD) {
+      this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+      this.channel = this.fileChannel;
+      this.buffer = ByteBuffer.allocate(0);
+    } else {
+      this.fileChannel = null;
+      this.channel = Channels.newChannel(dataFile.openStream());
+      this.buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+      this.buffer.flip();
+    }
+  }
+
+  private static Path toPath(URL url) {
+    if (!"file".equalsIgnoreCase(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return Paths.get(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads the next line.
+   *
+   * @return false if the end of the file was reached.
+   *
+   * @throws IOException If the data file cannot be read.
+   */
+  public boolean next() throws IOException {
+    this.lineLength = 0;
+    this.fieldCount = 0;
+    boolean read = false;
+    while (true) {
+      if (!this.buffer.hasRemaining() && !fill()) {
+        break;
+      }
+      byte b = this.buffer.get();
+      if (this.skipLineFeed) {
+        this.skipLineFeed = false;
+        if (b == '\n') {
+          continue;
+        }
+      }
+      read = true;
+      if (b == '\n') {
+        break;
+      }
+      if (b == '\r') {
+        this.skipLineFeed = true;
+        break;
+      }
+      if (this.lineLength == this.line.length) {
+        this.line = Arrays.copyOf(this.line, this.lineLength * 2);
+      }
+      this.line[this.lineLength++] = b;
+    }
+    if (!read) {
+      return false;
+    }
+    this.lineNumber++;
+    split();
+    return true;
+  }
+
+  private boolean fill() throws IOException {
+    if (this.endOfInput) {
+      return false;
+    }
+    if (this.fileChannel != null) {
+      long remaining = this.fileChannel.size() - this.mappedPosition;
+      if (remaining <= 0) {
+        this.endOfInput = true;
+        return false;
+      }
+      long size = Math.min(MAP_WINDOW, remaining);
+      this.buffer =
+          this.fileChannel.map(FileChannel.MapMode.READ_ONLY, this.mappedPosition, size);
+      this.mappedPosition += size;
+      return true;
+    }
+    this.buffer.clear();
+    int count = 0;
+    while (count == 0) {
+      count = this.channel.read(this.buffer);
+    }
+    this.buffer.flip();
+    if (count < 0) {
+      this.endOfInput = true;
+      return false;
+    }
+    return true;
+  }
+
+  private void split() {
+    int fieldStart = 0;
+    int lastNonEmpty = 0;
+    for (int i = 0; i <= this.lineLength; i++) {
+      if (i == this.lineLength || this.line[i] == this.fieldDelimiter) {
+        if (this.fieldCount == this.starts.length) {
+          this.starts = Arrays.copyOf(this.starts, this.fieldCount * 2);
+          this.ends = Arrays.copyOf(this.ends, this.fieldCount * 2);
+        }
+        this.starts[this.fieldCount] = fieldStart;
+        this.ends[this.fieldCount] = i;
+        this.fieldCount++;
+        if (i > fieldStart) {
+          lastNonEmpty = this.fieldCount;
+        }
+        fieldStart = i + 1;
+      }
+    }
+    // Like String.split(), drop the trailing empty fields; an empty line has one empty field.
+    this.fieldCount = this.lineLength == 0 ? 1 : lastNonEmpty;
+  }
+
+  /**
+   * @return true if the line read last only contains white space.
+   */
+  public boolean isBlank() {
+    for (int i = 0; i < this.lineLength; i++) {
+      if ((this.line[i] & 0xff) > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of fields in the line read last.
+   */
+  public int getFieldCount() {
+    return this.fieldCount;
+  }
+
+  /**
+   * Gets a field of the line read last, without its leading and trailing white space.
+   *
+   * @param fieldNumber The 1-based field number.
+   * @return The value, or null if the line has fewer fields.
+   */
+  public String getField(int fieldNumber) {
+    if (fieldNumber < 1 || fieldNumber > this.fieldCount) {
+      return null;
+    }
+    int start = this.starts[fieldNumber - 1];
+    int end = this.ends[fieldNumber - 1];
+    while (start < end && (this.line[start] & 0xff) <= ' ') {
+      start++;
+    }
+    while (end > start && (this.line[end - 1] & 0xff) <= ' ') {
+      end--;
+    }
+    if (end - start == 1 && this.line[start] >= 0) {
+      return SINGLE_CHARACTERS[this.line[start]];
+    }
+    return new String(this.line, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the line read last, for messages.
+   */
+  public String getLine() {
+    return new String(this.line, 0, this.lineLength, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the number of lines read so far.
+   */
+  public long getLineNumber() {
+    return this.lineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.buffer = ByteBuffer.allocate(0);
+    this.endOfInput = true;
+    this.channel.close();
+  }
+}
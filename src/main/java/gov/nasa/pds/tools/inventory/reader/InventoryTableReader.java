@@ -13,10 +13,7 @@
 // $Id: InventoryTableReader.java 10921 2012-09-10 22:11:40Z mcayanan $
 package gov.nasa.pds.tools.inventory.reader;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -36,11 +33,11 @@ public class InventoryTableReader implements InventoryReader {
   /** The field location of the member status. */
   private int memberStatusFieldNumber;
 
-  /** The field delimiter being used in the inventory table. */
+  /** The field delimiter being used in the inventory table, as a regular expression. */
   private String fieldDelimiter;
 
   /** Reads the external data file of the Inventory file. */
-  private LineNumberReader reader;
+  private InventoryRecordScanner scanner;
 
   /** The directory path of the inventory file. */
   private URL parent;
@@ -100,8 +97,6 @@ public class InventoryTableReader implements InventoryReader {
       dataFile = new URL(parent, dataFileName);
 
       this.numRecords = Long.parseLong(extractor.getValueFromDoc("//Inventory/records"));
-      reader =
-          new LineNumberReader(new BufferedReader(new InputStreamReader(dataFile.openStream())));
       String value = "";
       // Extract the field numbers defined in the inventory table section
       // in order to determine the metadata in the data file.
@@ -126,6 +121,8 @@ public class InventoryTableReader implements InventoryReader {
       if (fieldDelimiter == null) {
         throw new Exception("Field delimiter value is not a valid value: " + value);
       }
+      scanner = new InventoryRecordScanner(dataFile,
+          InventoryKeys.fieldDelimiterCharacters.get(value.toLowerCase()));
     } catch (Exception e) {
       throw new InventoryReaderException(e);
     }
@@ -146,7 +143,7 @@ public class InventoryTableReader implements InventoryReader {
    * @return the line number.
    */
   public int getLineNumber() {
-    return reader.getLineNumber();
+    return (int) scanner.getLineNumber();
   }
 
   /**
@@ -168,14 +165,12 @@ public class InventoryTableReader implements InventoryReader {
    */
   @Override
   public InventoryEntry getNext() throws InventoryReaderException {
-    String line = "";
     try {
-      line = reader.readLine();
-      if (line == null) {
-        reader.close();
+      if (!scanner.next()) {
+        scanner.close();
         return null;
       }
-      if (line.trim().equals("")) {
+      if (scanner.isBlank()) {
         return new InventoryEntry();
       }
     } catch (IOException i) {
@@ -186,26 +181,23 @@ public class InventoryTableReader implements InventoryReader {
     }
     String identifier = "";
     String memberStatus = "";
-    String fields[] = line.split(fieldDelimiter);
     if (memberStatusFieldNumber != 0) {
-      try {
-        memberStatus = fields[memberStatusFieldNumber - 1].trim();
-      } catch (IndexOutOfBoundsException ae) {
+      memberStatus = scanner.getField(memberStatusFieldNumber);
+      if (memberStatus == null) {
         InventoryReaderException ir = new InventoryReaderException(new IndexOutOfBoundsException(
             "Could not retrieve the member " + "status after parsing the line in the file '"
-                + dataFile + "': " + Arrays.asList(fields)));
-        ir.setLineNumber(reader.getLineNumber());
+                + dataFile + "': " + Arrays.asList(scanner.getLine().split(fieldDelimiter))));
+        ir.setLineNumber(getLineNumber());
         throw ir;
       }
     }
     if (identifierFieldNumber != 0) {
-      try {
-        identifier = fields[identifierFieldNumber - 1].trim();
-      } catch (IndexOutOfBoundsException ae) {
+      identifier = scanner.getField(identifierFieldNumber);
+      if (identifier == null) {
         InventoryReaderException ir = new InventoryReaderException(new IndexOutOfBoundsException(
             "Could not retrieve the " + "LIDVID-LID value after parsing the line in the file '"
-                + dataFile + "': " + Arrays.asList(fields)));
-        ir.setLineNumber(reader.getLineNumber());
+                + dataFile + "': " + Arrays.asList(scanner.getLine().split(fieldDelimiter))));
+        ir.setLineNumber(getLineNumber());
         throw ir;
       }
     }
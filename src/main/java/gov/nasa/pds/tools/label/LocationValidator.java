@@ -31,8 +31,9 @@ import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import gov.nasa.pds.tools.label.validate.DocumentValidator;
-import gov.nasa.pds.tools.util.ContextProductReference;
+import gov.nasa.pds.tools.util.ContextProductIndex;
 import gov.nasa.pds.tools.util.FileFinder;
+import gov.nasa.pds.tools.util.LocationKey;
 import gov.nasa.pds.tools.util.SettingsManager;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.validate.BundleManager;
@@ -46,12 +47,14 @@ import gov.nasa.pds.tools.validate.TargetRegistrar;
 import gov.nasa.pds.tools.validate.ValidateProblemHandler;
 import gov.nasa.pds.tools.validate.ValidationProblem;
 import gov.nasa.pds.tools.validate.ValidationResourceManager;
+import gov.nasa.pds.tools.validate.content.SpotCheckPolicy;
 import gov.nasa.pds.tools.validate.crawler.Crawler;
 import gov.nasa.pds.tools.validate.crawler.CrawlerFactory;
 import gov.nasa.pds.tools.validate.rule.RuleContext;
 import gov.nasa.pds.tools.validate.rule.ValidationRule;
 import gov.nasa.pds.tools.validate.rule.ValidationRuleManager;
 import gov.nasa.pds.tools.validate.task.BlockingTaskManager;
+import gov.nasa.pds.tools.validate.task.CancellationToken;
 import gov.nasa.pds.tools.validate.task.TaskManager;
 import gov.nasa.pds.tools.validate.task.ValidationTask;
 import gov.nasa.pds.validate.report.Report;
@@ -68,6 +71,7 @@ public class LocationValidator {
   private SettingsManager settingsManager;
   private ValidationRuleManager ruleManager;
   private TaskManager taskManager;
+  private CancellationToken cancellationToken = new CancellationToken();
   private LabelValidator labelValidator;
   private RuleContext ruleContext;
   private String validationRule;
@@ -174,6 +178,11 @@ public class LocationValidator {
       return;
     }
 
+    if (cancellationToken.isCancelled()) {
+      LOG.info("Validation canceled, skipping {}", url);
+      return;
+    }
+
     ProblemListener listener = new ListenerExceptionPropagator(problemHandler);
 
     if (!Utility.isDir(url) && !Utility.canRead(url)) {
@@ -204,9 +213,9 @@ public class LocationValidator {
       // check to see if target is a bundle type and attempt to process the bundle
       // product.
       if (!rule.isApplicable(location)) {
-        LOG.debug("url,TargetExaminer.isTargetBundleType(url) {},{}", url,
-            TargetExaminer.isTargetBundleType(url));
-        if (TargetExaminer.isTargetBundleType(url)) {
+        boolean targetIsBundle = TargetExaminer.isTargetBundleType(url);
+        LOG.debug("url,TargetExaminer.isTargetBundleType(url) {},{}", url, targetIsBundle);
+        if (targetIsBundle) {
           // If the target is a bundle, the exception can now be made.
           // Make the following changes:
           // 1. Change the location from a file into a directory.
@@ -271,6 +280,7 @@ public class LocationValidator {
       task.setLocation(location);
       task.setRule(rule);
       task.setRuleManager(ruleManager);
+      task.setCancellationToken(cancellationToken);
       Crawler crawler = CrawlerFactory.newInstance(url);
       // Set filter so the crawler will ignore other bundle/collection files that are
       // not latest.
@@ -281,7 +291,12 @@ public class LocationValidator {
 
       LOG.debug("validate:Submitting task to taskManager location {} rule {} ", location,
           rule.getCaption());
-      taskManager.submit(task);
+      try {
+        taskManager.submit(task);
+      } finally {
+        // The task is complete once submit returns; drop what the manager kept for it.
+        taskManager.remove(task);
+      }
       LOG.debug("validate:Returning from task to taskManager location {} rule {} ", location,
           rule.getCaption());
     }
@@ -314,6 +329,24 @@ public class LocationValidator {
     this.taskManager = manager;
   }
 
+  /**
+   * Gets the token that stops the validations run by this validator early.
+   * 
+   * @return the cancellation token
+   */
+  public CancellationToken getCancellationToken() {
+    return this.cancellationToken;
+  }
+
+  /**
+   * Sets the token that stops the validations run by this validator early.
+   * 
+   * @param token the cancellation token
+   */
+  public void setCancellationToken(CancellationToken token) {
+    this.cancellationToken = token;
+  }
+
   private ValidationRule getRule(URL location) {
     String validationType = settingsManager.getString(ValidationSettings.VALIDATION_RULE, null);
     if (validationRule != null) {
@@ -399,7 +432,7 @@ public class LocationValidator {
     ruleContext.setRecursive(traverse);
   }
 
-  public void setChecksumManifest(Map<URL, String> checksums) {
+  public void setChecksumManifest(Map<LocationKey, String> checksums) {
     ruleContext.setChecksumManifest(checksums);
   }
 
@@ -407,7 +440,7 @@ public class LocationValidator {
     ruleContext.setCheckData(flag);
   }
 
-  public void setRegisteredProducts(Map<String, List<ContextProductReference>> products) {
+  public void setRegisteredProducts(ContextProductIndex products) {
     ruleContext.setRegisteredProducts(products);
   }
 
@@ -433,6 +466,10 @@ public class LocationValidator {
     ruleContext.setSpotCheckData(value);
   }
 
+  public void setSpotCheckPolicy(SpotCheckPolicy policy) {
+    ruleContext.setSpotCheckPolicy(policy);
+  }
+
   public void setAllowUnlabeledFiles(boolean flag) {
     ruleContext.setAllowUnlabeledFiles(flag);
   }
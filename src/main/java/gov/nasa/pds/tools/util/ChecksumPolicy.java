@@ -0,0 +1,60 @@
+package gov.nasa.pds.tools.util;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Decides up front which files actually need an MD5 digest. A digest is only computed when there
+ * is something to compare it against: an entry in the checksum manifest or an md5_checksum value
+ * supplied in the product label.
+ */
+public class ChecksumPolicy {
+  /** The checksum manifest, possibly empty. */
+  private final Map<LocationKey, String> manifest;
+
+  /**
+   * Constructor.
+   *
+   * @param manifest The checksum manifest. A null value is treated as an empty manifest.
+   */
+  public ChecksumPolicy(Map<LocationKey, String> manifest) {
+    if (manifest == null) {
+      this.manifest = Collections.emptyMap();
+    } else {
+      this.manifest = manifest;
+    }
+  }
+
+  /**
+   * @return true if a checksum manifest was supplied for this run.
+   */
+  public boolean hasManifest() {
+    return !this.manifest.isEmpty();
+  }
+
+  /**
+   * Gets the checksum recorded in the manifest for the given file.
+   *
+   * @param urlRef The file.
+   * @return The supplied checksum or null if the manifest has no entry for the file.
+   */
+  public String getManifestChecksum(URL urlRef) {
+    return this.manifest.get(LocationKey.of(urlRef));
+  }
+
+  /**
+   * Determines whether the given file needs its checksum computed.
+   *
+   * @param urlRef The file.
+   * @param checksumInLabel The md5_checksum value from the label, or null if none applies (as is
+   *        the case for the label itself and its xincludes).
+   * @return true if either the manifest or the label supplies a value to compare against.
+   */
+  public boolean needsChecksum(URL urlRef, String checksumInLabel) {
+    if (checksumInLabel != null && !checksumInLabel.isEmpty()) {
+      return true;
+    }
+    return this.manifest.containsKey(LocationKey.of(urlRef));
+  }
+}
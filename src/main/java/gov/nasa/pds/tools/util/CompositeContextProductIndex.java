@@ -0,0 +1,46 @@
+package gov.nasa.pds.tools.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combines several context product indexes, for example the registered products and the
+ * non-registered products supplied on the command line. Indexes are searched in the order given,
+ * which preserves the load order across the combined products.
+ */
+public class CompositeContextProductIndex implements ContextProductIndex {
+  private final List<ContextProductIndex> indexes;
+
+  public CompositeContextProductIndex(List<ContextProductIndex> indexes) {
+    this.indexes = new ArrayList<>(indexes);
+  }
+
+  @Override
+  public ContextProductReference find(ContextProductReference reference) {
+    for (ContextProductIndex index : this.indexes) {
+      ContextProductReference product = index.find(reference);
+      if (product != null) {
+        return product;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<ContextProductReference> getByLid(ContextProductReference reference) {
+    List<ContextProductReference> products = new ArrayList<>();
+    for (ContextProductIndex index : this.indexes) {
+      products.addAll(index.getByLid(reference));
+    }
+    return products;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (ContextProductIndex index : this.indexes) {
+      size += index.size();
+    }
+    return size;
+  }
+}
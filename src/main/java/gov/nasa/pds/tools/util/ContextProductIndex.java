@@ -0,0 +1,47 @@
+package gov.nasa.pds.tools.util;
+
+import java.util.List;
+
+/**
+ * Defines an index of the registered (and non-registered) context products, keyed by LID and by
+ * LIDVID. An index is loaded once per run and shared by every target being validated.
+ *
+ * <p>
+ * Lookups follow the matching rules of {@link ContextProductReference#equals(Object)}: the LID is
+ * compared case insensitive and the version, when the reference supplies one, must match exactly.
+ * When several products match, the first one in load order is returned.
+ * </p>
+ */
+public interface ContextProductIndex {
+
+  /**
+   * Finds the context product matching the given reference.
+   *
+   * @param reference The referenced LID or LIDVID.
+   * @return The matching context product or null if none was found.
+   */
+  ContextProductReference find(ContextProductReference reference);
+
+  /**
+   * Tests whether a context product matches the given reference.
+   *
+   * @param reference The referenced LID or LIDVID.
+   * @return true if a context product matches the given reference.
+   */
+  default boolean contains(ContextProductReference reference) {
+    return find(reference) != null;
+  }
+
+  /**
+   * Gets all the context products sharing the LID of the given reference, ignoring case.
+   *
+   * @param reference The referenced LID or LIDVID.
+   * @return The context products for that LID, in load order. Never null.
+   */
+  List<ContextProductReference> getByLid(ContextProductReference reference);
+
+  /**
+   * @return the number of context products in the index.
+   */
+  int size();
+}
@@ -13,7 +13,11 @@
 // $Id: LidVid.java 10921 2012-09-10 22:11:40Z mcayanan $
 package gov.nasa.pds.tools.util;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Class that represents the lidvid of a PDS4 data product.
@@ -38,6 +42,14 @@ public class ContextProductReference {
   /** Flag to indicate if a version exists. */
   private boolean hasVersion;
 
+  /** The context types and their lower case forms, for constant time lookups. */
+  private Set<String> typeSet;
+  private Set<String> lowerTypeSet;
+
+  /** The context names and their lower case forms, for constant time lookups. */
+  private Set<String> nameSet;
+  private Set<String> lowerNameSet;
+
   public ContextProductReference(String lid) {
     this(lid, null, null, null);
   }
@@ -46,8 +58,8 @@ public class ContextProductReference {
       List<String> names) {
     this.lid = lid;
     this.version = version;
-    this.types = types;
-    this.names = names;
+    setTypes(types);
+    setName(names);
     if (this.version == null) {
       hasVersion = false;
     } else {
@@ -83,10 +95,41 @@ public class ContextProductReference {
 
   public void setTypes(List<String> types) {
     this.types = types;
+    this.typeSet = toSet(types, false);
+    this.lowerTypeSet = toSet(types, true);
   }
 
   public void setName(List<String> names) {
     this.names = names;
+    this.nameSet = toSet(names, false);
+    this.lowerNameSet = toSet(names, true);
+  }
+
+  public boolean hasName(String name) {
+    return this.nameSet.contains(name);
+  }
+
+  public boolean hasNameIgnoreCase(String name) {
+    return this.lowerNameSet.contains(name.toLowerCase(Locale.ROOT));
+  }
+
+  public boolean hasType(String type) {
+    return this.typeSet.contains(type);
+  }
+
+  public boolean hasTypeIgnoreCase(String type) {
+    return this.lowerTypeSet.contains(type.toLowerCase(Locale.ROOT));
+  }
+
+  private static Set<String> toSet(List<String> values, boolean lowerCase) {
+    if (values == null) {
+      return Collections.emptySet();
+    }
+    Set<String> set = new HashSet<>();
+    for (String value : values) {
+      set.add(lowerCase ? value.toLowerCase(Locale.ROOT) : value);
+    }
+    return set;
   }
 
   public boolean hasVersion() {
@@ -0,0 +1,101 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers whether referenced local files exist, and whether the case of their names matches the
+ * file system, from one listing of each parent directory.
+ *
+ * <p>
+ * Resolving the canonical path of every referenced file and opening it to prove that it exists
+ * costs a round trip each on network file systems. A directory is listed the first time one of its
+ * files is looked up, and its names are indexed both as they are and ignoring case. The listings of
+ * the {@link #MAX_DIRECTORIES} most recently used directories are kept.
+ * </p>
+ */
+public final class DirectoryListingCache {
+  static final int MAX_DIRECTORIES = 1024;
+
+  /** Outcome of a lookup. */
+  public enum Presence {
+    /** The file exists with the same case. */
+    EXACT,
+    /** The file exists, but the case of its name differs. */
+    CASE_MISMATCH,
+    /** The file does not exist. */
+    MISSING
+  }
+
+  private static final Map<String, Listing> LISTINGS =
+      new LinkedHashMap<String, Listing>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Listing> eldest) {
+          return size() > MAX_DIRECTORIES;
+        }
+      };
+
+  private DirectoryListingCache() {}
+
+  /**
+   * Looks up a local file.
+   *
+   * @param file The file, as referenced.
+   * @return Whether it exists, and with which case.
+   */
+  public static Presence lookup(File file) {
+    File absolute = file.toPath().toAbsolutePath().normalize().toFile();
+    File directory = absolute.getParentFile();
+    if (directory == null) {
+      return absolute.exists() ? Presence.EXACT : Presence.MISSING;
+    }
+    String name = absolute.getName();
+    Listing listing = getListing(directory);
+    if (listing.names.contains(name)) {
+      return Presence.EXACT;
+    }
+    if (listing.namesIgnoringCase.contains(name.toLowerCase(Locale.ROOT))) {
+      // On a case sensitive file system the reference does not resolve to the listed file.
+      return absolute.exists() ? Presence.CASE_MISMATCH : Presence.MISSING;
+    }
+    return Presence.MISSING;
+  }
+
+  private static Listing getListing(File directory) {
+    String key = directory.getPath();
+    synchronized (LISTINGS) {
+      Listing listing = LISTINGS.get(key);
+      if (listing != null) {
+        return listing;
+      }
+    }
+    Listing listing = new Listing(directory.list());
+    synchronized (LISTINGS) {
+      LISTINGS.put(key, listing);
+    }
+    return listing;
+  }
+
+  private static class Listing {
+    private final Set<String> names;
+    private final Set<String> namesIgnoringCase;
+
+    Listing(String[] entries) {
+      int capacity = entries == null ? 0 : entries.length * 2;
+      this.names = new HashSet<>(capacity);
+      this.namesIgnoringCase = new HashSet<>(capacity);
+      if (entries != null) {
+        for (String entry : entries) {
+          this.names.add(entry);
+          this.namesIgnoringCase.add(entry.toLowerCase(Locale.ROOT));
+        }
+      }
+    }
+  }
+}
@@ -1,14 +1,21 @@
 package gov.nasa.pds.tools.util;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import gov.nasa.pds.tools.util.FileHeader.Format;
 
 /**
  * A class that validate if a document file is valid based on the file name. This class relies on
  * the MimetypesFileTypeMap class to load a default MIME types file that maps a mime type to file
  * extensions. Come time to check for the correct mime type, this map will be used to check for the
  * user provided mime type against the mime type defined in the file.
+ *
+ * <p>
+ * The content of a document is checked as well, from the magic numbers of its {@link FileHeader}.
+ * </p>
  */
 
 public class DocumentsChecker {
@@ -48,4 +55,63 @@ public class DocumentsChecker {
         documentRef, documentStandardId, mimeTypeIsCorrectFlag);
     return (mimeTypeIsCorrectFlag);
   }
+
+  /**
+   * Given a document standard id, returns the formats whose magic numbers a document of that
+   * standard can start with.
+   *
+   * @param documentStandardId The document standard id as defined by the PDS Information Model
+   *        document.
+   * @return the formats, empty if the content of the standard cannot be checked.
+   */
+  public static EnumSet<Format> getExpectedFormats(String documentStandardId) {
+    String id = documentStandardId == null ? "" : documentStandardId.toUpperCase(Locale.ROOT);
+    if (id.startsWith("PDF")) {
+      return EnumSet.of(Format.PDF);
+    } else if (id.equals("JPEG")) {
+      return EnumSet.of(Format.JPEG);
+    } else if (id.equals("PNG")) {
+      return EnumSet.of(Format.PNG);
+    } else if (id.equals("GIF")) {
+      return EnumSet.of(Format.GIF);
+    } else if (id.equals("TIFF")) {
+      return EnumSet.of(Format.TIFF);
+    } else if (id.startsWith("HTML")) {
+      return EnumSet.of(Format.HTML, Format.XML);
+    } else if (id.contains("POSTSCRIPT")) {
+      // An encapsulated PostScript file is a PostScript file with a comment in its first line.
+      return EnumSet.of(Format.POSTSCRIPT, Format.ENCAPSULATED_POSTSCRIPT);
+    } else if (id.contains("WORD") || id.contains("EXCEL")) {
+      // Binary documents, or Office Open XML documents, which are zip files.
+      return EnumSet.of(Format.MS_COMPOUND_DOCUMENT, Format.ZIP);
+    } else if (id.startsWith("MPEG")) {
+      return EnumSet.of(Format.MP4);
+    } else if (id.equals("RICH TEXT")) {
+      return EnumSet.of(Format.RICH_TEXT);
+    } else if (id.endsWith(" TEXT")) {
+      // Plain text is not recognized, which is accepted, but it may be markup.
+      return EnumSet.of(Format.HTML, Format.XML);
+    }
+    return EnumSet.noneOf(Format.class);
+  }
+
+  /**
+   * Given the header of a document, check that its content does not belong to a format other
+   * than the ones of its document standard. Content that is not recognized, such as text, is
+   * accepted.
+   *
+   * @param header The header of the document.
+   * @param documentStandardId The document standard id as defined by the PDS Information Model
+   *        document.
+   * @return true if the content may be of that standard, false if it is of another known format.
+   */
+  public boolean isContentCorrect(FileHeader header, String documentStandardId) {
+    EnumSet<Format> expected = getExpectedFormats(documentStandardId);
+    Format format = header.getFormat();
+    boolean contentIsCorrectFlag =
+        expected.isEmpty() || format == Format.UNKNOWN || expected.contains(format);
+    LOG.debug("isContentCorrect:format,documentStandardId,contentIsCorrectFlag {},{},{}", format,
+        documentStandardId, contentIsCorrectFlag);
+    return (contentIsCorrectFlag);
+  }
 }
@@ -0,0 +1,291 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The first and last bytes of a file, with the format they identify.
+ *
+ * <p>
+ * The format checks only need the magic numbers at the start of a file (and, for JPEG, the marker
+ * at its end), so a header is read with a single open of the file, or collected while the file is
+ * read for another purpose such as its checksum. Headers are shared through
+ * {@link FileHeaderCache}.
+ * </p>
+ */
+public class FileHeader {
+  /** Number of bytes kept from the start of the file. */
+  public static final int HEAD_SIZE = 512;
+
+  /** Number of bytes kept from the end of the file. */
+  public static final int TAIL_SIZE = 16;
+
+  /** File formats recognized from their magic numbers. */
+  public enum Format {
+    PDF, JPEG, PNG, GIF, TIFF, ZIP, MS_COMPOUND_DOCUMENT, POSTSCRIPT, ENCAPSULATED_POSTSCRIPT, MP4,
+    RICH_TEXT, HTML, XML, UNKNOWN
+  }
+
+  private final long size;
+  private final byte[] head;
+  private final byte[] tail;
+  private final Format format;
+
+  /**
+   * Constructor.
+   *
+   * @param size The size of the file in bytes, or -1 if unknown.
+   * @param head Up to {@link #HEAD_SIZE} bytes from the start of the file.
+   * @param tail Up to {@link #TAIL_SIZE} bytes from the end of the file, empty if unknown.
+   */
+  public FileHeader(long size, byte[] head, byte[] tail) {
+    this.size = size;
+    this.head = head;
+    this.tail = tail;
+    this.format = detect();
+  }
+
+  /**
+   * Reads the header of a local file.
+   *
+   * @param file The file.
+   * @return The header.
+   * @throws IOException If the file cannot be read.
+   */
+  public static FileHeader read(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      ByteBuffer head = ByteBuffer.allocate((int) Math.min(HEAD_SIZE, size));
+      readFully(channel, head, 0);
+      int tailSize = (int) Math.min(TAIL_SIZE, size);
+      ByteBuffer tail = ByteBuffer.allocate(tailSize);
+      readFully(channel, tail, size - tailSize);
+      return new FileHeader(size, head.array(), tail.array());
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, position + buffer.position());
+      if (count < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+    }
+  }
+
+  /**
+   * Reads the header from a stream, for files that are not local. The size and the tail of the
+   * file are not known.
+   *
+   * @param input The stream, positioned at the start of the file.
+   * @return The header.
+   * @throws IOException If the stream cannot be read.
+   */
+  public static FileHeader read(InputStream input) throws IOException {
+    byte[] head = new byte[HEAD_SIZE];
+    int length = 0;
+    int count;
+    while (length < HEAD_SIZE && (count = input.read(head, length, HEAD_SIZE - length)) != -1) {
+      length += count;
+    }
+    return new FileHeader(-1, Arrays.copyOf(head, length), new byte[0]);
+  }
+
+  /**
+   * @return the size of the file in bytes, or -1 if unknown.
+   */
+  public long getSize() {
+    return this.size;
+  }
+
+  /**
+   * @return the format identified by the magic numbers.
+   */
+  public Format getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Tests whether the file starts with the given bytes.
+   *
+   * @param offset The offset of the bytes in the file.
+   * @param bytes The bytes, as unsigned values.
+   * @return true if they match.
+   */
+  public boolean hasBytesAt(int offset, int... bytes) {
+    if (offset + bytes.length > this.head.length) {
+      return false;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      if ((this.head[offset + i] & 0xff) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests whether the file ends with the given bytes.
+   *
+   * @param bytes The bytes, as unsigned values.
+   * @return true if they match, false if they do not or the end of the file is not known.
+   */
+  public boolean endsWith(int... bytes) {
+    int offset = this.tail.length - bytes.length;
+    if (offset < 0) {
+      return false;
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      if ((this.tail[offset + i] & 0xff) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the first bytes of the file as a big-endian unsigned integer.
+   *
+   * @param offset The offset in the file.
+   * @param length The number of bytes, at most 4.
+   * @return The value, or -1 if the file is shorter.
+   */
+  public long getUnsigned(int offset, int length) {
+    if (offset + length > this.head.length) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value = (value << 8) | (this.head[offset + i] & 0xff);
+    }
+    return value;
+  }
+
+  /**
+   * Gets the last bytes of the file as a big-endian unsigned integer.
+   *
+   * @param length The number of bytes, at most 4.
+   * @return The value, or -1 if the end of the file is not known.
+   */
+  public long getTailUnsigned(int length) {
+    if (length > this.tail.length) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = this.tail.length - length; i < this.tail.length; i++) {
+      value = (value << 8) | (this.tail[i] & 0xff);
+    }
+    return value;
+  }
+
+  private Format detect() {
+    if (hasBytesAt(0, 0xff, 0xd8) && endsWith(0xff, 0xd9)) {
+      return Format.JPEG;
+    }
+    if (hasBytesAt(0, 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a)) {
+      return Format.PNG;
+    }
+    if (hasBytesAt(0, 'G', 'I', 'F', '8', '7', 'a')
+        || hasBytesAt(0, 'G', 'I', 'F', '8', '9', 'a')) {
+      return Format.GIF;
+    }
+    if (hasBytesAt(0, 'I', 'I', 0x2a, 0x00) || hasBytesAt(0, 'M', 'M', 0x00, 0x2a)) {
+      return Format.TIFF;
+    }
+    if (hasBytesAt(0, 'P', 'K', 0x03, 0x04)) {
+      return Format.ZIP;
+    }
+    if (hasBytesAt(0, 0xd0, 0xcf, 0x11, 0xe0, 0xa1, 0xb1, 0x1a, 0xe1)) {
+      return Format.MS_COMPOUND_DOCUMENT;
+    }
+    if (hasBytesAt(0, 0xc5, 0xd0, 0xd3, 0xc6)) {
+      // Binary header of an encapsulated PostScript file with a preview.
+      return Format.ENCAPSULATED_POSTSCRIPT;
+    }
+    if (hasBytesAt(4, 'f', 't', 'y', 'p')) {
+      return Format.MP4;
+    }
+
+    // The remaining formats are text, possibly after a byte order mark and white space.
+    String text = leadingText();
+    if (text.startsWith("%PDF-")) {
+      return Format.PDF;
+    }
+    if (text.startsWith("%!PS")) {
+      int endOfLine = text.indexOf('\n');
+      String firstLine = endOfLine == -1 ? text : text.substring(0, endOfLine);
+      return firstLine.contains("EPSF") ? Format.ENCAPSULATED_POSTSCRIPT : Format.POSTSCRIPT;
+    }
+    if (text.startsWith("{\\rtf")) {
+      return Format.RICH_TEXT;
+    }
+    String lower = text.trim().toLowerCase();
+    if (lower.startsWith("<!doctype html") || lower.startsWith("<html")) {
+      return Format.HTML;
+    }
+    if (lower.startsWith("<?xml")) {
+      return lower.contains("<html") ? Format.HTML : Format.XML;
+    }
+    return Format.UNKNOWN;
+  }
+
+  private String leadingText() {
+    int start = 0;
+    if (hasBytesAt(0, 0xef, 0xbb, 0xbf)) {
+      start = 3;
+    }
+    return new String(this.head, start, this.head.length - start, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Collects the header of a file while the whole file is read sequentially, so the reader does
+   * not have to open the file again.
+   */
+  public static class Collector {
+    private final byte[] head = new byte[HEAD_SIZE];
+    private int headLength = 0;
+    private final byte[] tail = new byte[TAIL_SIZE];
+    private int tailLength = 0;
+    private long size = 0;
+
+    /**
+     * Adds the next bytes of the file.
+     *
+     * @param bytes The buffer.
+     * @param offset The offset of the bytes in the buffer.
+     * @param length The number of bytes.
+     */
+    public void update(byte[] bytes, int offset, int length) {
+      if (this.headLength < HEAD_SIZE) {
+        int count = Math.min(length, HEAD_SIZE - this.headLength);
+        System.arraycopy(bytes, offset, this.head, this.headLength, count);
+        this.headLength += count;
+      }
+      if (length >= TAIL_SIZE) {
+        System.arraycopy(bytes, offset + length - TAIL_SIZE, this.tail, 0, TAIL_SIZE);
+        this.tailLength = TAIL_SIZE;
+      } else {
+        int keep = Math.min(this.tailLength, TAIL_SIZE - length);
+        System.arraycopy(this.tail, this.tailLength - keep, this.tail, 0, keep);
+        System.arraycopy(bytes, offset, this.tail, keep, length);
+        this.tailLength = keep + length;
+      }
+      this.size += length;
+    }
+
+    /**
+     * @return the header of the bytes added so far.
+     */
+    public FileHeader toHeader() {
+      return new FileHeader(this.size, Arrays.copyOf(this.head, this.headLength),
+          Arrays.copyOf(this.tail, this.tailLength));
+    }
+  }
+}
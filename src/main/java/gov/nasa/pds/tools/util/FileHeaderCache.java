@@ -0,0 +1,100 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link FileHeader} of the files referenced by the labels, so that the existence check,
+ * the checksum and the format checks of a file share one read of its first bytes instead of each
+ * opening the file.
+ *
+ * <p>
+ * Only local files are cached, by absolute normalized path. The least recently used headers are
+ * dropped once {@link #MAX_ENTRIES} files have been seen.
+ * </p>
+ */
+public final class FileHeaderCache {
+  static final int MAX_ENTRIES = 10000;
+
+  private static final Map<String, FileHeader> HEADERS =
+      new LinkedHashMap<String, FileHeader>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileHeader> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  private FileHeaderCache() {}
+
+  private static String keyOf(File file) {
+    return file.toPath().toAbsolutePath().normalize().toString();
+  }
+
+  /**
+   * Gets the header of a local file, reading it if it is not cached.
+   *
+   * @param file The file.
+   * @return The header.
+   * @throws IOException If the file does not exist or cannot be read.
+   */
+  public static FileHeader get(File file) throws IOException {
+    String key = keyOf(file);
+    synchronized (HEADERS) {
+      FileHeader header = HEADERS.get(key);
+      if (header != null) {
+        return header;
+      }
+    }
+    FileHeader header = FileHeader.read(file);
+    put(file, header);
+    return header;
+  }
+
+  /**
+   * Gets the header of a file. Files that are not local are read through a stream and not cached.
+   *
+   * @param url The location of the file.
+   * @return The header.
+   * @throws IOException If the file does not exist or cannot be read.
+   */
+  public static FileHeader get(URL url) throws IOException {
+    File file = toFile(url);
+    if (file != null) {
+      return get(file);
+    }
+    try (InputStream input = url.openStream()) {
+      return FileHeader.read(input);
+    }
+  }
+
+  /**
+   * Records the header of a local file that was read for another purpose.
+   *
+   * @param file The file.
+   * @param header Its header.
+   */
+  public static void put(File file, FileHeader header) {
+    String key = keyOf(file);
+    synchronized (HEADERS) {
+      HEADERS.put(key, header);
+    }
+  }
+
+  private static File toFile(URL url) {
+    if (!"file".equalsIgnoreCase(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
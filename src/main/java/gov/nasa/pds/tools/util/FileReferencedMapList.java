@@ -74,21 +74,21 @@ public class FileReferencedMapList {
     }
   }
 
-  private Map<URL, FileReferencedMap> fileReferencedMaps = new HashMap<>();
+  private Map<LocationKey, FileReferencedMap> fileReferencedMaps = new HashMap<>();
 
   public FileReferencedMap setLabels(URL url, String labelName) {
-    FileReferencedMap fileReferencedMap = fileReferencedMaps.get(url);
+    LocationKey key = LocationKey.of(url);
+    FileReferencedMap fileReferencedMap = fileReferencedMaps.get(key);
     if (fileReferencedMap != null) {
       // If fileReferencedMaps does contain an existing, url, add the labelName to the
       // existing list.
       fileReferencedMap.setLabels(labelName);
-      fileReferencedMaps.put(url, fileReferencedMap);
     } else {
       // If fileReferencedMaps does not contain an existing, url, create a new
       // FileReferencedMap and add labelName to the new empty list.
       fileReferencedMap = new FileReferencedMap(url);
       fileReferencedMap.setLabels(labelName);
-      fileReferencedMaps.put(url, fileReferencedMap);
+      fileReferencedMaps.put(key, fileReferencedMap);
     }
     LOG.debug("FileReferencedMapList:url,fileReferencedMap.toString() {},{}", url,
         fileReferencedMap.toString());
@@ -103,7 +103,7 @@ public class FileReferencedMapList {
   }
 
   public List<String> getLabels(URL url) {
-    FileReferencedMap fileReferencedMap = fileReferencedMaps.get(url);
+    FileReferencedMap fileReferencedMap = fileReferencedMaps.get(LocationKey.of(url));
     if (fileReferencedMap != null) {
       return (fileReferencedMap.getLabels());
     }
@@ -6,6 +6,7 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +17,26 @@ public class FileSizesUtil {
 
   private static final Logger LOG = LoggerFactory.getLogger(FileSizesUtil.class);
 
+  /**
+   * Parses an amount of data given as a number of bytes, optionally followed by B, KB, MB or GB.
+   *
+   * @param value The amount of data, such as 512, 512B or 64MB.
+   * @return The amount in bytes.
+   * @throws IllegalArgumentException If the amount cannot be parsed.
+   */
+  public static long parseSize(String value) {
+    String size = value.trim().toUpperCase(Locale.ROOT);
+    String[] suffixes = {"GB", "MB", "KB", "B"};
+    long[] multipliers = {1L << 30, 1L << 20, 1L << 10, 1L};
+    for (int i = 0; i < suffixes.length; i++) {
+      if (size.endsWith(suffixes[i])) {
+        String number = size.substring(0, size.length() - suffixes[i].length()).trim();
+        return Long.parseLong(number) * multipliers[i];
+      }
+    }
+    return Long.parseLong(size);
+  }
+
   /**
    * Gets the filesize value.
    *
@@ -50,6 +71,13 @@ public class FileSizesUtil {
       LOG.debug("getExternalFilesize:url,fileSize {},{}", url, fileSize);
       return (fileSize);
     }
+    if (url.getProtocol().equals("http") || url.getProtocol().equals("https")) {
+      try {
+        return HttpTransport.getContentLength(url);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
     URLConnection conn = null;
     try {
       conn = url.openConnection();
@@ -57,7 +85,7 @@ public class FileSizesUtil {
         ((HttpURLConnection) conn).setRequestMethod("HEAD");
       }
       conn.getInputStream();
-      return conn.getContentLength();
+      return conn.getContentLengthLong();
     } catch (IOException e) {
       throw new RuntimeException(e);
     } finally {
@@ -0,0 +1,222 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Shared transport for remote (http and https) targets.
+ *
+ * <p>
+ * Every connection used to build its own TLS context, which also defeated the keep-alive cache of
+ * {@link java.net.HttpURLConnection} (cached connections are only reused with the same socket
+ * factory), so every remote file paid a full handshake. The TLS context is now created once and
+ * shared by {@link Utility#openConnection(java.net.URLConnection)} and by the
+ * {@link HttpClient} used for directory listings and file sizes. That client keeps its connections
+ * alive, negotiates HTTP/2 when the server supports it, and follows redirects itself.
+ * </p>
+ *
+ * <p>
+ * At most {@link #MAX_IN_FLIGHT} requests are sent through the client at the same time, so that
+ * prefetching listings does not flood the server. The other requests wait in a queue and are sent
+ * by the completion of an earlier one, so that the caller never blocks waiting for its turn.
+ * </p>
+ */
+public final class HttpTransport {
+  /** Maximum number of requests sent through the shared client at the same time. */
+  static final int MAX_IN_FLIGHT = 8;
+
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+  /** Requests waiting for one in flight to complete, in the order they were made. */
+  private static final Queue<CompletableFuture<Void>> WAITING = new ArrayDeque<>();
+
+  private static int inFlight = 0;
+
+  private static SSLContext sslContext = null;
+
+  private static HttpClient client = null;
+
+  private HttpTransport() {}
+
+  /**
+   * @return the TLS context shared by all remote connections, created on first use.
+   * @throws IOException If TLSv1.2 is not available.
+   */
+  public static synchronized SSLContext getSSLContext() throws IOException {
+    if (sslContext == null) {
+      try {
+        SSLContext context = SSLContext.getInstance("TLSv1.2");
+        context.init(null, null, new SecureRandom());
+        sslContext = context;
+      } catch (GeneralSecurityException e) {
+        throw new IOException(
+            "Error while setting SSLSocket connection to TLSv1.2: " + e.getMessage(), e);
+      }
+    }
+    return sslContext;
+  }
+
+  /**
+   * @return the socket factory of the shared TLS context.
+   * @throws IOException If TLSv1.2 is not available.
+   */
+  public static SSLSocketFactory getSocketFactory() throws IOException {
+    return getSSLContext().getSocketFactory();
+  }
+
+  /**
+   * @return the shared client, created on first use.
+   * @throws IOException If TLSv1.2 is not available.
+   */
+  public static synchronized HttpClient getClient() throws IOException {
+    if (client == null) {
+      client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+          .followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(CONNECT_TIMEOUT)
+          .sslContext(getSSLContext()).build();
+    }
+    return client;
+  }
+
+  /**
+   * Gets the content of a remote resource as text, such as a directory listing.
+   *
+   * @param url The location of the resource.
+   * @return The content.
+   * @throws IOException If the resource cannot be retrieved.
+   */
+  public static String getString(URL url) throws IOException {
+    try {
+      return getStringAsync(url).join();
+    } catch (CompletionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Starts retrieving the content of a remote resource as text. The request is queued without
+   * blocking the caller while {@link #MAX_IN_FLIGHT} requests are already in progress.
+   *
+   * @param url The location of the resource.
+   * @return The content, once retrieved.
+   * @throws IOException If the request cannot be sent.
+   */
+  public static CompletableFuture<String> getStringAsync(URL url) throws IOException {
+    HttpRequest request = newRequest(url).GET().build();
+    return send(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+      IOException error = statusError(url, response);
+      if (error != null) {
+        throw new CompletionException(error);
+      }
+      return response.body();
+    });
+  }
+
+  /**
+   * Gets the size of a remote resource with a HEAD request.
+   *
+   * @param url The location of the resource.
+   * @return The size in bytes, or -1 if the server does not report it.
+   * @throws IOException If the request fails.
+   */
+  public static long getContentLength(URL url) throws IOException {
+    HttpRequest request =
+        newRequest(url).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+    HttpResponse<Void> response;
+    try {
+      response = send(request, HttpResponse.BodyHandlers.discarding()).join();
+    } catch (CompletionException e) {
+      throw unwrap(e);
+    }
+    IOException error = statusError(url, response);
+    if (error != null) {
+      throw error;
+    }
+    return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+  }
+
+  private static HttpRequest.Builder newRequest(URL url) throws IOException {
+    try {
+      return HttpRequest.newBuilder(url.toURI()).timeout(REQUEST_TIMEOUT);
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      throw new IOException("Invalid URL " + url + ": " + e.getMessage(), e);
+    }
+  }
+
+  private static <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request,
+      HttpResponse.BodyHandler<T> handler) throws IOException {
+    HttpClient httpClient = getClient();
+    return acquire().thenCompose(permit -> {
+      CompletableFuture<HttpResponse<T>> response;
+      try {
+        response = httpClient.sendAsync(request, handler);
+      } catch (RuntimeException e) {
+        release();
+        throw e;
+      }
+      return response.whenComplete((r, e) -> release());
+    });
+  }
+
+  /**
+   * @return a future completed once the caller may send a request, at once if fewer than
+   *         {@link #MAX_IN_FLIGHT} are in progress.
+   */
+  private static CompletableFuture<Void> acquire() {
+    synchronized (WAITING) {
+      if (inFlight < MAX_IN_FLIGHT) {
+        inFlight++;
+        return CompletableFuture.completedFuture(null);
+      }
+      CompletableFuture<Void> permit = new CompletableFuture<>();
+      WAITING.add(permit);
+      return permit;
+    }
+  }
+
+  /**
+   * Hands the place of a completed request to the oldest waiting one, if any.
+   */
+  private static void release() {
+    CompletableFuture<Void> next;
+    synchronized (WAITING) {
+      next = WAITING.poll();
+      if (next == null) {
+        inFlight--;
+        return;
+      }
+    }
+    // Sends the waiting request from the thread that completed this one.
+    next.complete(null);
+  }
+
+  private static IOException statusError(URL url, HttpResponse<?> response) {
+    int status = response.statusCode();
+    if (status < 200 || status >= 300) {
+      return new IOException("HTTP error fetching URL " + url + ". Status=" + status);
+    }
+    return null;
+  }
+
+  private static IOException unwrap(CompletionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof IOException) {
+      return (IOException) cause;
+    }
+    return new IOException(cause == null ? e.getMessage() : cause.getMessage(), cause);
+  }
+}
@@ -1,7 +1,6 @@
 package gov.nasa.pds.tools.util;
 
 import java.io.File;
-import java.io.RandomAccessFile;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -16,11 +15,11 @@ public class ImageUtil {
   private static final Logger LOG = LoggerFactory.getLogger(ImageUtil.class);
   private URL target = null;
 
-  private static int JPEG_FIRST_SHORT = 0xffd8;
-  private static int JPEG_LAST_SHORT = 0xffd9;
+  private static long JPEG_FIRST_SHORT = 0xffd8;
+  private static long JPEG_LAST_SHORT = 0xffd9;
 
-  private static int PNG_SIGNATURE_FIRST_INT = 0x89504e47;
-  private static int PNG_SIGNATURE_SECOND_INT = 0x0d0a1a0a;
+  private static long PNG_SIGNATURE_FIRST_INT = 0x89504e47L;
+  private static long PNG_SIGNATURE_SECOND_INT = 0x0d0a1a0aL;
 
   public ImageUtil(URL target) {
     this.target = target;
@@ -86,46 +85,34 @@ public class ImageUtil {
     LOG.debug("isJPEG:parent,jpegBase,jpegRef [{}],[{}],[{}]", parent, jpegBase, jpegRef);
 
     File jpegFile = new File(jpegRef);
-    RandomAccessFile raf = new RandomAccessFile(jpegFile, "r");
+    // The header was usually read already by the existence check or the checksum.
+    FileHeader header = FileHeaderCache.get(jpegFile);
+
+    // Make sure there are at least 4 bytes in the file.
+    if (header.getSize() < 4) {
+      LOG.warn(
+          "isJPEG:Expecting the file size to be at least 4 bytes, true size is {} from file {}",
+          header.getSize(), jpegRef);
+      return (false);
+    }
 
-    try {
+    // Read the first 2 bytes and last 2 bytes. If they are 0xffd8 and 0xffd9 then
+    // the file is a JPEG file.
+    long firstShort = header.getUnsigned(0, 2);
+    long lastShort = header.getTailUnsigned(2);
 
-      // Make sure there are at least 4 bytes in the file.
-      if (raf.length() < 4) {
-        LOG.warn(
-            "isJPEG:Expecting the file size to be at least 4 bytes, true size is {} from file {}",
-            raf.length(), jpegRef);
-        return (false);
-      }
-
-      // Read the first 2 bytes and last 2 bytes. If they are 0xffd8 and 0xffd9 then
-      // the file is a JPEG file.
-      int firstShort = 0;
-      int lastShort = 0;
-
-      // Seek to the beginning of the file and read 2 bytes
-      raf.seek(0);
-      firstShort = raf.readUnsignedShort();
-
-      // Seek to the end of file (minus 2 bytes) and read 2 bytes.
-      raf.seek(jpegFile.length() - 2);
-      lastShort = raf.readUnsignedShort();
-
-      LOG.debug("isJPEG:jpegRef,firstShort,lastShort {},{},{}", jpegRef,
-          String.format("0x%04x", firstShort), String.format("0x%04x", lastShort));
-
-      // If first 2 bytes and last 2 bytes are 0xffd8 and 0xffd9 then the file is a
-      // JPEG file.
-      if ((firstShort == JPEG_FIRST_SHORT) && (lastShort == JPEG_LAST_SHORT)) {
-        LOG.debug("The file " + jpegRef + " is a valid JPEG file");
-        return (true);
-      }
-      LOG.warn("The file " + jpegRef + " is not a valid JPEG file");
-      LOG.debug("The file " + jpegRef + " is not a valid JPEG file");
-      return (false);
-    } finally {
-      raf.close();
+    LOG.debug("isJPEG:jpegRef,firstShort,lastShort {},{},{}", jpegRef,
+        String.format("0x%04x", firstShort), String.format("0x%04x", lastShort));
+
+    // If first 2 bytes and last 2 bytes are 0xffd8 and 0xffd9 then the file is a
+    // JPEG file.
+    if ((firstShort == JPEG_FIRST_SHORT) && (lastShort == JPEG_LAST_SHORT)) {
+      LOG.debug("The file " + jpegRef + " is a valid JPEG file");
+      return (true);
     }
+    LOG.warn("The file " + jpegRef + " is not a valid JPEG file");
+    LOG.debug("The file " + jpegRef + " is not a valid JPEG file");
+    return (false);
   }
 
   /**
@@ -165,45 +152,32 @@ public class ImageUtil {
     LOG.debug("isPNG:parent,pngBase,pngRef [{}],[{}],[{}]", parent, pngBase, pngRef);
 
     File pngFile = new File(pngRef);
-    RandomAccessFile raf = new RandomAccessFile(pngFile, "r");
+    FileHeader header = FileHeaderCache.get(pngFile);
 
-    try {
+    // Make sure there are at least 8 bytes in the file.
+    if (header.getSize() < 8) {
+      LOG.warn(
+          "isPNG:Expecting the file size to be at least 8 bytes, true size is {} from file {}",
+          header.getSize(), pngRef);
+      return (false);
+    }
+
+    // Read the first 8 bytes.
+    long firstInt = header.getUnsigned(0, 4);
+    long secondInt = header.getUnsigned(4, 4);
+
+    LOG.debug("isPNG:pngRef,firstInt,secondInt {},{},{}", pngRef,
+        String.format("0x%08x", firstInt), String.format("0x%08x", secondInt));
 
-      // Make sure there are at least 8 bytes in the file.
-      if (raf.length() < 8) {
-        LOG.warn(
-            "isPNG:Expecting the file size to be at least 8 bytes, true size is {} from file {}",
-            raf.length(), pngRef);
-        return (false);
-      }
-
-      // Read the first 8 bytes.
-      int firstInt = 0;
-      int secondInt = 0;
-
-      // Seek to the beginning of the file and read 4 bytes.
-      raf.seek(0);
-      firstInt = raf.readInt();
-
-      // Read next 4 bytes.
-      raf.seek(4);
-      secondInt = raf.readInt();
-
-      LOG.debug("isPNG:pngRef,firstInt,secondInt {},{},{}", pngRef,
-          String.format("0x%08x", firstInt), String.format("0x%08x", secondInt));
-
-      // If first 4 bytes matches PNG_SIGNATURE_FIRST_INT and the second 4 bytes
-      // matches PNG_SIGNATURE_SECOND_INT, then the file is a PNG file.
-      if (firstInt == PNG_SIGNATURE_FIRST_INT && secondInt == PNG_SIGNATURE_SECOND_INT) {
-        LOG.debug("The file " + pngRef + " is a valid PNG file");
-        return true;
-      }
-      LOG.warn("The file " + pngRef + " is not a valid PNG file");
-      LOG.debug("The file " + pngRef + " is not a valid PNG file");
-      return false;
-    } finally {
-      raf.close();
+    // If first 4 bytes matches PNG_SIGNATURE_FIRST_INT and the second 4 bytes
+    // matches PNG_SIGNATURE_SECOND_INT, then the file is a PNG file.
+    if (firstInt == PNG_SIGNATURE_FIRST_INT && secondInt == PNG_SIGNATURE_SECOND_INT) {
+      LOG.debug("The file " + pngRef + " is a valid PNG file");
+      return true;
     }
+    LOG.warn("The file " + pngRef + " is not a valid PNG file");
+    LOG.debug("The file " + pngRef + " is not a valid PNG file");
+    return false;
   }
 
 }
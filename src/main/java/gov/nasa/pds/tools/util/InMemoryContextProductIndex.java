@@ -0,0 +1,78 @@
+package gov.nasa.pds.tools.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implements a context product index backed by hash maps, built from context products already
+ * loaded on the heap.
+ */
+public class InMemoryContextProductIndex implements ContextProductIndex {
+  /** Products grouped by lower case LID, in load order. */
+  private final Map<String, List<ContextProductReference>> byLid;
+
+  /** First product loaded for each lower case LID and version. */
+  private final Map<String, ContextProductReference> byLidvid;
+
+  /** Total number of products loaded. */
+  private int size;
+
+  public InMemoryContextProductIndex() {
+    this.byLid = new HashMap<>();
+    this.byLidvid = new HashMap<>();
+    this.size = 0;
+  }
+
+  public InMemoryContextProductIndex(List<ContextProductReference> products) {
+    this();
+    for (ContextProductReference product : products) {
+      add(product);
+    }
+  }
+
+  /**
+   * Adds a context product to the index.
+   *
+   * @param product The context product.
+   */
+  public void add(ContextProductReference product) {
+    String lidKey = product.getLid().toLowerCase(Locale.ROOT);
+    this.byLid.computeIfAbsent(lidKey, k -> new ArrayList<>()).add(product);
+    if (product.hasVersion()) {
+      this.byLidvid.putIfAbsent(lidKey + "::" + product.getVersion(), product);
+    }
+    this.size++;
+  }
+
+  @Override
+  public ContextProductReference find(ContextProductReference reference) {
+    String lidKey = reference.getLid().toLowerCase(Locale.ROOT);
+    if (reference.hasVersion()) {
+      return this.byLidvid.get(lidKey + "::" + reference.getVersion());
+    }
+    List<ContextProductReference> candidates = this.byLid.get(lidKey);
+    if (candidates == null || candidates.isEmpty()) {
+      return null;
+    }
+    return candidates.get(0);
+  }
+
+  @Override
+  public List<ContextProductReference> getByLid(ContextProductReference reference) {
+    List<ContextProductReference> candidates =
+        this.byLid.get(reference.getLid().toLowerCase(Locale.ROOT));
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(candidates);
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+}
@@ -0,0 +1,246 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import gov.nasa.pds.tools.validate.ValidationTarget;
+
+/**
+ * The fields of a PDS4 label that identify it: the name of its root element, and the
+ * information_model_version, logical_identifier, version_id and product_class of its
+ * Identification_Area.
+ *
+ * <p>
+ * The fields are read by a streaming scan of the label that stops at the end of the
+ * Identification_Area, so only the first few kilobytes of a label are read, or from the document
+ * of a label that was already parsed. The result is kept on
+ * the {@link ValidationTarget} of the label, and the rules and utilities that need these fields
+ * share it through {@link #of(URL)} instead of each evaluating XPath over the label.
+ * </p>
+ */
+public class LabelIdentity {
+  private static final String PDS4_NS = "http://pds.nasa.gov/pds4/pds/v1";
+  private static final String IDENTIFICATION_AREA = "Identification_Area";
+
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+  private String rootElement;
+  private String informationModelVersion;
+  private String logicalIdentifier;
+  private boolean logicalIdentifierHasLineBreak;
+  private String versionId;
+  private String productClass;
+
+  private LabelIdentity() {}
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    return factory;
+  }
+
+  /**
+   * Gets the identity of a label, scanning the label the first time it is asked for.
+   *
+   * @param label The location of the label.
+   * @return The identity.
+   * @throws IOException If the label cannot be read or is not well formed.
+   */
+  public static LabelIdentity of(URL label) throws IOException {
+    ValidationTarget target = Utility.getValidationTarget(label);
+    synchronized (target) {
+      LabelIdentity identity = target.getLabelIdentity();
+      if (identity == null) {
+        identity = scan(label);
+        target.setLabelIdentity(identity);
+      }
+      return identity;
+    }
+  }
+
+  /**
+   * Gets the identity of a label that was already parsed, reading it from the document the first
+   * time it is asked for.
+   *
+   * @param label The location of the label.
+   * @param document The parsed label.
+   * @return The identity.
+   */
+  public static LabelIdentity of(URL label, Document document) {
+    ValidationTarget target = Utility.getValidationTarget(label);
+    synchronized (target) {
+      LabelIdentity identity = target.getLabelIdentity();
+      if (identity == null) {
+        identity = read(document);
+        target.setLabelIdentity(identity);
+      }
+      return identity;
+    }
+  }
+
+  /**
+   * Reads the identity of a parsed label, without keeping the result.
+   *
+   * @param document The parsed label.
+   * @return The identity.
+   */
+  public static LabelIdentity read(Document document) {
+    LabelIdentity identity = new LabelIdentity();
+    Element root = document.getDocumentElement();
+    if (root == null) {
+      return identity;
+    }
+    identity.rootElement = root.getLocalName() == null ? root.getNodeName() : root.getLocalName();
+    NodeList areas = document.getElementsByTagNameNS(PDS4_NS, IDENTIFICATION_AREA);
+    if (areas.getLength() > 0) {
+      for (Node child = areas.item(0).getFirstChild(); child != null; child =
+          child.getNextSibling()) {
+        if (child.getNodeType() == Node.ELEMENT_NODE
+            && PDS4_NS.equals(child.getNamespaceURI())) {
+          identity.setField(child.getLocalName(), child.getTextContent());
+        }
+      }
+    }
+    return identity;
+  }
+
+  /**
+   * Scans a label for its identity, without keeping the result.
+   *
+   * @param label The location of the label.
+   * @return The identity.
+   * @throws IOException If the label cannot be read or is not well formed.
+   */
+  public static LabelIdentity scan(URL label) throws IOException {
+    try (InputStream input = label.openStream()) {
+      XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(label.toString(), input);
+      try {
+        return scan(reader);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Cannot read the identification of " + label + ": " + e.getMessage(),
+          e);
+    }
+  }
+
+  private static LabelIdentity scan(XMLStreamReader reader) throws XMLStreamException {
+    LabelIdentity identity = new LabelIdentity();
+    int depth = 0;
+    // Depth of the Identification_Area, or 0 outside of it.
+    int areaDepth = 0;
+    String field = null;
+    StringBuilder text = new StringBuilder();
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          depth++;
+          if (depth == 1) {
+            identity.rootElement = reader.getLocalName();
+          } else if (areaDepth == 0) {
+            if (IDENTIFICATION_AREA.equals(reader.getLocalName())
+                && PDS4_NS.equals(reader.getNamespaceURI())) {
+              areaDepth = depth;
+            }
+          } else if (depth == areaDepth + 1 && PDS4_NS.equals(reader.getNamespaceURI())) {
+            field = reader.getLocalName();
+            text.setLength(0);
+          }
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+          if (field != null) {
+            text.append(reader.getText());
+          }
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          if (areaDepth != 0 && depth == areaDepth) {
+            return identity;
+          }
+          if (field != null && depth == areaDepth + 1) {
+            identity.setField(field, text.toString());
+            field = null;
+          }
+          depth--;
+          break;
+        default:
+          break;
+      }
+    }
+    return identity;
+  }
+
+  private void setField(String name, String value) {
+    switch (name) {
+      case "information_model_version":
+        this.informationModelVersion = value.trim();
+        break;
+      case "logical_identifier":
+        this.logicalIdentifier = value.trim();
+        this.logicalIdentifierHasLineBreak = value.indexOf('\n') != -1;
+        break;
+      case "version_id":
+        this.versionId = value.trim();
+        break;
+      case "product_class":
+        this.productClass = value.trim();
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * @return the local name of the root element, such as Product_Bundle.
+   */
+  public String getRootElement() {
+    return this.rootElement;
+  }
+
+  /**
+   * @return the information_model_version, or null if the label has none.
+   */
+  public String getInformationModelVersion() {
+    return this.informationModelVersion;
+  }
+
+  /**
+   * @return the logical_identifier without surrounding white space, or null if the label has none.
+   */
+  public String getLogicalIdentifier() {
+    return this.logicalIdentifier;
+  }
+
+  /**
+   * @return true if the logical_identifier is written with line breaks, which is an error.
+   */
+  public boolean logicalIdentifierHasLineBreak() {
+    return this.logicalIdentifierHasLineBreak;
+  }
+
+  /**
+   * @return the version_id, or null if the label has none.
+   */
+  public String getVersionId() {
+    return this.versionId;
+  }
+
+  /**
+   * @return the product_class, or null if the label has none.
+   */
+  public String getProductClass() {
+    return this.productClass;
+  }
+}
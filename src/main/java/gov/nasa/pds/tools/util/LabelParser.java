@@ -18,7 +18,6 @@ import javax.xml.transform.TransformerException;
 import net.sf.saxon.Configuration;
 import net.sf.saxon.lib.ParseOptions;
 import net.sf.saxon.om.DocumentInfo;
-import net.sf.saxon.xpath.XPathEvaluator;
 
 public class LabelParser {
 
@@ -30,10 +29,8 @@ public class LabelParser {
    * @throws TransformerException
    */
   public static DocumentInfo parse(Source source) throws TransformerException {
-    XPathEvaluator xpath = new XPathEvaluator();
-    Configuration configuration = xpath.getConfiguration();
-    configuration.setLineNumbering(true);
-    configuration.setXIncludeAware(Utility.supportXincludes());
+    // Built with the shared configuration so the cached XPath expressions can be evaluated on it.
+    Configuration configuration = XPathCache.getConfiguration();
     ParseOptions options = new ParseOptions();
     options.setErrorListener(new XMLErrorListener());
     options.setLineNumbering(true);
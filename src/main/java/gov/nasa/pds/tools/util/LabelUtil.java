@@ -14,16 +14,19 @@
 package gov.nasa.pds.tools.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -51,8 +54,6 @@ public class LabelUtil {
 
   private static String PDS4_NS = "http://pds.nasa.gov/pds4/pds/v1";
   private static String INFORMATION_MODEL_VERSION = "information_model_version";
-  private static String IDENTIFICATION_AREA =
-      "//*:Identification_Area[namespace-uri()='" + PDS4_NS + "']";
   private static String INTERNAL_REFERENCE_AREA =
       "//*:Reference_List/*:Internal_Reference[namespace-uri()='" + PDS4_NS + "']";
 
@@ -71,14 +72,15 @@ public class LabelUtil {
   private static String LOGICAL_IDENTIFIER_TAG = "logical_identifier";
   private static String VERSION_ID_TAG = "version_id";
 
-  private static String location = null;
+  private static volatile String location = null;
 
-  private static XPathFactory xPathFactory = new net.sf.saxon.xpath.XPathFactoryImpl();
-
-  private static ArrayList<String> informationModelVersions = new ArrayList<>();
+  // Written once per new version but read for every label, so registering a version that is
+  // already known takes no lock.
+  private static final CopyOnWriteArrayList<String> informationModelVersions =
+      new CopyOnWriteArrayList<>();
   private static Report report = null;
-  private static boolean bundleLabelSetFlag = false;
-  private static String bundleLocation = null;
+  private static volatile boolean bundleLabelSetFlag = false;
+  private static volatile String bundleLocation = null;
   private static String launcherURIName = null;
 
   /**
@@ -87,11 +89,11 @@ public class LabelUtil {
    * @param None
    * @return None
    */
-  public static synchronized void reduceInformationModelVersions() {
+  public static void reduceInformationModelVersions() {
     if (informationModelVersions.size() > 1) {
       String firstElement = informationModelVersions.get(0);
-      LabelUtil.informationModelVersions.clear();
-      LabelUtil.informationModelVersions.add(firstElement);
+      // Removes the other versions in one step of the copy-on-write list.
+      LabelUtil.informationModelVersions.retainAll(Collections.singleton(firstElement));
     }
     LOG.debug("LabelUtil:reduceInformationModelVersions");
   }
@@ -102,10 +104,8 @@ public class LabelUtil {
    * @param None
    * @return None
    */
-  public static synchronized void hardResetInformationModelVersions() {
-    if (informationModelVersions.size() > 0) {
-      LabelUtil.informationModelVersions.clear();
-    }
+  public static void hardResetInformationModelVersions() {
+    LabelUtil.informationModelVersions.clear();
     LOG.debug("LabelUtil:hardResetInformationModelVersions");
   }
 
@@ -161,10 +161,8 @@ public class LabelUtil {
    * @param informationModelVersion The version of the IM to register, e.g. 1.12.0.0, 1.10.0.0
    * @return None
    */
-  public static synchronized void registerIMVersion(String informationModelVersion) {
-    if (!LabelUtil.informationModelVersions.contains(informationModelVersion)) {
-      LabelUtil.informationModelVersions.add(informationModelVersion);
-    }
+  public static void registerIMVersion(String informationModelVersion) {
+    LabelUtil.informationModelVersions.addIfAbsent(informationModelVersion);
     LOG.debug("registerIMVersion:informationModelVersion {}", informationModelVersions);
   }
 
@@ -173,8 +171,8 @@ public class LabelUtil {
    *
    * @return informationModelVersions the list of IMs registered: {1.12.0.0, 1.10.0.0}
    */
-  public static synchronized ArrayList<String> getInformationModelVersions() {
-    return (LabelUtil.informationModelVersions);
+  public static ArrayList<String> getInformationModelVersions() {
+    return new ArrayList<>(LabelUtil.informationModelVersions);
   }
 
   /**
@@ -184,7 +182,7 @@ public class LabelUtil {
    *        1.10.0.0
    * @return informationModelVersions the list of IMs registerd.
    */
-  public static synchronized void setLocation(String location) {
+  public static void setLocation(String location) {
     // Set the location of the label being processed. If the location is bundle,
     // save it in bundleLocation as well.
     try {
@@ -213,7 +211,7 @@ public class LabelUtil {
    *
    * @return location of the label currently processing.
    */
-  public static synchronized String getLocation() {
+  public static String getLocation() {
     return (LabelUtil.location);
   }
 
@@ -225,22 +223,27 @@ public class LabelUtil {
    * @return informationModelVersion the version of the IM
    */
   public static String getIMVersion(DOMSource source, URL context) {
-    String informationModelVersion = null;
     LOG.debug("getIMVersion:MY_SOURCE[{}]", source);
+    Node node = source.getNode();
+    Document document = node instanceof Document ? (Document) node : node.getOwnerDocument();
+    String informationModelVersion =
+        LabelIdentity.of(context, document).getInformationModelVersion();
+    LOG.debug("getIMVersion:context,informationModelVersion {},{}", context,
+        informationModelVersion);
+    return (informationModelVersion);
+  }
+
+  /**
+   * Get the Information Model (IM) version of the label from its {@link LabelIdentity}.
+   *
+   * @param context The location of the label
+   * @return informationModelVersion the version of the IM, or null if it cannot be read
+   */
+  public static String getIMVersion(URL context) {
+    String informationModelVersion = null;
     try {
-      NodeList nodeList = (NodeList) xPathFactory.newXPath().evaluate(IDENTIFICATION_AREA, source,
-          XPathConstants.NODESET);
-      for (int i = 0; i < nodeList.getLength(); ++i) {
-        NodeList childList = ((Element) nodeList.item(i)).getChildNodes();
-        for (int j = 0; j < childList.getLength(); ++j) {
-          Node node = childList.item(j);
-          // LOG.debug("node.getTextContent().trim() {}",node.getTextContent().trim());
-          if (node.getNodeName().equals(INFORMATION_MODEL_VERSION)) {
-            informationModelVersion = node.getTextContent().trim();
-          }
-        }
-      }
-    } catch (XPathExpressionException ex) {
+      informationModelVersion = LabelIdentity.of(context).getInformationModelVersion();
+    } catch (IOException ex) {
       LOG.error("Cannot extract field " + INFORMATION_MODEL_VERSION + " from context "
           + context.toString());
     }
@@ -254,17 +257,13 @@ public class LabelUtil {
    * lid_reference/lidvid_reference tags. Note that because a node for logical_identifier can have a
    * version id in another tag, they both must be check before combining them together to .
    * 
-   * Due the fact that this function can be called by multiple threads and indirectly mutates
-   * container util.Utility.cachedTargets, it is necessary to add 'synchronized' to make sure that
-   * it does not happen.
-   * 
    * @param source
    * @param context
    * @param tagsList
    * @param searchPathName
    * @return
    */
-  public static synchronized ArrayList<String> getIdentifiersCommon(DOMSource source, URL context,
+  public static ArrayList<String> getIdentifiersCommon(DOMSource source, URL context,
       String[] tagsList, String searchPathName) {
     ArrayList<String> commonIdentifiers = new ArrayList<>(0);
     LOG.debug("getIdentifiersCommon:context,tagsList,searchPathName {},{},searchPathName", context,
@@ -272,7 +271,7 @@ public class LabelUtil {
 
     try {
       // Get to the node containing the searchPathName
-      NodeList nodeList = (NodeList) xPathFactory.newXPath().evaluate(searchPathName, source,
+      NodeList nodeList = (NodeList) XPathCache.compile(searchPathName).evaluate(source,
           XPathConstants.NODESET);
       LOG.debug("getIdentifiersCommon:context,nodeList.getLength() {},{}", context,
           nodeList.getLength());
@@ -299,18 +298,7 @@ public class LabelUtil {
               if (node.getNodeName().equals(tagsList[kk])) {
                 // Check for any extraneous carriage return.
                 if (node.getTextContent().contains("\n")) {
-                  String trimmedId = node.getTextContent().trim();
-                  String message = "Unexpected carriage returns in tag '" + tagsList[kk]
-                      + "' with value '" + trimmedId + "'";
-                  LOG.error("{} in context {}", message, context);
-                  ValidationProblem p1 =
-                      new ValidationProblem(new ProblemDefinition(ExceptionType.ERROR,
-                          ProblemType.INVALID_FIELD_VALUE, message), context);
-                  try {
-                    LabelUtil.report.record(context.toURI(), p1);
-                  } catch (URISyntaxException e) {
-                    LOG.error("URI Syntax Error: " + e.getMessage());
-                  }
+                  reportLineBreak(tagsList[kk], node.getTextContent().trim(), context);
                 } else {
                   singleIdentifier = node.getTextContent().trim();
                 }
@@ -345,6 +333,20 @@ public class LabelUtil {
     return (commonIdentifiers);
   }
 
+  private static void reportLineBreak(String tag, String trimmedId, URL context) {
+    String message =
+        "Unexpected carriage returns in tag '" + tag + "' with value '" + trimmedId + "'";
+    LOG.error("{} in context {}", message, context);
+    ValidationProblem p1 = new ValidationProblem(
+        new ProblemDefinition(ExceptionType.ERROR, ProblemType.INVALID_FIELD_VALUE, message),
+        context);
+    try {
+      LabelUtil.report.record(context.toURI(), p1);
+    } catch (URISyntaxException e) {
+      LOG.error("URI Syntax Error: " + e.getMessage());
+    }
+  }
+
   /**
    * Get the LIDVID references in the label (as a DOMSource)
    *
@@ -368,21 +370,31 @@ public class LabelUtil {
   }
 
   /**
-   * Get the local identifiers the label (as a DOMSource)
+   * Get the logical identifier of the label from its {@link LabelIdentity}, with the version
+   * appended if the label has one.
    *
-   * @param source The content of context as a DOMSource. # @param context The location of the label
-   *        being parsed from.
-   * @return logicalIdentifiers A list of logical identifiers in this label.
+   * @param context The location of the label.
+   * @return logicalIdentifiers A list holding the logical identifier, empty if the label has none
+   *         or it cannot be read.
    */
-  public static ArrayList<String> getLogicalIdentifiers(DOMSource source, URL context) {
-    LOG.debug("getLogicalIdentifiers:MY_SOURCE[{}]", source);
-
-    String[] tagsList = new String[1];
-    tagsList[0] = LOGICAL_IDENTIFIER_TAG;
-
-    ArrayList<String> logicalIdentifiers =
-        LabelUtil.getIdentifiersCommon(source, context, tagsList, IDENTIFICATION_AREA);
-
+  public static ArrayList<String> getLogicalIdentifiers(URL context) {
+    ArrayList<String> logicalIdentifiers = new ArrayList<>(1);
+    try {
+      LabelIdentity identity = LabelIdentity.of(context);
+      String lid = identity.getLogicalIdentifier();
+      if (lid != null) {
+        if (identity.logicalIdentifierHasLineBreak()) {
+          reportLineBreak(LOGICAL_IDENTIFIER_TAG, lid, context);
+        } else if (identity.getVersionId() != null) {
+          logicalIdentifiers.add(lid + "::" + identity.getVersionId());
+        } else {
+          logicalIdentifiers.add(lid);
+        }
+      }
+    } catch (IOException ex) {
+      LOG.error("Cannot extract field(s) {} or {} from context {}", LOGICAL_IDENTIFIER_TAG,
+          VERSION_ID_TAG, context.toString());
+    }
     LOG.debug("getLogicalIdentifiers:context,logicalIdentifiers {},{}", context,
         logicalIdentifiers);
     return (logicalIdentifiers);
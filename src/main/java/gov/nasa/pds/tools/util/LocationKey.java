@@ -0,0 +1,120 @@
+package gov.nasa.pds.tools.util;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Immutable key identifying a file location in hash based collections.
+ *
+ * <p>
+ * {@link URL#equals(Object)} and {@link URL#hashCode()} may resolve host names and are slow even
+ * for <code>file:</code> URLs, so maps keyed by URL do not scale to large manifests or bundles. A
+ * location key wraps the normalized string form of the location and caches its hash, so lookups
+ * never touch the resolver. Equivalent spellings of a file URL (<code>file:/a</code>,
+ * <code>file:///a</code>, <code>file:/x/../a</code>) produce equal keys.
+ * </p>
+ */
+public final class LocationKey {
+  private final String location;
+
+  private final int hash;
+
+  private LocationKey(String location) {
+    this.location = location;
+    this.hash = location.hashCode();
+  }
+
+  /**
+   * Gets the key for a URL.
+   *
+   * @param url The URL.
+   * @return The key.
+   */
+  public static LocationKey of(URL url) {
+    return of(url.toString());
+  }
+
+  /**
+   * Gets the key for a location given in URL syntax.
+   *
+   * @param location The location.
+   * @return The key.
+   */
+  public static LocationKey of(String location) {
+    return new LocationKey(normalize(location));
+  }
+
+  /**
+   * Normalizes a location: the empty authority of file URLs is dropped and the "." and ".."
+   * segments of the path are removed.
+   */
+  static String normalize(String location) {
+    String normalized = location;
+    if (normalized.startsWith("file:///")) {
+      normalized = "file:/" + normalized.substring("file:///".length());
+    } else if (normalized.startsWith("file://localhost/")) {
+      normalized = "file:/" + normalized.substring("file://localhost/".length());
+    }
+    if (!normalized.contains("/.")) {
+      return normalized;
+    }
+
+    // Locate the path so the scheme and authority are left untouched.
+    int pathStart = normalized.indexOf(':') + 1;
+    if (normalized.startsWith("//", pathStart)) {
+      pathStart = normalized.indexOf('/', pathStart + 2);
+      if (pathStart == -1) {
+        return normalized;
+      }
+    }
+    String prefix = normalized.substring(0, pathStart);
+    String path = normalized.substring(pathStart);
+
+    Deque<String> segments = new ArrayDeque<>();
+    boolean trailingSlash = path.endsWith("/") || path.endsWith("/.") || path.endsWith("/..");
+    for (String segment : path.split("/")) {
+      if (segment.isEmpty() || segment.equals(".")) {
+        continue;
+      } else if (segment.equals("..")) {
+        segments.pollLast();
+      } else {
+        segments.addLast(segment);
+      }
+    }
+    StringBuilder builder = new StringBuilder(normalized.length());
+    builder.append(prefix);
+    for (String segment : segments) {
+      builder.append('/').append(segment);
+    }
+    if (trailingSlash || segments.isEmpty()) {
+      builder.append('/');
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof LocationKey)) {
+      return false;
+    }
+    LocationKey other = (LocationKey) obj;
+    return this.hash == other.hash && this.location.equals(other.location);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.hash;
+  }
+
+  /**
+   * @return the normalized location.
+   */
+  @Override
+  public String toString() {
+    return this.location;
+  }
+}
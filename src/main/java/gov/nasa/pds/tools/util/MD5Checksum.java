@@ -76,6 +76,8 @@ public class MD5Checksum {
       bufferSize = (int) inChannel.size();
     }
     ByteBuffer byteBuffer = ByteBuffer.allocate(bufferSize);
+    // Keep the first and last bytes for the format checks, which then do not reopen the file.
+    FileHeader.Collector header = new FileHeader.Collector();
 
     try {
       // https://docs.oracle.com/javase/7/docs/api/java/nio/channels/FileChannel.html#read(java.nio.ByteBuffer)
@@ -95,6 +97,7 @@ public class MD5Checksum {
           // empty array.
           // byteBuffer.position(0);
           md5.update(byteBuffer.array(), 0, bytesRead);
+          header.update(byteBuffer.array(), 0, bytesRead);
           ((Buffer) byteBuffer).clear(); // This must be done to receive new content and reposition
                                          // the
                                          // pointer to the beginning.
@@ -106,6 +109,7 @@ public class MD5Checksum {
         }
       } while (!zeroBytesReadFlag);
       raf.close();
+      FileHeaderCache.put(aFile, header.toHeader());
       return md5.digest();
     } catch (Exception ex) {
       LOG.error("Cannot create MD5 checksum for url {} with error message: {}", url,
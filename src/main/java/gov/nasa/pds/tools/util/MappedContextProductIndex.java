@@ -0,0 +1,337 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implements a context product index backed by a memory-mapped binary sidecar of the registered
+ * context products JSON file. Opening the sidecar only maps the file; records are decoded on demand
+ * when a lookup hits them, so startup cost does not depend on the number of registered products.
+ *
+ * <p>
+ * Sidecar layout (big endian):
+ * </p>
+ *
+ * <pre>
+ * magic            8 bytes  "PDSCTXIX"
+ * format version   int
+ * source length    long     length of the JSON file the sidecar was built from
+ * source modified  long     last modified time of that JSON file
+ * count            int
+ * offsets          int[count]  record offsets, sorted by the UTF-8 bytes of the lower case LID
+ *                              (stable on load order)
+ * records          lower case LID, LID, version, names, types
+ * </pre>
+ *
+ * Strings are stored as an unsigned short byte length followed by UTF-8 bytes. A missing version is
+ * stored with the length 0xFFFF. Name and type lists are stored as an unsigned short count followed
+ * by their strings.
+ *
+ * <p>
+ * Lookups compare the stored key and version bytes in place; only the records returned are decoded.
+ * </p>
+ */
+public class MappedContextProductIndex implements ContextProductIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedContextProductIndex.class);
+
+  private static final byte[] MAGIC = "PDSCTXIX".getBytes(StandardCharsets.US_ASCII);
+
+  private static final int FORMAT_VERSION = 2;
+
+  private static final int NULL_STRING = 0xFFFF;
+
+  /** Size of the header preceding the offset table. */
+  private static final int HEADER_SIZE = 8 + 4 + 8 + 8 + 4;
+
+  private final MappedByteBuffer buffer;
+
+  private final int count;
+
+  private MappedContextProductIndex(MappedByteBuffer buffer, int count) {
+    this.buffer = buffer;
+    this.count = count;
+  }
+
+  /**
+   * Gets the sidecar location for the given registered context products JSON file.
+   *
+   * @param json The registered context products JSON file.
+   * @return The sidecar file.
+   */
+  public static File getSidecarFile(File json) {
+    return new File(json.getPath() + ".idx");
+  }
+
+  /**
+   * Tests whether the sidecar exists and was built from the current contents of the given JSON
+   * file.
+   *
+   * @param json The registered context products JSON file.
+   * @param sidecar The sidecar file.
+   * @return true if the sidecar can be used in place of the JSON file.
+   */
+  public static boolean isCurrent(File json, File sidecar) {
+    if (!sidecar.isFile() || !json.isFile()) {
+      return false;
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(sidecar, "r")) {
+      if (raf.length() < HEADER_SIZE) {
+        return false;
+      }
+      byte[] magic = new byte[MAGIC.length];
+      raf.readFully(magic);
+      return Arrays.equals(magic, MAGIC) && raf.readInt() == FORMAT_VERSION
+          && raf.readLong() == json.length() && raf.readLong() == json.lastModified();
+    } catch (IOException io) {
+      LOG.debug("isCurrent:sidecar,message {},{}", sidecar, io.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Writes a sidecar for the given context products.
+   *
+   * @param products The context products, in load order.
+   * @param json The JSON file the products were read from.
+   * @param sidecar The sidecar file to write.
+   *
+   * @throws IOException If the sidecar could not be written.
+   */
+  public static void write(List<ContextProductReference> products, File json, File sidecar)
+      throws IOException {
+    // A stable sort keeps products sharing a LID in load order. The keys are sorted by their UTF-8
+    // bytes, the order in which lookups compare them.
+    List<ContextProductReference> sorted = new ArrayList<>(products);
+    sorted.sort(Comparator.comparing(p -> toKey(p.getLid()), Arrays::compareUnsigned));
+
+    // Encode the records first so their offsets are known for the offset table.
+    List<byte[]> records = new ArrayList<>(sorted.size());
+    for (ContextProductReference product : sorted) {
+      records.add(encode(product));
+    }
+
+    File tmp = new File(sidecar.getPath() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+      out.write(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(json.length());
+      out.writeLong(json.lastModified());
+      out.writeInt(records.size());
+      int offset = HEADER_SIZE + 4 * records.size();
+      for (byte[] record : records) {
+        out.writeInt(offset);
+        offset += record.length;
+      }
+      for (byte[] record : records) {
+        out.write(record);
+      }
+    }
+    Files.move(tmp.toPath(), sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    LOG.debug("write:sidecar,records {},{}", sidecar, records.size());
+  }
+
+  /**
+   * Memory maps a sidecar previously written by {@link #write(List, File, File)}.
+   *
+   * @param sidecar The sidecar file.
+   * @return The index.
+   *
+   * @throws IOException If the sidecar could not be mapped or is not a sidecar.
+   */
+  public static MappedContextProductIndex open(File sidecar) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(sidecar, "r");
+        FileChannel channel = raf.getChannel()) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      byte[] magic = new byte[MAGIC.length];
+      buffer.get(magic);
+      if (!Arrays.equals(magic, MAGIC) || buffer.getInt() != FORMAT_VERSION) {
+        throw new IOException("Not a registered context products sidecar: " + sidecar);
+      }
+      int count = buffer.getInt(HEADER_SIZE - 4);
+      return new MappedContextProductIndex(buffer, count);
+    }
+  }
+
+  @Override
+  public ContextProductReference find(ContextProductReference reference) {
+    byte[] lidKey = toKey(reference.getLid());
+    byte[] version =
+        reference.hasVersion() ? reference.getVersion().getBytes(StandardCharsets.UTF_8) : null;
+    for (int i = lowerBound(lidKey); i < this.count && compareKey(i, lidKey) == 0; i++) {
+      if (version == null || hasVersion(i, version)) {
+        return decode(i);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public List<ContextProductReference> getByLid(ContextProductReference reference) {
+    byte[] lidKey = toKey(reference.getLid());
+    List<ContextProductReference> products = new ArrayList<>();
+    for (int i = lowerBound(lidKey); i < this.count && compareKey(i, lidKey) == 0; i++) {
+      products.add(decode(i));
+    }
+    return Collections.unmodifiableList(products);
+  }
+
+  @Override
+  public int size() {
+    return this.count;
+  }
+
+  /**
+   * Binary searches the offset table for the first record whose key is not less than the given
+   * key.
+   */
+  private int lowerBound(byte[] lidKey) {
+    int low = 0;
+    int high = this.count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareKey(mid, lidKey) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int recordOffset(int index) {
+    return this.buffer.getInt(HEADER_SIZE + 4 * index);
+  }
+
+  private static byte[] toKey(String lid) {
+    return lid.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Compares the key of a record with the given key, as unsigned bytes, without decoding it.
+   */
+  private int compareKey(int index, byte[] key) {
+    int position = recordOffset(index);
+    int length = this.buffer.getShort(position) & 0xFFFF;
+    return compareBytes(position + 2, length, key);
+  }
+
+  /**
+   * Tests whether the version of a record has the given bytes, without decoding the record.
+   */
+  private boolean hasVersion(int index, byte[] version) {
+    int[] position = {recordOffset(index)};
+    skipString(position); // the lower case key
+    skipString(position); // the LID
+    int length = this.buffer.getShort(position[0]) & 0xFFFF;
+    return length != NULL_STRING && compareBytes(position[0] + 2, length, version) == 0;
+  }
+
+  private int compareBytes(int position, int length, byte[] bytes) {
+    int common = Math.min(length, bytes.length);
+    for (int i = 0; i < common; i++) {
+      int diff = (this.buffer.get(position + i) & 0xFF) - (bytes[i] & 0xFF);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - bytes.length;
+  }
+
+  private void skipString(int[] position) {
+    int length = this.buffer.getShort(position[0]) & 0xFFFF;
+    position[0] += 2 + (length == NULL_STRING ? 0 : length);
+  }
+
+  private ContextProductReference decode(int index) {
+    int[] position = {recordOffset(index)};
+    skipString(position); // the lower case key
+    String lid = readString(position);
+    String version = readString(position);
+    List<String> names = readStrings(position);
+    List<String> types = readStrings(position);
+    return new ContextProductReference(lid, version, types, names);
+  }
+
+  /**
+   * Reads a string at position[0] and advances position[0] past it. Absolute reads are used so
+   * the shared buffer can be read from several threads.
+   */
+  private String readString(int[] position) {
+    int length = this.buffer.getShort(position[0]) & 0xFFFF;
+    position[0] += 2;
+    if (length == NULL_STRING) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = this.buffer.get(position[0] + i);
+    }
+    position[0] += length;
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private List<String> readStrings(int[] position) {
+    int size = this.buffer.getShort(position[0]) & 0xFFFF;
+    position[0] += 2;
+    List<String> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(readString(position));
+    }
+    return values;
+  }
+
+  private static byte[] encode(ContextProductReference product) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writeString(out, product.getLid().toLowerCase(Locale.ROOT));
+      writeString(out, product.getLid());
+      writeString(out, product.getVersion());
+      writeStrings(out, product.getNames());
+      writeStrings(out, product.getTypes());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeShort(NULL_STRING);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length >= NULL_STRING) {
+      throw new IOException("Value too long for the context products sidecar: " + value);
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+    if (values == null) {
+      out.writeShort(0);
+      return;
+    }
+    out.writeShort(values.size());
+    for (String value : values) {
+      writeString(out, value);
+    }
+  }
+}
@@ -7,6 +7,8 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.EnumMap;
+import java.util.Map;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +29,33 @@ public class PDFUtil {
   private String externalErrorFilename = null;
   private String parserFlavor = null;
   private String errorMessage = null;
+  private boolean compliant = false;
+
+  private static boolean foundryInitialised = false;
+
+  /**
+   * The validators of each thread, by flavour. A veraPDF validator resets its state at the start of
+   * every validation, so a thread can reuse it for one document after another; it cannot be shared
+   * between threads.
+   */
+  private static final ThreadLocal<Map<PDFAFlavour, PDFAValidator>> VALIDATORS =
+      ThreadLocal.withInitial(() -> new EnumMap<>(PDFAFlavour.class));
 
   public PDFUtil(URL target) {
     this.target = target;
-    PdfBoxFoundryProvider.initialise(); // Should only do this once.
+    initialiseFoundry();
+  }
+
+  private static synchronized void initialiseFoundry() {
+    if (!foundryInitialised) {
+      PdfBoxFoundryProvider.initialise();
+      foundryInitialised = true;
+    }
+  }
+
+  private static PDFAValidator getValidator(PDFAFlavour flavour) {
+    return VALIDATORS.get().computeIfAbsent(flavour,
+        f -> Foundries.defaultInstance().createValidator(f, false));
   }
 
   /**
@@ -102,9 +127,9 @@ public class PDFUtil {
   private boolean validatePDF(URI uri, String pdfRef) throws IOException {
     boolean pdfValidateFlag = false;
 
-    try {
-      // Create a parser and auto-detect flavour
-      PDFAParser parser = Foundries.defaultInstance().createParser(new FileInputStream(pdfRef));
+    // Create a parser and auto-detect flavour
+    try (FileInputStream input = new FileInputStream(pdfRef);
+        PDFAParser parser = Foundries.defaultInstance().createParser(input)) {
       PDFAFlavour detectedFlavour = parser.getFlavour();
       LOG.debug("validatePDF: parser.getFlavour() [{}]", detectedFlavour);
 
@@ -115,8 +140,7 @@ public class PDFUtil {
             + ". Expected: 1a or 1b. Actual: " + detectedFlavour.getId();
       } else {
         // Next, check the PDF is actually a valid 1a/1b flavour
-        PDFAValidator validator =
-            Foundries.defaultInstance().createValidator(detectedFlavour, false);
+        PDFAValidator validator = getValidator(detectedFlavour);
         this.parserFlavor = parser.getFlavour().getId();
         ValidationResult result = validator.validate(parser);
         if (result.isCompliant()) {
@@ -192,6 +216,7 @@ public class PDFUtil {
 
     LOG.debug("validateFileStandardConformity:pdfRef,pdfValidateFlag [{}],{}", parent,
         pdfValidateFlag);
+    this.compliant = pdfValidateFlag;
 
     return (pdfValidateFlag);
   }
@@ -205,4 +230,13 @@ public class PDFUtil {
     return this.errorMessage;
   }
 
+  /**
+   * Returns the outcome of the last call to {@link #validateFileStandardConformity(String, URL)}.
+   *
+   * @return true if the PDF is PDF/A compliant
+   */
+  public synchronized boolean isCompliant() {
+    return this.compliant;
+  }
+
 }
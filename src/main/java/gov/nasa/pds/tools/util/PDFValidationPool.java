@@ -0,0 +1,111 @@
+package gov.nasa.pds.tools.util;
+
+import java.io.File;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validates PDF documents against the PDF/A standard on a bounded pool of worker threads, so that
+ * the documents referenced by a label are validated concurrently instead of one after the other on
+ * the thread validating the label.
+ *
+ * <p>
+ * Each worker keeps its own veraPDF validators (see {@link PDFUtil}). A memory budget limits how
+ * many large documents are parsed at the same time: every document reserves its file size from the
+ * budget while it is validated, and a document larger than the whole budget runs alone.
+ * </p>
+ */
+public class PDFValidationPool {
+  private static final Logger LOG = LoggerFactory.getLogger(PDFValidationPool.class);
+
+  /** Budget granularity; the semaphore counts kilobytes so large budgets fit in an int. */
+  private static final long PERMIT_SIZE = 1024;
+
+  private static long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+
+  private static PDFValidationPool instance = null;
+
+  private final ExecutorService executor;
+
+  private final Semaphore budget;
+
+  private final int budgetPermits;
+
+  private PDFValidationPool(int threads, long memoryBudget) {
+    AtomicInteger count = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "pdf-validation-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.budgetPermits = (int) Math.max(1,
+        Math.min(Integer.MAX_VALUE, memoryBudget / PERMIT_SIZE));
+    this.budget = new Semaphore(this.budgetPermits, true);
+  }
+
+  /**
+   * Sets the memory budget shared by the documents being validated. Only takes effect if set before
+   * the first document is submitted.
+   *
+   * @param bytes The budget in bytes.
+   */
+  public static synchronized void setMemoryBudget(long bytes) {
+    if (instance != null) {
+      LOG.warn("setMemoryBudget: the PDF validation pool is already running, ignoring {}", bytes);
+      return;
+    }
+    memoryBudget = bytes;
+  }
+
+  /**
+   * @return the memory budget in bytes.
+   */
+  public static synchronized long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * @return the shared pool, created on first use.
+   */
+  public static synchronized PDFValidationPool getInstance() {
+    if (instance == null) {
+      instance = new PDFValidationPool(Runtime.getRuntime().availableProcessors(), memoryBudget);
+    }
+    return instance;
+  }
+
+  /**
+   * Submits a PDF document for validation.
+   *
+   * @param target The URL of the document.
+   * @param pdfBase The basename of the PDF file.
+   * @param parentURL The URL of the parent of pdfBase.
+   * @return The completed {@link PDFUtil}, holding the outcome of the validation. The future fails
+   *         with the exception thrown by
+   *         {@link PDFUtil#validateFileStandardConformity(String, URL)}, if any.
+   */
+  public Future<PDFUtil> submit(URL target, String pdfBase, URL parentURL) {
+    int permits = permitsFor(new File(parentURL.getFile(), pdfBase).length());
+    return this.executor.submit(() -> {
+      this.budget.acquire(permits);
+      try {
+        PDFUtil pdfUtil = new PDFUtil(target);
+        pdfUtil.validateFileStandardConformity(pdfBase, parentURL);
+        return pdfUtil;
+      } finally {
+        this.budget.release(permits);
+      }
+    });
+  }
+
+  private int permitsFor(long fileSize) {
+    long permits = (fileSize + PERMIT_SIZE - 1) / PERMIT_SIZE;
+    return (int) Math.max(1, Math.min(this.budgetPermits, permits));
+  }
+}
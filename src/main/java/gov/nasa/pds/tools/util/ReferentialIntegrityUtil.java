@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
@@ -46,7 +47,7 @@ import gov.nasa.pds.tools.validate.rule.RuleContext;
 public class ReferentialIntegrityUtil {
   private static final Logger LOG = LoggerFactory.getLogger(ReferentialIntegrityUtil.class);
 
-  private static ArrayList<URL> urlsParsedCumulative = new ArrayList<>(0);
+  private static Set<LocationKey> urlsParsedCumulative = new HashSet<>();
   private static ArrayList<String> logicalIdentifiersCumulative = new ArrayList<>(0);
   private static ArrayList<String> lidOrLidVidReferencesCumulative = new ArrayList<>(0);
   private static HashMap<String, HashSetReferenceInfo> contextReferencesCumulative =
@@ -804,7 +805,7 @@ public class ReferentialIntegrityUtil {
         if (url.toString().endsWith("." + getContext().getLabelExtension())) {
 
           // Check this URL has been parsed before. If yes, skip this file.
-          if (ReferentialIntegrityUtil.urlsParsedCumulative.contains(url)) {
+          if (ReferentialIntegrityUtil.urlsParsedCumulative.contains(LocationKey.of(url))) {
             LOG.info("SKIPPING_URL_TRUE:referenceType,url {},{}",
                 ReferentialIntegrityUtil.getReferenceType(), url);
             continue;
@@ -838,7 +839,7 @@ public class ReferentialIntegrityUtil {
           // references collected in lidOrLidVidReferences for each label.
 
           ArrayList<String> lidOrLidVidReferences = LabelUtil.getLidVidReferences(domSource, url);
-          ArrayList<String> logicalIdentifiers = LabelUtil.getLogicalIdentifiers(domSource, url);
+          ArrayList<String> logicalIdentifiers = LabelUtil.getLogicalIdentifiers(url);
 
           LOG.debug("additionalReferentialIntegrityChecks:url,lidOrLidVidReferences {},{}", url,
               lidOrLidVidReferences.size());
@@ -927,7 +928,7 @@ public class ReferentialIntegrityUtil {
         }
 
         // Add this url so we won't be parsing it again.
-        ReferentialIntegrityUtil.urlsParsedCumulative.add(url);
+        ReferentialIntegrityUtil.urlsParsedCumulative.add(LocationKey.of(url));
 
       } // end for (Target child : children)
     } catch (IOException io) {
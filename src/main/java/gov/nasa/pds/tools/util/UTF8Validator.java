@@ -0,0 +1,173 @@
+package gov.nasa.pds.tools.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Checks that a byte stream only has properly formed UTF-8 byte sequences, a block of bytes at a
+ * time.
+ *
+ * <p>
+ * Runs of ASCII are skipped eight bytes at a time. Other bytes go through a state machine driven
+ * by a table of the number of continuation bytes each lead byte announces. The sequences accepted
+ * are the ones the byte stream rule always accepted, including the five and six byte forms of the
+ * original UTF-8 definition. The state carries over from one block to the next, so a sequence may
+ * span blocks.
+ * </p>
+ *
+ * <p>
+ * Checking does not stop at the first malformed sequence: the byte offset of each one is passed to
+ * the {@link Listener}, and the check resumes at the next byte that can start a sequence.
+ * </p>
+ */
+public class UTF8Validator {
+  /** Receives the malformed sequences. */
+  public interface Listener {
+    /**
+     * Called for each malformed sequence.
+     *
+     * @param offset The offset in the stream of the first byte of the sequence.
+     * @return false to stop checking.
+     */
+    boolean malformed(long offset);
+  }
+
+  private static final VarHandle LONG_VIEW =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long HIGH_BITS = 0x8080808080808080L;
+
+  /** Marks a byte that cannot start a sequence. */
+  private static final byte INVALID = -1;
+
+  /** Number of continuation bytes announced by each byte, or {@link #INVALID}. */
+  private static final byte[] CONTINUATIONS = new byte[256];
+
+  static {
+    for (int c = 0; c < 256; c++) {
+      byte count;
+      if (c < 0x80) {
+        count = 0;
+      } else if (c < 0xC0) {
+        // A continuation byte outside of a sequence.
+        count = INVALID;
+      } else if (c < 0xE0) {
+        count = 1;
+      } else if (c < 0xF0) {
+        count = 2;
+      } else if (c < 0xF8) {
+        count = 3;
+      } else if (c < 0xFC) {
+        count = 4;
+      } else if (c < 0xFE) {
+        count = 5;
+      } else {
+        count = INVALID;
+      }
+      CONTINUATIONS[c] = count;
+    }
+  }
+
+  private final Listener listener;
+
+  /** Offset in the stream of the next byte to check. */
+  private long position = 0;
+
+  /** Continuation bytes still expected by the current sequence. */
+  private int pending = 0;
+
+  /** Offset of the first byte of the current sequence. */
+  private long sequenceStart = 0;
+
+  private long malformedCount = 0;
+
+  private boolean stopped = false;
+
+  /**
+   * Constructor.
+   *
+   * @param listener Receives the malformed sequences.
+   */
+  public UTF8Validator(Listener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Checks the next bytes of the stream.
+   *
+   * @param bytes The buffer.
+   * @param offset The offset of the bytes in the buffer.
+   * @param length The number of bytes.
+   * @return false if the listener asked to stop.
+   */
+  public boolean update(byte[] bytes, int offset, int length) {
+    int i = offset;
+    int end = offset + length;
+    while (i < end && !this.stopped) {
+      if (this.pending == 0) {
+        // ASCII fast path.
+        while (i + 8 <= end && ((long) LONG_VIEW.get(bytes, i) & HIGH_BITS) == 0) {
+          i += 8;
+        }
+        while (i < end && bytes[i] >= 0) {
+          i++;
+        }
+        if (i == end) {
+          break;
+        }
+        int count = CONTINUATIONS[bytes[i] & 0xff];
+        if (count == INVALID) {
+          malformed(this.position + (i - offset));
+        } else {
+          this.pending = count;
+          this.sequenceStart = this.position + (i - offset);
+        }
+        i++;
+      } else if ((bytes[i] & 0xC0) == 0x80) {
+        this.pending--;
+        i++;
+      } else {
+        // The sequence is cut short; the byte is checked again as the start of a new one.
+        this.pending = 0;
+        malformed(this.sequenceStart);
+      }
+    }
+    this.position += length;
+    return !this.stopped;
+  }
+
+  /**
+   * Ends the stream, reporting a sequence left incomplete.
+   *
+   * @return false if the listener asked to stop.
+   */
+  public boolean finish() {
+    if (this.pending != 0 && !this.stopped) {
+      this.pending = 0;
+      malformed(this.sequenceStart);
+    }
+    return !this.stopped;
+  }
+
+  private void malformed(long offset) {
+    this.malformedCount++;
+    if (!this.listener.malformed(offset)) {
+      this.stopped = true;
+    }
+  }
+
+  /**
+   * @return the number of malformed sequences found so far.
+   */
+  public long getMalformedCount() {
+    return this.malformedCount;
+  }
+
+  /**
+   * @return the number of bytes checked so far.
+   */
+  public long getPosition() {
+    return this.position;
+  }
+}
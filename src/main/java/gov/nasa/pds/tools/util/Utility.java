@@ -23,11 +23,10 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocketFactory;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
@@ -49,10 +48,11 @@ public class Utility {
   // A static cache of the ValidationTargets.
   // There is no need to re-evaluate and/or create these
   // as validation proceeds, as they are static things like
-  // a file or a URL.
-  public static HashMap<String, ValidationTarget> cachedTargets;
+  // a file or a URL. The targets are created and read by the crawl, the
+  // worker threads of the rules and the report writer at the same time.
+  public static Map<String, ValidationTarget> cachedTargets;
   static {
-    cachedTargets = new HashMap<>();
+    cachedTargets = new ConcurrentHashMap<>();
   }
 
   // Implementation is needed since pds.nasa.gov currently uses SNI
@@ -83,12 +83,19 @@ public class Utility {
       // This seems to be null in the additional context products case.
       return new ValidationTarget(null);
     }
-    ValidationTarget valTarget = cachedTargets.get(target.toString());
-    if (valTarget == null) {
-      valTarget = new ValidationTarget(target);
-      cachedTargets.put(target.toString(), valTarget);
-    }
-    return valTarget;
+    return cachedTargets.computeIfAbsent(target.toString(), key -> new ValidationTarget(target));
+  }
+
+  /**
+   * Returns the type of a target that has already been seen, without touching the file system. It
+   * can be called while other threads add targets.
+   *
+   * @param location the location of the target
+   * @return the type, or null if no ValidationTarget was created for the location
+   */
+  public static TargetType getCachedTargetType(String location) {
+    ValidationTarget valTarget = cachedTargets.get(location);
+    return valTarget == null ? null : valTarget.getType();
   }
 
   /**
@@ -107,18 +114,9 @@ public class Utility {
       if (conn instanceof HttpURLConnection) {
         ((HttpURLConnection) conn).setInstanceFollowRedirects(false);
       }
-      // This code can go away when we move to Java 8
+      // Share one socket factory so that kept-alive connections are reused.
       if (conn instanceof HttpsURLConnection) {
-        try {
-          SSLContext context = SSLContext.getInstance("TLSv1.2");
-          context.init(null, null, new java.security.SecureRandom());
-          HttpsURLConnection test = (HttpsURLConnection) conn;
-          SSLSocketFactory sf = test.getSSLSocketFactory();
-          SSLSocketFactory d = HttpsURLConnection.getDefaultSSLSocketFactory();
-          ((HttpsURLConnection) conn).setSSLSocketFactory(context.getSocketFactory());
-        } catch (Exception e) {
-          throw new IOException(e.getMessage());
-        }
+        ((HttpsURLConnection) conn).setSSLSocketFactory(HttpTransport.getSocketFactory());
       }
 
       // We want to open the input stream before getting headers
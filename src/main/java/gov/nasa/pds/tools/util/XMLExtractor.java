@@ -22,6 +22,7 @@ import java.util.List;
 import javax.xml.transform.Source;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import org.xml.sax.InputSource;
 import net.sf.saxon.Configuration;
@@ -29,7 +30,6 @@ import net.sf.saxon.lib.ParseOptions;
 import net.sf.saxon.om.TreeInfo;
 import net.sf.saxon.trans.XPathException;
 import net.sf.saxon.tree.tiny.TinyNodeImpl;
-import net.sf.saxon.xpath.XPathEvaluator;
 
 /**
  * Class to extract data from an XML file.
@@ -38,8 +38,8 @@ public class XMLExtractor {
   /** The DOM source. */
   private Source xml = null;
 
-  /** The XPath evaluator object. */
-  private XPathEvaluator xpath = null;
+  /** The namespace of unprefixed element names in expressions: the root element namespace. */
+  private String defaultNamespace = null;
 
   public static final String SCHEMA_LOCATION_XPATH = "//*/@xsi:schemaLocation";
 
@@ -60,13 +60,7 @@ public class XMLExtractor {
    */
   public XMLExtractor(Source xml) throws XPathExpressionException, XPathException {
     this.xml = xml;
-    this.xpath = new XPathEvaluator();
-    Configuration configuration = xpath.getConfiguration();
-
-    configuration.setLineNumbering(true);
-    configuration.setXIncludeAware(Utility.supportXincludes());
-    String definedNamespace = getValueFromDoc("namespace-uri(/*)");
-    xpath.getStaticContext().setDefaultElementNamespace(definedNamespace);
+    this.defaultNamespace = getValueFromDoc("namespace-uri(/*)");
   }
 
   /**
@@ -78,31 +72,23 @@ public class XMLExtractor {
    * @throws XPathExpressionException If an error occurred while setting up the default namespace.
    */
   public XMLExtractor(URL url) throws XPathException, XPathExpressionException {
-    xpath = new XPathEvaluator();
-    Configuration configuration = xpath.getConfiguration();
-    configuration.setLineNumbering(true);
-    configuration.setXIncludeAware(Utility.supportXincludes());
+    Configuration configuration = XPathCache.getConfiguration();
     ParseOptions options = new ParseOptions();
     options.setErrorListener(new XMLErrorListener());
     try {
       xml = configuration.buildDocument(new SAXSource(Utility.getInputSourceByURL(url)), options);
-      String definedNamespace = getValueFromDoc("namespace-uri(/*)");
-      xpath.getStaticContext().setDefaultElementNamespace(definedNamespace);
+      defaultNamespace = getValueFromDoc("namespace-uri(/*)");
     } catch (IOException io) {
       throw new XPathException("Error while reading input: " + io.getMessage());
     }
   }
 
   public XMLExtractor(InputSource source) throws XPathException, XPathExpressionException {
-    xpath = new XPathEvaluator();
-    Configuration configuration = xpath.getConfiguration();
-    configuration.setLineNumbering(true);
-    configuration.setXIncludeAware(Utility.supportXincludes());
+    Configuration configuration = XPathCache.getConfiguration();
     ParseOptions options = new ParseOptions();
     options.setErrorListener(new XMLErrorListener());
     xml = configuration.buildDocument(new SAXSource(source), options);
-    String definedNamespace = getValueFromDoc("namespace-uri(/*)");
-    xpath.getStaticContext().setDefaultElementNamespace(definedNamespace);
+    defaultNamespace = getValueFromDoc("namespace-uri(/*)");
   }
 
   public XMLExtractor(File file)
@@ -135,7 +121,7 @@ public class XMLExtractor {
    * @throws XPathException
    */
   public String getValueFromDoc(String expression) throws XPathExpressionException, XPathException {
-    TreeInfo ti = xpath.getConfiguration().buildDocumentTree(xml);
+    TreeInfo ti = XPathCache.getConfiguration().buildDocumentTree(xml);
     return getValueFromItem(expression, ti); // xpath.setSource(xml));
   }
 
@@ -150,7 +136,11 @@ public class XMLExtractor {
    * @throws XPathExpressionException If the given expression was malformed.
    */
   public String getValueFromItem(String expression, Object item) throws XPathExpressionException {
-    return xpath.evaluate(expression, item);
+    return compile(expression).evaluate(item);
+  }
+
+  private XPathExpression compile(String expression) throws XPathExpressionException {
+    return XPathCache.compile(expression, this.defaultNamespace);
   }
 
   /**
@@ -164,7 +154,7 @@ public class XMLExtractor {
    */
   public TinyNodeImpl getNodeFromDoc(String expression)
       throws XPathExpressionException, XPathException {
-    return getNodeFromItem(expression, xpath.getConfiguration().buildDocumentTree(xml));
+    return getNodeFromItem(expression, XPathCache.getConfiguration().buildDocumentTree(xml));
   }
 
   /**
@@ -179,7 +169,7 @@ public class XMLExtractor {
    */
   public TinyNodeImpl getNodeFromItem(String expression, Object item)
       throws XPathExpressionException {
-    return (TinyNodeImpl) xpath.evaluate(expression, item, XPathConstants.NODE);
+    return (TinyNodeImpl) compile(expression).evaluate(item, XPathConstants.NODE);
   }
 
   /**
@@ -193,7 +183,7 @@ public class XMLExtractor {
    */
   public List<String> getValuesFromDoc(String expression)
       throws XPathExpressionException, XPathException {
-    return getValuesFromItem(expression, xpath.getConfiguration().buildDocumentTree(xml));
+    return getValuesFromItem(expression, XPathCache.getConfiguration().buildDocumentTree(xml));
   }
 
   /**
@@ -210,7 +200,7 @@ public class XMLExtractor {
       throws XPathExpressionException {
     List<String> vals = new ArrayList<>();
     List<TinyNodeImpl> nList =
-        (List<TinyNodeImpl>) xpath.evaluate(expression, item, XPathConstants.NODESET);
+        (List<TinyNodeImpl>) compile(expression).evaluate(item, XPathConstants.NODESET);
     if (nList != null) {
       for (int i = 0, sz = nList.size(); i < sz; i++) {
         TinyNodeImpl aNode = nList.get(i);
@@ -241,7 +231,7 @@ public class XMLExtractor {
    */
   public List<TinyNodeImpl> getNodesFromDoc(String expression)
       throws XPathExpressionException, XPathException {
-    return getNodesFromItem(expression, xpath.getConfiguration().buildDocumentTree(xml));
+    return getNodesFromItem(expression, XPathCache.getConfiguration().buildDocumentTree(xml));
   }
 
   /**
@@ -256,7 +246,7 @@ public class XMLExtractor {
    */
   public List<TinyNodeImpl> getNodesFromItem(String expression, Object item)
       throws XPathExpressionException {
-    return (List<TinyNodeImpl>) xpath.evaluate(expression, item, XPathConstants.NODESET);
+    return (List<TinyNodeImpl>) compile(expression).evaluate(item, XPathConstants.NODESET);
   }
 
   /**
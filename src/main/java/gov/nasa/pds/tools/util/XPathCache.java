@@ -0,0 +1,103 @@
+package gov.nasa.pds.tools.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import net.sf.saxon.Configuration;
+import net.sf.saxon.xpath.XPathEvaluator;
+
+/**
+ * Process-wide cache of compiled XPath expressions.
+ *
+ * <p>
+ * The same handful of expressions are evaluated against every label of a bundle, and compiling
+ * them again for each label (and each {@link XMLExtractor}) costs more than evaluating them. The
+ * compiled expressions are immutable and can be evaluated concurrently; they are keyed by the
+ * default element namespace they were compiled with and by the expression text.
+ * </p>
+ *
+ * <p>
+ * All expressions are compiled against one shared Saxon {@link Configuration}. Saxon only evaluates
+ * an expression against trees built with a compatible configuration, so documents parsed for XPath
+ * evaluation ({@link XMLExtractor}, {@link LabelParser}) are built with
+ * {@link #getConfiguration()} as well. DOM sources are wrapped at evaluation time and work with any
+ * configuration.
+ * </p>
+ */
+public final class XPathCache {
+  /** Upper bound on the number of cached expressions, in case callers build them dynamically. */
+  private static final int MAX_EXPRESSIONS = 4096;
+
+  private static final Configuration CONFIGURATION = createConfiguration();
+
+  /** Compiled expressions, keyed by default element namespace and expression. */
+  private static final Map<String, XPathExpression> EXPRESSIONS = new ConcurrentHashMap<>();
+
+  /** One compiler per default element namespace, since the namespace is part of its state. */
+  private static final Map<String, XPathEvaluator> COMPILERS = new ConcurrentHashMap<>();
+
+  private XPathCache() {}
+
+  private static Configuration createConfiguration() {
+    Configuration configuration = new Configuration();
+    configuration.setLineNumbering(true);
+    configuration.setXIncludeAware(Utility.supportXincludes());
+    return configuration;
+  }
+
+  /**
+   * @return the configuration shared by the cached expressions and the documents they are
+   *         evaluated against.
+   */
+  public static Configuration getConfiguration() {
+    return CONFIGURATION;
+  }
+
+  /**
+   * Gets a compiled expression without a default element namespace.
+   *
+   * @param expression An XPath expression.
+   * @return The compiled expression.
+   * @throws XPathExpressionException If the expression is malformed.
+   */
+  public static XPathExpression compile(String expression) throws XPathExpressionException {
+    return compile(expression, null);
+  }
+
+  /**
+   * Gets a compiled expression.
+   *
+   * @param expression An XPath expression.
+   * @param defaultNamespace The namespace of unprefixed element names, or null for none.
+   * @return The compiled expression.
+   * @throws XPathExpressionException If the expression is malformed.
+   */
+  public static XPathExpression compile(String expression, String defaultNamespace)
+      throws XPathExpressionException {
+    String namespace = defaultNamespace == null ? "" : defaultNamespace;
+    // A namespace URI cannot contain a line feed, so the key is unambiguous.
+    String key = namespace + '\n' + expression;
+    XPathExpression compiled = EXPRESSIONS.get(key);
+    if (compiled != null) {
+      return compiled;
+    }
+
+    XPathEvaluator compiler = COMPILERS.computeIfAbsent(namespace, ns -> {
+      XPathEvaluator evaluator = new XPathEvaluator(CONFIGURATION);
+      evaluator.getStaticContext().setDefaultElementNamespace(ns);
+      return evaluator;
+    });
+    // The evaluator keeps per-compilation state in its static context.
+    synchronized (compiler) {
+      compiled = compiler.compile(expression);
+    }
+    if (EXPRESSIONS.size() < MAX_EXPRESSIONS) {
+      XPathExpression previous = EXPRESSIONS.putIfAbsent(key, compiled);
+      if (previous != null) {
+        compiled = previous;
+      }
+    }
+    return compiled;
+  }
+}
@@ -218,6 +218,8 @@ public enum ProblemType {
 
   NON_MP4_FILE("warning.file.not_mp4_mimetype"),
 
+  DOCUMENT_CONTENT_MISMATCH("warning.file.document_content_mismatch"),
+
   NON_REGISTERED_PRODUCT("warning.product_not_registered"),
 
   CHARS_BETWEEN_FIELDS("warning.table.characters_between_fields"),
@@ -14,13 +14,18 @@
 package gov.nasa.pds.tools.validate;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.xml.transform.sax.SAXSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
+import gov.nasa.pds.tools.util.LabelIdentity;
 import gov.nasa.pds.tools.util.LabelParser;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.util.XMLExtractor;
@@ -35,6 +40,9 @@ public class TargetExaminer extends Target {
   private static final Logger LOG = LoggerFactory.getLogger(TargetExaminer.class);
   private static String BUNDLE_NODE_TAG = "Product_Bundle";
   private static String COLLECTION_NODE_TAG = "Product_Collection";
+  private static final String IDENTIFICATION_AREA_PATH = "/Identification_Area";
+  private static final Set<String> IDENTIFICATION_FIELDS = new HashSet<>(Arrays.asList(
+      "logical_identifier", "version_id", "information_model_version", "product_class"));
 
   /**
    * Creates a new instance.
@@ -118,35 +126,15 @@ public class TargetExaminer extends Target {
     // <Product_Bundle xmlns="http://pds.nasa.gov/pds4/pds/v1"
     // xmlns:pds="http://pds.nasa.gov/pds4/pds/v1"
 
+    // Only the root element is needed, so the label is sniffed rather than parsed. The result
+    // is kept for the url, so later checks of the same label do not read it again.
     LOG.debug("tagMatches:url,tagCheck {},{}", url, tagCheck);
     boolean tagMatchedFlag = false;
 
     try {
-      InputSource source = Utility.getInputSourceByURL(url);
-      SAXSource saxSource = new SAXSource(source);
-      saxSource.setSystemId(url.toString());
-      DocumentInfo docInfo = LabelParser.parse(saxSource); // Parses a label.
-      LOG.debug("tagMatches:docInfo {},{}", docInfo, docInfo.getClass());
-      List<TinyNodeImpl> xmlModels = new ArrayList<>();
-      try {
-        XMLExtractor extractor = new XMLExtractor(docInfo);
-        xmlModels = extractor.getNodesFromDoc(tagCheck);
-        LOG.debug("tagMatches:url,tagCheck,xmlModels.size() {},{},{}", url, tagCheck,
-            xmlModels.size());
-        if (xmlModels.size() > 0) {
-          tagMatchedFlag = true; // If xmlModels has more than one element, the tag matches.
-          // Should only print debug if you really mean it. Too busy for operation.
-          // for (TinyNodeImpl xmlModel : xmlModels) {
-          // LOG.debug("xmlModel.getStringValue() {}",xmlModel.getStringValue());
-          // }
-        }
-      } catch (Exception e) {
-        LOG.error("Exception encountered in tagMatches:url {},{}", url, e.getMessage());
-        e.printStackTrace();
-      }
-    } catch (Exception e) {
+      tagMatchedFlag = tagCheck.equals(LabelIdentity.of(url).getRootElement());
+    } catch (IOException e) {
       LOG.error("Exception encountered in tagMatches:url {},{}", url, e.getMessage());
-      e.printStackTrace();
     }
 
     LOG.debug("tagMatches:url,tagCheck,tagMatchedFlag {},{},{}", url, tagCheck, tagMatchedFlag);
@@ -169,7 +157,12 @@ public class TargetExaminer extends Target {
 
     LOG.debug("getTargetContent:url,nodeCheck,fieldCheck {},{},{},{}", url, nodeCheck, fieldCheck,
         fieldCheck2);
-    ArrayList<String> fieldContent = new ArrayList<>();
+    ArrayList<String> fieldContent = getIdentificationContent(url, nodeCheck, fieldCheck,
+        fieldCheck2);
+    if (fieldContent != null) {
+      return (fieldContent);
+    }
+    fieldContent = new ArrayList<>();
 
     try {
       InputSource source = Utility.getInputSourceByURL(url);
@@ -215,4 +208,64 @@ public class TargetExaminer extends Target {
 
     return (fieldContent);
   }
+
+  /**
+   * Answers {@link #getTargetContent(URL, String, String, String)} from the {@link LabelIdentity}
+   * of the label when the node is the Identification_Area of the root element.
+   *
+   * @return the content, or null if the fields are not identification fields.
+   */
+  private static ArrayList<String> getIdentificationContent(URL url, String nodeCheck,
+      String fieldCheck, String fieldCheck2) {
+    if (!nodeCheck.endsWith(IDENTIFICATION_AREA_PATH) || !IDENTIFICATION_FIELDS.contains(fieldCheck)
+        || (fieldCheck2 != null && !IDENTIFICATION_FIELDS.contains(fieldCheck2))) {
+      return null;
+    }
+    String rootElement =
+        nodeCheck.substring(0, nodeCheck.length() - IDENTIFICATION_AREA_PATH.length());
+    if (rootElement.isEmpty() || rootElement.indexOf('/') != -1) {
+      return null;
+    }
+
+    ArrayList<String> fieldContent = new ArrayList<>();
+    try {
+      LabelIdentity identity = LabelIdentity.of(url);
+      if (rootElement.equals(identity.getRootElement())) {
+        addIdentificationField(fieldContent, identity, fieldCheck);
+        if (fieldCheck2 != null) {
+          addIdentificationField(fieldContent, identity, fieldCheck2);
+        }
+      }
+    } catch (IOException e) {
+      LOG.error("Exception encountered in getTargetContent:url {},{}", url, e.getMessage());
+    }
+    LOG.debug("getIdentificationContent:url,nodeCheck,fieldCheck,fieldContent {},{},{},{}", url,
+        nodeCheck, fieldCheck, fieldContent);
+    return (fieldContent);
+  }
+
+  private static void addIdentificationField(List<String> fieldContent, LabelIdentity identity,
+      String field) {
+    String value = null;
+    switch (field) {
+      case "logical_identifier":
+        value = identity.getLogicalIdentifier();
+        break;
+      case "version_id":
+        value = identity.getVersionId();
+        break;
+      case "information_model_version":
+        value = identity.getInformationModelVersion();
+        break;
+      case "product_class":
+        value = identity.getProductClass();
+        break;
+      default:
+        break;
+    }
+    // Like the XPath lookup, a missing or empty field adds nothing.
+    if (value != null && !value.isEmpty()) {
+      fieldContent.add(value);
+    }
+  }
 }
@@ -16,6 +16,7 @@ package gov.nasa.pds.tools.validate;
 import java.net.MalformedURLException;
 import java.net.URL;
 import org.apache.commons.io.FilenameUtils;
+import gov.nasa.pds.tools.util.LabelIdentity;
 import gov.nasa.pds.tools.util.Utility;
 
 /**
@@ -29,6 +30,7 @@ public class ValidationTarget implements Comparable<ValidationTarget> {
   private URL url;
   private boolean targetIsLabel;
   private Identifier identifier;
+  private LabelIdentity labelIdentity;
 
   private int knownHashCode;
 
@@ -170,6 +172,24 @@ public class ValidationTarget implements Comparable<ValidationTarget> {
     this.identifier = identifier;
   }
 
+  /**
+   * Gets the identification fields read from the label, if they have been read.
+   *
+   * @return the label identity, or null
+   */
+  public LabelIdentity getLabelIdentity() {
+    return labelIdentity;
+  }
+
+  /**
+   * Sets the identification fields read from the label.
+   *
+   * @param labelIdentity the label identity
+   */
+  public void setLabelIdentity(LabelIdentity labelIdentity) {
+    this.labelIdentity = labelIdentity;
+  }
+
   @Override
   public int compareTo(ValidationTarget other) {
     return location.compareTo(other.getLocation());
@@ -0,0 +1,153 @@
+package gov.nasa.pds.tools.validate.content;
+
+import java.util.Locale;
+import gov.nasa.pds.tools.util.FileSizesUtil;
+
+/**
+ * Describes how data content validation samples the records of a table or the elements of an
+ * array when spot checking is requested.
+ *
+ * <p>
+ * Without a policy (or with {@link #NONE}) every record is validated. The legacy
+ * <code>--spot-check-data N</code> option maps to the {@link Mode#STRIDE} mode with an interval
+ * of N. The sample size can instead be bounded by a budget in records or in bytes, and the records
+ * can be selected uniformly at random or one per stratum using a reproducible seed.
+ * </p>
+ */
+public class SpotCheckPolicy {
+
+  /** How the sampled records are selected. */
+  public enum Mode {
+    /** Every N-th record, starting with the first. */
+    STRIDE,
+
+    /** A uniform random sample of records, in record order. */
+    RANDOM,
+
+    /** The records are split into equal strata and one random record is taken from each. */
+    STRATIFIED;
+
+    /**
+     * Gets the mode for the given command-line value.
+     *
+     * @param value The value, case insensitive.
+     * @return The mode.
+     * @throws IllegalArgumentException If the value is not a known mode.
+     */
+    public static Mode fromString(String value) {
+      return Mode.valueOf(value.trim().toUpperCase());
+    }
+  }
+
+  /** A policy that validates every record. */
+  public static final SpotCheckPolicy NONE = new SpotCheckPolicy(-1, Mode.STRIDE, -1, -1, 0);
+
+  /** Default seed so that repeated runs sample the same records. */
+  public static final long DEFAULT_SEED = 0L;
+
+  private final int interval;
+  private final Mode mode;
+  private final long budgetRecords;
+  private final long budgetBytes;
+  private final long seed;
+
+  /**
+   * Constructor.
+   *
+   * @param interval The --spot-check-data interval, or -1 if not set.
+   * @param mode The sampling mode.
+   * @param budgetRecords The maximum number of records to sample, or -1 if not set.
+   * @param budgetBytes The maximum number of bytes to sample, or -1 if not set.
+   * @param seed The seed for the random modes.
+   */
+  public SpotCheckPolicy(int interval, Mode mode, long budgetRecords, long budgetBytes,
+      long seed) {
+    this.interval = interval;
+    this.mode = mode;
+    this.budgetRecords = budgetRecords;
+    this.budgetBytes = budgetBytes;
+    this.seed = seed;
+  }
+
+  /**
+   * @return true if only a sample of the records should be validated.
+   */
+  public boolean isEnabled() {
+    return this.interval > 0 || this.budgetRecords > 0 || this.budgetBytes > 0;
+  }
+
+  public int getInterval() {
+    return this.interval;
+  }
+
+  public Mode getMode() {
+    return this.mode;
+  }
+
+  public long getBudgetRecords() {
+    return this.budgetRecords;
+  }
+
+  public long getBudgetBytes() {
+    return this.budgetBytes;
+  }
+
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Tests whether the byte budget cannot be converted into a number of records because the size of
+   * a record is unknown. The caller should report it, since the sampler then only applies the
+   * interval, or validates every record when there is none.
+   *
+   * @param recordSize The size of a record (or element) in bytes, or -1 if unknown.
+   * @return true if the byte budget is ignored for records of this size.
+   */
+  public boolean ignoresBudgetBytes(long recordSize) {
+    return this.budgetRecords <= 0 && this.budgetBytes > 0 && recordSize <= 0;
+  }
+
+  /**
+   * Creates a sampler for a table or array.
+   *
+   * @param totalRecords The number of records (or elements), or -1 if unknown.
+   * @param recordSize The size of a record (or element) in bytes, or -1 if unknown. Only used to
+   *        convert a byte budget into a number of records; see {@link #ignoresBudgetBytes(long)}.
+   * @return The sampler, or null if every record should be validated.
+   */
+  public SpotCheckSampler newSampler(long totalRecords, long recordSize) {
+    if (!isEnabled()) {
+      return null;
+    }
+    if (ignoresBudgetBytes(recordSize) && this.interval <= 0) {
+      return null;
+    }
+    long sampleSize = -1;
+    if (this.budgetRecords > 0) {
+      sampleSize = this.budgetRecords;
+    } else if (this.budgetBytes > 0 && recordSize > 0) {
+      sampleSize = Math.max(1, this.budgetBytes / recordSize);
+    } else if (this.interval > 0 && totalRecords > 0) {
+      sampleSize = (totalRecords + this.interval - 1) / this.interval;
+    }
+    return new SpotCheckSampler(this.mode, totalRecords, sampleSize, this.interval, this.seed);
+  }
+
+  /**
+   * Parses a sample budget. A plain number is a number of records; a number followed by B, KB, MB
+   * or GB is a number of bytes.
+   *
+   * @param value The budget.
+   * @return A two element array holding the records budget and the bytes budget, the unused one
+   *         set to -1.
+   * @throws IllegalArgumentException If the budget cannot be parsed.
+   */
+  public static long[] parseBudget(String value) {
+    String budget = value.trim();
+    if (budget.toUpperCase(Locale.ROOT).endsWith("B")) {
+      return new long[] {-1, FileSizesUtil.parseSize(budget)};
+    }
+    return new long[] {Long.parseLong(budget), -1};
+  }
+}
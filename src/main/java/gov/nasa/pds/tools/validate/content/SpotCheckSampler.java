@@ -0,0 +1,141 @@
+package gov.nasa.pds.tools.validate.content;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Produces the 1-based indices of the records (or array elements) to validate during a spot check,
+ * in increasing order. Readers that support random access can seek directly to each index, so the
+ * cost of a spot check depends on the sample size rather than on the size of the table.
+ *
+ * <p>
+ * Instances are created through {@link SpotCheckPolicy#newSampler(long, long)} and are not thread
+ * safe.
+ * </p>
+ */
+public class SpotCheckSampler {
+  private final SpotCheckPolicy.Mode mode;
+  private final long total;
+  private final long sampleSize;
+  private final long stride;
+  private final SplittableRandom random;
+
+  /** Number of indices returned so far. */
+  private long returned = 0;
+
+  /** Next index for the stride mode. */
+  private long nextStrideIndex = 1;
+
+  /** Sorted indices for the random mode, computed on first use. */
+  private long[] randomIndices = null;
+
+  SpotCheckSampler(SpotCheckPolicy.Mode mode, long total, long sampleSize, int interval,
+      long seed) {
+    this.total = total;
+    this.random = new SplittableRandom(seed);
+    if (sampleSize > 0 && total > 0) {
+      this.sampleSize = Math.min(sampleSize, total);
+    } else {
+      this.sampleSize = sampleSize;
+    }
+
+    // The random modes need to know how many records there are. Without a record
+    // count, fall back to stepping through the records.
+    if (mode != SpotCheckPolicy.Mode.STRIDE && (total <= 0 || this.sampleSize <= 0)) {
+      this.mode = SpotCheckPolicy.Mode.STRIDE;
+    } else {
+      this.mode = mode;
+    }
+
+    if (interval > 0) {
+      this.stride = interval;
+    } else if (this.sampleSize > 0 && total > 0) {
+      this.stride = Math.max(1, (total + this.sampleSize - 1) / this.sampleSize);
+    } else {
+      this.stride = 1;
+    }
+  }
+
+  /**
+   * Gets the next record to validate.
+   *
+   * @return The 1-based index of the next record, or -1 if the sample is complete.
+   */
+  public long next() {
+    if (this.sampleSize > 0 && this.returned >= this.sampleSize) {
+      return -1;
+    }
+    long index;
+    switch (this.mode) {
+      case RANDOM:
+        index = nextRandom();
+        break;
+      case STRATIFIED:
+        index = nextStratified();
+        break;
+      default:
+        index = nextStride();
+        break;
+    }
+    if (index != -1) {
+      this.returned++;
+    }
+    return index;
+  }
+
+  /**
+   * @return the number of records in the sample, or -1 if it is only bounded by the table length.
+   */
+  public long getSampleSize() {
+    return this.sampleSize;
+  }
+
+  private long nextStride() {
+    long index = this.nextStrideIndex;
+    if (this.total > 0 && index > this.total) {
+      return -1;
+    }
+    this.nextStrideIndex += this.stride;
+    return index;
+  }
+
+  private long nextRandom() {
+    if (this.randomIndices == null) {
+      this.randomIndices = selectUniform();
+    }
+    return this.randomIndices[(int) this.returned];
+  }
+
+  /**
+   * Selects sampleSize distinct indices uniformly from [1, total] with Floyd's algorithm. Memory
+   * is proportional to the sample size, not to the number of records.
+   */
+  private long[] selectUniform() {
+    Set<Long> selected = new HashSet<>();
+    for (long j = this.total - this.sampleSize + 1; j <= this.total; j++) {
+      long candidate = 1 + this.random.nextLong(j);
+      if (!selected.add(candidate)) {
+        selected.add(j);
+      }
+    }
+    long[] indices = new long[selected.size()];
+    int i = 0;
+    for (Long index : selected) {
+      indices[i++] = index;
+    }
+    Arrays.sort(indices);
+    return indices;
+  }
+
+  /**
+   * Splits [1, total] into sampleSize strata of (nearly) equal size and picks one record at
+   * random in the next stratum.
+   */
+  private long nextStratified() {
+    long first = 1 + (this.returned * this.total) / this.sampleSize;
+    long last = ((this.returned + 1) * this.total) / this.sampleSize;
+    return first + this.random.nextLong(last - first + 1);
+  }
+}
@@ -33,6 +33,9 @@ import gov.nasa.pds.tools.label.ExceptionType;
 import gov.nasa.pds.tools.validate.ProblemDefinition;
 import gov.nasa.pds.tools.validate.ProblemListener;
 import gov.nasa.pds.tools.validate.ProblemType;
+import gov.nasa.pds.tools.validate.content.SpotCheckPolicy;
+import gov.nasa.pds.tools.validate.content.SpotCheckSampler;
+import gov.nasa.pds.tools.validate.task.CancellationToken;
 import gov.nasa.pds.validate.constants.Constants;
 
 /**
@@ -58,6 +61,11 @@ public class ArrayContentValidator {
 
   private int spotCheckData;
 
+  private SpotCheckPolicy spotCheckPolicy = SpotCheckPolicy.NONE;
+
+  /** Stops reading the array elements once the run is stopped, or null. */
+  private CancellationToken cancellationToken = null;
+
   private static final Range SignedByte_RANGE = Range.between(Byte.MIN_VALUE, Byte.MAX_VALUE);
   private static final Range UnsignedByte_RANGE = Range.between(0, 255);
   private static final Range UnsignedLSB2_RANGE = Range.between(0, 65535);
@@ -119,7 +127,12 @@ public class ArrayContentValidator {
     LOG.debug("validate:tableNameReportStr {}", tableNameReportStr);
 
     try {
-      process(array, arrayObject, dimensions, new int[dimensions.length], 0, dimensions.length - 1);
+      if (isSampled()) {
+        processSampled(array, arrayObject, dimensions);
+      } else {
+        process(array, arrayObject, dimensions, new int[dimensions.length], 0,
+            dimensions.length - 1);
+      }
 
     } catch (Exception e) {
       listener.addProblem(new ArrayContentProblem(
@@ -142,7 +155,7 @@ public class ArrayContentValidator {
     }
 
     arrayObject.open();
-    for (int i = 0; i < dimensions[depth];) {
+    for (int i = 0; i < dimensions[depth] && !isCancelled();) {
       if (depth < maxDepth) { // max depth not reached, do another recursion
         position[depth] = i;
         process(array, arrayObject, dimensions, position, depth + 1, maxDepth);
@@ -165,6 +178,57 @@ public class ArrayContentValidator {
     arrayObject.close();
   }
 
+  /**
+   * The legacy --spot-check-data interval strides along the innermost axis. Any other spot check
+   * samples elements from the whole array.
+   */
+  private boolean isSampled() {
+    return this.spotCheckPolicy.isEnabled()
+        && (this.spotCheckPolicy.getMode() != SpotCheckPolicy.Mode.STRIDE
+            || this.spotCheckPolicy.getBudgetRecords() > 0
+            || this.spotCheckPolicy.getBudgetBytes() > 0);
+  }
+
+  /**
+   * Validates the elements chosen by the spot check sampler. Elements are numbered in storage
+   * order, with the last axis varying fastest, so the sampled positions are visited in the order
+   * they appear in the data file.
+   */
+  private void processSampled(Array array, ArrayObject arrayObject, int[] dimensions)
+      throws IOException {
+    long elements = 1;
+    for (int dimension : dimensions) {
+      elements *= dimension;
+    }
+    NumericDataType dataType =
+        Enum.valueOf(NumericDataType.class, array.getElementArray().getDataType());
+    SpotCheckSampler sampler = this.spotCheckPolicy.newSampler(elements, dataType.getBits() / 8);
+
+    arrayObject.open();
+    for (long index = sampler.next(); index != -1; index = sampler.next()) {
+      if (isCancelled()) {
+        break;
+      }
+      if (PROGRESS_COUNTER++ == Integer.MAX_VALUE) {
+        PROGRESS_COUNTER = 0;
+      } else if (PROGRESS_COUNTER % Constants.CONTENT_VAL_PROGRESS_COUNTER == 0) {
+        System.out.print(".");
+      }
+
+      int[] position = new int[dimensions.length];
+      int[] position_1based = new int[dimensions.length];
+      long remainder = index - 1;
+      for (int j = dimensions.length - 1; j >= 0; j--) {
+        position[j] = (int) (remainder % dimensions[j]);
+        position_1based[j] = position[j] + 1;
+        remainder /= dimensions[j];
+      }
+      ArrayLocation location = new ArrayLocation(label, dataFile, arrayIndex, position_1based);
+      validatePosition(array, arrayObject, location, position);
+    }
+    arrayObject.close();
+  }
+
   private void validatePosition(Array array, ArrayObject arrayObject, ArrayLocation location,
       int[] position) throws IOException {
     NumericDataType dataType =
@@ -483,4 +547,16 @@ public class ArrayContentValidator {
   public void setSpotCheckData(int value) {
     this.spotCheckData = value;
   }
+
+  public void setSpotCheckPolicy(SpotCheckPolicy policy) {
+    this.spotCheckPolicy = policy;
+  }
+
+  public void setCancellationToken(CancellationToken token) {
+    this.cancellationToken = token;
+  }
+
+  private boolean isCancelled() {
+    return this.cancellationToken != null && this.cancellationToken.isCancelled();
+  }
 }
@@ -0,0 +1,134 @@
+package gov.nasa.pds.tools.validate.content.table;
+
+import java.util.Arrays;
+
+/**
+ * Splits the lines of a delimited table into fields in a single pass over the characters of the
+ * line, recording the start and end offset of each field and the record delimiter that ends the
+ * line. Field values are only materialized when requested, and the offset arrays are reused from
+ * one record to the next.
+ *
+ * <p>
+ * Fields are returned as they appear in the line, surrounding double quotes included. A double
+ * quote toggles the quoted state, so field delimiters inside a quoted value do not split it. A line
+ * that ends inside a quoted value cannot be split on its own (the value may continue on the next
+ * line) and {@link #scan(String)} reports it so the caller can fall back to the table reader.
+ * </p>
+ */
+public class DelimitedRecordScanner {
+  private final char fieldDelimiter;
+
+  private String line;
+
+  private int[] starts = new int[16];
+
+  private int[] ends = new int[16];
+
+  private int fieldCount;
+
+  private int contentLength;
+
+  /**
+   * Constructor.
+   *
+   * @param fieldDelimiter The character separating the fields.
+   */
+  public DelimitedRecordScanner(char fieldDelimiter) {
+    this.fieldDelimiter = fieldDelimiter;
+  }
+
+  /**
+   * Gets the character for a field_delimiter value of a Table_Delimited label.
+   *
+   * @param fieldDelimiter The field_delimiter value.
+   * @return The delimiter character, or null if the value is not recognized.
+   */
+  public static Character toDelimiterCharacter(String fieldDelimiter) {
+    if (fieldDelimiter == null) {
+      return null;
+    }
+    switch (fieldDelimiter.trim().toLowerCase()) {
+      case "comma":
+        return ',';
+      case "horizontal tab":
+        return '\t';
+      case "semicolon":
+        return ';';
+      case "vertical bar":
+        return '|';
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Scans a line of the table.
+   *
+   * @param line The line, including its record delimiter if any.
+   * @return true if the line was split into fields, false if it ends inside a quoted value.
+   */
+  public boolean scan(String line) {
+    this.line = line;
+    int length = line.length();
+    if (line.endsWith("\r\n")) {
+      length -= 2;
+    } else if (line.endsWith("\n")) {
+      length -= 1;
+    }
+    this.contentLength = length;
+    this.fieldCount = 0;
+
+    boolean quoted = false;
+    int fieldStart = 0;
+    for (int i = 0; i < length; i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == this.fieldDelimiter && !quoted) {
+        addField(fieldStart, i);
+        fieldStart = i + 1;
+      }
+    }
+    addField(fieldStart, length);
+    return !quoted;
+  }
+
+  private void addField(int start, int end) {
+    if (this.fieldCount == this.starts.length) {
+      this.starts = Arrays.copyOf(this.starts, this.fieldCount * 2);
+      this.ends = Arrays.copyOf(this.ends, this.fieldCount * 2);
+    }
+    this.starts[this.fieldCount] = start;
+    this.ends[this.fieldCount] = end;
+    this.fieldCount++;
+  }
+
+  /**
+   * @return the number of fields in the last line scanned.
+   */
+  public int getFieldCount() {
+    return this.fieldCount;
+  }
+
+  /**
+   * @return the length of the last line scanned, without its record delimiter.
+   */
+  public int getContentLength() {
+    return this.contentLength;
+  }
+
+  /**
+   * Gets the value of a field of the last line scanned.
+   *
+   * @param index The 1-based field index.
+   * @return The field value.
+   * @throws ArrayIndexOutOfBoundsException If the line has fewer fields.
+   */
+  public String getString(int index) {
+    if (index < 1 || index > this.fieldCount) {
+      throw new ArrayIndexOutOfBoundsException(
+          "Field index " + index + " is out of range (1-" + this.fieldCount + ")");
+    }
+    return this.line.substring(this.starts[index - 1], this.ends[index - 1]);
+  }
+}
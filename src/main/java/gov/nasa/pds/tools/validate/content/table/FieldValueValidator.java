@@ -115,6 +115,25 @@ public class FieldValueValidator {
 
   private int dataObjectIndex = -1;
 
+  /** The layout of the fields last validated, compiled when the fields change. */
+  private volatile CompiledFields compiledFields = null;
+
+  /** Field descriptions with their layout. */
+  private static final class CompiledFields {
+    private final FieldDescription[] fields;
+    private final TableLayout layout;
+
+    CompiledFields(FieldDescription[] fields) {
+      this.fields = fields;
+      this.layout = TableLayout.of(fields);
+    }
+  }
+
+  /** Gives access to the raw field values of one record, by 1-based field index. */
+  private interface FieldValues {
+    String getString(int index) throws Exception;
+  }
+
   /**
    * Constructor.
    * 
@@ -147,40 +166,59 @@ public class FieldValueValidator {
    */
   public void validate(TableRecord record, FieldDescription[] fields, boolean checkFieldFormat)
       throws FieldContentFatalException {
+    validate(record::getString, record instanceof DelimitedTableRecord,
+        record instanceof FixedTableRecord, record.getLocation(), fields, checkFieldFormat);
+  }
+
+  /**
+   * Validates the field values of a delimited record scanned directly from its line, without
+   * building a table record.
+   *
+   * @param scanner The scanner positioned on the record.
+   * @param location The location of the record.
+   * @param fields An array of the field descriptions.
+   */
+  public void validate(DelimitedRecordScanner scanner, RecordLocation location,
+      FieldDescription[] fields) throws FieldContentFatalException {
+    validate(scanner::getString, true, false, location, fields, true);
+  }
+
+  /**
+   * Validates the field values of a record.
+   *
+   * @param values The field values, by 1-based field index.
+   * @param delimited true if the record belongs to a delimited table.
+   * @param fixed true if the record belongs to a fixed-width character table.
+   * @param location The location of the record.
+   * @param fields An array of the field descriptions.
+   * @param checkFieldFormat A flag to determine whether to check the field values against its
+   *        specified field format, if present in the label.
+   */
+  private void validate(FieldValues values, boolean delimited, boolean fixed,
+      RecordLocation location, FieldDescription[] fields, boolean checkFieldFormat)
+      throws FieldContentFatalException {
     // Set variable if we get an error that will be a problem for all records
     boolean fatalError = false;
+    TableLayout layout = getLayout(fields);
 
     LOG.debug("validate:fields.length {}", fields.length);
 
-    // Flag to store whether field is a UNSIGNEDBITSTRING or not. Because bit fields
-    // cannot be used to check for offset as normally as other kinds of fields, we
-    // must first know
-    // if fieldIsBitStringFlag is false before checking for offset.
-    // The reason is the bit field can have the same offset as the next field
-    // because the fields are in bits.
-
-    int actualFieldNumber = 1;
+    // The checks that only depend on the field definitions, such as whether a field overlaps the
+    // next one, are done once in the layout; their outcome is reported for each record.
     for (int i = 0; i < fields.length; i++) {
-      boolean fieldIsBitStringFlag = false; // Flag to store whether field is a UNSIGNEDBITSTRING or
-                                            // SIGNEDBITSTRING
       String value = "dummy_value"; // Set to a dummy value to allow inspection when the value
                                     // changed to a
                                     // legitimate value.
 
       try {
-        // Use the enum types defined in FieldType class.
-        if (fields[i].getType() == FieldType.SIGNEDBITSTRING
-            || fields[i].getType() == FieldType.UNSIGNEDBITSTRING) {
-          fieldIsBitStringFlag = true;
-        }
-        value = record.getString(i + 1);
+        value = values.getString(i + 1);
         LOG.debug("validate: field #{}, value [{}]", i, value);
 
         // https://github.com/NASA-PDS/validate/issues/357 Validate allows CRLF within a
         // Table_Delimited field
-        // For DelimitedTableRecord, we make an additional check to make sure it does
+        // For delimited records, we make an additional check to make sure it does
         // not contain a carriage return or linefeed.
-        if (record instanceof DelimitedTableRecord) {
+        if (delimited) {
           // Check if value contains a carriage return or line feed.
           if (value.contains("\r") || value.contains("\n")) {
             LOG.error(
@@ -188,7 +226,7 @@ public class FieldValueValidator {
                 i + 1, value);
             addTableProblem(ExceptionType.ERROR, ProblemType.INVALID_FIELD_VALUE,
                 "Field value cannot contain a carriage return or linefeed for Table_Delimited",
-                record.getLocation(), (i + 1));
+                location, (i + 1));
             continue;
           }
         }
@@ -218,15 +256,9 @@ public class FieldValueValidator {
           String message = "The field value '" + value.trim()
               + "' that starts with double quote should not contain double quote(s)";
           addTableProblem(ExceptionType.ERROR, ProblemType.INVALID_FIELD_VALUE, message,
-              record.getLocation(), (i + 1));
+              location, (i + 1));
         }
 
-        // issue_209: fix for incorrect field number
-        if (i < (fields.length - 1)) {
-          if (fields[i + 1].getOffset() != fields[i].getOffset()) {
-            actualFieldNumber++;
-          }
-        }
         // Adding debug could be time consuming for large files. Uncommenting should be
         // done by developer only for debugging.
 
@@ -238,72 +270,28 @@ public class FieldValueValidator {
                 + "' exceeds the defined max field length (expected max " + fields[i].getMaxLength()
                 + ", got " + value.trim().length() + ")";
             addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_TOO_LONG, message,
-                record.getLocation(), (i + 1));
+                location, (i + 1));
           }
         }
 
         // issue_209: when checkFieldFormat=false, it's Table_Binary
-        if (checkFieldFormat) {
-          // issue_56: Validate that Table_Character fields do not overlap based upon
-          // field length definitions
-          // Better line
-          // if (((i+1)<fields.length) && (fields[i].getOffset()+fields[i].getLength() >
-          // fields[i+1].getOffset()))
-          // The next line is hard to read. Perhaps the parenthesis should surround the
-          // 2nd > comparison.
-          if (((i + 1) < fields.length)
-              && (fields[i].getOffset() + fields[i].getLength()) > fields[i + 1].getOffset()) {
-            int currentFieldEndsAt = fields[i].getOffset() + fields[i].getLength();
-            int nextOffsetShouldBe = fields[i].getOffset() + fields[i].getLength() + 1;
-            String message = "This field overlaps the next field. Current field ends at "
-                + currentFieldEndsAt + ". Next field starts at " + fields[i + 1].getOffset()
-                + " but should be at least at " + nextOffsetShouldBe;
-            LOG.error("{}", "MESSAGE_1:" + message);
-            addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_OVERLAP, message,
-                record.getLocation(), (i + 1));
-          }
+        // issue_56: Validate that Table_Character fields do not overlap based upon
+        // field length definitions
+        if (checkFieldFormat && layout.getCharacterOverlap(i) != null) {
+          String message = layout.getCharacterOverlap(i);
+          LOG.error("{}", "MESSAGE_1:" + message);
+          addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_OVERLAP, message,
+              location, (i + 1));
         }
 
         // issue_56: Validate that fields do not overlap based upon field length
         // definitions
-        if ((i + 1) < fields.length) {
-          // If stopBit is set and we aren't at the end of the field,
-          // we should check for overlapping bit fields
-          if (fields[i].getStopBit() > 0 && fields[i].getStopBit() != fields[i].getLength() * 8) {
-
-            // first check if the stop bit is longer than the field length
-            if (fields[i + 1].getStartBit() > 1) { // only check overlap is next start bit
-              // Next, if next startBit > -1 we know we have another bit field to check
-              // Let's check the bit fields aren't overlapping
-              if (fields[i].getStopBit() >= fields[i + 1].getStartBit()) {
-                String message = "The bit field overlaps the next field. "
-                    + "Current stop_bit_location: " + (fields[i].getStopBit() + 1)
-                    + ". Next start_bit_location: " + (fields[i + 1].getStartBit() + 1);
-                addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_OVERLAP, message,
-                    record.getLocation(), actualFieldNumber);
-                // (i+1));
-                fatalError = true;
-              }
-            }
-            // Otherwise, we are just reading a normal Field_Character or Field_Binary
-          } else if ((fields[i].getOffset() > fields[i + 1].getOffset()) || (!fieldIsBitStringFlag
-              && ((fields[i].getOffset() + fields[i].getLength()) > fields[i + 1].getOffset()))) {
-            int currentFieldEndsAt = fields[i].getOffset() + fields[i].getLength();
-            int nextOffsetShouldBe = fields[i].getOffset() + fields[i].getLength() + 1;
-            String message = "This field overlaps the next field. Current field ends at "
-                // + (fields[i].getOffset()+fields[i].getLength()+1)
-                + currentFieldEndsAt + ". Next field starts at " + (fields[i + 1].getOffset() + 1)
-                + " but should be at least at " + nextOffsetShouldBe;
-            LOG.error("{}", "MESSAGE_2:" + message);
-            addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_OVERLAP, message,
-                record.getLocation(), (i + 1));
-            fatalError = true;
-          }
-          // Adding debug could be time consuming for large files. Uncommenting should be
-          // done by developer only for debugging.
-          // else {
-          // LOG.debug("validate:column valid i {}",i);
-          // }
+        if (layout.getFieldOverlap(i) != null) {
+          String message = layout.getFieldOverlap(i);
+          LOG.error("{}", "MESSAGE_2:" + message);
+          addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_OVERLAP, message,
+              location, layout.getFieldOverlapNumber(i));
+          fatalError = true;
         }
 
         // Per the DSV standard in section 4C.1 of the Standards Reference,
@@ -316,11 +304,11 @@ public class FieldValueValidator {
         // Because DSV can have quotes around the value, the value should have been
         // stripped of any double quotes above.
 
-        if (value.isEmpty() || (value.trim().isEmpty() && record instanceof FixedTableRecord)) {
+        if (value.isEmpty() || (value.trim().isEmpty() && fixed)) {
           LOG.debug("VALUE_IS_EMPTY_OR_VALUE_TRIM_IS_EMPTY_AND_FIXED_TABLE_RECORD_IS_OK [{}][{}]",
-              value, record.getClass().getName());
+              value, fixed ? "FixedTableRecord" : "DelimitedTableRecord");
           addTableProblem(ExceptionType.DEBUG, ProblemType.BLANK_FIELD_VALUE, "Field is blank.",
-              record.getLocation(), (i + 1));
+              location, (i + 1));
         } else if (!value.trim().isEmpty()) { // Check that the value of the field matches the
                                               // defined data type
           try {
@@ -328,30 +316,30 @@ public class FieldValueValidator {
             addTableProblem(ExceptionType.DEBUG, ProblemType.FIELD_VALUE_DATA_TYPE_MATCH,
                 "Value '" + value.trim() + "' matches its data type '"
                     + fields[i].getType().getXMLType() + "'.",
-                record.getLocation(), (i + 1));
+                location, (i + 1));
           } catch (InvalidTableException e) {
             String message = "Value does not match its data type '"
                 + fields[i].getType().getXMLType() + "': " + e.getMessage();
-            LOG.debug("recordLocation.getLabel: " + record.getLocation().getLabel());
+            LOG.debug("recordLocation.getLabel: " + location.getLabel());
             addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_DATA_TYPE_MISMATCH,
-                message, record.getLocation(), (i + 1));
+                message, location, (i + 1));
           }
           // Check that the format of the field value in the table matches
           // the defined formation of the field
           if (checkFieldFormat) {
             // Due to CCB-214, the tool should validate against the
             // validation_format field for Character Tables.
-            if (record instanceof FixedTableRecord && !fields[i].getValidationFormat().isEmpty()) {
-              checkFormat(value, fields[i].getValidationFormat(), i + 1, record.getLocation());
+            if (fixed && !fields[i].getValidationFormat().isEmpty()) {
+              checkFormat(value, fields[i].getValidationFormat(), i + 1, location);
             }
-            if (record instanceof DelimitedTableRecord && !fields[i].getFieldFormat().isEmpty()) {
-              checkFormat(value, fields[i].getFieldFormat(), i + 1, record.getLocation());
+            if (delimited && !fields[i].getFieldFormat().isEmpty()) {
+              checkFormat(value, fields[i].getFieldFormat(), i + 1, location);
             }
           }
           // Check that the field value is within the defined min/max values
           if (fields[i].getMinimum() != null || fields[i].getMaximum() != null) {
             checkSpecialMinMax(value.trim(), fields[i].getSpecialConstants(),
-                fields[i].getMinimum(), fields[i].getMaximum(), i + 1, record.getLocation(),
+                fields[i].getMinimum(), fields[i].getMaximum(), i + 1, location,
                 fields[i].getType());
           }
         } else {
@@ -359,12 +347,12 @@ public class FieldValueValidator {
 
             checkType(value, fields[i].getType());
             addTableProblem(ExceptionType.DEBUG, ProblemType.BLANK_FIELD_VALUE, "Field is blank.",
-                record.getLocation(), (i + 1));
+                location, (i + 1));
           } catch (Exception e) {
             String message = "Value does not match its data type '"
                 + fields[i].getType().getXMLType() + "': " + e.getMessage();
             addTableProblem(ExceptionType.ERROR, ProblemType.FIELD_VALUE_DATA_TYPE_MISMATCH,
-                message, record.getLocation(), (i + 1));
+                message, location, (i + 1));
           }
         }
       } catch (Exception e) {
@@ -372,7 +360,7 @@ public class FieldValueValidator {
         LOG.error("Error while getting field value: {} at field {}", e.getMessage(), (i + 1));
         e.printStackTrace();
         addTableProblem(ExceptionType.ERROR, ProblemType.BAD_FIELD_READ,
-            "Error while getting field value: " + e.getMessage(), record.getLocation(), (i + 1));
+            "Error while getting field value: " + e.getMessage(), location, (i + 1));
         fatalError = true;
 
         // Print the stack trace to an external file for inspection.
@@ -386,12 +374,27 @@ public class FieldValueValidator {
     // for every records
     if (fatalError) {
       LOG.error("Fatal field content read error. Discontinue reading records.  Last read record {}",
-          record.getLocation().getRecord());
+          location.getRecord());
       throw new FieldContentFatalException(
           "Fatal field content read error. Discontinue reading records.");
     }
   }
 
+  /**
+   * Gets the layout of the fields, compiling it the first time the fields are seen.
+   *
+   * @param fields The field descriptions.
+   * @return The layout.
+   */
+  private TableLayout getLayout(FieldDescription[] fields) {
+    CompiledFields compiled = this.compiledFields;
+    if (compiled == null || compiled.fields != fields) {
+      compiled = new CompiledFields(fields);
+      this.compiledFields = compiled;
+    }
+    return compiled.layout;
+  }
+
   /**
    * Checks that the given value is within the min/max range.
    * 
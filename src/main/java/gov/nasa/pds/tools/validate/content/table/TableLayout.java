@@ -0,0 +1,240 @@
+package gov.nasa.pds.tools.validate.content.table;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.FieldType;
+
+/**
+ * The field layout of a table, compiled once from its field descriptions: the offset and length of
+ * each field, its data type and format, and the outcome of the checks that only depend on the
+ * definitions, such as whether a field overlaps the next one.
+ *
+ * <p>
+ * The per-record checks read the layout instead of comparing the field descriptions again for
+ * every record. Layouts are immutable and shared: tables with identical field definitions, such as
+ * the same Record_Character in the labels of a collection, get the same instance. The
+ * {@link #MAX_LAYOUTS} most recently used layouts are kept.
+ * </p>
+ */
+public final class TableLayout {
+  static final int MAX_LAYOUTS = 256;
+
+  private static final Map<String, TableLayout> LAYOUTS =
+      new LinkedHashMap<String, TableLayout>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TableLayout> eldest) {
+          return size() > MAX_LAYOUTS;
+        }
+      };
+
+  private final int[] offsets;
+  private final int[] lengths;
+  private final boolean[] bitStrings;
+  private final String[] dataTypes;
+  private final String[] formats;
+
+  /** The field_number of each field as written in the label. */
+  private final int[] fieldNumbers;
+
+  /** Overlap with the next field, checked for character tables only, or null. */
+  private final String[] characterOverlaps;
+
+  /** Overlap with the next field that stops reading the table, or null. */
+  private final String[] fieldOverlaps;
+
+  /** Field number reported with the field overlap. */
+  private final int[] fieldOverlapNumbers;
+
+  private TableLayout(FieldDescription[] fields, int[] fieldNumbers) {
+    int count = fields.length;
+    this.offsets = new int[count];
+    this.lengths = new int[count];
+    this.bitStrings = new boolean[count];
+    this.dataTypes = new String[count];
+    this.formats = new String[count];
+    this.fieldNumbers = new int[count];
+    this.characterOverlaps = new String[count];
+    this.fieldOverlaps = new String[count];
+    this.fieldOverlapNumbers = new int[count];
+
+    for (int i = 0; i < count; i++) {
+      FieldType type = fields[i].getType();
+      this.offsets[i] = fields[i].getOffset();
+      this.lengths[i] = fields[i].getLength();
+      this.bitStrings[i] =
+          type == FieldType.SIGNEDBITSTRING || type == FieldType.UNSIGNEDBITSTRING;
+      this.dataTypes[i] = type == null ? "" : type.getXMLType();
+      this.formats[i] = fields[i].getFieldFormat() == null ? "" : fields[i].getFieldFormat();
+      this.fieldNumbers[i] = fieldNumbers == null ? i + 1 : fieldNumbers[i];
+    }
+
+    // issue_209: bit fields are reported with a field number that counts the fields sharing an
+    // offset once.
+    int actualFieldNumber = 1;
+    for (int i = 0; i < count - 1; i++) {
+      if (this.offsets[i + 1] != this.offsets[i]) {
+        actualFieldNumber++;
+      }
+      int currentFieldEndsAt = this.offsets[i] + this.lengths[i];
+      int nextOffsetShouldBe = currentFieldEndsAt + 1;
+      // issue_56: Validate that Table_Character fields do not overlap based upon field length
+      // definitions
+      if (currentFieldEndsAt > this.offsets[i + 1]) {
+        this.characterOverlaps[i] = "This field overlaps the next field. Current field ends at "
+            + currentFieldEndsAt + ". Next field starts at " + this.offsets[i + 1]
+            + " but should be at least at " + nextOffsetShouldBe;
+      }
+      // If stopBit is set and we aren't at the end of the field, we should check for
+      // overlapping bit fields
+      int stopBit = fields[i].getStopBit();
+      if (stopBit > 0 && stopBit != this.lengths[i] * 8) {
+        int nextStartBit = fields[i + 1].getStartBit();
+        if (nextStartBit > 1 && stopBit >= nextStartBit) {
+          this.fieldOverlaps[i] = "The bit field overlaps the next field. "
+              + "Current stop_bit_location: " + (stopBit + 1) + ". Next start_bit_location: "
+              + (nextStartBit + 1);
+          this.fieldOverlapNumbers[i] = actualFieldNumber;
+        }
+      } else if (this.offsets[i] > this.offsets[i + 1]
+          || (!this.bitStrings[i] && currentFieldEndsAt > this.offsets[i + 1])) {
+        this.fieldOverlaps[i] = "This field overlaps the next field. Current field ends at "
+            + currentFieldEndsAt + ". Next field starts at " + (this.offsets[i + 1] + 1)
+            + " but should be at least at " + nextOffsetShouldBe;
+        this.fieldOverlapNumbers[i] = i + 1;
+      }
+    }
+  }
+
+  /**
+   * Gets the layout of a table, compiling it unless a table with the same field definitions was
+   * already compiled.
+   *
+   * @param fields The field descriptions of the table.
+   * @return The layout.
+   */
+  public static TableLayout of(FieldDescription[] fields) {
+    return of(fields, null);
+  }
+
+  /**
+   * Gets the layout of a table whose fields are reported with the field numbers of the label.
+   *
+   * @param fields The field descriptions of the table.
+   * @param fieldNumbers The field_number of each field, or null to number the fields from 1.
+   * @return The layout.
+   */
+  public static TableLayout of(FieldDescription[] fields, int[] fieldNumbers) {
+    if (fieldNumbers != null && fieldNumbers.length != fields.length) {
+      fieldNumbers = null;
+    }
+    String key = key(fields, fieldNumbers);
+    synchronized (LAYOUTS) {
+      TableLayout layout = LAYOUTS.get(key);
+      if (layout != null) {
+        return layout;
+      }
+    }
+    TableLayout layout = new TableLayout(fields, fieldNumbers);
+    synchronized (LAYOUTS) {
+      TableLayout existing = LAYOUTS.putIfAbsent(key, layout);
+      return existing == null ? layout : existing;
+    }
+  }
+
+  /** The properties of the fields the layout is compiled from. */
+  private static String key(FieldDescription[] fields, int[] fieldNumbers) {
+    StringBuilder key = new StringBuilder(fields.length * 28);
+    for (int i = 0; i < fields.length; i++) {
+      FieldDescription field = fields[i];
+      key.append(field.getOffset()).append(',').append(field.getLength()).append(',')
+          .append(field.getStartBit()).append(',').append(field.getStopBit()).append(',')
+          .append(field.getType()).append(',').append(field.getFieldFormat()).append(',')
+          .append(fieldNumbers == null ? i + 1 : fieldNumbers[i]).append(';');
+    }
+    return key.toString();
+  }
+
+  /**
+   * @return the number of fields.
+   */
+  public int getFieldCount() {
+    return this.offsets.length;
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the 0-based offset of the field in the record.
+   */
+  public int getOffset(int index) {
+    return this.offsets[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the length of the field in bytes.
+   */
+  public int getLength(int index) {
+    return this.lengths[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return true if the field is a signed or unsigned bit string.
+   */
+  public boolean isBitString(int index) {
+    return this.bitStrings[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the data type of the field as named in the label, such as ASCII_Real.
+   */
+  public String getDataType(int index) {
+    return this.dataTypes[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the field_format of the field, empty if it has none.
+   */
+  public String getFormat(int index) {
+    return this.formats[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the field_number of the field in the label, or its 1-based index if the label numbers
+   *         were not given.
+   */
+  public int getFieldNumber(int index) {
+    return this.fieldNumbers[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the message if the field overlaps the next one, checked for character tables, or null.
+   */
+  public String getCharacterOverlap(int index) {
+    return this.characterOverlaps[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the message if the field overlaps the next one so that the records cannot be read, or
+   *         null.
+   */
+  public String getFieldOverlap(int index) {
+    return this.fieldOverlaps[index];
+  }
+
+  /**
+   * @param index The 0-based index of the field.
+   * @return the field number to report with {@link #getFieldOverlap(int)}.
+   */
+  public int getFieldOverlapNumber(int index) {
+    return this.fieldOverlapNumbers[index];
+  }
+}
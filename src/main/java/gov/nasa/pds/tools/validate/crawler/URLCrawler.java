@@ -17,25 +17,48 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import gov.nasa.pds.tools.util.HttpTransport;
 import gov.nasa.pds.tools.validate.Target;
 
 /**
  * Class to crawl a resource.
  *
+ * <p>
+ * Directory listings are fetched through the shared {@link HttpTransport} client. Several rules
+ * crawl the same directory, so the listings are kept for the run, and the listings of the
+ * subdirectories found are requested in the background while the current one is processed. No
+ * more subdirectories are prefetched than listings are kept, so that a wide directory does not
+ * evict its own prefetched listings before they are used.
+ * </p>
+ *
  * @author mcayanan
  *
  */
 public class URLCrawler extends Crawler {
+  /** Maximum number of directory listings kept, and of subdirectories prefetched per listing. */
+  static final int MAX_LISTINGS = 256;
+
+  private static final Map<String, CompletableFuture<String>> LISTINGS =
+      new LinkedHashMap<String, CompletableFuture<String>>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<String>> eldest) {
+          return size() > MAX_LISTINGS;
+        }
+      };
 
   public URLCrawler() {
     super();
@@ -53,15 +76,15 @@ public class URLCrawler extends Crawler {
    */
   public List<Target> crawl(URL url, boolean getDirectories, IOFileFilter fileFilter)
       throws IOException {
+    Document doc;
     try {
-      SSLContext context = SSLContext.getInstance("TLSv1.2");
-      context.init(null, null, new java.security.SecureRandom());
-      HttpsURLConnection.setDefaultSSLSocketFactory(context.getSocketFactory());
-    } catch (Exception e) {
-      throw new IOException(
-          "Error while setting SSLSocket connection to TLSv1.2: " + e.getMessage());
+      doc = Jsoup.parse(listing(url).join(), url.toString());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
     }
-    Document doc = Jsoup.connect(url.toString()).get();
     Set<Target> results = new LinkedHashSet<>();
     for (Element file : doc.select("a")) {
       String value = file.attr("abs:href");
@@ -87,6 +110,64 @@ public class URLCrawler extends Crawler {
         }
       }
     }
+    if (getDirectories) {
+      prefetch(results);
+    }
     return new ArrayList<>(results);
   }
+
+  /**
+   * Gets the listing of a directory, requesting it unless it was already requested.
+   *
+   * @param url The directory url.
+   * @return The listing, once retrieved.
+   * @throws IOException If the request cannot be sent.
+   */
+  private static CompletableFuture<String> listing(URL url) throws IOException {
+    CompletableFuture<String> created = new CompletableFuture<>();
+    CompletableFuture<String> listing;
+    synchronized (LISTINGS) {
+      // A failed request is retried rather than reported again.
+      listing = LISTINGS.compute(url.toString(),
+          (key, existing) -> existing != null && !existing.isCompletedExceptionally() ? existing
+              : created);
+    }
+    if (listing == created) {
+      // The request is queued outside the lock. Callers asking for the same directory in the
+      // meantime wait on the same listing.
+      try {
+        HttpTransport.getStringAsync(url).whenComplete((body, error) -> {
+          if (error == null) {
+            created.complete(body);
+          } else {
+            created.completeExceptionally(
+                error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+          }
+        });
+      } catch (IOException | RuntimeException e) {
+        created.completeExceptionally(e);
+        throw e;
+      }
+    }
+    return listing;
+  }
+
+  private static void prefetch(Set<Target> targets) {
+    int prefetched = 0;
+    for (Target target : targets) {
+      if (prefetched == MAX_LISTINGS) {
+        break;
+      }
+      if (target.isDir()) {
+        prefetched++;
+        try {
+          listing(target.getUrl());
+        } catch (IOException e) {
+          // Reported when the directory itself is crawled.
+        }
+      }
+    }
+  }
 }
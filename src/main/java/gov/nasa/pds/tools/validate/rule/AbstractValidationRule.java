@@ -58,6 +58,9 @@ public abstract class AbstractValidationRule implements ValidationRule {
     if (isApplicable(getTarget().toString())) {
       // Run each annotated validation test.
       for (Method m : getClass().getMethods()) {
+        if (context.isCancelled()) {
+          break;
+        }
         Annotation a = m.getAnnotation(ValidationTest.class);
         if (a != null) {
           LOG.debug("AbstractValidationRule:execute: m,a {},{}", m, a);
@@ -98,6 +101,8 @@ public abstract class AbstractValidationRule implements ValidationRule {
     newContext.setRootTarget(false);
     newContext.setRecursive(context.isRecursive());
     newContext.setCrawler(context.getCrawler());
+    newContext.setCancellationToken(context.getCancellationToken());
+    newContext.setWorkerPool(context.getWorkerPool());
     newContext.setFileFilters(context.getFileFilters());
     newContext.setChecksumManifest(context.getChecksumManifest());
     newContext.setForceLabelSchemaValidation(context.isForceLabelSchemaValidation());
@@ -107,6 +112,7 @@ public abstract class AbstractValidationRule implements ValidationRule {
     newContext.setCheckData(context.getCheckData());
     newContext.setRegisteredProducts(context.getRegisteredProducts());
     newContext.setSpotCheckData(context.getSpotCheckData());
+    newContext.setSpotCheckPolicy(context.getSpotCheckPolicy());
     newContext.setAllowUnlabeledFiles(context.getAllowUnlabeledFiles());
     newContext.setValidateContext(context.getValidateContext());
     newContext.setSkipProductValidation(context.getSkipProductValidation());
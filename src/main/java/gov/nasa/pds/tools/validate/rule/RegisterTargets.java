@@ -53,6 +53,9 @@ public class RegisterTargets extends AbstractValidationRule {
           fileFilter = new WildcardOSFilter(Arrays.asList(new String[] {"*"}));
         }
         for (Target child : crawler.crawl(getTarget(), getContext().isRecursive(), fileFilter)) {
+          if (getContext().isCancelled()) {
+            break;
+          }
           try {
             String childLocation = child.getUrl().toURI().normalize().toString();
             TargetType childType = Utility.getTargetType(child.getUrl());
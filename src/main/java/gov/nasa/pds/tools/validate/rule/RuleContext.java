@@ -35,6 +35,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 import org.apache.commons.chain.impl.ContextBase;
 import org.slf4j.Logger;
@@ -42,12 +43,15 @@ import org.slf4j.LoggerFactory;
 import gov.nasa.pds.tools.label.ExceptionType;
 import gov.nasa.pds.tools.label.LocationValidator;
 import gov.nasa.pds.tools.label.XMLCatalogResolver;
-import gov.nasa.pds.tools.util.ContextProductReference;
+import gov.nasa.pds.tools.util.ContextProductIndex;
+import gov.nasa.pds.tools.util.LocationKey;
 import gov.nasa.pds.tools.validate.AdditionalTarget;
 import gov.nasa.pds.tools.validate.ProblemListener;
 import gov.nasa.pds.tools.validate.TargetRegistrar;
+import gov.nasa.pds.tools.validate.content.SpotCheckPolicy;
 import gov.nasa.pds.tools.validate.crawler.Crawler;
 import gov.nasa.pds.tools.validate.crawler.WildcardOSFilter;
+import gov.nasa.pds.tools.validate.task.CancellationToken;
 import gov.nasa.pds.validate.constants.Constants;
 
 /**
@@ -124,13 +128,18 @@ public class RuleContext extends ContextBase {
    */
   public static final String SPOT_CHECK_DATA_KEY = "validate.spot-check";
 
+  /**
+   * The key used to retrieve how records are sampled during content validation.
+   */
+  public static final String SPOT_CHECK_POLICY_KEY = "validate.spot-check-policy";
+
   /**
    * Key used to tell the tool to allow unlabeled files in a bundle or collection.
    */
   public static final String ALLOW_UNLABELED_FILES_KEY = "validate.allow-unlabeled-files";
 
   /**
-   * Key used to store a map of registered Product LIDVIDs.
+   * Key used to store the index of registered Product LIDVIDs.
    */
   public static final String REGISTERED_PRODUCTS_KEY = "validate.registered-products";
 
@@ -154,6 +163,12 @@ public class RuleContext extends ContextBase {
 
   public static final String LAST_DIRECTORY_FLAG_KEY = "validate.last-directory-flag";
 
+  /** The key used to retrieve the token that asks the validation to stop early. */
+  public static final String CANCELLATION_TOKEN_KEY = "validation.cancellation-token";
+
+  /** The key used to retrieve the pool shared by the rules for independent units of work. */
+  public static final String WORKER_POOL_KEY = "validation.worker-pool";
+
   private boolean rootTarget = false;
 
   private ExceptionType logLevel;
@@ -362,11 +377,11 @@ public class RuleContext extends ContextBase {
     putContextValue(CRAWLER_KEY, crawler);
   }
 
-  public void setChecksumManifest(Map<URL, String> manifest) {
+  public void setChecksumManifest(Map<LocationKey, String> manifest) {
     putContextValue(CHECKSUM_MANIFEST_KEY, manifest);
   }
 
-  public Map<URL, String> getChecksumManifest() {
+  public Map<LocationKey, String> getChecksumManifest() {
     return getContextValue(CHECKSUM_MANIFEST_KEY, Map.class);
   }
 
@@ -402,6 +417,29 @@ public class RuleContext extends ContextBase {
     putContextValue(SPOT_CHECK_DATA_KEY, value);
   }
 
+  /**
+   * Gets the spot check policy. If none was set, the policy is derived from the spot check
+   * interval.
+   *
+   * @return the spot check policy, never null
+   */
+  public SpotCheckPolicy getSpotCheckPolicy() {
+    SpotCheckPolicy policy = getContextValue(SPOT_CHECK_POLICY_KEY, SpotCheckPolicy.class);
+    if (policy == null) {
+      Integer interval = getContextValue(SPOT_CHECK_DATA_KEY, Integer.class);
+      if (interval == null || interval <= 0) {
+        return SpotCheckPolicy.NONE;
+      }
+      policy = new SpotCheckPolicy(interval, SpotCheckPolicy.Mode.STRIDE, -1, -1,
+          SpotCheckPolicy.DEFAULT_SEED);
+    }
+    return policy;
+  }
+
+  public void setSpotCheckPolicy(SpotCheckPolicy policy) {
+    putContextValue(SPOT_CHECK_POLICY_KEY, policy);
+  }
+
   public boolean getAllowUnlabeledFiles() {
     return getContextValue(ALLOW_UNLABELED_FILES_KEY, Boolean.class);
   }
@@ -410,11 +448,11 @@ public class RuleContext extends ContextBase {
     putContextValue(ALLOW_UNLABELED_FILES_KEY, flag);
   }
 
-  public Map<String, List<ContextProductReference>> getRegisteredProducts() {
-    return getContextValue(REGISTERED_PRODUCTS_KEY, Map.class);
+  public ContextProductIndex getRegisteredProducts() {
+    return getContextValue(REGISTERED_PRODUCTS_KEY, ContextProductIndex.class);
   }
 
-  public void setRegisteredProducts(Map<String, List<ContextProductReference>> products) {
+  public void setRegisteredProducts(ContextProductIndex products) {
     putContextValue(REGISTERED_PRODUCTS_KEY, products);
   }
 
@@ -530,4 +568,37 @@ public class RuleContext extends ContextBase {
   public void setLastDirectoryFlag(boolean flag) {
     putContextValue(LAST_DIRECTORY_FLAG_KEY, flag);
   }
+
+  public CancellationToken getCancellationToken() {
+    return getContextValue(CANCELLATION_TOKEN_KEY, CancellationToken.class);
+  }
+
+  public void setCancellationToken(CancellationToken token) {
+    putContextValue(CANCELLATION_TOKEN_KEY, token);
+  }
+
+  /**
+   * Gets the pool of the task manager that independent units of work, such as chunks of table
+   * records, are forked into.
+   *
+   * @return the pool, or null if each rule creates its own threads
+   */
+  public ForkJoinPool getWorkerPool() {
+    return getContextValue(WORKER_POOL_KEY, ForkJoinPool.class);
+  }
+
+  public void setWorkerPool(ForkJoinPool pool) {
+    putContextValue(WORKER_POOL_KEY, pool);
+  }
+
+  /**
+   * Tests whether the validation was asked to stop. Loops over targets, records or array elements
+   * poll this between units of work.
+   *
+   * @return true, if the validation should stop
+   */
+  public boolean isCancelled() {
+    CancellationToken token = getCancellationToken();
+    return token != null && token.isCancelled();
+  }
 }
@@ -13,10 +13,11 @@
 // $Id$
 package gov.nasa.pds.tools.validate.rule;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import gov.nasa.pds.tools.util.UTF8Validator;
 import gov.nasa.pds.tools.util.Utility;
 
 /**
@@ -24,80 +25,53 @@ import gov.nasa.pds.tools.util.Utility;
  */
 public class UTF8ByteStreamRule extends AbstractValidationRule {
 
+  /** Maximum number of malformed sequences reported for a file. */
+  private static final int MAX_REPORTED = 100;
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+
   @ValidationTest
   public void testUTF8ByteStream() {
-    BufferedInputStream in = null;
-
-    try {
-      in = new BufferedInputStream(getTarget().openStream());
+    try (InputStream in = getTarget().openStream()) {
       checkUTF8ByteStream(in);
     } catch (IOException e) {
       reportError(GenericProblems.MALFORMED_UTF8_CHARACTER, getTarget(), -1, -1);
-    } finally {
-      if (in != null) {
-        try {
-          in.close();
-        } catch (IOException ex) {
-          // Ignore - no way to recover
-        }
-      }
     }
   }
 
   /**
-   * Checks that an input stream only has properly formed UTF-8 byte sequences.
+   * Checks that an input stream only has properly formed UTF-8 byte sequences, reporting the byte
+   * offset of each malformed sequence up to {@link #MAX_REPORTED}.
    *
    * @param in the input stream
-   * @throws IOException if there is an error while reading the input stream or if there is an
-   *         invalid byte sequence
+   * @throws IOException if there is an error while reading the input stream
    */
-  private void checkUTF8ByteStream(BufferedInputStream in) throws IOException {
-    int c;
-
-    for (;;) {
-      c = in.read();
-      if (c < 0) {
-        break;
-      }
+  private void checkUTF8ByteStream(InputStream in) throws IOException {
+    UTF8Validator validator = new UTF8Validator(new UTF8Validator.Listener() {
+      private int reported = 0;
 
-      // If this is an extension character, it is in an invalid spot.
-      // Otherwise, if it's the start of a multi-byte sequence, check
-      // that we have the right number of extension characters.
-      if ((c & 0xC0) == 0x80) {
-        // Extension character not at start of multi-byte sequence.
-        throw new IOException("Invalid UTF-8 byte sequence");
-      }
-      if ((c & 0xE0) == 0xC0) {
-        checkExtensions(in, 1);
-      } else if ((c & 0xF0) == 0xE0) {
-        checkExtensions(in, 2);
-      } else if ((c & 0xF8) == 0xF0) {
-        checkExtensions(in, 3);
-      } else if ((c & 0xFC) == 0xF8) {
-        checkExtensions(in, 4);
-      } else if ((c & 0xFE) == 0xFC) {
-        checkExtensions(in, 5);
-      } else if (c > 0x7F) {
-        throw new IOException("Invalid UTF-8 byte sequence");
+      @Override
+      public boolean malformed(long offset) {
+        if (reported == MAX_REPORTED) {
+          reportError(GenericProblems.MALFORMED_UTF8_CHARACTER, getTarget(), -1, -1,
+              "More than " + MAX_REPORTED
+                  + " malformed UTF-8 byte sequences, the remaining ones are not reported");
+          return false;
+        }
+        reported++;
+        reportError(GenericProblems.MALFORMED_UTF8_CHARACTER, getTarget(), -1, -1,
+            "Malformed UTF-8 byte sequence at byte offset " + offset);
+        return true;
       }
-    }
-  }
-
-  /**
-   * Checks that we have the right number of extension characters in a multi-byte sequence.
-   *
-   * @param in the input stream
-   * @param n the number of extension characters expected
-   * @throws IOException if an exception occurs while reading the input or if there is an invalid
-   *         byte sequence
-   */
-  private void checkExtensions(BufferedInputStream in, int n) throws IOException {
-    for (int i = 0; i < n; ++i) {
-      int c = in.read();
-      if (c < 0 || (c & 0xC0) != 0x80) {
-        throw new IOException("Invalid UTF-8 byte sequence");
+    });
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      if (!validator.update(buffer, 0, count)) {
+        return;
       }
     }
+    validator.finish();
   }
 
   @Override
@@ -48,6 +48,7 @@ import gov.nasa.pds.web.ui.containers.StatusContainer;
 import gov.nasa.pds.web.ui.containers.dataSet.Bucket;
 import gov.nasa.pds.web.ui.containers.dataSet.ValidationResults;
 import gov.nasa.pds.web.ui.containers.dataSet.ValidationResults.SimpleProblem;
+import gov.nasa.pds.web.ui.utils.CancelledException;
 import gov.nasa.pds.web.ui.utils.DataSetValidator;
 
 /**
@@ -151,10 +152,16 @@ public class VolumeValidationRule extends AbstractValidationRule implements Obse
     DataSetValidator validator =
         new DataSetValidator(PROC_ID, FileUtils.toFile(getTarget()), status);
     validator.addObserver(this);
+    validator.setWorkerPool(getContext().getWorkerPool());
 
     // do validation
     LOG.info("About to validate PDS3 volume.");
-    validator.validate();
+    try {
+      validator.validate();
+    } catch (CancelledException e) {
+      LOG.info("PDS3 volume validation canceled.");
+      return;
+    }
     LOG.info("Finished validation.");
 
     // get results from validator
@@ -170,6 +177,10 @@ public class VolumeValidationRule extends AbstractValidationRule implements Obse
    */
   @Override
   public void update(Observable validator, Object object) {
+    // The data set validator stops at its next step once its status is cancelled.
+    if (getContext().isCancelled()) {
+      this.status.setCancelled();
+    }
     if (object instanceof Bucket) {
       Bucket bucket = (Bucket) object;
       postProblems(bucket);
@@ -97,6 +97,8 @@ public class ArrayValidator implements DataObjectValidator {
         ArrayContentValidator validator = new ArrayContentValidator(this.listener, target,
             this.array.getDataFile(), this.arrayIndex);
         validator.setSpotCheckData(this.context.getSpotCheckData());
+        validator.setSpotCheckPolicy(this.context.getSpotCheckPolicy());
+        validator.setCancellationToken(this.context.getCancellationToken());
         validator.validate(this.array);
       } else {
         addArrayProblem(ExceptionType.FATAL, ProblemType.INVALID_LABEL, "Missing Axis_Array area.",
@@ -24,6 +24,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import gov.nasa.pds.tools.label.ExceptionType;
+import gov.nasa.pds.tools.util.LabelIdentity;
 import gov.nasa.pds.tools.util.ReferentialIntegrityUtil;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.util.XMLExtractor;
@@ -46,9 +47,6 @@ import net.sf.saxon.tree.tiny.TinyNodeImpl;
 public class BundleReferentialIntegrityRule extends AbstractValidationRule {
   private static final Logger LOG = LoggerFactory.getLogger(BundleReferentialIntegrityRule.class);
 
-  private static final String PRODUCT_CLASS =
-      "//*[starts-with(name(),'Identification_Area')]/product_class";
-
   /** XPath to grab the Member_Entry tags in a bundle. */
   private static final String BUNDLE_MEMBER_ENTRY = "//Bundle_Member_Entry";
 
@@ -58,18 +56,6 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
   /** The LID-VID or LID XPath for an association. */
   private static final String IDENTITY_REFERENCE = "lidvid_reference | lid_reference";
 
-  /**
-   * XPath to the logical identifier.
-   */
-  private static final String LOGICAL_IDENTIFIER =
-      "//*[starts-with(name(),'Identification_Area')]/logical_identifier";
-
-  /**
-   * XPath to the version id.
-   */
-  private static final String VERSION_ID =
-      "//*[starts-with(name(),'Identification_Area')]/version_id";
-
   private double totalTimeElapsed = 0.0;
 
   @Override
@@ -100,10 +86,10 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
 
         if (matcher.matches()) {
           try {
-            XMLExtractor extractor = new XMLExtractor(child.getUrl());
-            if ("Product_Bundle".equals(extractor.getValueFromDoc(PRODUCT_CLASS))) {
-              String lid = extractor.getValueFromDoc(LOGICAL_IDENTIFIER);
-              String vid = extractor.getValueFromDoc(VERSION_ID);
+            LabelIdentity identity = LabelIdentity.of(child.getUrl());
+            if ("Product_Bundle".equals(identity.getProductClass())) {
+              String lid = orEmpty(identity.getLogicalIdentifier());
+              String vid = orEmpty(identity.getVersionId());
               // For bundles, set a reference to itself.
               bundleURL = child.getUrl();
               getRegistrar().addIdentifierReference(bundleURL.toString(), new Identifier(lid, vid));
@@ -156,6 +142,7 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
     long startTime = System.currentTimeMillis();
     try {
       XMLExtractor extractor = new XMLExtractor(bundle);
+      String parentLid = orEmpty(LabelIdentity.of(bundle).getLogicalIdentifier());
       List<TinyNodeImpl> nodes = extractor.getNodesFromDoc(BUNDLE_MEMBER_ENTRY);
       for (TinyNodeImpl node : nodes) {
         String reference = extractor.getValueFromItem(IDENTITY_REFERENCE, node);
@@ -183,7 +170,6 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
                       + "any product within the given target."),
                   bundle));
         } else if (matchingMembers.size() == 1) {
-          String parentLid = extractor.getValueFromDoc(LOGICAL_IDENTIFIER);
           super.verifyLidPrefix(id.getLid(), parentLid, memberStatus, bundle);
           getListener()
               .addProblem(
@@ -192,7 +178,6 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
                           + "the following product: " + matchingMembers.get(0).getValue()),
                       bundle));
         } else if (matchingMembers.size() > 1) {
-          String parentLid = extractor.getValueFromDoc(LOGICAL_IDENTIFIER);
           super.verifyLidPrefix(id.getLid(), parentLid, memberStatus, bundle);
           ExceptionType exceptionType = ExceptionType.ERROR;
           if (!id.hasVersion()) {
@@ -246,6 +231,11 @@ public class BundleReferentialIntegrityRule extends AbstractValidationRule {
         totalTimeElapsed / 1000.0);
   }
 
+  /** Missing identification fields read as empty, like the XPath string values they replace. */
+  private static String orEmpty(String value) {
+    return value == null ? "" : value;
+  }
+
   private Identifier parseIdentifier(String identifier) {
     if (identifier.indexOf("::") != -1) {
       return new Identifier(identifier.split("::")[0], identifier.split("::")[1]);
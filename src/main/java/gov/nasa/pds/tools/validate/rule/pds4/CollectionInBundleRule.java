@@ -49,6 +49,9 @@ public class CollectionInBundleRule extends AbstractValidationRule {
 
         int count = 0;
         for (Target dir : dirs) {
+          if (getContext().isCancelled()) {
+            break;
+          }
           if (++count == dirs.size()) {
             getContext().setLastDirectoryFlag(true);
           }
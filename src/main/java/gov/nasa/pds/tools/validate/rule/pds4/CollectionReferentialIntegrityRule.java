@@ -15,6 +15,7 @@ package gov.nasa.pds.tools.validate.rule.pds4;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,9 +25,9 @@ import gov.nasa.pds.tools.inventory.reader.InventoryEntry;
 import gov.nasa.pds.tools.inventory.reader.InventoryReaderException;
 import gov.nasa.pds.tools.inventory.reader.InventoryTableReader;
 import gov.nasa.pds.tools.label.ExceptionType;
+import gov.nasa.pds.tools.util.LabelIdentity;
 import gov.nasa.pds.tools.util.ReferentialIntegrityUtil;
 import gov.nasa.pds.tools.util.Utility;
-import gov.nasa.pds.tools.util.XMLExtractor;
 import gov.nasa.pds.tools.validate.Identifier;
 import gov.nasa.pds.tools.validate.ProblemDefinition;
 import gov.nasa.pds.tools.validate.ProblemType;
@@ -48,12 +49,6 @@ public class CollectionReferentialIntegrityRule extends AbstractValidationRule {
   private static final Logger LOG =
       LoggerFactory.getLogger(CollectionReferentialIntegrityRule.class);
 
-  private static final String PRODUCT_CLASS =
-      "//*[starts-with(name(),'Identification_Area')]/product_class";
-
-  private static final String LOGICAL_IDENTIFIER =
-      "//*[starts-with(name(),'Identification_Area')]/logical_identifier";
-
   private String lid = null;
   private double totalTimeElapsed = 0.0;
 
@@ -83,10 +78,11 @@ public class CollectionReferentialIntegrityRule extends AbstractValidationRule {
 
         Target collectionTarget = new Target(collection.getValue().getUrl(), false);
         try {
-          XMLExtractor extractor = new XMLExtractor(collectionTarget.getUrl());
-          if ("Product_Collection".equals(extractor.getValueFromDoc(PRODUCT_CLASS))) {
+          LabelIdentity identity = LabelIdentity.of(collectionTarget.getUrl());
+          if ("Product_Collection".equals(identity.getProductClass())) {
             getListener().addLocation(collectionTarget.getUrl().toString());
-            this.lid = extractor.getValueFromDoc(LOGICAL_IDENTIFIER);
+            this.lid =
+                identity.getLogicalIdentifier() == null ? "" : identity.getLogicalIdentifier();
             getCollectionMembers(collectionTarget.getUrl());
           }
         } catch (Exception e) {
@@ -116,6 +112,7 @@ public class CollectionReferentialIntegrityRule extends AbstractValidationRule {
       int numOfCollectionMembers = 0;
 
       InventoryTableReader reader = new InventoryTableReader(collection);
+      Map<String, List<Map.Entry<Identifier, String>>> definitionsByLid = indexDefinitionsByLid();
       for (InventoryEntry entry = new InventoryEntry(); entry != null;) {
         if (!entry.isEmpty()) {
           numOfCollectionMembers++;
@@ -150,8 +147,8 @@ public class CollectionReferentialIntegrityRule extends AbstractValidationRule {
             }
 
             List<Map.Entry<Identifier, String>> matchingMembers = new ArrayList<>();
-            for (Map.Entry<Identifier, String> idEntry : getRegistrar().getIdentifierDefinitions()
-                .entrySet()) {
+            for (Map.Entry<Identifier, String> idEntry : definitionsByLid
+                .getOrDefault(id.getLid(), Collections.emptyList())) {
               if (id.equals(idEntry.getKey())) {
                 matchingMembers.add(idEntry);
               }
@@ -262,10 +259,29 @@ public class CollectionReferentialIntegrityRule extends AbstractValidationRule {
     //
     // [urn:nasa:pds:cocirs_c2h4abund:data_derived:c2h4_abund_profiles :: 1.2.3.4]`
 
-    if (identifier.indexOf("::") != -1) {
-      return new Identifier(identifier.split("::")[0].trim(), identifier.split("::")[1].trim());
+    int separator = identifier.indexOf("::");
+    if (separator != -1) {
+      int versionEnd = identifier.indexOf("::", separator + 2);
+      if (versionEnd == -1) {
+        versionEnd = identifier.length();
+      }
+      return new Identifier(identifier.substring(0, separator).trim(),
+          identifier.substring(separator + 2, versionEnd).trim());
+    }
+    return new Identifier(identifier.trim());
+  }
+
+  /**
+   * Groups the registered identifier definitions by LID, so that each inventory member is only
+   * compared with the products sharing its LID instead of every product of the target.
+   */
+  private Map<String, List<Map.Entry<Identifier, String>>> indexDefinitionsByLid() {
+    Map<String, List<Map.Entry<Identifier, String>>> index = new HashMap<>();
+    for (Map.Entry<Identifier, String> idEntry : getRegistrar().getIdentifierDefinitions()
+        .entrySet()) {
+      index.computeIfAbsent(idEntry.getKey().getLid(), lid -> new ArrayList<>()).add(idEntry);
     }
-    return new Identifier(identifier.split("::")[0].trim());
+    return index;
   }
 
   private Map<String, List<String>> findMatchingIds(List<Map.Entry<Identifier, String>> products) {
@@ -45,6 +45,7 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import gov.nasa.pds.tools.label.ExceptionType;
 import gov.nasa.pds.tools.label.SourceLocation;
+import gov.nasa.pds.tools.util.ContextProductIndex;
 import gov.nasa.pds.tools.util.ContextProductReference;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.validate.ProblemDefinition;
@@ -114,7 +115,7 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
     return true;
   }
 
-  private boolean performVersionIdSearch(List<ContextProductReference> rgProds,
+  private boolean performVersionIdSearch(ContextProductIndex rgProds,
       ContextProductReference lidvidObj) {
     // The list of registered products only contain the latest version as of
     // 01/08/2021.
@@ -128,7 +129,7 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
     // Registered lidvid: urn:nasa:pds:context:investigation:mission.insight::2.0
     //
     // Parameters:
-    // List<ContextProductReference> rgProds = a list of all registered products
+    // ContextProductIndex rgProds = an index of all registered products
     // parsed from registered_context_products.json file.
     // ContextProductReference lidvidObj = the lidvid to check against the list
     // registered products.
@@ -143,12 +144,12 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
       double providedVersionId = Double.parseDouble(lidvidObj.getVersion());
       String providedLogicalId = lidvidObj.getLid();
 
+      // Only the registered products sharing the logical id need to be examined.
+      List<ContextProductReference> candidates = rgProds.getByLid(lidvidObj);
       ContextProductReference contextProductReference = null;
       int refIndex = 0;
-      while (!contextReferenceFoundFlag && refIndex < rgProds.size()) {
-        contextProductReference = rgProds.get(refIndex);
-        // LOG.debug("performVersionIdSearch:refIndex,providedLogicalId,providedVersionId,contextProductReference.getVersion()
-        // {},{}",refIndex,providedLogicalId,providedVersionId,contextProductReference.getVersion());
+      while (!contextReferenceFoundFlag && refIndex < candidates.size()) {
+        contextProductReference = candidates.get(refIndex);
         if (contextProductReference.getLid().equals(providedLogicalId)) {
           // If the provided logical id is the same and the provided version id is greater
           // or equal to registered,
@@ -184,8 +185,7 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
       NodeList references = (NodeList) xpathFactory.newXPath().evaluate(INTERNAL_REF_XPATH, source,
           XPathConstants.NODESET);
 
-      List<ContextProductReference> rgProds =
-          getContext().getRegisteredProducts().get("Product_Context");
+      ContextProductIndex rgProds = getContext().getRegisteredProducts();
       LOG.debug("checkContextReferences: uri,references.getLength() {},{}", uri,
           references.getLength());
       for (int i = 0; i < references.getLength(); i++) {
@@ -234,7 +234,8 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
             // LOG.debug("checkContextReferences: uri,j,lidvid,lidvidObj
             // {},{},{},{}",uri,j,lidvid,lidvidObj);
             try {
-              if (!rgProds.contains(lidvidObj)) {
+              rgp = rgProds.find(lidvidObj);
+              if (rgp == null) {
                 // The list of registered products only contain the latest version as of
                 // 01/08/2021.
                 // If the exact lidvid cannot be found in the list of registered products, do an
@@ -269,19 +270,12 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
                     target, locator.getLineNumber(), -1));
 
                 // now lets check name and type
-                List<String> rgpNames = null;
-                List<String> rgpTypes = null;
                 if (names != null && types != null) {
-                  rgp = rgProds.get(rgProds.indexOf(lidvidObj));
-                  rgpNames = rgp.getNames();
-                  rgpTypes = rgp.getTypes();
                   // check the name
                   for (String name : names) {
-                    if (rgpNames.stream().anyMatch(name::equalsIgnoreCase)) {
-                      // if (name.equalsIgnoreCase(rgp.getName())) {
+                    if (rgp.hasNameIgnoreCase(name)) {
                       // Check name and type case sensitive
-                      if (!rgpNames.contains(name)) {
-                        // if (!name.equals(rgp.getName())) {
+                      if (!rgp.hasName(name)) {
                         getListener().addProblem(new ValidationProblem(
                             new ProblemDefinition(ExceptionType.INFO,
                                 ProblemType.CONTEXT_REFERENCE_FOUND_CASE_MISMATCH,
@@ -300,10 +294,8 @@ public class ContextProductReferenceValidationRule extends AbstractValidationRul
                   }
                   // check the type
                   for (String type : types) {
-                    if (rgpTypes.stream().anyMatch(type::equalsIgnoreCase)) {
-                      // if (type.equalsIgnoreCase(rgp.getType())) {
-                      if (!rgpTypes.contains(type)) {
-                        // if (!type.equals(rgp.getType())) {
+                    if (rgp.hasTypeIgnoreCase(type)) {
+                      if (!rgp.hasType(type)) {
                         getListener().addProblem(new ValidationProblem(
                             new ProblemDefinition(ExceptionType.INFO,
                                 ProblemType.CONTEXT_REFERENCE_FOUND_CASE_MISMATCH,
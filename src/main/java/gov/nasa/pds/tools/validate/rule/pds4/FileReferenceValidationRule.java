@@ -14,6 +14,7 @@
 package gov.nasa.pds.tools.validate.rule.pds4;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -22,6 +23,7 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,13 +37,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import gov.nasa.pds.tools.label.ExceptionType;
+import gov.nasa.pds.tools.util.ChecksumPolicy;
+import gov.nasa.pds.tools.util.DirectoryListingCache;
 import gov.nasa.pds.tools.util.DocumentUtil;
 import gov.nasa.pds.tools.util.DocumentsChecker;
+import gov.nasa.pds.tools.util.FileHeader;
+import gov.nasa.pds.tools.util.FileHeader.Format;
+import gov.nasa.pds.tools.util.FileHeaderCache;
 import gov.nasa.pds.tools.util.FileSizesUtil;
 import gov.nasa.pds.tools.util.ImageUtil;
 import gov.nasa.pds.tools.util.LabelParser;
 import gov.nasa.pds.tools.util.MD5Checksum;
-import gov.nasa.pds.tools.util.PDFUtil;
+import gov.nasa.pds.tools.util.PDFValidationPool;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.util.XMLExtractor;
 import gov.nasa.pds.tools.validate.ProblemDefinition;
@@ -69,10 +76,7 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
   private final String FILE_OBJECTS_XPATH =
       "//*[starts-with(name(), 'File_Area')]/File | //Document_File";
 
-  private Map<URL, String> checksumManifest;
-  private PDFUtil pdfUtil = null; // Define pdfUtil so we can reuse it for every call to
-                                  // validateFileReferences()
-                                  // function.
+  private ChecksumPolicy checksumPolicy;
   private ImageUtil imageUtil = null; // Define imageUtil so we can reuse it for every call to
                                       // isJPEG() function.
   private DocumentsChecker documentsChecker = null; // Define documentsChecker so we can reuse it.
@@ -81,7 +85,7 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
   private HashMap<String, String> fileMapping = null;
 
   public FileReferenceValidationRule() {
-    checksumManifest = new HashMap<>();
+    checksumPolicy = new ChecksumPolicy(null);
   }
 
   @Override
@@ -102,9 +106,14 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
     } catch (URISyntaxException e) {
       // Should never happen
     }
-    if (getContext().getChecksumManifest() != null) {
-      checksumManifest = getContext().getChecksumManifest();
+    checksumPolicy = new ChecksumPolicy(getContext().getChecksumManifest());
+    PendingPDFValidations earlier = getContext()
+        .getContextValue(PDS4Context.PENDING_PDF_VALIDATIONS, PendingPDFValidations.class);
+    if (earlier != null) {
+      // A chain without the reporting rule left these behind; report them before starting over.
+      earlier.report(getListener());
     }
+    getContext().putContextValue(PDS4Context.PENDING_PDF_VALIDATIONS, new PendingPDFValidations());
     Document label = getContext().getContextValue(PDS4Context.LABEL_DOCUMENT, Document.class);
     DOMSource source = new DOMSource(label);
     source.setSystemId(uri.toString());
@@ -158,26 +167,13 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
           URL xincludeUrl = new URL(parent, xinclude);
           LOG.debug("FileReferenceValidationRule:validate:xincludeUrl {}", xincludeUrl);
           try {
-            xincludeUrl.openStream().close();
             // Check that the casing of the file reference matches the
             // casing of the file located on the file system.
-            try {
-              File fileRef = FileUtils.toFile(xincludeUrl);
-              LOG.debug("FileReferenceValidationRule:validate:xincludeUrl,fileRef.getPath() {},{}",
-                  xincludeUrl, fileRef.getPath());
-              if (fileRef != null && !fileRef.getCanonicalPath().endsWith(fileRef.getName())) {
-                ProblemDefinition def = new ProblemDefinition(ExceptionType.WARNING,
-                    ProblemType.FILE_REFERENCE_CASE_MISMATCH,
-                    "File reference'" + fileRef.toString() + "' exists but the case doesn't match");
-                getListener().addProblem(new ValidationProblem(def, target));
-              }
-            } catch (IOException io) {
-              ProblemDefinition def =
-                  new ProblemDefinition(ExceptionType.FATAL, ProblemType.INTERNAL_ERROR,
-                      "Error occurred while checking for the existence of the " + "uri reference '"
-                          + xincludeUrl.toString() + "': " + io.getMessage());
+            if (checkExists(xincludeUrl) == DirectoryListingCache.Presence.CASE_MISMATCH) {
+              ProblemDefinition def = new ProblemDefinition(ExceptionType.WARNING,
+                  ProblemType.FILE_REFERENCE_CASE_MISMATCH, "File reference'"
+                      + FileUtils.toFile(xincludeUrl) + "' exists but the case doesn't match");
               getListener().addProblem(new ValidationProblem(def, target));
-              return false;
             }
             try {
               // Perform checksum validation on the xincludes.
@@ -302,6 +298,29 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
     return true;
   }
 
+  /**
+   * Checks that a referenced file exists. Local files are looked up in the listing of their
+   * directory instead of being opened.
+   *
+   * @param url The referenced file.
+   * @return {@link DirectoryListingCache.Presence#EXACT}, or
+   *         {@link DirectoryListingCache.Presence#CASE_MISMATCH} if the case of a local file name
+   *         does not match the file system.
+   * @throws IOException If the file does not exist.
+   */
+  private static DirectoryListingCache.Presence checkExists(URL url) throws IOException {
+    File file = FileUtils.toFile(url);
+    if (file == null) {
+      url.openStream().close();
+      return DirectoryListingCache.Presence.EXACT;
+    }
+    DirectoryListingCache.Presence presence = DirectoryListingCache.lookup(file);
+    if (presence == DirectoryListingCache.Presence.MISSING) {
+      throw new FileNotFoundException(file.toString());
+    }
+    return presence;
+  }
+
   private boolean validateFileAreaDefinitionAndContent(String fileName, TinyNodeImpl fileObject,
       String checksum, String filesize, String documentStandardId, URL parent, String directory)
       throws MalformedURLException {
@@ -322,28 +341,17 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
 
 
       try {
-        urlRef.openStream().close();
         // Check that the casing of the file reference matches the
         // casing of the file located on the file system.
-        try {
-          File fileRef = FileUtils.toFile(urlRef);
-          if (fileRef != null && !fileRef.getCanonicalPath().endsWith(fileRef.getName())) {
-            ProblemDefinition def = new ProblemDefinition(ExceptionType.WARNING,
-                ProblemType.FILE_REFERENCE_CASE_MISMATCH,
-                "File reference'" + fileRef.toString() + "' exists but the case doesn't match");
-            getListener()
-                .addProblem(new ValidationProblem(def, target, fileObject.getLineNumber(), -1));
-          } else {
-            LOG.debug("FileReferenceValidationRule:validate:getTarget,name,urlRef {},{},{},",
-                getTarget(), fileName, urlRef);
-          }
-        } catch (IOException io) {
-          ProblemDefinition def = new ProblemDefinition(ExceptionType.FATAL,
-              ProblemType.INTERNAL_ERROR, "Error occurred while checking for the existence of the "
-                  + "uri reference '" + urlRef.toString() + "': " + io.getMessage());
+        if (checkExists(urlRef) == DirectoryListingCache.Presence.CASE_MISMATCH) {
+          ProblemDefinition def = new ProblemDefinition(ExceptionType.WARNING,
+              ProblemType.FILE_REFERENCE_CASE_MISMATCH,
+              "File reference'" + FileUtils.toFile(urlRef) + "' exists but the case doesn't match");
           getListener()
               .addProblem(new ValidationProblem(def, target, fileObject.getLineNumber(), -1));
-          return false;
+        } else {
+          LOG.debug("FileReferenceValidationRule:validate:getTarget,name,urlRef {},{},{},",
+              getTarget(), fileName, urlRef);
         }
         try {
           handleChecksum(target, urlRef, fileObject, checksum);
@@ -440,8 +448,18 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
           } else if (doctype.equalsIgnoreCase("UTF-8 Text")
               || doctype.equalsIgnoreCase("7-Bit ASCII Text")
               || doctype.equalsIgnoreCase("Rich Text")) {
-            // If text, pass through as true.
-            continue;
+            // Text has no mime type to check, but must not have the content of another format.
+            try {
+              handleDocumentContent(target, urlRef, fileObject.getLineNumber(), doctype);
+            } catch (Exception e) {
+              ProblemDefinition def =
+                  new ProblemDefinition(ExceptionType.ERROR, ProblemType.INTERNAL_ERROR,
+                      "Error occurred while processing " + doctype + " file content for "
+                          + FilenameUtils.getName(urlRef.toString()) + ": " + e.getMessage());
+              getListener()
+                  .addProblem(new ValidationProblem(def, target, fileObject.getLineNumber(), -1));
+              return false;
+            }
           }
         }
       } catch (IOException io) {
@@ -501,19 +519,25 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
       String checksumInLabel) throws Exception {
     LOG.debug("handleChecksum:target,urlRef,checksumInLabel {},{},{}", target, urlRef,
         checksumInLabel);
-    if (checksumManifest.isEmpty() && (checksumInLabel == null || checksumInLabel.isEmpty())) {
+    if (!checksumPolicy.hasManifest()
+        && (checksumInLabel == null || checksumInLabel.isEmpty())) {
       String message = "No checksum found in the manifest for '" + urlRef + "'";
       LOG.debug("handleChecksum:" + message);
     }
 
-    String generatedChecksum = MD5Checksum.getMD5Checksum(urlRef);
+    // Only compute the digest when the manifest or the label supplies a value to
+    // compare it against.
+    String generatedChecksum = null;
+    if (checksumPolicy.needsChecksum(urlRef, checksumInLabel)) {
+      generatedChecksum = MD5Checksum.getMD5Checksum(urlRef);
+    }
     int lineNumber = -1;
     if (fileObject != null) {
       lineNumber = fileObject.getLineNumber();
     }
-    if (!checksumManifest.isEmpty()) {
-      if (checksumManifest.containsKey(urlRef)) {
-        String suppliedChecksum = checksumManifest.get(urlRef);
+    if (checksumPolicy.hasManifest()) {
+      String suppliedChecksum = checksumPolicy.getManifestChecksum(urlRef);
+      if (suppliedChecksum != null) {
         String message = "";
         ProblemType type = null;
         ExceptionType severity = null;
@@ -650,7 +674,6 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
   private void handlePDF(ValidationTarget target, URL fileRef, TinyNodeImpl fileObject,
       String pdfName, URL parent, String directory) throws Exception {
     LOG.debug("handlePDF:target,fileRef,pdfName {},{},{}", target, fileRef, pdfName);
-    boolean pdfValidateFlag = false;
     if ((pdfName == null) || (fileObject == null)) {
       if (pdfName == null) {
         String message =
@@ -669,39 +692,23 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
       lineNumber = fileObject.getLineNumber();
     }
 
-    if (this.pdfUtil == null) {
-      // Save pdfUtil so it can be reused.
-      this.pdfUtil = new PDFUtil(fileRef);
-    }
-
     // First, let's check the filename even makes sense
     DocumentsChecker check = new DocumentsChecker();
     if (check.isMimeTypeCorrect(fileRef.toString(), "PDF/A")) {
-      // The parent is also needed for validateFileStandardConformity function.
-      pdfValidateFlag = this.pdfUtil.validateFileStandardConformity(pdfName, parent);
-
-      // Report an error if the PDF file is not PDF/A compliant.
-      if (!pdfValidateFlag) {
-        URL urlRef = null;
-        if (!directory.isEmpty()) {
-          urlRef = new URL(parent, directory + File.separator + pdfName); // Make the separator OS
-                                                                          // agnostic.
-        } else {
-          urlRef = new URL(parent, pdfName);
-        }
-        if (this.pdfUtil.getExternalErrorFilename() != null) {
-          // Only point to the error file if it exist.
-          LOG.error("handlePDF:" + urlRef.toString()
-              + " is not valid PDF/A file or does not exist. Error file can be found at "
-              + this.pdfUtil.getExternalErrorFilename());
-        } else {
-          LOG.error(
-              "handlePDF:" + urlRef.toString() + " is not valid PDF/A file or does not exist.");
-        }
-        ProblemDefinition def = new ProblemDefinition(ExceptionType.ERROR,
-            ProblemType.NON_PDFA_FILE, this.pdfUtil.getErrorMessage());
-        getListener().addProblem(new ValidationProblem(def, target, lineNumber, -1));
+      URL urlRef = null;
+      if (!directory.isEmpty()) {
+        urlRef = new URL(parent, directory + File.separator + pdfName); // Make the separator OS
+                                                                        // agnostic.
+      } else {
+        urlRef = new URL(parent, pdfName);
       }
+      // The parent is also needed for validateFileStandardConformity function. The validation
+      // runs while the rest of the label chain checks the label and its data, and its outcome is
+      // reported by the ReportPDFValidationResults rule.
+      getContext()
+          .getContextValue(PDS4Context.PENDING_PDF_VALIDATIONS, PendingPDFValidations.class)
+          .add(PDFValidationPool.getInstance().submit(fileRef, pdfName, parent), target, fileRef,
+              urlRef, lineNumber);
     } else {
       String message = fileRef.toString() + " is an invalid PDF/A filename.";
       LOG.error("handlePDF:" + message);
@@ -859,6 +866,37 @@ public class FileReferenceValidationRule extends AbstractValidationRule {
           new ProblemDefinition(ExceptionType.WARNING, problemType, errorMessage);
       getListener().addProblem(new ValidationProblem(def, target, lineNumber, -1));
     }
+
+    if (documentStandardId != null) {
+      handleDocumentContent(target, fileRef, lineNumber, documentStandardId);
+    }
+  }
+
+  /**
+   * Reports a document whose content is of a known format other than the ones of its document
+   * standard. The format comes from the magic numbers of the file, which are shared with the
+   * checksum pass when the file was already read for it.
+   */
+  private void handleDocumentContent(ValidationTarget target, URL fileRef, int lineNumber,
+      String documentStandardId) throws IOException {
+    EnumSet<Format> expected = DocumentsChecker.getExpectedFormats(documentStandardId);
+    if (expected.isEmpty()) {
+      return;
+    }
+    if (this.documentsChecker == null) {
+      this.documentsChecker = new DocumentsChecker();
+    }
+    FileHeader header = FileHeaderCache.get(fileRef);
+    if (!this.documentsChecker.isContentCorrect(header, documentStandardId)) {
+      String errorMessage = fileRef.toString() + " with document standard '" + documentStandardId
+          + "' has the content of a " + header.getFormat() + " file.  Expected content: "
+          + expected.toString();
+      LOG.warn("handleDocumentContent:" + errorMessage);
+
+      ProblemDefinition def = new ProblemDefinition(ExceptionType.WARNING,
+          ProblemType.DOCUMENT_CONTENT_MISMATCH, errorMessage);
+      getListener().addProblem(new ValidationProblem(def, target, lineNumber, -1));
+    }
   }
 
 }
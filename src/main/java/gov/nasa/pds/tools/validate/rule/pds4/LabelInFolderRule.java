@@ -83,6 +83,9 @@ public class LabelInFolderRule extends AbstractValidationRule {
     }
 
     for (Target t : targetList) {
+      if (getContext().isCancelled()) {
+        break;
+      }
       URL url = null;
       url = t.getUrl();
 
@@ -139,9 +142,16 @@ public class LabelInFolderRule extends AbstractValidationRule {
             target));
       }
       for (Target t : targetList) {
+        if (getContext().isCancelled()) {
+          break;
+        }
         Future<?> f = validateThreadExecutor.submit(new Runnable() {
           @Override
           public void run() {
+            if (getContext().isCancelled()) {
+              // Labels already queued when the run was stopped are skipped.
+              return;
+            }
             try {
               LOG.debug("doValidateLabelsInFolder:t.getUrl() {}", t.getUrl());
               labelRule.execute(getChildContext(t.getUrl()));
@@ -8,4 +8,10 @@ public class PDS4Context {
   /** The key for storing a parsed label as a W3C document. */
   public static final String LABEL_DOCUMENT = "pds4.label.document";
 
+  /**
+   * The key for storing the PDF/A validations of a label that are still running. See
+   * {@link ReportPDFValidationResults}.
+   */
+  public static final String PENDING_PDF_VALIDATIONS = "pds4.label.pending-pdf-validations";
+
 }
@@ -0,0 +1,214 @@
+package gov.nasa.pds.tools.validate.rule.pds4;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.TableObject;
+import gov.nasa.pds.label.object.TableRecord;
+import gov.nasa.pds.objectAccess.RawTableReader;
+import gov.nasa.pds.tools.label.ExceptionType;
+import gov.nasa.pds.tools.util.FileService;
+import gov.nasa.pds.tools.validate.ProblemContainer;
+import gov.nasa.pds.tools.validate.ProblemListener;
+import gov.nasa.pds.tools.validate.ProblemType;
+import gov.nasa.pds.tools.validate.ValidationProblem;
+import gov.nasa.pds.tools.validate.content.table.FieldContentFatalException;
+import gov.nasa.pds.tools.validate.content.table.FieldValueValidator;
+import gov.nasa.pds.tools.validate.content.table.TableContentProblem;
+import gov.nasa.pds.tools.validate.rule.RuleContext;
+
+/**
+ * Validates the field values of a table whose records all have the same, known length (binary and
+ * fixed-width tables) by splitting the records into chunks that are validated concurrently.
+ *
+ * <p>
+ * Each chunk has its own table reader, which seeks straight to the first record of the chunk, and
+ * its own problem buffer. The buffers are handed to the listener in record order, so the report is
+ * the same as the one produced by a sequential scan, including where the scan stops after a fatal
+ * field content error.
+ * </p>
+ */
+class ParallelTableRecordValidator {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelTableRecordValidator.class);
+
+  /** Number of records validated by each task. */
+  static final long CHUNK_RECORDS = 50000;
+
+  /** Tables with fewer records than this are not worth splitting. */
+  static final long MIN_RECORDS = 2 * CHUNK_RECORDS;
+
+  private final RuleContext context;
+  private final ProblemListener listener;
+  private final TableObject tableObject;
+  private final URL dataFile;
+  private final boolean keepQuotationsFlag;
+  private final int threads;
+
+  /**
+   * Constructor.
+   *
+   * @param context The rule context.
+   * @param listener The listener receiving the merged problems.
+   * @param tableObject The table to validate.
+   * @param dataFile The data file containing the table.
+   * @param keepQuotationsFlag Flag to keep the double quote or not.
+   * @param threads The number of chunks validated at the same time.
+   */
+  ParallelTableRecordValidator(RuleContext context, ProblemListener listener,
+      TableObject tableObject, URL dataFile, boolean keepQuotationsFlag, int threads) {
+    this.context = context;
+    this.listener = listener;
+    this.tableObject = tableObject;
+    this.dataFile = dataFile;
+    this.keepQuotationsFlag = keepQuotationsFlag;
+    this.threads = Math.max(1, threads);
+  }
+
+  /**
+   * Tests whether a table is large enough to be split.
+   *
+   * @param recordCount The number of records defined in the label.
+   * @param threads The number of threads available.
+   * @return true if the table should be validated in chunks.
+   */
+  static boolean isApplicable(long recordCount, int threads) {
+    return threads > 1 && recordCount >= MIN_RECORDS;
+  }
+
+  /**
+   * Validates records 1 to recordCount.
+   *
+   * @param recordCount The number of records defined in the label.
+   * @param progress Called once per validated record, on the calling thread.
+   * @return The number of records validated.
+   *
+   * @throws IOException If a record could not be read.
+   */
+  long validate(long recordCount, Runnable progress) throws IOException {
+    LOG.debug("validate:dataFile,recordCount,threads {},{},{}", this.dataFile, recordCount,
+        this.threads);
+    long validated = 0;
+    // Chunks are forked into the worker pool of the task manager when there is one.
+    ForkJoinPool shared = this.context.getWorkerPool();
+    ExecutorService executor =
+        shared != null ? shared : Executors.newFixedThreadPool(this.threads);
+    // Keep a bounded number of chunks in flight so that problem buffers waiting to be merged
+    // do not accumulate for very large tables.
+    Deque<Future<Chunk>> pending = new ArrayDeque<>();
+    try {
+      long nextRecord = 1;
+      while (nextRecord <= recordCount || !pending.isEmpty()) {
+        if (this.context.isCancelled()) {
+          // The run was stopped; the chunks in flight are cancelled below.
+          break;
+        }
+        while (nextRecord <= recordCount && pending.size() < 2 * this.threads) {
+          final long first = nextRecord;
+          final long last = Math.min(recordCount, first + CHUNK_RECORDS - 1);
+          pending.add(executor.submit(() -> validateChunk(first, last)));
+          nextRecord = last + 1;
+        }
+        Chunk chunk = waitFor(pending.poll());
+        for (ValidationProblem problem : chunk.problems.getProblems()) {
+          this.listener.addProblem(problem);
+        }
+        for (long i = 0; i < chunk.validated; i++) {
+          progress.run();
+        }
+        validated += chunk.validated;
+        if (chunk.failure != null) {
+          throw chunk.failure;
+        }
+        if (chunk.fatal) {
+          // A sequential scan stops at the first fatal field error; drop the later chunks.
+          break;
+        }
+      }
+    } finally {
+      if (shared == null) {
+        executor.shutdownNow();
+      } else {
+        // The pool outlives the table; drop the chunks that are no longer needed.
+        for (Future<Chunk> chunk : pending) {
+          chunk.cancel(true);
+        }
+      }
+    }
+    return validated;
+  }
+
+  private Chunk validateChunk(long first, long last) throws Exception {
+    Chunk chunk = new Chunk();
+    int dataObjectIndex = this.tableObject.getDataObjectLocation().getDataObject();
+    FieldValueValidator fieldValueValidator = new FieldValueValidator(chunk.problems, this.context);
+    RawTableReader reader = this.tableObject.getRawTableReader();
+    // The reader builds a new array on every call, and the validator compiles the layout of the
+    // fields each time it is given a different array.
+    FieldDescription[] fields = reader.getFields();
+    long current = first;
+    try {
+      TableRecord record = reader.getRecord(first, this.keepQuotationsFlag);
+      while (record != null && !this.context.isCancelled()) {
+        chunk.validated++;
+        try {
+          fieldValueValidator.validate(record, fields, false);
+        } catch (FieldContentFatalException e) {
+          FileService.printStackTraceToFile(null, e);
+          LOG.error("validateChunk:message:" + e.getMessage());
+          chunk.fatal = true;
+          break;
+        } catch (ArrayIndexOutOfBoundsException e) {
+          chunk.problems.addProblem(new TableContentProblem(ExceptionType.ERROR,
+              ProblemType.INVALID_OBJECT_DEFINITION, e.getMessage(), this.dataFile,
+              this.context.getTarget(), dataObjectIndex, record.getLocation().getRecord(), -1));
+        }
+        if (current++ == last) {
+          break;
+        }
+        record = reader.readNext();
+      }
+    } catch (BufferUnderflowException be) {
+      chunk.failure = new IOException("Unexpected end-of-file reached while reading file area "
+          + this.tableObject.getDataObjectLocation().getFileArea() + ", data object "
+          + dataObjectIndex + ", " + "record '" + current + "'");
+    } catch (IOException io) {
+      chunk.failure = io;
+    } finally {
+      reader.close();
+    }
+    return chunk;
+  }
+
+  private static Chunk waitFor(Future<Chunk> chunk) throws IOException {
+    try {
+      return chunk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while validating table records", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause.getMessage(), cause);
+    }
+  }
+
+  /** The outcome of validating one chunk of records. */
+  private static class Chunk {
+    private final ProblemContainer problems = new ProblemContainer();
+    private long validated = 0;
+    private boolean fatal = false;
+    private IOException failure = null;
+  }
+}
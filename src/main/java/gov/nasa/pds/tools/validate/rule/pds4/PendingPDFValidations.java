@@ -0,0 +1,107 @@
+package gov.nasa.pds.tools.validate.rule.pds4;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.tools.label.ExceptionType;
+import gov.nasa.pds.tools.util.PDFUtil;
+import gov.nasa.pds.tools.util.PDFValidationPool;
+import gov.nasa.pds.tools.validate.ProblemDefinition;
+import gov.nasa.pds.tools.validate.ProblemListener;
+import gov.nasa.pds.tools.validate.ProblemType;
+import gov.nasa.pds.tools.validate.ValidationProblem;
+import gov.nasa.pds.tools.validate.ValidationTarget;
+
+/**
+ * Holds the PDF/A validations submitted to the {@link PDFValidationPool} while the file references
+ * of a label are checked. They keep running while the rest of the label chain checks the label and
+ * its data, and their outcome is reported by {@link ReportPDFValidationResults} before the results
+ * of the label are recorded.
+ */
+class PendingPDFValidations {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PendingPDFValidations.class);
+
+  private final List<PendingPDF> pending = new ArrayList<>();
+
+  /**
+   * Adds a submitted validation.
+   *
+   * @param result The outcome of the validation.
+   * @param target The label referencing the document.
+   * @param fileRef The referenced document.
+   * @param urlRef The document location used in the log messages.
+   * @param lineNumber The line of the file object in the label, or -1.
+   */
+  synchronized void add(Future<PDFUtil> result, ValidationTarget target, URL fileRef, URL urlRef,
+      int lineNumber) {
+    this.pending.add(new PendingPDF(result, target, fileRef, urlRef, lineNumber));
+  }
+
+  /**
+   * Waits for the validations and reports their outcome, in the order the documents appear in the
+   * label.
+   *
+   * @param listener The listener receiving the problems.
+   */
+  void report(ProblemListener listener) {
+    List<PendingPDF> submitted;
+    synchronized (this) {
+      submitted = new ArrayList<>(this.pending);
+      this.pending.clear();
+    }
+    for (PendingPDF pdf : submitted) {
+      try {
+        PDFUtil pdfUtil = pdf.result.get();
+        // Report an error if the PDF file is not PDF/A compliant.
+        if (!pdfUtil.isCompliant()) {
+          if (pdfUtil.getExternalErrorFilename() != null) {
+            // Only point to the error file if it exist.
+            LOG.error("handlePDF:" + pdf.urlRef.toString()
+                + " is not valid PDF/A file or does not exist. Error file can be found at "
+                + pdfUtil.getExternalErrorFilename());
+          } else {
+            LOG.error("handlePDF:" + pdf.urlRef.toString()
+                + " is not valid PDF/A file or does not exist.");
+          }
+          ProblemDefinition def = new ProblemDefinition(ExceptionType.ERROR,
+              ProblemType.NON_PDFA_FILE, pdfUtil.getErrorMessage());
+          listener.addProblem(new ValidationProblem(def, pdf.target, pdf.lineNumber, -1));
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
+        }
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        ProblemDefinition def = new ProblemDefinition(ExceptionType.ERROR,
+            ProblemType.INTERNAL_ERROR, "Error occurred while processing PDF file content for "
+                + FilenameUtils.getName(pdf.fileRef.toString()) + ": " + cause.getMessage());
+        listener.addProblem(new ValidationProblem(def, pdf.target, pdf.lineNumber, -1));
+      }
+    }
+  }
+
+  /** A PDF/A validation submitted to the pool, with what is needed to report its outcome. */
+  private static class PendingPDF {
+    private final Future<PDFUtil> result;
+    private final ValidationTarget target;
+    private final URL fileRef;
+    private final URL urlRef;
+    private final int lineNumber;
+
+    PendingPDF(Future<PDFUtil> result, ValidationTarget target, URL fileRef, URL urlRef,
+        int lineNumber) {
+      this.result = result;
+      this.target = target;
+      this.fileRef = fileRef;
+      this.urlRef = urlRef;
+      this.lineNumber = lineNumber;
+    }
+  }
+
+}
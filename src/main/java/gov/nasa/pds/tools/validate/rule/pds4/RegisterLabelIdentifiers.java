@@ -13,17 +13,12 @@
 // $Id$
 package gov.nasa.pds.tools.validate.rule.pds4;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import gov.nasa.pds.tools.util.LabelIdentity;
 import gov.nasa.pds.tools.validate.Identifier;
 import gov.nasa.pds.tools.validate.TargetRegistrar;
 import gov.nasa.pds.tools.validate.rule.AbstractValidationRule;
@@ -36,22 +31,6 @@ import gov.nasa.pds.tools.validate.rule.ValidationTest;
 public class RegisterLabelIdentifiers extends AbstractValidationRule {
 
   private static final Logger LOG = LoggerFactory.getLogger(RegisterLabelIdentifiers.class);
-  private static final String PDS4_NS = "http://pds.nasa.gov/pds4/pds/v1";
-
-  private static final String IDENTIFIERS_PATH = "//*:Identification_Area[namespace-uri()='"
-      + PDS4_NS + "']" + "/*:logical_identifier[namespace-uri()='" + PDS4_NS + "']";
-
-  private static final String VERSION_ID_PATH = "//*:Identification_Area[namespace-uri()='"
-      + PDS4_NS + "']" + "/*:version_id[namespace-uri()='" + PDS4_NS + "']";
-
-  private XPathFactory xPathFactory;
-
-  /**
-   * Creates a new instance.
-   */
-  public RegisterLabelIdentifiers() {
-    xPathFactory = new net.sf.saxon.xpath.XPathFactoryImpl();
-  }
 
   @Override
   public boolean isApplicable(String location) {
@@ -62,31 +41,16 @@ public class RegisterLabelIdentifiers extends AbstractValidationRule {
   /**
    * Tests that label identifiers are uniquely defined.
    *
-   * @throws XPathExpressionException if there is an error processing the XPath to the label logical
-   *         identifier
+   * @throws IOException if the identification area of the label cannot be read
    */
   @ValidationTest
-  public void registerIdentifiers() throws XPathExpressionException {
+  public void registerIdentifiers() throws IOException {
     // We have a reference to the current target, since it is a label.
     getRegistrar().setTargetIsLabel(getTarget().toString(), true);
 
-    Document label = getContext().getContextValue(PDS4Context.LABEL_DOCUMENT, Document.class);
-    DOMSource source = new DOMSource(label);
-
-    NodeList identifiers = (NodeList) xPathFactory.newXPath().evaluate(IDENTIFIERS_PATH, source,
-        XPathConstants.NODESET);
-    String lid = "";
-    for (int i = 0; i < identifiers.getLength(); ++i) {
-      Node name = identifiers.item(i);
-      lid = name.getTextContent();
-    }
-    NodeList versions = (NodeList) xPathFactory.newXPath().evaluate(VERSION_ID_PATH, source,
-        XPathConstants.NODESET);
-    String vid = "";
-    for (int i = 0; i < versions.getLength(); ++i) {
-      Node name = versions.item(i);
-      vid = name.getTextContent();
-    }
+    LabelIdentity identity = LabelIdentity.of(getTarget());
+    String lid = identity.getLogicalIdentifier() == null ? "" : identity.getLogicalIdentifier();
+    String vid = identity.getVersionId() == null ? "" : identity.getVersionId();
     LOG.debug("RegisterLabelIdentifiers:registerIdentifiers:getTarget(),lid,vid {},{},{}",
         getTarget(), lid, vid);
     registerIdentifier(new Identifier(lid, vid));
@@ -0,0 +1,29 @@
+package gov.nasa.pds.tools.validate.rule.pds4;
+
+import gov.nasa.pds.tools.validate.rule.AbstractValidationRule;
+import gov.nasa.pds.tools.validate.rule.ValidationTest;
+
+/**
+ * Reports the PDF/A validations started by the {@link FileReferenceValidationRule}. The rule runs
+ * after the data content of the label has been validated, so that the documents are validated in
+ * the background meanwhile, and before the results of the label are recorded.
+ */
+public class ReportPDFValidationResults extends AbstractValidationRule {
+
+  @Override
+  public boolean isApplicable(String location) {
+    return getContext().containsKey(PDS4Context.PENDING_PDF_VALIDATIONS);
+  }
+
+  /**
+   * Waits for the PDF/A validations of the label and reports their outcome.
+   */
+  @ValidationTest
+  public void reportPDFValidations() {
+    PendingPDFValidations pending = getContext()
+        .getContextValue(PDS4Context.PENDING_PDF_VALIDATIONS, PendingPDFValidations.class);
+    getContext().remove(PDS4Context.PENDING_PDF_VALIDATIONS);
+    pending.report(getListener());
+  }
+
+}
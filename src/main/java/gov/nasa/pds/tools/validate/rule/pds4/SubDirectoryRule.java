@@ -43,6 +43,9 @@ public class SubDirectoryRule extends AbstractValidationRule {
         Crawler crawler = getContext().getCrawler();
         List<Target> dirs = crawler.crawl(getContext().getTarget(), FalseFileFilter.INSTANCE);
         for (Target dir : dirs) {
+          if (getContext().isCancelled()) {
+            break;
+          }
           try {
             if (dir.isDir()) {
               collectionRule.execute(getChildContext(dir.getUrl()));
@@ -1,7 +1,6 @@
 package gov.nasa.pds.tools.validate.rule.pds4;
 
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -15,6 +14,7 @@ import gov.nasa.pds.tools.validate.ProblemType;
 import gov.nasa.pds.tools.validate.ValidationProblem;
 // TODO: Find exact problem.
 import gov.nasa.pds.tools.validate.content.table.TableContentProblem;
+import gov.nasa.pds.tools.validate.content.table.TableLayout;
 import gov.nasa.pds.tools.validate.rule.RuleContext;
 import net.sf.saxon.tree.tiny.TinyNodeImpl;
 
@@ -79,111 +79,67 @@ public class TableFieldDefinitionRule {
   private static String RECORD_CHARACTER_FIELDS = RECORD_CHARACTER + "/fields";
   private static String FIELD_CHARACTER = RECORD_CHARACTER + "/Field_Character";
 
-  private static String FIELD_FORMAT_SIMPLE = "field_format"; // Used to retrieve individual field
-                                                              // from node and not
-                                                              // document.
-  private static String DATA_TYPE_SIMPLE = "data_type"; // Used to retrieve individual field from
-                                                        // node and not
-                                                        // document.
-  private static String FIELD_NUMBER_SIMPLE = "field_number"; // Used to retrieve individual field
-                                                              // from node and not
-                                                              // document.
-
   private ProblemListener listener = null;
   private RuleContext context = null;
+  private TableLayout layout = null;
   private boolean valid = true;
 
   /**
    * Creates a new instance.
+   *
+   * @param context The rule context.
+   * @param listener Receives the problems.
+   * @param layout The layout of the table, or null if the table is not a character table.
    */
-  public TableFieldDefinitionRule(RuleContext context, ProblemListener listener) {
+  public TableFieldDefinitionRule(RuleContext context, ProblemListener listener,
+      TableLayout layout) {
     this.context = context;
     this.listener = listener;
+    this.layout = layout;
   }
 
   public boolean validateFieldFormats() {
+    if (this.layout == null) {
+      return true;
+    }
+
     int numFields = 0;
 
     try {
       XMLExtractor extractor = new XMLExtractor(this.context.getTarget());
-      TinyNodeImpl tableCharacterNode = extractor.getNodeFromDoc(TABLE_CHARACTER);
       TinyNodeImpl recordCharacterNode = extractor.getNodeFromDoc(RECORD_CHARACTER);
 
-      // If any of the nodes are null, cannot continue. Not all labels are expected to
+      // If the node is null, cannot continue. Not all labels are expected to
       // contain the PRODUCT_OBSERVATIONAL nodes.
-      if (tableCharacterNode == null || recordCharacterNode == null) {
+      if (recordCharacterNode == null) {
         LOG.info("Label " + this.context.getTarget() + " does not contain any fields pertaining to "
             + TABLE_CHARACTER + " or " + RECORD_CHARACTER + " to valid ASCII field formats on");
         return true;
       }
 
-      // At this point, all nodes are valid and should be able to perform validation
-      // on.
-
       // Care must be taken to get a list of values since there may be multiple
       // tables.
       List<String> listofFields = extractor.getValuesFromDoc(RECORD_CHARACTER_FIELDS);
       for (String singleFieldsValue : listofFields) {
         numFields += Integer.parseInt(singleFieldsValue);
       }
+      int definedFields = extractor.getNodesFromDoc(FIELD_CHARACTER).size();
 
-      // LOG.debug("numFields,this.context.getTarget() {}",numFields,this.context.getTarget());
       LOG.info("validateFieldFormats:target,recordCharacterNode {},{}", this.context.getTarget(),
           recordCharacterNode);
-
-      // New way of extracting fields in the 'Field_Character' node since not every
-      // tag is required to be present for every node.
-      // This new way guarantees all the lists are the same size make it easy to index
-      // between lists.
-
-      List<String> fieldFormatList = new ArrayList<>();
-      List<String> fieldTypeList = new ArrayList<>();
-      List<String> fieldNumberList = new ArrayList<>();
-      List<TinyNodeImpl> FieldCharacterNodeList = extractor.getNodesFromDoc(FIELD_CHARACTER);
-      String fieldValue = "";
-
-      // Note that the function getValueFromItem() returns an empty string if the
-      // field we seek is not present in the node.
-      for (TinyNodeImpl node : FieldCharacterNodeList) {
-        fieldValue = extractor.getValueFromItem(FIELD_NUMBER_SIMPLE, node);
-        fieldNumberList.add(fieldValue);
-        fieldValue = extractor.getValueFromItem(FIELD_FORMAT_SIMPLE, node);
-        fieldFormatList.add(fieldValue);
-        fieldValue = extractor.getValueFromItem(DATA_TYPE_SIMPLE, node);
-        fieldTypeList.add(fieldValue);
+      LOG.debug("validateFieldFormats:field:numFields,definedFields {},{}", numFields,
+          definedFields);
+
+      // Check that the number of fields declared matches the fields defined.
+      if (definedFields > 0 && numFields != definedFields) {
+        String errorMessage = ("Total fields count mismatch. Expected: "
+            + Integer.toString(numFields) + ", Actual: " + definedFields);
+        LOG.error(errorMessage);
+        this.listener.addProblem(new ValidationProblem(new ProblemDefinition(ExceptionType.ERROR,
+            ProblemType.INVALID_OBJECT_DEFINITION, errorMessage), this.context.getTarget()));
+
+        return false;
       }
-
-      LOG.debug("validateFieldFormats:fieldFormatList {},{}", fieldFormatList,
-          fieldFormatList.size());
-      LOG.debug("validateFieldFormats:fieldTypeList {},{}", fieldTypeList, fieldTypeList.size());
-      LOG.debug("validateFieldFormats:fieldNumberList{},{}", fieldNumberList,
-          fieldNumberList.size());
-      LOG.debug("validateFieldFormats:fieldFormatList.size() {}", fieldFormatList.size());
-      LOG.debug("validateFieldFormats:field:numFields {}", numFields);
-
-      // The field 'field_format' is optional so the value of fieldFormatList.size()
-      // can be zero.
-      // Only perform a check on the field format if it is available and everything
-      // matches.
-
-      if (fieldFormatList.size() > 0) {
-        // Check to make sure all arrays are the same size as numFields.
-        if (numFields != fieldFormatList.size() || numFields != fieldTypeList.size()
-            || numFields != fieldNumberList.size()) {
-          String errorMessage = ("Total fields count mismatch. Expected: "
-              + Integer.toString(numFields) + ", Actual: " + fieldNumberList.size());
-          LOG.error(errorMessage);
-          this.listener.addProblem(new ValidationProblem(new ProblemDefinition(ExceptionType.ERROR,
-              ProblemType.INVALID_OBJECT_DEFINITION, errorMessage), this.context.getTarget()));
-
-          return false;
-        }
-
-        // Validate both ASCIII String and ASCII Number fields format.
-        this.validateAsciiStringFieldsFormat(fieldFormatList, fieldTypeList, fieldNumberList);
-        this.validateAsciiNumberFieldsFormat(fieldFormatList, fieldTypeList, fieldNumberList);
-      }
-
     } catch (Exception e) {
       LOG.error("Cannot extract {} from label {}", RECORD_CHARACTER, this.context.getTarget());
       this.listener
@@ -193,62 +149,59 @@ public class TableFieldDefinitionRule {
                       "Cannot extract " + RECORD_CHARACTER + " from label"),
                   this.context.getTarget()));
 
-      this.valid = false;
+      return false;
     }
 
+    // Validate both ASCIII String and ASCII Number fields format, from the compiled layout of
+    // the table.
+    this.validateAsciiStringFieldsFormat();
+    this.validateAsciiNumberFieldsFormat();
+
     return this.valid;
   }
 
-  private void validateAsciiStringFieldsFormat(List<String> fieldFormatList,
-      List<String> fieldTypeList, List<String> fieldNumberList) {
+  private void validateAsciiStringFieldsFormat() {
     // ASCII String related fields should not have '+' in the format.
 
-    int indexToList = 0;
-    // Loop through all elements fieldFormatList. If field is in
-    // ASCII_STRING_TYPE_LIST, check if prohibited '+' is in the format.
-    for (String oneFieldFormat : fieldFormatList) {
-      // LOG.debug("validateAsciiStringFieldsFormat:indexToList,oneFieldFormat,fieldTypeList.get(indexToList)
-      // {},{},{}",indexToList,oneFieldFormat,fieldTypeList.get(indexToList));
+    // Loop through all fields. If field is in ASCII_STRING_TYPE_LIST, check if
+    // prohibited '+' is in the format.
+    for (int i = 0; i < this.layout.getFieldCount(); i++) {
+      String oneFieldFormat = this.layout.getFormat(i);
       // Check for prohibited plus symbol '+' in format field : %+8s
-      if (ASCII_STRING_TYPE_LIST.contains(fieldTypeList.get(indexToList).toUpperCase())) {
+      if (ASCII_STRING_TYPE_LIST.contains(this.layout.getDataType(i).toUpperCase())) {
         if (oneFieldFormat.contains("%+")) {
           LOG.error("ASCII String related fields should not contain '+' symbol in field_format ["
-              + oneFieldFormat + "] in field_number " + fieldNumberList.get(indexToList));
+              + oneFieldFormat + "] in field_number " + this.layout.getFieldNumber(i));
           addTableProblem(ExceptionType.ERROR, ProblemType.INVALID_OBJECT_DEFINITION,
               "ASCII String related fields should not contain '+' symbol in field_format ["
-                  + oneFieldFormat + "] in field_number " + fieldNumberList.get(indexToList),
+                  + oneFieldFormat + "] in field_number " + this.layout.getFieldNumber(i),
               this.context.getTarget(), -1, -1);
           this.valid = false;
         }
       }
-      indexToList += 1;
     }
   }
 
-  private void validateAsciiNumberFieldsFormat(List<String> fieldFormatList,
-      List<String> fieldTypeList, List<String> fieldNumberList) {
+  private void validateAsciiNumberFieldsFormat() {
     // ASCII Number related fields should not have '-' in the format.
 
-    int indexToList = 0;
-    // Loop through all elements fieldFormatList. If field is in
-    // ASCII_NUMBER_TYPE_LIST, check if prohibited '-' is in the format.
-    for (String oneFieldFormat : fieldFormatList) {
-      // LOG.debug("validateAsciiNumberFieldsFormat:indexToList,oneFieldFormat,fieldTypeList.get(indexToList)
-      // {},{},{}",indexToList,oneFieldFormat,fieldTypeList.get(indexToList));
+    // Loop through all fields. If field is in ASCII_NUMBER_TYPE_LIST, check if
+    // prohibited '-' is in the format.
+    for (int i = 0; i < this.layout.getFieldCount(); i++) {
+      String oneFieldFormat = this.layout.getFormat(i);
       // Check for prohibited minus symbol '-' in format field : %-2d
-      if (ASCII_NUMBER_TYPE_LIST.contains(fieldTypeList.get(indexToList).toUpperCase())) {
+      if (ASCII_NUMBER_TYPE_LIST.contains(this.layout.getDataType(i).toUpperCase())) {
         if (oneFieldFormat.contains("%-")) {
           LOG.error("ASCII Number related fields should not contain '-' symbol in field_format ["
-              + oneFieldFormat + "] in field_number " + fieldNumberList.get(indexToList));
+              + oneFieldFormat + "] in field_number " + this.layout.getFieldNumber(i));
           addTableProblem(ExceptionType.ERROR, ProblemType.INVALID_OBJECT_DEFINITION,
               "ASCII Number related fields should not contain '-' symbol in field_format ["
-                  + oneFieldFormat + "] in field_number " + fieldNumberList.get(indexToList),
+                  + oneFieldFormat + "] in field_number " + this.layout.getFieldNumber(i),
               this.context.getTarget(), -1, -1);
 
           this.valid = false;
         }
       }
-      indexToList += 1;
     }
   }
 
@@ -18,10 +18,17 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.BufferUnderflowException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.opencsv.exceptions.CsvValidationException;
+import gov.nasa.arc.pds.xml.generated.FieldCharacter;
+import gov.nasa.arc.pds.xml.generated.TableCharacter;
+import gov.nasa.arc.pds.xml.generated.TableDelimited;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.RecordLocation;
 import gov.nasa.pds.label.object.TableObject;
 import gov.nasa.pds.label.object.TableRecord;
 import gov.nasa.pds.objectAccess.InvalidTableException;
@@ -36,9 +43,13 @@ import gov.nasa.pds.tools.util.FileService;
 import gov.nasa.pds.tools.util.TableCharacterUtil;
 import gov.nasa.pds.tools.validate.ProblemListener;
 import gov.nasa.pds.tools.validate.ProblemType;
+import gov.nasa.pds.tools.validate.content.SpotCheckPolicy;
+import gov.nasa.pds.tools.validate.content.SpotCheckSampler;
+import gov.nasa.pds.tools.validate.content.table.DelimitedRecordScanner;
 import gov.nasa.pds.tools.validate.content.table.FieldContentFatalException;
 import gov.nasa.pds.tools.validate.content.table.FieldValueValidator;
 import gov.nasa.pds.tools.validate.content.table.TableContentProblem;
+import gov.nasa.pds.tools.validate.content.table.TableLayout;
 import gov.nasa.pds.tools.validate.rule.RuleContext;
 import gov.nasa.pds.validate.constants.Constants;
 
@@ -51,11 +62,16 @@ import gov.nasa.pds.validate.constants.Constants;
  */
 public class TableValidator implements DataObjectValidator {
   private static final Logger LOG = LoggerFactory.getLogger(TableValidator.class);
+
+  /** Number of threads used to validate the records of large fixed-length tables. */
+  private static final int RECORD_THREADS = Runtime.getRuntime().availableProcessors();
   private int progressCounter = 0;
   private long currentObjectRecordCounter = 0;
 
   private ProblemListener listener = null;
   private RawTableReader currentTableReader = null;
+  /** The fields of the current table reader, which builds a new array on every call. */
+  private FieldDescription[] currentFields = null;
   private RuleContext context = null;
   private TableObject tableObject = null;
   private TableAdapter tableAdapter = null;
@@ -110,8 +126,15 @@ public class TableValidator implements DataObjectValidator {
     // Check adapter
 
     // Check Field Definitions
+    // Only character tables are checked; their layout is shared with the content validation.
+    TableLayout layout = null;
+    if (!(this.tableAdapter instanceof TableBinaryAdapter)
+        && !(this.tableAdapter instanceof TableDelimitedAdapter)) {
+      FieldDescription[] fields = this.tableAdapter.getFields();
+      layout = TableLayout.of(fields, getLabelFieldNumbers(fields));
+    }
     TableFieldDefinitionRule fieldDefinitionCheck =
-        new TableFieldDefinitionRule(this.context, this.listener);
+        new TableFieldDefinitionRule(this.context, this.listener, layout);
     valid = fieldDefinitionCheck.validateFieldFormats();
 
     LOG.debug("END table definition validation");
@@ -126,8 +149,22 @@ public class TableValidator implements DataObjectValidator {
     LOG.debug("validateTableDataContents:getTarget() {}", this.context.getTarget());
 
     this.currentTableReader = this.tableObject.getRawTableReader();
-
-    int spotCheckData = this.context.getSpotCheckData();
+    this.currentFields = this.currentTableReader.getFields();
+
+    // Fixed-width and binary records all have the same length; for delimited tables the maximum
+    // record length is the best estimate available when converting a byte budget into records.
+    long sampledRecordLength = this.tableAdapter.getRecordLength() > 0
+        ? this.tableAdapter.getRecordLength()
+        : this.tableAdapter.getMaximumRecordLength();
+    SpotCheckPolicy spotCheckPolicy = this.context.getSpotCheckPolicy();
+    if (spotCheckPolicy.ignoresBudgetBytes(sampledRecordLength)) {
+      addTableProblem(ExceptionType.WARNING, ProblemType.GENERAL_INFO,
+          "The spot check budget of " + spotCheckPolicy.getBudgetBytes()
+              + " bytes is ignored because the record length of the table is unknown",
+          this.dataFile, this.tableObject.getDataObjectLocation().getDataObject(), -1);
+    }
+    SpotCheckSampler sampler = spotCheckPolicy.newSampler(this.tableAdapter.getRecordCount(),
+        sampledRecordLength);
 
     FieldValueValidator fieldValueValidator = new FieldValueValidator(this.listener, this.context);
 
@@ -148,7 +185,7 @@ public class TableValidator implements DataObjectValidator {
       TableRecord record = null;
 
       if (this.tableAdapter instanceof TableBinaryAdapter) {
-        this.validateTableBinaryContent(fieldValueValidator, record, spotCheckData,
+        this.validateTableBinaryContent(fieldValueValidator, record, sampler,
             keepQuotationsFlag);
       } else if (!this.isTableLineOriented() && !this.getCheckInbetweenFields()) {
         // Determine if we should proceed with calling validateTableDelimited()
@@ -157,7 +194,7 @@ public class TableValidator implements DataObjectValidator {
         // user had specify a length of each record.
         LOG.debug("validateTableDataContents:TABLE_LINEWISE_FALSE {}", this.dataFile);
         try {
-          this.validateTableDelimitedContent(fieldValueValidator, this.dataFile, spotCheckData,
+          this.validateTableDelimitedContent(fieldValueValidator, this.dataFile, sampler,
               keepQuotationsFlag);
         } catch (Exception ex) {
           LOG.error("ERROR: Cannot validate data file {}", this.dataFile);
@@ -166,7 +203,7 @@ public class TableValidator implements DataObjectValidator {
         }
       } else {
         LOG.debug("validateTableDataContents:TABLE_LINEWISE_TRUE {}", this.dataFile);
-        this.validateTableCharacterContent(fieldValueValidator, this.dataFile, spotCheckData,
+        this.validateTableCharacterContent(fieldValueValidator, this.dataFile, sampler,
             keepQuotationsFlag, inventoryTable);
       }
     } catch (IOException | CsvValidationException e) {
@@ -206,39 +243,71 @@ public class TableValidator implements DataObjectValidator {
     return (this.context.getCheckInbetweenFields());
   }
 
+  /**
+   * @return the number of record chunks validated at the same time: the parallelism of the shared
+   *         worker pool, or one per processor without one.
+   */
+  private int getRecordThreads() {
+    ForkJoinPool pool = this.context == null ? null : this.context.getWorkerPool();
+    return pool == null ? RECORD_THREADS : pool.getParallelism();
+  }
+
+  /**
+   * @return true if the run was stopped, so that the remaining records are not read.
+   */
+  private boolean isCancelled() {
+    return this.context != null && this.context.isCancelled();
+  }
+
   /**
    * Validate a table content one record at a time.
    * 
    * @param fieldValueValidator The FieldValueValidator to validate each field
    * @param table The table has an Object
    * @param dataFile The URL of the data file
-   * @param spotCheckData The number of records to spot check
+   * @param sampler The spot check sampler, or null to validate every record
    * @param keepQuotationsFlag Flag to keep the double quote or not
    * @return None
    */
   private void validateTableDelimitedContent(FieldValueValidator fieldValueValidator, URL dataFile,
-      int spotCheckData, boolean keepQuotationsFlag) throws IOException {
+      SpotCheckSampler sampler, boolean keepQuotationsFlag) throws IOException {
     // Validate a table content record by record.
 
     LOG.debug("validateTableDelimited:table instanceof TableCharacter");
-    LOG.debug("validateTableDelimited:tableIndex,spotCheckData,keepQuotationsFlag {},{},{}",
-        this.tableObject.getDataObjectLocation().getDataObject(), spotCheckData,
-        keepQuotationsFlag);
+    LOG.debug("validateTableDelimited:tableIndex,sampleSize,keepQuotationsFlag {},{},{}",
+        this.tableObject.getDataObjectLocation().getDataObject(),
+        sampler == null ? -1 : sampler.getSampleSize(), keepQuotationsFlag);
     LOG.debug("validateTableDelimited:dataFile {}", this.dataFile);
 
+    if (sampler == null && !(this.tableAdapter instanceof TableDelimitedAdapter)
+        && ParallelTableRecordValidator.isApplicable(this.tableAdapter.getRecordCount(),
+            getRecordThreads())) {
+      validateTableRecordsInParallel(keepQuotationsFlag);
+      return;
+    }
+
     TableRecord record = null;
+    long sampledRecord = -1;
 
     try {
-      record = this.currentTableReader.readNext();
+      if (sampler == null) {
+        record = this.currentTableReader.readNext();
+      } else {
+        sampledRecord = sampler.next();
+        record = readSampledRecord(sampledRecord, keepQuotationsFlag);
+      }
       while (record != null) {
+        if (isCancelled()) {
+          break;
+        }
         LOG.debug("validateTableDelimited: recordNumber {}", currentObjectRecordCounter);
         LOG.debug("record {}", record);
         progressCounter();
         this.currentObjectRecordCounter++;
 
         try {
-          LOG.debug("getFields(): " + this.currentTableReader.getFields().length);
-          fieldValueValidator.validate(record, this.currentTableReader.getFields(), false);
+          LOG.debug("getFields(): " + this.currentFields.length);
+          fieldValueValidator.validate(record, this.currentFields, false);
         } catch (FieldContentFatalException e) {
           // If we get a fatal error, we can avoid an overflow of error output
           // by killing the loop through all the table records
@@ -250,17 +319,17 @@ public class TableValidator implements DataObjectValidator {
           break;
         }
 
-        if (spotCheckData != -1) {
+        if (sampler != null) {
+          sampledRecord = sampler.next();
           try {
             // TODO: Need to update this logic to count every record, even if we don't
             // validate them
-            record = this.currentTableReader.getRecord(
-                this.currentTableReader.getCurrentRow() + spotCheckData, keepQuotationsFlag);
+            record = readSampledRecord(sampledRecord, keepQuotationsFlag);
           } catch (Exception ioEx) {
             record = null;
             throw new IOException("Error occurred " + "while reading data object '"
                 + this.tableObject.getDataObjectLocation().getDataObject() + "', " + "record '"
-                + (this.currentTableReader.getCurrentRow() + spotCheckData) + "'");
+                + sampledRecord + "'");
           }
         } else {
           record = this.currentTableReader.readNext();
@@ -351,7 +420,7 @@ public class TableValidator implements DataObjectValidator {
    * @param reader A read to read a line at a time
    * @param dataFile The URL of the data file
    * @param DataObjectLocation The location of the table
-   * @param spotCheckData The number of records to spot check
+   * @param sampler The spot check sampler, or null to validate every record
    * @param keepQuotationsFlag Flag to keep the double quote or not
    * @param recordDelimiter How the record ends
    * @param recordLength The length of each record
@@ -363,27 +432,41 @@ public class TableValidator implements DataObjectValidator {
    * @throws InvalidTableException
    */
   private void validateTableCharacterContent(FieldValueValidator fieldValueValidator, URL dataFile,
-      int spotCheckData, boolean keepQuotationsFlag, boolean inventoryTable)
+      SpotCheckSampler sampler, boolean keepQuotationsFlag, boolean inventoryTable)
       throws IOException, InvalidTableException {
     // The content of this function was copied from the main validate function to
     // reduced the function size.
     TableCharacterUtil tableCharacterUtil = null;
     boolean manuallyParseRecord = false;
-    String line = this.currentTableReader.readNextLine();
     long lineNumber = 0;
     int dataObjectIndex = this.tableObject.getDataObjectLocation().getDataObject();
 
+    // When spot checking, skip to the record just before the first one we want to read.
+    String line = null;
+    long sampledRecord = sampler == null ? 1 : sampler.next();
+    if (sampledRecord > 1) {
+      skipToRecord(sampledRecord - 1, keepQuotationsFlag, dataObjectIndex);
+    }
+    if (sampledRecord != -1) {
+      line = this.currentTableReader.readNextLine();
+    }
+
     // The checking for same line length should be done not based on the file name
     // (ending with .tab) but with the table type.
     // If the type of the table is not TableDelimited, the checking of same line
     // length should be done.
     boolean tableIsFixedLength = true;
 
+    // Delimited lines are split into fields directly from the line read above, rather than
+    // having the table reader read and parse the same record a second time.
+    DelimitedRecordScanner delimitedScanner = null;
+
     if (this.tableAdapter instanceof TableDelimitedAdapter) {
       tableIsFixedLength = false;
+      delimitedScanner = newDelimitedRecordScanner();
     } else {
-      tableCharacterUtil = new TableCharacterUtil(this.context.getTarget(), this.listener);
-      tableCharacterUtil.parseFieldsInfo();
+      tableCharacterUtil = new TableCharacterUtil(this.context.getTarget(), this.listener,
+          TableLayout.of(this.currentFields, getLabelFieldNumbers(this.currentFields)));
     }
 
     String recordDelimiter = this.tableAdapter.getRecordDelimiter();
@@ -405,6 +488,9 @@ public class TableValidator implements DataObjectValidator {
     }
 
     while (line != null) {
+      if (isCancelled()) {
+        break;
+      }
       progressCounter();
       lineNumber += 1;
 
@@ -503,7 +589,15 @@ public class TableValidator implements DataObjectValidator {
 
       TableRecord record = null;
       try {
-        if (manuallyParseRecord && !(this.tableAdapter instanceof TableDelimitedAdapter)) {
+        boolean scanned = delimitedScanner != null && delimitedScanner.scan(line);
+        if (scanned) {
+          int definedFields = this.currentFields.length;
+          if (delimitedScanner.getFieldCount() != definedFields) {
+            throw new IOException("Record " + this.currentTableReader.getCurrentRow()
+                + " has wrong number of fields (expected " + definedFields + ", got "
+                + delimitedScanner.getFieldCount() + ")");
+          }
+        } else if (manuallyParseRecord && !(this.tableAdapter instanceof TableDelimitedAdapter)) {
           record = this.currentTableReader.toRecord(line, this.currentTableReader.getCurrentRow());
         } else {
           record = this.currentTableReader.getRecord(this.currentTableReader.getCurrentRow(),
@@ -520,7 +614,14 @@ public class TableValidator implements DataObjectValidator {
 
         // Validate fields within the record here
         try {
-          fieldValueValidator.validate(record, this.currentTableReader.getFields());
+          if (scanned) {
+            fieldValueValidator.validate(delimitedScanner,
+                new RecordLocation(this.tableObject.getDataObjectLocation(),
+                    this.currentTableReader.getCurrentRow()),
+                this.currentFields);
+          } else {
+            fieldValueValidator.validate(record, this.currentFields);
+          }
         } catch (FieldContentFatalException e) {
           // If we get a fatal error, we can avoid an overflow of error output
           // by killing the loop through all the table records
@@ -536,10 +637,12 @@ public class TableValidator implements DataObjectValidator {
         if (inventoryTable) {
           Map<String, Integer> fieldMap = this.currentTableReader.getFieldMap();
           String memberStatus = null;
-          if (fieldMap.containsKey("Member_Status")) {
-            memberStatus = record.getString(fieldMap.get("Member_Status").intValue());
-          } else if (fieldMap.containsKey("Member Status")) {
-            memberStatus = record.getString(fieldMap.get("Member Status").intValue());
+          Integer memberStatusIndex = fieldMap.containsKey("Member_Status")
+              ? fieldMap.get("Member_Status")
+              : fieldMap.get("Member Status");
+          if (memberStatusIndex != null) {
+            memberStatus = scanned ? delimitedScanner.getString(memberStatusIndex.intValue())
+                : record.getString(memberStatusIndex.intValue());
           }
           if (!memberStatus.startsWith("P") && !memberStatus.startsWith("S")) {
             addTableProblem(ExceptionType.ERROR, ProblemType.INVALID_MEMBER_STATUS,
@@ -554,19 +657,21 @@ public class TableValidator implements DataObjectValidator {
             dataObjectIndex, this.currentTableReader.getCurrentRow());
       }
 
-      if (spotCheckData > 1) {
+      if (sampler != null) {
         // If spot checking is turned on, we want to skip to
         // the record just before the one we want to read
+        sampledRecord = sampler.next();
+        if (sampledRecord == -1) {
+          line = null;
+          continue;
+        }
         try {
-          record = this.currentTableReader.getRecord(
-              this.currentTableReader.getCurrentRow() + (spotCheckData - 1), keepQuotationsFlag);
+          if (sampledRecord - 1 > this.currentTableReader.getCurrentRow()) {
+            skipToRecord(sampledRecord - 1, keepQuotationsFlag, dataObjectIndex);
+          }
         } catch (IllegalArgumentException iae) {
           line = null;
           continue;
-        } catch (IOException io) {
-          throw new IOException(
-              "Error occurred " + "while reading table '" + dataObjectIndex + "', " + "record '"
-                  + (this.currentTableReader.getCurrentRow() + spotCheckData) + "'");
         }
       }
 
@@ -597,7 +702,7 @@ public class TableValidator implements DataObjectValidator {
     // defined in the label
     if (this.tableAdapter.getRecordCount() != -1
         && (this.tableAdapter.getRecordCount() > this.currentTableReader.getCurrentRow())
-        && spotCheckData == -1) {
+        && sampler == null) {
       String message = "Number of records read is not equal "
           + "to the defined number of records in the label (expected "
           + this.tableAdapter.getRecordCount() + ", got " + this.currentTableReader.getCurrentRow()
@@ -631,6 +736,21 @@ public class TableValidator implements DataObjectValidator {
     LOG.debug("validateTableCharacter: DONE_VALIDATING");
   }
 
+  /**
+   * Creates the scanner used to split the lines of a delimited table.
+   *
+   * @return the scanner, or null if the field delimiter is not recognized, in which case the
+   *         table reader parses each record.
+   */
+  private DelimitedRecordScanner newDelimitedRecordScanner() {
+    if (!(this.tableObject.getTableObject() instanceof TableDelimited)) {
+      return null;
+    }
+    Character delimiter = DelimitedRecordScanner.toDelimiterCharacter(
+        ((TableDelimited) this.tableObject.getTableObject()).getFieldDelimiter());
+    return delimiter == null ? null : new DelimitedRecordScanner(delimiter);
+  }
+
   /**
    * Given a text table object, determine if it a line oriented table or not. A line-oriented table
    * contains some record delimiter and optional record_length.
@@ -659,17 +779,31 @@ public class TableValidator implements DataObjectValidator {
   }
 
   private void validateTableBinaryContent(FieldValueValidator fieldValueValidator,
-      TableRecord record, int spotCheckData, boolean keepQuotationsFlag)
+      TableRecord record, SpotCheckSampler sampler, boolean keepQuotationsFlag)
       throws IOException, CsvValidationException, InvalidTableException {
     LOG.debug("table instanceof TableBinary");
+    if (sampler == null && ParallelTableRecordValidator
+        .isApplicable(this.tableAdapter.getRecordCount(), getRecordThreads())) {
+      validateTableRecordsInParallel(keepQuotationsFlag);
+      return;
+    }
+    long sampledRecord = -1;
     try {
-      record = this.currentTableReader.readNext();
+      if (sampler == null) {
+        record = this.currentTableReader.readNext();
+      } else {
+        sampledRecord = sampler.next();
+        record = readSampledRecord(sampledRecord, keepQuotationsFlag);
+      }
       while (record != null) {
+        if (isCancelled()) {
+          break;
+        }
         progressCounter();
         this.currentObjectRecordCounter++;
 
         try {
-          fieldValueValidator.validate(record, this.currentTableReader.getFields(), false);
+          fieldValueValidator.validate(record, this.currentFields, false);
         } catch (FieldContentFatalException e) {
           // If we get a fatal error, we can avoid an overflow of error output
           // by killing the loop through all the table records
@@ -685,17 +819,17 @@ public class TableValidator implements DataObjectValidator {
               this.tableObject.getDataObjectLocation().getDataObject(),
               record.getLocation().getRecord());
         }
-        if (spotCheckData != -1) {
+        if (sampler != null) {
+          sampledRecord = sampler.next();
           try {
-            record = this.currentTableReader.getRecord(
-                this.currentTableReader.getCurrentRow() + spotCheckData, keepQuotationsFlag);
+            record = readSampledRecord(sampledRecord, keepQuotationsFlag);
           } catch (IllegalArgumentException iae) {
             record = null;
           } catch (IOException io) {
             throw new IOException("Error occurred " + "while reading file area "
                 + this.tableObject.getDataObjectLocation().getFileArea() + ", data object "
                 + this.tableObject.getDataObjectLocation().getDataObject() + ", " + "record '"
-                + (this.currentTableReader.getCurrentRow() + spotCheckData) + "'");
+                + sampledRecord + "'");
           }
         } else {
           record = this.currentTableReader.readNext();
@@ -709,6 +843,55 @@ public class TableValidator implements DataObjectValidator {
     }
   }
 
+  /**
+   * Validates every record of a binary or fixed-width table, splitting the records into chunks
+   * that are validated concurrently. The record length is fixed, so each chunk can seek to its
+   * first record.
+   *
+   * @param keepQuotationsFlag Flag to keep the double quote or not
+   */
+  private void validateTableRecordsInParallel(boolean keepQuotationsFlag) throws IOException {
+    LOG.debug("validateTableRecordsInParallel:dataFile,recordCount {},{}", this.dataFile,
+        this.tableAdapter.getRecordCount());
+    ParallelTableRecordValidator validator = new ParallelTableRecordValidator(this.context,
+        this.listener, this.tableObject, this.dataFile, keepQuotationsFlag, getRecordThreads());
+    this.currentObjectRecordCounter +=
+        validator.validate(this.tableAdapter.getRecordCount(), this::progressCounter);
+  }
+
+  /**
+   * Reads a record chosen by the spot check sampler. The reader seeks directly to the record, so
+   * the records in between are not read.
+   *
+   * @param index The 1-based record index, or -1 if the sample is complete
+   * @param keepQuotationsFlag Flag to keep the double quote or not
+   * @return the record, or null if the sample is complete
+   */
+  private TableRecord readSampledRecord(long index, boolean keepQuotationsFlag)
+      throws IOException {
+    if (index == -1) {
+      return null;
+    }
+    return this.currentTableReader.getRecord(index, keepQuotationsFlag);
+  }
+
+  /**
+   * Positions the reader on the given record so that the next line read is the record after it.
+   *
+   * @param index The 1-based record index
+   * @param keepQuotationsFlag Flag to keep the double quote or not
+   * @param dataObjectIndex The index of the table, for error messages
+   */
+  private void skipToRecord(long index, boolean keepQuotationsFlag, int dataObjectIndex)
+      throws IOException {
+    try {
+      this.currentTableReader.getRecord(index, keepQuotationsFlag);
+    } catch (IOException io) {
+      throw new IOException("Error occurred " + "while reading table '" + dataObjectIndex + "', "
+          + "record '" + (index + 1) + "'");
+    }
+  }
+
   /**
    * Adds a table-related exception to the ProblemListener.
    * 
@@ -783,5 +966,36 @@ public class TableValidator implements DataObjectValidator {
 
   public void setCurrentTableReader(RawTableReader currentTableReader) {
     this.currentTableReader = currentTableReader;
+    this.currentFields = currentTableReader == null ? null : currentTableReader.getFields();
+  }
+
+  /**
+   * Gets the field_number of each field of a character table as written in the label, so that
+   * problems name the fields the way the label does.
+   *
+   * @param fields The fields of the table.
+   * @return the field numbers, or null if the fields cannot be matched to the label, such as when
+   *         the record has group fields or a field has no field_number.
+   */
+  private int[] getLabelFieldNumbers(FieldDescription[] fields) {
+    if (!(this.tableObject.getTableObject() instanceof TableCharacter)) {
+      return null;
+    }
+    TableCharacter table = (TableCharacter) this.tableObject.getTableObject();
+    List<Object> definitions =
+        table.getRecordCharacter().getFieldCharactersAndGroupFieldCharacters();
+    if (definitions.size() != fields.length) {
+      return null;
+    }
+    int[] fieldNumbers = new int[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      Object definition = definitions.get(i);
+      if (!(definition instanceof FieldCharacter)
+          || ((FieldCharacter) definition).getFieldNumber() == null) {
+        return null;
+      }
+      fieldNumbers[i] = ((FieldCharacter) definition).getFieldNumber().intValue();
+    }
+    return fieldNumbers;
   }
 }
@@ -1,24 +1,35 @@
 package gov.nasa.pds.tools.validate.task;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import gov.nasa.pds.tools.validate.task.Task.Status;
 
 /**
  * Implements a simple task manager suitable for non-Swing applications that runs a task as soon as
  * it is submitted and does not return until the task is complete.
+ *
+ * <p>
+ * A task can still be canceled while it runs, from a problem listener or another thread: the
+ * {@link CancellationToken} of a {@link ValidationTask} is cancelled, and the rules of the task
+ * stop at their next poll.
+ * </p>
  */
 public class BlockingTaskManager implements TaskManager {
 
+  private final Map<Task, Status> statuses = new ConcurrentHashMap<>();
+
   @Override
   public void submit(Task task) {
+    final CancellationToken token = getCancellationToken(task);
     TaskAdvisor advisor = new TaskAdvisor() {
       @Override
       public boolean cancelRequested() {
-        return false;
+        return token != null && token.isCancelled();
       }
 
       @Override
       public void setStatus(Status status) {
-        // Ignore, since we are running tasks synchronously.
+        statuses.put(task, status);
       }
 
     };
@@ -28,20 +39,29 @@ public class BlockingTaskManager implements TaskManager {
 
   @Override
   public void remove(Task task) {
-    // Not applicable, since tasks run as soon as they are submitted,
-    // and we don't keep track of tasks persistently.
+    // Tasks run as soon as they are submitted, so only the status is kept.
+    statuses.remove(task);
   }
 
   @Override
   public Status getStatus(Task task) {
-    // The task must already be complete.
-    return Status.COMPLETE;
+    // The task must already be complete, unless it was canceled.
+    return statuses.getOrDefault(task, Status.COMPLETE);
   }
 
   @Override
   public void cancel(Task task) {
-    // Not applicable, since tasks run as soon as they are submitted,
-    // and we don't keep track of tasks persistently.
+    CancellationToken token = getCancellationToken(task);
+    if (token != null) {
+      token.cancel("Canceled by the task manager");
+    }
+  }
+
+  private static CancellationToken getCancellationToken(Task task) {
+    if (task instanceof ValidationTask) {
+      return ((ValidationTask) task).getCancellationToken();
+    }
+    return null;
   }
 
 }
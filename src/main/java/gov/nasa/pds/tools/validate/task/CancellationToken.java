@@ -0,0 +1,41 @@
+package gov.nasa.pds.tools.validate.task;
+
+/**
+ * Carries a request to stop a validation early. The token is shared by a {@link ValidationTask}
+ * and the rule contexts of its run: the crawl, table and array loops poll it between units of
+ * work, and stop cleanly once it is cancelled, so that the report can still be finished.
+ */
+public class CancellationToken {
+
+  private volatile String reason = null;
+
+  /**
+   * Requests the validation to stop. Only the first request is kept.
+   *
+   * @param reason why the validation is stopped
+   */
+  public synchronized void cancel(String reason) {
+    if (this.reason == null) {
+      this.reason = reason == null ? "" : reason;
+    }
+  }
+
+  /**
+   * Tests whether the validation was asked to stop.
+   *
+   * @return true, if the validation should stop
+   */
+  public boolean isCancelled() {
+    return this.reason != null;
+  }
+
+  /**
+   * Gets the reason given with the first cancel request.
+   *
+   * @return the reason, or null if the validation was not cancelled
+   */
+  public String getReason() {
+    return this.reason;
+  }
+
+}
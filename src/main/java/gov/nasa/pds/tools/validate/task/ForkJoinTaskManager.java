@@ -0,0 +1,189 @@
+package gov.nasa.pds.tools.validate.task;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import gov.nasa.pds.tools.validate.task.Task.Status;
+
+/**
+ * Implements a task manager that shares a work-stealing {@link ForkJoinPool} with the tasks it
+ * runs.
+ *
+ * <p>
+ * Like the {@link BlockingTaskManager}, a task runs as soon as it is submitted and the call returns
+ * when the task is complete, with the same {@link TaskAdvisor} callbacks. The pool is handed to
+ * the rules of a {@link ValidationTask} through its rule context: the work they split into
+ * independent units, such as chunks of table records and PDS3 labels, is forked into the pool
+ * instead of into threads created for each table or volume. Idle workers steal these units, and
+ * the whole run is bounded by the parallelism of the pool. Each splitting loop keeps at most twice
+ * that many units in flight, which holds back readers that get ahead of the validation.
+ * </p>
+ *
+ * <p>
+ * Only table record chunks and PDS3 labels are stealable units. Directory and collection subtrees
+ * are still walked one at a time on the submitting thread: the rules are shared instances from the
+ * rule catalog that keep their context in a field, so a rule cannot run on two subtrees at once,
+ * and forking the subtrees would need a rule instance per subtree. Running the task on the
+ * submitting thread also means that no worker blocks waiting on the units it forked. For that
+ * reason the manager is not offered on the command line: a run through the validate tool would
+ * still walk the tree like the {@link BlockingTaskManager}.
+ * </p>
+ *
+ * <p>
+ * The metrics of a task are kept until it is {@link #remove(Task) removed}.
+ * </p>
+ */
+public class ForkJoinTaskManager implements TaskManager {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ForkJoinTaskManager.class);
+
+  private final ForkJoinPool pool;
+
+  private final Map<Task, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a task manager with one worker per available processor.
+   */
+  public ForkJoinTaskManager() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a task manager.
+   *
+   * @param parallelism the number of workers of the pool
+   */
+  public ForkJoinTaskManager(int parallelism) {
+    this.pool = new ForkJoinPool(Math.max(1, parallelism));
+  }
+
+  /**
+   * Gets the number of workers of the pool.
+   *
+   * @return the parallelism
+   */
+  public int getParallelism() {
+    return pool.getParallelism();
+  }
+
+  @Override
+  public void submit(Task task) {
+    final CancellationToken token = getCancellationToken(task);
+    final TaskMetrics taskMetrics = new TaskMetrics();
+    metrics.put(task, taskMetrics);
+    TaskAdvisor advisor = new TaskAdvisor() {
+      @Override
+      public boolean cancelRequested() {
+        return token != null && token.isCancelled();
+      }
+
+      @Override
+      public void setStatus(Status status) {
+        taskMetrics.status = status;
+      }
+
+    };
+
+    if (task instanceof ValidationTask) {
+      ((ValidationTask) task).setWorkerPool(pool);
+    }
+    long steals = pool.getStealCount();
+    long start = System.nanoTime();
+    try {
+      task.execute(advisor);
+    } finally {
+      taskMetrics.runTime = (System.nanoTime() - start) / 1000000;
+      // The pool is shared, so this also counts the steals of tasks running at the same time.
+      taskMetrics.steals = pool.getStealCount() - steals;
+      LOG.info("Task {} {} in {} ms with {} units stolen by the {} workers", describe(task),
+          taskMetrics.status, taskMetrics.runTime, taskMetrics.steals, getParallelism());
+    }
+  }
+
+  @Override
+  public void remove(Task task) {
+    metrics.remove(task);
+  }
+
+  @Override
+  public Status getStatus(Task task) {
+    TaskMetrics taskMetrics = metrics.get(task);
+    // Tasks that were never submitted here are treated as complete.
+    return taskMetrics == null ? Status.COMPLETE : taskMetrics.status;
+  }
+
+  @Override
+  public void cancel(Task task) {
+    CancellationToken token = getCancellationToken(task);
+    if (token != null) {
+      token.cancel("Canceled by the task manager");
+    }
+  }
+
+  /**
+   * Gets the metrics of a submitted task.
+   *
+   * @param task the task
+   * @return the metrics, or null if the task was not submitted or was removed
+   */
+  public TaskMetrics getMetrics(Task task) {
+    return metrics.get(task);
+  }
+
+  /**
+   * Stops the workers of the pool. Units still queued are dropped.
+   */
+  public void shutdown() {
+    pool.shutdownNow();
+  }
+
+  private static CancellationToken getCancellationToken(Task task) {
+    if (task instanceof ValidationTask) {
+      return ((ValidationTask) task).getCancellationToken();
+    }
+    return null;
+  }
+
+  private static String describe(Task task) {
+    if (task instanceof ValidationTask) {
+      return ((ValidationTask) task).getLocation();
+    }
+    return task.toString();
+  }
+
+  /**
+   * The metrics of a task run by this task manager.
+   */
+  public static class TaskMetrics {
+
+    private volatile Status status = Status.NOT_STARTED;
+
+    private volatile long runTime = -1;
+
+    private volatile long steals = 0;
+
+    /**
+     * @return the last status reported by the task
+     */
+    public Status getStatus() {
+      return status;
+    }
+
+    /**
+     * @return the time the task ran, in milliseconds, or -1 while it runs
+     */
+    public long getRunTime() {
+      return runTime;
+    }
+
+    /**
+     * @return the number of units stolen between workers of the pool while the task ran
+     */
+    public long getSteals() {
+      return steals;
+    }
+  }
+
+}
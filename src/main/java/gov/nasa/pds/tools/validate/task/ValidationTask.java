@@ -17,6 +17,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import gov.nasa.pds.tools.label.ExceptionType;
@@ -45,6 +46,8 @@ public class ValidationTask implements Task {
   private RuleContext context;
   private TargetRegistrar targetRegistrar;
   private ValidationRuleManager ruleManager;
+  private CancellationToken cancellationToken = new CancellationToken();
+  private ForkJoinPool workerPool = null;
 
   /**
    * Creates a new instance of the validation task.
@@ -112,9 +115,44 @@ public class ValidationTask implements Task {
     this.rule = rule;
   }
 
+  /**
+   * Gets the token polled by the rules of this task to stop early.
+   *
+   * @return the cancellation token
+   */
+  public CancellationToken getCancellationToken() {
+    return cancellationToken;
+  }
+
+  /**
+   * Sets the token polled by the rules of this task, so that the caller can stop the validation
+   * early, such as when too many errors were found.
+   *
+   * @param token the cancellation token
+   */
+  public void setCancellationToken(CancellationToken token) {
+    this.cancellationToken = token;
+  }
+
+  /**
+   * Sets the pool the rules of this task fork their independent units of work into, such as
+   * chunks of table records. Without a pool, the rules create their own threads.
+   *
+   * @param pool the worker pool, or null
+   */
+  public void setWorkerPool(ForkJoinPool pool) {
+    this.workerPool = pool;
+  }
+
   @Override
   public void execute(TaskAdvisor advisor) {
+    if (advisor.cancelRequested()) {
+      LOG.info("Validation task for location '{}' canceled before it started", location);
+      advisor.setStatus(Status.CANCELED);
+      return;
+    }
     LOG.info("Starting validation task for location '{}'", location);
+    advisor.setStatus(Status.RUNNING);
 
     context.setRootTarget(true);
     context.setProblemListener(problemListener);
@@ -125,6 +163,8 @@ public class ValidationTask implements Task {
     }
     context.setTargetRegistrar(targetRegistrar);
     context.setRuleManager(ruleManager);
+    context.setCancellationToken(cancellationToken);
+    context.setWorkerPool(workerPool);
 
     try {
       rule.execute(context);
@@ -143,7 +183,14 @@ public class ValidationTask implements Task {
       LOG.error("Unexpected exception executing validation rule", ex);
     }
 
-    LOG.info("Validation complete for location '{}'", location);
+    if (advisor.cancelRequested()) {
+      LOG.info("Validation canceled for location '{}': {}", location,
+          cancellationToken.getReason());
+      advisor.setStatus(Status.CANCELED);
+    } else {
+      LOG.info("Validation complete for location '{}'", location);
+      advisor.setStatus(Status.COMPLETE);
+    }
   }
 
   /**
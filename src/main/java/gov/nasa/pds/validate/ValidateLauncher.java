@@ -30,12 +30,14 @@
 
 package gov.nasa.pds.validate;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -43,6 +45,7 @@ import java.net.URL;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -77,9 +80,6 @@ import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.response.QueryResponse;
-import org.apache.solr.common.SolrDocument;
-import org.apache.solr.common.SolrDocumentList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.ls.LSInput;
@@ -89,16 +89,22 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.stream.JsonWriter;
 import gov.nasa.pds.tools.label.CachedEntityResolver;
 import gov.nasa.pds.tools.label.ExceptionType;
 import gov.nasa.pds.tools.label.LocationValidator;
 import gov.nasa.pds.tools.label.MissingLabelSchemaException;
 import gov.nasa.pds.tools.label.SchematronTransformer;
 import gov.nasa.pds.tools.label.validate.DocumentValidator;
+import gov.nasa.pds.tools.util.CompositeContextProductIndex;
+import gov.nasa.pds.tools.util.ContextProductIndex;
 import gov.nasa.pds.tools.util.ContextProductReference;
+import gov.nasa.pds.tools.util.FileSizesUtil;
 import gov.nasa.pds.tools.util.FlagsUtil;
+import gov.nasa.pds.tools.util.InMemoryContextProductIndex;
 import gov.nasa.pds.tools.util.LabelUtil;
+import gov.nasa.pds.tools.util.LocationKey;
+import gov.nasa.pds.tools.util.MappedContextProductIndex;
+import gov.nasa.pds.tools.util.PDFValidationPool;
 import gov.nasa.pds.tools.util.ReferentialIntegrityUtil;
 import gov.nasa.pds.tools.util.XMLExtractor;
 import gov.nasa.pds.tools.validate.ContentProblem;
@@ -109,7 +115,9 @@ import gov.nasa.pds.tools.validate.ProblemType;
 import gov.nasa.pds.tools.validate.Target;
 import gov.nasa.pds.tools.validate.ValidateProblemHandler;
 import gov.nasa.pds.tools.validate.ValidationProblem;
+import gov.nasa.pds.tools.validate.content.SpotCheckPolicy;
 import gov.nasa.pds.tools.validate.rule.pds4.SchemaValidator;
+import gov.nasa.pds.tools.validate.task.CancellationToken;
 import gov.nasa.pds.validate.checksum.ChecksumManifest;
 import gov.nasa.pds.validate.commandline.options.ConfigKey;
 import gov.nasa.pds.validate.commandline.options.Flag;
@@ -120,6 +128,7 @@ import gov.nasa.pds.validate.report.FullReport;
 import gov.nasa.pds.validate.report.JSONReport;
 import gov.nasa.pds.validate.report.Report;
 import gov.nasa.pds.validate.report.XmlReport;
+import gov.nasa.pds.validate.util.ContextProductsFetcher;
 import gov.nasa.pds.validate.util.ToolInfo;
 import gov.nasa.pds.validate.util.Utility;
 
@@ -220,15 +229,28 @@ public class ValidateLauncher {
 
   private long maxErrors;
 
+  /** Stops the run once the maximum number of errors is reached. */
+  private CancellationToken cancellationToken;
+
   private int spotCheckData;
 
+  private SpotCheckPolicy.Mode spotCheckMode;
+
+  private long spotCheckSeed;
+
+  private long spotCheckBudgetRecords;
+
+  private long spotCheckBudgetBytes;
+
+  private long pdfMemoryBudget;
+
   private boolean allowUnlabeledFiles;
 
   private File registeredProductsFile;
 
   private File nonRegisteredProductsFile;
 
-  private Map<String, List<ContextProductReference>> registeredAndNonRegistedProducts;
+  private ContextProductIndex registeredAndNonRegistedProducts;
 
   private boolean validateContext;
 
@@ -271,8 +293,13 @@ public class ValidateLauncher {
     skipProductValidation = false;
     maxErrors = MAX_ERRORS;
     spotCheckData = -1;
+    spotCheckMode = SpotCheckPolicy.Mode.STRIDE;
+    spotCheckSeed = SpotCheckPolicy.DEFAULT_SEED;
+    spotCheckBudgetRecords = -1;
+    spotCheckBudgetBytes = -1;
+    pdfMemoryBudget = -1;
     allowUnlabeledFiles = false;
-    registeredAndNonRegistedProducts = new HashMap<>();
+    registeredAndNonRegistedProducts = new InMemoryContextProductIndex();
     registeredProductsFile = new File(
         System.getProperty("resources.home") + File.separator + ToolInfo.getOutputFileName());
     updateRegisteredProducts = false;
@@ -432,6 +459,36 @@ public class ValidateLauncher {
               "Could not parse value '" + o.getValue() + "': " + a.getMessage());
         }
         setSpotCheckData(value);
+      } else if (Flag.SPOT_CHECK_MODE.getLongName().equals(o.getLongOpt())) {
+        try {
+          setSpotCheckMode(SpotCheckPolicy.Mode.fromString(o.getValue()));
+        } catch (IllegalArgumentException a) {
+          throw new InvalidOptionException("Invalid value entered for 'spot-check-mode' flag: '"
+              + o.getValue() + "'. Value must be one of stride, random or stratified.");
+        }
+      } else if (Flag.SPOT_CHECK_SEED.getLongName().equals(o.getLongOpt())) {
+        long value = 0;
+        try {
+          value = Long.parseLong(o.getValue());
+        } catch (IllegalArgumentException a) {
+          throw new InvalidOptionException(
+              "Could not parse value '" + o.getValue() + "': " + a.getMessage());
+        }
+        setSpotCheckSeed(value);
+      } else if (Flag.SPOT_CHECK_BUDGET.getLongName().equals(o.getLongOpt())) {
+        try {
+          setSpotCheckBudget(o.getValue());
+        } catch (IllegalArgumentException a) {
+          throw new InvalidOptionException(
+              "Could not parse value '" + o.getValue() + "': " + a.getMessage());
+        }
+      } else if (Flag.PDF_MEMORY_BUDGET.getLongName().equals(o.getLongOpt())) {
+        try {
+          setPdfMemoryBudget(o.getValue());
+        } catch (IllegalArgumentException a) {
+          throw new InvalidOptionException(
+              "Could not parse value '" + o.getValue() + "': " + a.getMessage());
+        }
       } else if (Flag.ALLOW_UNLABELED_FILES.getLongName().equals(o.getLongOpt())) {
         setAllowUnlabeledFiles(true);
       } else if (Flag.LATEST_JSON_FILE.getLongName().equals(o.getLongOpt())) {
@@ -496,15 +553,9 @@ public class ValidateLauncher {
             + "instrument_host_type, " + "resource_type, " + "investigation_type, "
             + "facility_name, facility_type, airborne_name, airborne_type");
 
-    QueryResponse resp;
     List<ValidationProblem> pList = new ArrayList<>();
     try {
-      resp = client.query(solrQuery);
-      SolrDocumentList res = resp.getResults();
-      solrQuery.setRows((int) res.getNumFound());
-      resp = client.query(solrQuery);
-      res = resp.getResults();
-      parseJsonObjectWriteTofile(res);
+      long count = writeLatestJsonContext(client, solrQuery);
 
       client.close();
       ValidationProblem p1 =
@@ -513,7 +564,7 @@ public class ValidateLauncher {
       pList.add(p1);
       ValidationProblem p2 =
           new ValidationProblem(new ProblemDefinition(ExceptionType.INFO, ProblemType.GENERAL_INFO,
-              res.size() + " registered context products found."), new URL(url));
+              count + " registered context products found."), new URL(url));
       pList.add(p2);
 
     } catch (SolrServerException | IOException ex) {
@@ -542,75 +593,52 @@ public class ValidateLauncher {
     }
   }
 
-  private void parseJsonObjectWriteTofile(SolrDocumentList docs) {
+  /**
+   * Streams the registered context products from the Registry into the registered context products
+   * JSON file, one page at a time. The products are written to a temporary file that replaces the
+   * existing file only once the download completes, so a failed download leaves the previous file in
+   * place.
+   *
+   * @param client The Solr client for the Registry.
+   * @param solrQuery The Registry query.
+   * @return The number of registered context products written.
+   *
+   * @throws SolrServerException If the Registry reported an error.
+   * @throws IOException If the Registry could not be reached or the file could not be written.
+   */
+  private long writeLatestJsonContext(SolrClient client, SolrQuery solrQuery)
+      throws SolrServerException, IOException {
+    File json = new File(
+        System.getProperty("resources.home") + File.separator + ToolInfo.getOutputFileName());
     // backup old file
     try {
       copyFile(registeredProductsFile, new File(System.getProperty("resources.home")
           + File.separator + ToolInfo.getOutputFileName() + ".backup"));
-      // System.out.println("back up " +
-      // System.getProperty("resources.home") + "/" +
-      // ToolInfo.getOutputFileName()
-      // + " to " + System.getProperty("resources.home") + "/" +
-      // ToolInfo.getOutputFileName() + ".backup");
     } catch (IOException e) {
       e.printStackTrace();
     }
 
-    JsonWriter jsonWriter;
+    File tmp = new File(json.getPath() + ".tmp");
+    ContextProductsFetcher fetcher = new ContextProductsFetcher(client, ToolInfo.getPageSize(),
+        ToolInfo.getPageConcurrency());
+    long count;
     try {
-      jsonWriter = new JsonWriter(new FileWriter(
-          System.getProperty("resources.home") + File.separator + ToolInfo.getOutputFileName()));
-
-      jsonWriter.setIndent("     ");
-      jsonWriter.beginObject(); // start Product_Context
-      jsonWriter.name("Product_Context");
-      jsonWriter.beginArray();
-      for (SolrDocument document : docs) {
-        String id = (String) document.getFirstValue("identifier");
-        String ver = (String) document.getFirstValue("version_id");
-        String data_type = (String) document.getFirstValue("data_product_type");
-        List<Object> names =
-            (ArrayList<Object>) document.getFieldValues(data_type.toLowerCase() + "_name");
-        List<Object> types =
-            (ArrayList<Object>) document.getFieldValues(data_type.toLowerCase() + "_type");
-
-        jsonWriter.beginObject(); // start a product
-
-        jsonWriter.name("name");
-        jsonWriter.beginArray();
-        if (names == null) {
-          jsonWriter.value("N/A");
-        } else {
-          for (Object n : names) {
-            jsonWriter.value((String) n);
-          }
-        }
-        jsonWriter.endArray();
-
-        jsonWriter.name("type");
-        jsonWriter.beginArray();
-        if (types == null) {
-          jsonWriter.value("N/A");
-        } else {
-          for (Object t : types) {
-            jsonWriter.value((String) t);
-          }
-        }
-        jsonWriter.endArray();
-
-        jsonWriter.name("lidvid").value(id + "::" + ver);
-        jsonWriter.endObject(); // end a product
+      try (Writer writer = new BufferedWriter(new FileWriter(tmp))) {
+        count = fetcher.fetch(solrQuery, writer);
       }
-      jsonWriter.endArray();
-      jsonWriter.endObject(); // end Product_Context
-      jsonWriter.close();
-    } catch (IOException e) {
-      e.printStackTrace();
+      Files.move(tmp.toPath(), json.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      // Only a failed download leaves the temporary file behind.
+      Files.deleteIfExists(tmp.toPath());
     }
 
-    // System.out.println("New Registered Products File: " +
-    // registeredProductsFile);
-
+    // Regenerate the memory-mapped sidecar so the next run can skip the JSON parse.
+    try {
+      writeRegisteredProductsSidecar(json, readContextProducts(json));
+    } catch (Exception e) {
+      LOG.debug("writeLatestJsonContext:json,message {},{}", json, e.getMessage());
+    }
+    return count;
   }
 
   private void copyFile(File source, File dest) throws IOException {
@@ -746,6 +774,19 @@ public class ValidateLauncher {
       if (config.containsKey(ConfigKey.SPOT_CHECK_DATA)) {
         setSpotCheckData(config.getInt(ConfigKey.SPOT_CHECK_DATA));
       }
+      if (config.containsKey(ConfigKey.SPOT_CHECK_MODE)) {
+        setSpotCheckMode(
+            SpotCheckPolicy.Mode.fromString(config.getString(ConfigKey.SPOT_CHECK_MODE)));
+      }
+      if (config.containsKey(ConfigKey.SPOT_CHECK_SEED)) {
+        setSpotCheckSeed(config.getLong(ConfigKey.SPOT_CHECK_SEED));
+      }
+      if (config.containsKey(ConfigKey.SPOT_CHECK_BUDGET)) {
+        setSpotCheckBudget(config.getString(ConfigKey.SPOT_CHECK_BUDGET));
+      }
+      if (config.containsKey(ConfigKey.PDF_MEMORY_BUDGET)) {
+        setPdfMemoryBudget(config.getString(ConfigKey.PDF_MEMORY_BUDGET));
+      }
       if (config.containsKey(ConfigKey.ALLOW_UNLABELED_FILES)) {
         setAllowUnlabeledFiles(true);
       }
@@ -946,15 +987,15 @@ public class ValidateLauncher {
   /**
    * Set the output style for the report.
    *
-   * @param style 'sum' for a summary report, 'min' for a minimal report, and 'full' for a full
-   *        report
+   * @param style 'full' for a full report, 'json' for a JSON report, 'jsonl' for a JSON Lines
+   *        report, and 'xml' for an XML report
    * @throws Exception
    */
   public void setReportStyle(String style) throws Exception {
     if (!style.equalsIgnoreCase("full") && !style.equalsIgnoreCase("json")
-        && !style.equalsIgnoreCase("xml")) {
+        && !style.equalsIgnoreCase("jsonl") && !style.equalsIgnoreCase("xml")) {
       throw new Exception("Invalid value entered for 's' flag. Value can only "
-          + "be either 'full', 'json' or 'xml'");
+          + "be either 'full', 'json', 'jsonl' or 'xml'");
     }
     this.reportStyle = style;
   }
@@ -1056,6 +1097,39 @@ public class ValidateLauncher {
     this.spotCheckData = value;
   }
 
+  public void setSpotCheckMode(SpotCheckPolicy.Mode mode) {
+    this.spotCheckMode = mode;
+  }
+
+  public void setSpotCheckSeed(long seed) {
+    this.spotCheckSeed = seed;
+  }
+
+  /**
+   * Sets the spot check budget.
+   *
+   * @param value A number of records, or an amount of data followed by B, KB, MB or GB.
+   * @throws IllegalArgumentException If the budget cannot be parsed.
+   */
+  public void setSpotCheckBudget(String value) {
+    long[] budget = SpotCheckPolicy.parseBudget(value);
+    this.spotCheckBudgetRecords = budget[0];
+    this.spotCheckBudgetBytes = budget[1];
+  }
+
+  /**
+   * Sets the memory budget of the PDF/A validations running at the same time.
+   *
+   * @param value An amount of data in bytes, optionally followed by B, KB, MB or GB.
+   * @throws IllegalArgumentException If the budget cannot be parsed.
+   */
+  public void setPdfMemoryBudget(String value) {
+    this.pdfMemoryBudget = FileSizesUtil.parseSize(value);
+    if (this.pdfMemoryBudget <= 0) {
+      throw new IllegalArgumentException("The PDF memory budget must be positive");
+    }
+  }
+
   public void setAllowUnlabeledFiles(boolean flag) {
     this.allowUnlabeledFiles = flag;
   }
@@ -1063,41 +1137,11 @@ public class ValidateLauncher {
   private void setRegisteredProducts() {
     URL url = null;
 
-    Gson gson = new Gson();
-    List<ContextProductReference> contextProducts = new ArrayList<>();
+    List<ContextProductIndex> indexes = new ArrayList<>();
     List<ValidationProblem> pList = new ArrayList<>();
 
     try {
-      JsonObject json =
-          gson.fromJson(new FileReader(this.registeredProductsFile), JsonObject.class);
-      JsonArray array = json.get("Product_Context").getAsJsonArray();
-
-      for (JsonElement jsonElm : array) {
-
-        JsonObject jsonObj = jsonElm.getAsJsonObject();
-        String lidvidString = jsonObj.get("lidvid").getAsString();
-        List<String> types = new ArrayList<>();
-        if (!jsonObj.get("type").isJsonNull()) {
-          for (JsonElement e : jsonObj.get("type").getAsJsonArray()) {
-            types.add(e.getAsString());
-          }
-        } else {
-          types.add("N/A");
-        }
-
-        List<String> names = new ArrayList<>();
-        if (!jsonObj.get("name").isJsonNull()) {
-          for (JsonElement e : jsonObj.get("name").getAsJsonArray()) {
-            names.add(e.getAsString());
-          }
-        } else {
-          names.add("N/A");
-        }
-
-        contextProducts.add(new ContextProductReference(lidvidString.split("::")[0],
-            lidvidString.split("::")[1], types, names));
-
-      }
+      indexes.add(loadRegisteredProducts());
     } catch (Exception e) {
       e.printStackTrace();
       System.out.println(e.getMessage()
@@ -1115,40 +1159,14 @@ public class ValidateLauncher {
     if (this.nonRegisteredProducts) {
 
       try {
-        gson = new Gson();
-        JsonObject jsonN =
-            gson.fromJson(new FileReader(this.nonRegisteredProductsFile), JsonObject.class);
-        JsonArray arrayN = jsonN.get("Product_Context").getAsJsonArray();
         ValidationProblem pW = new ValidationProblem(new ProblemDefinition(ExceptionType.WARNING,
             ProblemType.NON_REGISTERED_PRODUCT,
             "Non-registered context products should only be used during archive development. All context products must be registered for a valid, released archive bundle. "),
             url);
         pList.add(pW);
 
-        for (JsonElement jsonElmN : arrayN) {
-
-          JsonObject jsonObjN = jsonElmN.getAsJsonObject();
-          String lidvidStringN = jsonObjN.get("lidvid").getAsString();
-          List<String> typesN = new ArrayList<>();
-          if (!jsonObjN.get("type").isJsonNull()) {
-            for (JsonElement e : jsonObjN.get("type").getAsJsonArray()) {
-              typesN.add(e.getAsString());
-            }
-          } else {
-            typesN.add("N/A");
-          }
-
-          List<String> namesN = new ArrayList<>();
-          if (!jsonObjN.get("name").isJsonNull()) {
-            for (JsonElement e : jsonObjN.get("name").getAsJsonArray()) {
-              namesN.add(e.getAsString());
-            }
-          } else {
-            namesN.add("N/A");
-          }
-          contextProducts.add(new ContextProductReference(lidvidStringN.split("::")[0],
-              lidvidStringN.split("::")[1], typesN, namesN));
-        }
+        indexes.add(
+            new InMemoryContextProductIndex(readContextProducts(this.nonRegisteredProductsFile)));
 
         this.report.record(new URI(ValidateLauncher.class.getName()), pList);
       } catch (Exception e) {
@@ -1159,9 +1177,88 @@ public class ValidateLauncher {
 
     }
 
-    this.registeredAndNonRegistedProducts.put("Product_Context", contextProducts);
-    // System.out.println("Total of LIDVID in registeredAndNonRegistedProducts: " +
-    // lidvids.size());
+    // Index the products once so every target in this run can share the lookups.
+    this.registeredAndNonRegistedProducts = new CompositeContextProductIndex(indexes);
+  }
+
+  /**
+   * Loads the registered context products. The memory-mapped sidecar is used when it is current
+   * with the JSON file; otherwise the JSON file is parsed and the sidecar is regenerated for the
+   * next run.
+   *
+   * @return An index of the registered context products.
+   * @throws Exception If the JSON file could not be read.
+   */
+  private ContextProductIndex loadRegisteredProducts() throws Exception {
+    File sidecar = MappedContextProductIndex.getSidecarFile(this.registeredProductsFile);
+    if (MappedContextProductIndex.isCurrent(this.registeredProductsFile, sidecar)) {
+      try {
+        return MappedContextProductIndex.open(sidecar);
+      } catch (IOException io) {
+        LOG.debug("loadRegisteredProducts:sidecar,message {},{}", sidecar, io.getMessage());
+      }
+    }
+    List<ContextProductReference> contextProducts =
+        readContextProducts(this.registeredProductsFile);
+    writeRegisteredProductsSidecar(this.registeredProductsFile, contextProducts);
+    return new InMemoryContextProductIndex(contextProducts);
+  }
+
+  /**
+   * Writes the memory-mapped sidecar for a registered context products JSON file. Failing to write
+   * it (for example a read-only installation) only costs the JSON parse on the next run.
+   */
+  private void writeRegisteredProductsSidecar(File json,
+      List<ContextProductReference> contextProducts) {
+    File sidecar = MappedContextProductIndex.getSidecarFile(json);
+    try {
+      MappedContextProductIndex.write(contextProducts, json, sidecar);
+    } catch (IOException io) {
+      LOG.debug("writeRegisteredProductsSidecar:sidecar,message {},{}", sidecar, io.getMessage());
+    }
+  }
+
+  /**
+   * Reads the context products from a registered or non-registered context products JSON file.
+   *
+   * @param jsonFile The JSON file.
+   * @return The context products, in file order.
+   * @throws Exception If the file could not be read or does not have the expected format.
+   */
+  private List<ContextProductReference> readContextProducts(File jsonFile) throws Exception {
+    List<ContextProductReference> contextProducts = new ArrayList<>();
+    JsonObject json;
+    try (FileReader reader = new FileReader(jsonFile)) {
+      json = new Gson().fromJson(reader, JsonObject.class);
+    }
+    JsonArray array = json.get("Product_Context").getAsJsonArray();
+
+    for (JsonElement jsonElm : array) {
+
+      JsonObject jsonObj = jsonElm.getAsJsonObject();
+      String lidvidString = jsonObj.get("lidvid").getAsString();
+      List<String> types = new ArrayList<>();
+      if (!jsonObj.get("type").isJsonNull()) {
+        for (JsonElement e : jsonObj.get("type").getAsJsonArray()) {
+          types.add(e.getAsString());
+        }
+      } else {
+        types.add("N/A");
+      }
+
+      List<String> names = new ArrayList<>();
+      if (!jsonObj.get("name").isJsonNull()) {
+        for (JsonElement e : jsonObj.get("name").getAsJsonArray()) {
+          names.add(e.getAsString());
+        }
+      } else {
+        names.add("N/A");
+      }
+
+      contextProducts.add(new ContextProductReference(lidvidString.split("::")[0],
+          lidvidString.split("::")[1], types, names));
+    }
+    return contextProducts;
   }
 
   public void setUpdateRegisteredProducts(boolean updateRegisteredProducts) {
@@ -1228,6 +1325,8 @@ public class ValidateLauncher {
       this.report = new FullReport();
     } else if (this.reportStyle.equals("json")) {
       this.report = new JSONReport();
+    } else if (this.reportStyle.equals("jsonl")) {
+      this.report = new JSONReport(true);
     } else if (this.reportStyle.equals("xml")) {
       this.report = new XmlReport();
     }
@@ -1286,6 +1385,21 @@ public class ValidateLauncher {
     if (spotCheckData != -1) {
       report.addParameter("   Data Spot Check               " + spotCheckData);
     }
+    if (spotCheckBudgetRecords != -1) {
+      report.addParameter("   Data Spot Check Budget        " + spotCheckBudgetRecords + " records");
+    } else if (spotCheckBudgetBytes != -1) {
+      report.addParameter("   Data Spot Check Budget        " + spotCheckBudgetBytes + " bytes");
+    }
+    if (spotCheckData != -1 || spotCheckBudgetRecords != -1 || spotCheckBudgetBytes != -1) {
+      report.addParameter(
+          "   Data Spot Check Mode          " + spotCheckMode.toString().toLowerCase());
+      if (spotCheckMode != SpotCheckPolicy.Mode.STRIDE) {
+        report.addParameter("   Data Spot Check Seed          " + spotCheckSeed);
+      }
+    }
+    if (pdfMemoryBudget != -1) {
+      report.addParameter("   PDF Memory Budget             " + pdfMemoryBudget + " bytes");
+    }
     if (validationRule != null && (validationRule.equalsIgnoreCase("pds4.bundle")
         || validationRule.equalsIgnoreCase("pds4.collection"))) {
       report.addParameter("   Allow Unlabeled Files         " + allowUnlabeledFiles);
@@ -1306,7 +1420,7 @@ public class ValidateLauncher {
    * @return boolean true - success false - fail
    * @throws Exception
    */
-  public boolean doValidation(Map<URL, String> checksumManifest) throws Exception {
+  public boolean doValidation(Map<LocationKey, String> checksumManifest) throws Exception {
     boolean success = true;
     long t0 = System.currentTimeMillis();
 
@@ -1334,10 +1448,17 @@ public class ValidateLauncher {
     // contextReferenceCheck must be set manually to skip reference check.
     ReferentialIntegrityUtil.setContextReferenceCheckFlag(this.contextReferenceCheck);
 
+    cancellationToken = new CancellationToken();
     for (URL target : targets) {
+      if (cancellationToken.isCancelled()) {
+        // The remaining targets are not validated.
+        success = false;
+        break;
+      }
       try {
         LocationValidator validator = factory.newInstance(severity);
         validator.setReport(report);
+        validator.setCancellationToken(cancellationToken);
 
         // If the user requested to check in between the fields, set it here in the
         // validator.
@@ -1359,6 +1480,11 @@ public class ValidateLauncher {
         validator.setRecurse(traverse);
         validator.setCheckData(contentValidationFlag);
         validator.setSpotCheckData(spotCheckData);
+        validator.setSpotCheckPolicy(new SpotCheckPolicy(spotCheckData, spotCheckMode,
+            spotCheckBudgetRecords, spotCheckBudgetBytes, spotCheckSeed));
+        if (pdfMemoryBudget != -1) {
+          PDFValidationPool.setMemoryBudget(pdfMemoryBudget);
+        }
         validator.setAllowUnlabeledFiles(allowUnlabeledFiles);
         validator.setValidateContext(validateContext);
         validator.setSkipProductValidation(skipProductValidation);
@@ -1410,7 +1536,7 @@ public class ValidateLauncher {
           }
         }
 
-        if (monitor.numErrors > 0) {
+        if (monitor.numErrors > 0 || cancellationToken.isCancelled()) {
           success = false;
         }
         LOG.debug("ValidateLauncher:doValidation: monitor.numErrors,target,success {},{},{}",
@@ -1458,7 +1584,8 @@ public class ValidateLauncher {
 
     LabelUtil.reportIfMoreThanOneVersion(validationRule);
 
-    if (this.report.getTotalProducts() == 0 && this.targets.size() > 0) {
+    if (this.report.getTotalProducts() == 0 && this.targets.size() > 0
+        && !cancellationToken.isCancelled()) {
 
       String message =
           "No Products found during Validate execution. Verify arguments, paths, and expected "
@@ -1626,7 +1753,7 @@ public class ValidateLauncher {
             "No files specified for validation. Check your paths and use -t flag to explicitly denote the set of target data.");
       }
 
-      Map<URL, String> checksumManifestMap = new HashMap<>();
+      Map<LocationKey, String> checksumManifestMap = new HashMap<>();
       if (checksumManifest != null) {
         if (manifestBasePath == null) {
           URL base = null;
@@ -1763,6 +1890,10 @@ public class ValidateLauncher {
 
     @Override
     public void addProblem(ValidationProblem problem) {
+      if (cancellationToken.isCancelled()) {
+        // Rules still running when the run was stopped may report a few more problems.
+        return;
+      }
       if (problem.getProblem().getSeverity().getValue() <= verbosityLevel.getValue()) {
         String location = rootLocation;
         if (problem instanceof ContentProblem) {
@@ -1778,11 +1909,11 @@ public class ValidateLauncher {
           numErrors++;
         }
         if (numErrors >= maxErrors) {
-          endValidation();
-          printReportFooter();
+          // Stop the crawlers and content loops instead of exiting from the listener, so that
+          // the problems found so far are recorded and the report is finished as usual.
+          cancellationToken.cancel("Maximum number of errors reached: " + maxErrors);
           System.err.println(
               "\n\nERROR: Validation run terminated due to an excessive amount of errors.\n\n");
-          System.exit(1);
         }
       }
     }
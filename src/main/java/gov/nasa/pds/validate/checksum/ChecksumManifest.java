@@ -30,30 +30,51 @@
 
 package gov.nasa.pds.validate.checksum;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
-import org.apache.commons.io.FilenameUtils;
+import java.util.Map;
+import gov.nasa.pds.tools.util.LocationKey;
 
 /**
  * Class that reads a checksum manifest file.
  *
+ * <p>
+ * The manifest is streamed line by line and each entry is resolved against the base location with
+ * plain string operations, so no URL objects are created and the host name resolver is never
+ * consulted, whatever the size of the manifest.
+ * </p>
+ *
  * @author mcayanan
  *
  */
 public class ChecksumManifest {
+  /** Size of the read buffer. Manifests for large bundles run to millions of lines. */
+  private static final int BUFFER_SIZE = 1 << 16;
+
   private URL baseUrl;
 
+  /** The base location, ending with a slash. */
+  private String baseLocation;
+
+  /** The scheme and authority of the base location, for entries with an absolute path. */
+  private String baseRoot;
+
   public ChecksumManifest(String baseUrl) throws MalformedURLException {
     if (!baseUrl.endsWith("/")) {
       this.baseUrl = new URL(baseUrl + "/");
     } else {
       this.baseUrl = new URL(baseUrl);
     }
+    this.baseLocation = this.baseUrl.toString();
+    int pathStart = this.baseLocation.indexOf(':') + 1;
+    if (this.baseLocation.startsWith("//", pathStart)) {
+      pathStart = this.baseLocation.indexOf('/', pathStart + 2);
+    }
+    this.baseRoot = this.baseLocation.substring(0, pathStart);
   }
 
   /**
@@ -61,31 +82,81 @@ public class ChecksumManifest {
    *
    * @param manifest The checksum manifest.
    *
-   * @return A hash map of file paths(absolute or relative) to checksum values.
+   * @return A hash map of file locations to checksum values.
    *
    * @throws IOException If there was an error reading the checksum manifest.
    */
-  public HashMap<URL, String> read(URL manifest) throws IOException {
-    HashMap<URL, String> checksums = new HashMap<>();
-    LineNumberReader reader =
-        new LineNumberReader(new BufferedReader(new InputStreamReader(manifest.openStream())));
-    String line = "";
-    try {
+  public Map<LocationKey, String> read(URL manifest) throws IOException {
+    Map<LocationKey, String> checksums = new HashMap<>();
+    try (LineNumberReader reader =
+        new LineNumberReader(new InputStreamReader(manifest.openStream()), BUFFER_SIZE)) {
+      StringBuilder location = new StringBuilder();
+      String line;
       while ((line = reader.readLine()) != null) {
-        line = line.trim();
-        if (line.equals("")) {
+        int end = line.length();
+        while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+          end--;
+        }
+        int start = 0;
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+          start++;
+        }
+        if (start == end) {
           continue;
         }
-        String[] tokens = line.split("\\s{1,2}", 2);
-        URL url = new URL(baseUrl, FilenameUtils.separatorsToUnix(tokens[1]));
-        checksums.put(url, tokens[0]);
+
+        // The checksum and the path are separated by one or two whitespace characters.
+        int separator = start;
+        while (separator < end && !Character.isWhitespace(line.charAt(separator))) {
+          separator++;
+        }
+        if (separator == end) {
+          throw new IOException("line " + reader.getLineNumber() + ": Could not tokenize '"
+              + line.substring(start, end) + "': no file path after the checksum");
+        }
+        int pathStart = separator + 1;
+        if (pathStart < end && Character.isWhitespace(line.charAt(pathStart))) {
+          pathStart++;
+        }
+        String checksum = line.substring(start, separator);
+        checksums.put(LocationKey.of(resolve(location, line, pathStart, end)), checksum);
       }
-    } catch (ArrayIndexOutOfBoundsException ae) {
-      throw new IOException("line " + reader.getLineNumber() + ": Could not tokenize '" + line
-          + "': " + ae.getMessage());
-    } finally {
-      reader.close();
     }
     return checksums;
   }
+
+  /**
+   * Resolves the manifest entry in line[start, end) against the base location, the way a relative
+   * URL would be, converting Windows separators on the way.
+   */
+  private String resolve(StringBuilder location, String line, int start, int end) {
+    location.setLength(0);
+    if (!hasScheme(line, start, end)) {
+      location.append(line.charAt(start) == '/' || line.charAt(start) == '\\' ? this.baseRoot
+          : this.baseLocation);
+    }
+    for (int i = start; i < end; i++) {
+      char c = line.charAt(i);
+      location.append(c == '\\' ? '/' : c);
+    }
+    return location.toString();
+  }
+
+  /**
+   * @return true if the path starts with a URL scheme. Single letters are taken to be Windows
+   *         drive letters.
+   */
+  private static boolean hasScheme(String line, int start, int end) {
+    int colon = line.indexOf(':', start);
+    if (colon < start + 2 || colon >= end || !Character.isLetter(line.charAt(start))) {
+      return false;
+    }
+    for (int i = start + 1; i < colon; i++) {
+      char c = line.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '+' && c != '-' && c != '.') {
+        return false;
+      }
+    }
+    return true;
+  }
 }
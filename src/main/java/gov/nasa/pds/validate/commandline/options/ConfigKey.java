@@ -116,6 +116,26 @@ public class ConfigKey {
    */
   public static final String SPOT_CHECK_DATA = "validate.spotCheckData";
 
+  /**
+   * Property to specify how records are selected during a spot check.
+   */
+  public static final String SPOT_CHECK_MODE = "validate.spotCheckMode";
+
+  /**
+   * Property to specify the seed for the random spot check modes.
+   */
+  public static final String SPOT_CHECK_SEED = "validate.spotCheckSeed";
+
+  /**
+   * Property to limit a spot check to a number of records or bytes.
+   */
+  public static final String SPOT_CHECK_BUDGET = "validate.spotCheckBudget";
+
+  /**
+   * Property to limit the memory used by concurrent PDF/A validations.
+   */
+  public static final String PDF_MEMORY_BUDGET = "validate.pdfMemoryBudget";
+
   /**
    * Property to allow the tool to not report on unlabeled files in a bundle or collection.
    */
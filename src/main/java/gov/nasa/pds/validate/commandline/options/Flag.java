@@ -127,9 +127,10 @@ public enum Flag {
    * Flag to specify the report style.
    *
    */
-  STYLE("s", "report-style", "full|json|xml", String.class,
+  STYLE("s", "report-style", "full|json|jsonl|xml", String.class,
       "Specify the level of detail for the reporting. Valid values are "
-          + "'full' for a full view, 'json' for a json view, and 'xml' for an "
+          + "'full' for a full view, 'json' for a json view, 'jsonl' for a json "
+          + "view with one object per line, and 'xml' for an "
           + "XML view. Default is to see a full report if this flag is not " + "specified"),
 
   /**
@@ -159,6 +160,19 @@ public enum Flag {
   SPOT_CHECK_DATA(null, "spot-check-data", "num", int.class,
       "Tool only checks every nth record or line and skips the rest during data content validation."),
 
+  SPOT_CHECK_MODE(null, "spot-check-mode", "stride|random|stratified", String.class,
+      "Specifies how records are selected during a spot check: every nth record (stride), a uniform random sample (random), "
+          + "or one random record per equal sized stratum (stratified). Default is stride."),
+
+  SPOT_CHECK_SEED(null, "spot-check-seed", "seed", long.class,
+      "Specifies the seed for the random and stratified spot check modes, so that runs can be reproduced. Default is 0."),
+
+  SPOT_CHECK_BUDGET(null, "spot-check-budget", "num[B|KB|MB|GB]", String.class,
+      "Limits a spot check to a number of records per table or array, or to an amount of data when followed by B, KB, MB or GB."),
+
+  PDF_MEMORY_BUDGET(null, "pdf-memory-budget", "num[B|KB|MB|GB]", String.class,
+      "Limits the memory used by the PDF documents validated at the same time against the PDF/A standard. Default is a quarter of the maximum heap size."),
+
   ALLOW_UNLABELED_FILES(null, "allow-unlabeled-files",
       "Tells the tool to not check for unlabeled files in a bundle or collection."),
 
@@ -0,0 +1,197 @@
+// Copyright © 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// • Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// • Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// • Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.validate.report;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the formatting and writing of a report on a single background thread, so the validating
+ * threads only queue their results.
+ *
+ * <p>
+ * The output is flushed once {@link #MAX_BATCH} tasks have run since the last flush, or once the
+ * oldest unflushed task is {@link #MAX_DELAY_MILLIS} old, whichever comes first. {@link #drain()}
+ * waits until every task queued before it has run and the output is flushed. A shutdown hook
+ * drains the queue, so results queued before the tool exits are not lost.
+ * </p>
+ */
+class AsyncReportWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncReportWriter.class);
+
+  /** Number of tasks run between two flushes of the output. */
+  static final int MAX_BATCH = 256;
+
+  /** Longest time a written result waits for the output to be flushed. */
+  static final long MAX_DELAY_MILLIS = 500;
+
+  /** Number of tasks queued before producers wait for the writer. */
+  static final int QUEUE_CAPACITY = 4096;
+
+  /** Longest time the shutdown hook waits for the queue to drain. */
+  private static final long EXIT_DRAIN_SECONDS = 30;
+
+  private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+  private final Runnable flush;
+
+  private Thread thread = null;
+
+  /**
+   * Constructor.
+   *
+   * @param flush Flushes the output, called on the writer thread.
+   */
+  AsyncReportWriter(Runnable flush) {
+    this.flush = flush;
+  }
+
+  /**
+   * Queues a task, waiting while the queue is full.
+   *
+   * @param task Writes to the output, run on the writer thread.
+   */
+  void submit(Runnable task) {
+    if (Thread.currentThread() == getThread()) {
+      // Queued from a task, run it in order right away.
+      runTask(task);
+      return;
+    }
+    try {
+      this.queue.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.error("Interrupted while queuing a report entry");
+    }
+  }
+
+  /**
+   * Waits until every task queued so far has run and the output is flushed.
+   */
+  void drain() {
+    drain(0);
+  }
+
+  private boolean drain(long timeoutSeconds) {
+    Thread writer;
+    synchronized (this) {
+      writer = this.thread;
+    }
+    if (writer == null || Thread.currentThread() == writer) {
+      this.flush.run();
+      return true;
+    }
+    Barrier barrier = new Barrier();
+    submit(barrier);
+    try {
+      if (timeoutSeconds <= 0) {
+        barrier.done.await();
+        return true;
+      }
+      return barrier.done.await(timeoutSeconds, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private synchronized Thread getThread() {
+    if (this.thread == null) {
+      this.thread = new Thread(this::run, "report-writer");
+      this.thread.setDaemon(true);
+      this.thread.start();
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        if (!drain(EXIT_DRAIN_SECONDS)) {
+          LOG.error("The report was not completely written before exit");
+        }
+      }, "report-writer-drain"));
+    }
+    return this.thread;
+  }
+
+  private void run() {
+    int unflushed = 0;
+    long oldest = 0;
+    try {
+      while (true) {
+        Runnable task;
+        if (unflushed == 0) {
+          task = this.queue.take();
+        } else {
+          long wait = oldest + MAX_DELAY_MILLIS - System.currentTimeMillis();
+          task = wait > 0 ? this.queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+        }
+        if (task == null || task instanceof Barrier) {
+          if (unflushed > 0 || task != null) {
+            runTask(this.flush);
+          }
+          unflushed = 0;
+          if (task != null) {
+            ((Barrier) task).done.countDown();
+          }
+          continue;
+        }
+        runTask(task);
+        if (unflushed++ == 0) {
+          oldest = System.currentTimeMillis();
+        }
+        if (unflushed >= MAX_BATCH) {
+          runTask(this.flush);
+          unflushed = 0;
+        }
+      }
+    } catch (InterruptedException e) {
+      runTask(this.flush);
+    }
+  }
+
+  private static void runTask(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      LOG.error("Error while writing the report: {}", e.getMessage(), e);
+    }
+  }
+
+  /** Marks a point in the queue that a caller of {@link #drain()} waits for. */
+  private static class Barrier implements Runnable {
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    @Override
+    public void run() {
+      // Handled by the writer loop.
+    }
+  }
+}
@@ -33,12 +33,10 @@ package gov.nasa.pds.validate.report;
 import java.io.PrintWriter;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import gov.nasa.pds.tools.label.ExceptionType;
-import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.validate.ContentProblem;
 import gov.nasa.pds.tools.validate.ValidationProblem;
 import gov.nasa.pds.tools.validate.content.array.ArrayContentProblem;
@@ -56,9 +54,7 @@ import gov.nasa.pds.validate.status.Status;
 public class FullReport extends Report {
 
   @Override
-  protected void printHeader(PrintWriter writer, String title) {
-    // writer.println("Validation Details:");
-
+  public void printHeader(String title) {
     // A hacky way to properly track when we are completing product validation
     // versus integrity
     // checks. Once we try to print a header other than the initial product level
@@ -68,26 +64,30 @@ public class FullReport extends Report {
         || title.toLowerCase().contains("pds4 collection")) {
       this.integrityCheckFlag = true;
     }
+    super.printHeader(title);
+  }
 
+  @Override
+  protected void printHeader(PrintWriter writer, String title) {
+    // writer.println("Validation Details:");
     writer.println();
     writer.println();
     writer.println(title);
   }
 
   @Override
-  protected void printRecordMessages(PrintWriter writer, Status status, URI sourceUri,
-      List<ValidationProblem> problems) {
+  protected void printRecordMessages(PrintWriter writer, TargetResult result) {
+    URI sourceUri = result.getSourceUri();
     Map<String, List<ValidationProblem>> externalProblems = new LinkedHashMap<>();
     Map<String, List<ContentProblem>> contentProblems = new LinkedHashMap<>();
     writer.println();
     writer.print("  ");
-    writer.print(status.getName());
+    writer.print(result.getStatus().getName());
     writer.print(": ");
     writer.println(sourceUri.toString());
 
     // Print all the sources problems and gather all external problems
-    for (Iterator<ValidationProblem> iterator = problems.iterator(); iterator.hasNext();) {
-      ValidationProblem problem = iterator.next();
+    for (ValidationProblem problem : result.getProblems()) {
       if (problem instanceof ContentProblem) {
         ContentProblem contentProb = (ContentProblem) problem;
         List<ContentProblem> contentProbs = contentProblems.get(contentProb.getSource());
@@ -107,7 +107,6 @@ public class FullReport extends Report {
         extProbs.add(problem);
         externalProblems.put(problem.getTarget().getLocation(), extProbs);
       }
-      iterator.remove();
     }
     for (String extSystemId : externalProblems.keySet()) {
       writer.print("    Begin " + getType(extSystemId) + ": ");
@@ -128,14 +127,14 @@ public class FullReport extends Report {
       writer.println(dataFile);
     }
     // issue_132: for the progress monitoring
-    if (!Utility.isDir(sourceUri.toString())) {
+    if (!result.isDirectory()) {
       String msg = "";
-      if (totalProducts > 0) {
-        msg = "        " + totalProducts + " product validation(s) completed";
+      if (result.getTotalProducts() > 0) {
+        msg = "        " + result.getTotalProducts() + " product validation(s) completed";
       }
 
-      if (totalIntegrityChecks > 0) {
-        msg = "        " + totalIntegrityChecks + " integrity check(s) completed";
+      if (result.getTotalIntegrityChecks() > 0) {
+        msg = "        " + result.getTotalIntegrityChecks() + " integrity check(s) completed";
       }
 
       writer.println(msg);
@@ -54,14 +54,37 @@ import gov.nasa.pds.validate.status.Status;
 /**
  * This class represents a full report in JSON format.
  *
+ * <p>
+ * The report is streamed: each product is written as soon as it is recorded, and the summary is
+ * written last. In the JSON Lines form, each line is a complete JSON object: the configuration
+ * first, then one line per product with the name of its section, then the summary. Results can be
+ * consumed while the validation runs.
+ * </p>
+ *
  * @author mcayanan
  *
  */
 public class JSONReport extends Report {
+  private static final String PRODUCT_SECTION = "productLevelValidationResults";
+
   private JsonWriter jsonWriter;
 
+  private final boolean lines;
+
+  private String section = PRODUCT_SECTION;
+
   public JSONReport() {
+    this(false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param lines true to write the report as JSON Lines, one object per line
+   */
+  public JSONReport(boolean lines) {
     super();
+    this.lines = lines;
     refreshWriter();
   }
 
@@ -79,8 +102,27 @@ public class JSONReport extends Report {
     writer = null;
     jsonWriter = null;
     writer = new PrintWriter(new OutputStreamWriter(System.out));
-    jsonWriter = new JsonWriter(writer);
-    jsonWriter.setIndent("  ");
+    jsonWriter = createJsonWriter(writer);
+  }
+
+  private JsonWriter createJsonWriter(Writer writer) {
+    JsonWriter json = new JsonWriter(writer);
+    if (this.lines) {
+      // Lenient, so that one object can follow another.
+      json.setLenient(true);
+    } else {
+      json.setIndent("  ");
+    }
+    return json;
+  }
+
+  /**
+   * Ends a line of a JSON Lines report.
+   */
+  private void endLine() throws IOException {
+    if (this.lines) {
+      this.writer.write('\n');
+    }
   }
 
   /**
@@ -91,9 +133,8 @@ public class JSONReport extends Report {
    */
   @Override
   public void setOutput(Writer writer) {
-    this.writer = new PrintWriter(writer);
-    this.jsonWriter = new JsonWriter(this.writer);
-    this.jsonWriter.setIndent("  ");
+    super.setOutput(writer);
+    this.jsonWriter = createJsonWriter(this.writer);
   }
 
   /**
@@ -119,7 +160,7 @@ public class JSONReport extends Report {
   }
 
   @Override
-  public void printHeader() {
+  protected void writeHeader() {
     try {
       this.jsonWriter.beginObject();
       this.jsonWriter.name("title").value("PDS Validation Tool Report");
@@ -139,8 +180,13 @@ public class JSONReport extends Report {
         this.jsonWriter.name(WordUtils.uncapitalize(key)).value(tokens[1]);
       }
       this.jsonWriter.endObject();
-      this.jsonWriter.name("productLevelValidationResults");
-      this.jsonWriter.beginArray();
+      if (this.lines) {
+        this.jsonWriter.endObject();
+        endLine();
+      } else {
+        this.jsonWriter.name(PRODUCT_SECTION);
+        this.jsonWriter.beginArray();
+      }
     } catch (ArrayIndexOutOfBoundsException ae) {
       ae.printStackTrace();
     } catch (IOException io) {
@@ -150,9 +196,13 @@ public class JSONReport extends Report {
 
   @Override
   protected void printHeader(PrintWriter writer, String title) {
+    title = title.replaceAll("\\s+", "");
+    if (this.lines) {
+      this.section = title;
+      return;
+    }
     try {
       this.jsonWriter.endArray();
-      title = title.replaceAll("\\s+", "");
       this.jsonWriter.name(title);
       this.jsonWriter.beginArray();
     } catch (IOException io) {
@@ -161,17 +211,18 @@ public class JSONReport extends Report {
   }
 
   @Override
-  protected void printRecordMessages(PrintWriter writer, Status status, URI sourceUri,
-      List<ValidationProblem> problems) {
+  protected void printRecordMessages(PrintWriter writer, TargetResult result) {
+    URI sourceUri = result.getSourceUri();
     Map<String, List<ValidationProblem>> externalProblems = new LinkedHashMap<>();
     Map<String, List<ContentProblem>> contentProblems = new LinkedHashMap<>();
     try {
       this.jsonWriter.beginObject();
-      this.jsonWriter.name("status").value(status.getName());
+      printSection();
+      this.jsonWriter.name("status").value(result.getStatus().getName());
       this.jsonWriter.name("label").value(sourceUri.toString());
       this.jsonWriter.name("messages");
       this.jsonWriter.beginArray();
-      for (ValidationProblem problem : problems) {
+      for (ValidationProblem problem : result.getProblems()) {
         if (problem instanceof ContentProblem) {
           ContentProblem contentProb = (ContentProblem) problem;
           List<ContentProblem> contentProbs = contentProblems.get(contentProb.getSource());
@@ -223,11 +274,21 @@ public class JSONReport extends Report {
       }
       this.jsonWriter.endArray();
       this.jsonWriter.endObject();
+      endLine();
     } catch (IOException io) {
       io.printStackTrace();
     }
   }
 
+  /**
+   * Names the section of a product in a JSON Lines report, which has no arrays per section.
+   */
+  private void printSection() throws IOException {
+    if (this.lines) {
+      this.jsonWriter.name("section").value(this.section);
+    }
+  }
+
   private void printProblem(final ValidationProblem problem) throws IOException {
     String severity = "";
     if (problem.getProblem().getSeverity() == ExceptionType.FATAL) {
@@ -278,6 +339,7 @@ public class JSONReport extends Report {
       final ValidationProblem problem) {
     try {
       this.jsonWriter.beginObject();
+      printSection();
       this.jsonWriter.name("status").value(Status.SKIP.getName());
       this.jsonWriter.name("label").value(sourceUri.toString());
       this.jsonWriter.name("messages");
@@ -287,6 +349,7 @@ public class JSONReport extends Report {
 
       this.jsonWriter.endArray();
       this.jsonWriter.endObject();
+      endLine();
     } catch (IOException io) {
       io.printStackTrace();
     }
@@ -298,9 +361,13 @@ public class JSONReport extends Report {
   }
 
   @Override
-  public void printFooter() {
+  protected void writeFooter() {
     try {
-      this.jsonWriter.endArray();
+      if (this.lines) {
+        this.jsonWriter.beginObject();
+      } else {
+        this.jsonWriter.endArray();
+      }
       this.jsonWriter.name("summary");
       this.jsonWriter.beginObject();
       this.jsonWriter.name("totalProducts").value(getTotalProducts());
@@ -318,6 +385,7 @@ public class JSONReport extends Report {
       this.jsonWriter.endArray();
       this.jsonWriter.endObject();
       this.jsonWriter.endObject();
+      endLine();
     } catch (IOException io) {
       io.getMessage();
     } finally {
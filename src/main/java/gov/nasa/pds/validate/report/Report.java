@@ -51,6 +51,7 @@ import org.slf4j.LoggerFactory;
 import gov.nasa.pds.tools.label.ExceptionType;
 import gov.nasa.pds.tools.util.Utility;
 import gov.nasa.pds.tools.validate.ProblemCategory;
+import gov.nasa.pds.tools.validate.TargetType;
 import gov.nasa.pds.tools.validate.ValidationProblem;
 import gov.nasa.pds.validate.status.Status;
 
@@ -58,6 +59,12 @@ import gov.nasa.pds.validate.status.Status;
  * Abstract class that represents a Report for the Vtool command line API. This class handles basic
  * utilities for reporting and calling customized portions of reports.
  *
+ * <p>
+ * The summary counts and the status of each target are computed by the caller, while the
+ * customized portions are formatted and written in order on a single writer thread, see
+ * {@link AsyncReportWriter}. {@link #printFooter()} returns once the whole report is written.
+ * </p>
+ *
  * @author pramirez
  *
  */
@@ -94,6 +101,7 @@ public abstract class Report {
   protected final List<String> parameters;
   protected final List<String> configurations;
   protected PrintWriter writer;
+  private final AsyncReportWriter output;
   private ExceptionType level;
   protected Map<String, Long> messageSummary;
 
@@ -121,6 +129,11 @@ public abstract class Report {
     this.writer = new PrintWriter(new OutputStreamWriter(System.out));
     this.messageSummary = new HashMap<>();
     this.level = ExceptionType.WARNING;
+    this.output = new AsyncReportWriter(() -> {
+      if (this.writer != null) {
+        this.writer.flush();
+      }
+    });
   }
 
   /**
@@ -130,6 +143,7 @@ public abstract class Report {
    * @param writer which the report will be written to
    */
   public void setOutput(Writer writer) {
+    this.output.drain();
     this.writer = new PrintWriter(writer);
   }
 
@@ -158,6 +172,13 @@ public abstract class Report {
    * the standard header across all reports.
    */
   public void printHeader() {
+    submit(this::writeHeader);
+  }
+
+  /**
+   * Writes the header, on the writer thread.
+   */
+  protected void writeHeader() {
     writer.println();
     writer.println("PDS Validate Tool Report");
     writer.println();
@@ -195,7 +216,16 @@ public abstract class Report {
   }
 
   public void printHeader(String title) {
-    printHeader(this.writer, title);
+    submit(() -> printHeader(this.writer, title));
+  }
+
+  /**
+   * Queues a task that writes to the report. Tasks run in the order they are queued.
+   *
+   * @param task the task, run on the writer thread
+   */
+  protected void submit(Runnable task) {
+    this.output.submit(task);
   }
 
   /**
@@ -221,6 +251,19 @@ public abstract class Report {
    * @return status of the file (i.e. PASS, FAIL, or SKIP)
    */
   public Status record(URI sourceUri, final List<ValidationProblem> problems) {
+    return record(sourceUri, problems, getTargetType(sourceUri));
+  }
+
+  /**
+   * Records a file whose target type is already known, which spares looking it up.
+   *
+   * @param sourceUri reference to the file that is being reported on
+   * @param problems the set of issues found with the file. to be reported on
+   * @param targetType the type of the file
+   * @return status of the file (i.e. PASS, FAIL, or SKIP)
+   */
+  public synchronized Status record(URI sourceUri, final List<ValidationProblem> problems,
+      TargetType targetType) {
     int numErrors = 0;
     int numWarnings = 0;
     int numInfos = 0;
@@ -280,7 +323,7 @@ public abstract class Report {
       }
       LOG.debug("record:sourceUri.toString {}", sourceUri.toString());
 
-      if (!Utility.isDir(sourceUri.toString())) {
+      if (targetType != TargetType.DIRECTORY) {
         if (!this.integrityCheckFlag) {
           this.numFailedProds++;
         } else {
@@ -289,7 +332,7 @@ public abstract class Report {
       }
     } else {
       this.numPassed++;
-      if (!Utility.isDir(sourceUri.toString())) {
+      if (targetType != TargetType.DIRECTORY) {
         if (!this.integrityCheckFlag) {
           this.numPassedProds++;
         } else {
@@ -303,11 +346,36 @@ public abstract class Report {
     this.totalProducts = this.numFailedProds + this.numPassedProds - ignoreFromProductCounts;
     this.totalIntegrityChecks = this.numFailedIntegrityChecks + this.numPassedIntegrityChecks
         + this.numSkippedIntegrityChecks;
-    printRecordMessages(this.writer, status, sourceUri, problems);
-    this.writer.flush();
+    final TargetResult result = new TargetResult(sourceUri, status, targetType, problems,
+        this.totalProducts, this.totalIntegrityChecks);
+    submit(() -> printRecordMessages(this.writer, result));
     return status;
   }
 
+  /**
+   * Gets the type of a target from the targets already seen, so that counting a product does not
+   * touch the file system. Only a local file that was never a target is looked up. This runs on the
+   * thread that records the target, and the type is handed to the report writer in the
+   * {@link TargetResult}, so the writer never reads the target cache.
+   *
+   * @param sourceUri reference to the target
+   * @return the type of the target
+   */
+  private static TargetType getTargetType(URI sourceUri) {
+    if (sourceUri == null) {
+      return TargetType.FILE;
+    }
+    String location = sourceUri.toString();
+    TargetType type = Utility.getCachedTargetType(location);
+    if (type != null) {
+      return type;
+    }
+    if ("file".equalsIgnoreCase(sourceUri.getScheme()) && Utility.isDir(location)) {
+      return TargetType.DIRECTORY;
+    }
+    return TargetType.FILE;
+  }
+
   private void addToMessageSummary(String type) {
     if (this.messageSummary.containsKey(type)) {
       long count = this.messageSummary.get(type).longValue();
@@ -365,13 +433,26 @@ public abstract class Report {
   }
 
   public Status recordSkip(final URI sourceUri, final ValidationProblem problem) {
+    return recordSkip(sourceUri, problem, getTargetType(sourceUri));
+  }
+
+  /**
+   * Records a skipped file whose target type is already known.
+   *
+   * @param sourceUri reference to the file that was skipped
+   * @param problem the reason it was skipped
+   * @param targetType the type of the file
+   * @return {@link Status#SKIP}
+   */
+  public synchronized Status recordSkip(final URI sourceUri, final ValidationProblem problem,
+      TargetType targetType) {
     this.numSkipped++;
     LOG.debug("recordSkip:sourceUri,numSkipped {},{}", sourceUri, this.numSkipped);
     LOG.debug(
         "recordSkip:sourceUri,problem.getProblem().getSeverity().getValue(),this.level.getValue() {},{},{},{}",
         sourceUri, problem.getProblem().getSeverity().getValue(), this.level.getValue(),
         (problem.getProblem().getSeverity().getValue() <= this.level.getValue()));
-    if (!Utility.isDir(sourceUri.toString())) {
+    if (targetType != TargetType.DIRECTORY) {
       LOG.debug("recordSkip:sourceUri,integrityCheckFlag {},{}", sourceUri,
           this.integrityCheckFlag);
       if (!this.integrityCheckFlag) {
@@ -381,7 +462,7 @@ public abstract class Report {
       }
     }
 
-    printRecordSkip(this.writer, sourceUri, problem);
+    submit(() -> printRecordSkip(this.writer, sourceUri, problem));
     this.numProducts++;
     return Status.SKIP;
   }
@@ -392,19 +473,27 @@ public abstract class Report {
   }
 
   /**
-   * Allows a report to customize how it handles reporting on a particular label.
+   * Allows a report to customize how it handles reporting on a particular label. Called on the
+   * writer thread.
    *
    * @param writer passed on to write customized messages to
-   * @param sourceUri reference to the file that is being reported on
-   * @param problems which to report on for this source
+   * @param result the status and problems of the file that is being reported on
    */
-  protected abstract void printRecordMessages(PrintWriter writer, final Status status,
-      final URI sourceUri, final List<ValidationProblem> problems);
+  protected abstract void printRecordMessages(PrintWriter writer, final TargetResult result);
 
   /**
-   * Prints out the footer or the report and calls the customized footer section.
+   * Prints out the footer or the report and calls the customized footer section. Returns once the
+   * whole report has been written.
    */
   public void printFooter() {
+    submit(this::writeFooter);
+    this.output.drain();
+  }
+
+  /**
+   * Writes the footer, on the writer thread.
+   */
+  protected void writeFooter() {
     printFooter(writer);
     writer.println();
 
@@ -0,0 +1,112 @@
+// Copyright © 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// • Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// • Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// • Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+package gov.nasa.pds.validate.report;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import gov.nasa.pds.tools.validate.TargetType;
+import gov.nasa.pds.tools.validate.ValidationProblem;
+import gov.nasa.pds.validate.status.Status;
+
+/**
+ * The result of validating one target, as queued for the report writer. It holds a copy of the
+ * problems, the type of the target and the progress counts at the time it was recorded, so it can
+ * be written after the validation has moved on without looking anything up.
+ */
+public final class TargetResult {
+  private final URI sourceUri;
+  private final Status status;
+  private final TargetType targetType;
+  private final List<ValidationProblem> problems;
+  private final int totalProducts;
+  private final int totalIntegrityChecks;
+
+  TargetResult(URI sourceUri, Status status, TargetType targetType,
+      List<ValidationProblem> problems, int totalProducts, int totalIntegrityChecks) {
+    this.sourceUri = sourceUri;
+    this.status = status;
+    this.targetType = targetType;
+    this.problems = Collections.unmodifiableList(new ArrayList<>(problems));
+    this.totalProducts = totalProducts;
+    this.totalIntegrityChecks = totalIntegrityChecks;
+  }
+
+  /**
+   * @return the location of the target.
+   */
+  public URI getSourceUri() {
+    return this.sourceUri;
+  }
+
+  /**
+   * @return the status of the target.
+   */
+  public Status getStatus() {
+    return this.status;
+  }
+
+  /**
+   * @return the type of the target.
+   */
+  public TargetType getTargetType() {
+    return this.targetType;
+  }
+
+  /**
+   * @return true if the target is a directory rather than a product.
+   */
+  public boolean isDirectory() {
+    return this.targetType == TargetType.DIRECTORY;
+  }
+
+  /**
+   * @return the problems found with the target, which cannot be modified.
+   */
+  public List<ValidationProblem> getProblems() {
+    return this.problems;
+  }
+
+  /**
+   * @return the number of product validations completed when the target was recorded.
+   */
+  public int getTotalProducts() {
+    return this.totalProducts;
+  }
+
+  /**
+   * @return the number of integrity checks completed when the target was recorded.
+   */
+  public int getTotalIntegrityChecks() {
+    return this.totalIntegrityChecks;
+  }
+}
@@ -56,7 +56,7 @@ public class XmlReport extends Report {
   }
 
   @Override
-  public void printHeader() {
+  protected void writeHeader() {
     xmlBuilder = xmlBuilder.e("configuration");
     for (String config : configurations) {
       String[] tokens = config.trim().split("\\s{2,}+", 2);
@@ -82,13 +82,13 @@ public class XmlReport extends Report {
   }
 
   @Override
-  protected void printRecordMessages(PrintWriter writer, Status status, URI sourceUri,
-      List<ValidationProblem> problems) {
+  protected void printRecordMessages(PrintWriter writer, TargetResult result) {
+    URI sourceUri = result.getSourceUri();
     Map<String, List<ValidationProblem>> externalProblems = new LinkedHashMap<>();
     Map<String, List<ContentProblem>> contentProblems = new LinkedHashMap<>();
-    xmlBuilder =
-        xmlBuilder.e("label").a("target", sourceUri.toString()).a("status", status.getName());
-    for (ValidationProblem problem : problems) {
+    xmlBuilder = xmlBuilder.e("label").a("target", sourceUri.toString()).a("status",
+        result.getStatus().getName());
+    for (ValidationProblem problem : result.getProblems()) {
       if (problem instanceof ContentProblem) {
         ContentProblem contentProb = (ContentProblem) problem;
         List<ContentProblem> contentProbs = contentProblems.get(contentProb.getSource());
@@ -221,7 +221,7 @@ public class XmlReport extends Report {
   }
 
   @Override
-  public void printFooter() {
+  protected void writeFooter() {
     xmlBuilder = xmlBuilder.e("summary");
     xmlBuilder = xmlBuilder.e("totalErrors").t(Integer.toString(getTotalErrors())).up();
     xmlBuilder = xmlBuilder.e("totalWarnings").t(Integer.toString(getTotalWarnings())).up();
@@ -0,0 +1,193 @@
+package gov.nasa.pds.validate.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Class that downloads the registered context products from the Registry in pages of a fixed size
+ * and streams them into the registered context products JSON file. Only the pages in flight are
+ * held in memory, no matter how many context products are registered.
+ *
+ * <p>
+ * The Solr client is supplied by the caller so the fetcher can be exercised against an embedded or
+ * mock Solr endpoint.
+ * </p>
+ */
+public class ContextProductsFetcher {
+  private static final Logger LOG = LoggerFactory.getLogger(ContextProductsFetcher.class);
+
+  /** Default number of documents requested per page. */
+  public static final int DEFAULT_PAGE_SIZE = 1000;
+
+  /** Default number of pages fetched concurrently. */
+  public static final int DEFAULT_CONCURRENCY = 2;
+
+  /**
+   * Fields the pages are sorted on. Together they identify a context product, so every page
+   * request sees the products in the same order and no product is skipped or fetched twice.
+   */
+  static final String[] SORT_FIELDS = {"identifier", "version_id"};
+
+  private final SolrClient client;
+
+  private final int pageSize;
+
+  private final int concurrency;
+
+  public ContextProductsFetcher(SolrClient client) {
+    this(client, DEFAULT_PAGE_SIZE, DEFAULT_CONCURRENCY);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param client The Solr client to query.
+   * @param pageSize The number of documents requested per page.
+   * @param concurrency The maximum number of pages fetched at the same time. Pages are always
+   *        written in order, so at most this many pages are held in memory.
+   */
+  public ContextProductsFetcher(SolrClient client, int pageSize, int concurrency) {
+    this.client = client;
+    this.pageSize = Math.max(1, pageSize);
+    this.concurrency = Math.max(1, concurrency);
+  }
+
+  /**
+   * Fetches every context product matching the given query and writes them to the given writer
+   * in the registered context products JSON format.
+   *
+   * @param query The Registry query, including the requested fields.
+   * @param out The writer for the JSON document. It is flushed but not closed.
+   * @return The number of context products written.
+   *
+   * @throws SolrServerException If the Registry reported an error.
+   * @throws IOException If the Registry could not be reached or the JSON could not be written.
+   */
+  public long fetch(SolrQuery query, Writer out) throws SolrServerException, IOException {
+    SolrQuery countQuery = query.getCopy();
+    countQuery.setStart(0);
+    countQuery.setRows(0);
+    long numFound = this.client.query(countQuery).getResults().getNumFound();
+    LOG.debug("fetch:numFound,pageSize,concurrency {},{},{}", numFound, this.pageSize,
+        this.concurrency);
+
+    JsonWriter jsonWriter = new JsonWriter(out);
+    jsonWriter.setIndent("     ");
+    jsonWriter.beginObject(); // start Product_Context
+    jsonWriter.name("Product_Context");
+    jsonWriter.beginArray();
+
+    long written = 0;
+    ExecutorService executor = Executors.newFixedThreadPool(this.concurrency);
+    try {
+      Deque<Future<SolrDocumentList>> pending = new ArrayDeque<>();
+      long nextStart = 0;
+      while (nextStart < numFound || !pending.isEmpty()) {
+        // Keep up to 'concurrency' pages in flight, then write the oldest one.
+        while (nextStart < numFound && pending.size() < this.concurrency) {
+          final int start = (int) nextStart;
+          pending.add(executor.submit(() -> fetchPage(query, start)));
+          nextStart += this.pageSize;
+        }
+        SolrDocumentList page = waitFor(pending.poll());
+        for (SolrDocument document : page) {
+          writeProduct(jsonWriter, document);
+          written++;
+        }
+        jsonWriter.flush();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    jsonWriter.endArray();
+    jsonWriter.endObject(); // end Product_Context
+    jsonWriter.flush();
+    return written;
+  }
+
+  private SolrDocumentList fetchPage(SolrQuery query, int start)
+      throws SolrServerException, IOException {
+    SolrQuery pageQuery = query.getCopy();
+    pageQuery.setStart(start);
+    pageQuery.setRows(this.pageSize);
+    // Without a total order, Solr may return the same product on two pages and drop another.
+    pageQuery.clearSorts();
+    for (String field : SORT_FIELDS) {
+      pageQuery.addSort(field, ORDER.asc);
+    }
+    LOG.debug("fetchPage:start,rows {},{}", start, this.pageSize);
+    return this.client.query(pageQuery).getResults();
+  }
+
+  private static SolrDocumentList waitFor(Future<SolrDocumentList> page)
+      throws SolrServerException, IOException {
+    try {
+      return page.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while fetching registered context products", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SolrServerException) {
+        throw (SolrServerException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause.getMessage(), cause);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeProduct(JsonWriter jsonWriter, SolrDocument document)
+      throws IOException {
+    String id = (String) document.getFirstValue("identifier");
+    String ver = (String) document.getFirstValue("version_id");
+    String data_type = (String) document.getFirstValue("data_product_type");
+    List<Object> names = (List<Object>) document.getFieldValues(data_type.toLowerCase() + "_name");
+    List<Object> types = (List<Object>) document.getFieldValues(data_type.toLowerCase() + "_type");
+
+    jsonWriter.beginObject(); // start a product
+
+    jsonWriter.name("name");
+    jsonWriter.beginArray();
+    if (names == null) {
+      jsonWriter.value("N/A");
+    } else {
+      for (Object n : names) {
+        jsonWriter.value((String) n);
+      }
+    }
+    jsonWriter.endArray();
+
+    jsonWriter.name("type");
+    jsonWriter.beginArray();
+    if (types == null) {
+      jsonWriter.value("N/A");
+    } else {
+      for (Object t : types) {
+        jsonWriter.value((String) t);
+      }
+    }
+    jsonWriter.endArray();
+
+    jsonWriter.name("lidvid").value(id + "::" + ver);
+    jsonWriter.endObject(); // end a product
+  }
+}
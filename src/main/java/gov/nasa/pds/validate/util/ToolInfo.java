@@ -56,6 +56,8 @@ public class ToolInfo {
   public static final String OUTPUT_FILE_NAME = "validate.output_file_name";
   public static final String ENDPOINT = "validate.endpoint";
   public static final String QUERY = "validate.query";
+  public static final String PAGE_SIZE = "validate.page_size";
+  public static final String PAGE_CONCURRENCY = "validate.page_concurrency";
 
   private static final Properties props = new Properties();
 
@@ -100,4 +102,24 @@ public class ToolInfo {
   public static String getQuery() {
     return props.getProperty(QUERY);
   }
+
+  public static int getPageSize() {
+    return getIntProperty(PAGE_SIZE, ContextProductsFetcher.DEFAULT_PAGE_SIZE);
+  }
+
+  public static int getPageConcurrency() {
+    return getIntProperty(PAGE_CONCURRENCY, ContextProductsFetcher.DEFAULT_CONCURRENCY);
+  }
+
+  private static int getIntProperty(String key, int defaultValue) {
+    String value = props.getProperty(key);
+    if (value == null || value.trim().isEmpty()) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
 }
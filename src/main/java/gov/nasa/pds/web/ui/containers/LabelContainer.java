@@ -290,16 +290,37 @@ public class LabelContainer {
         columns.add(new ColumnInfo(column));
       }
 
+      final Long tableRows = getRows(tableObj);
       if (tabFileUrl != null) {
-        return new TabularData(tabFileUrl, columns, startByte, numRows);
+        return new TabularData(tabFileUrl, columns, startByte, numRows, tableRows);
       }
-      return new TabularData(tabularFile, columns, startByte, numRows);
+      return new TabularData(tabularFile, columns, startByte, numRows, tableRows);
 
     }
 
     return null;
   }
 
+  /**
+   * Gets the number of rows of a table object. The data file of a label may hold several objects,
+   * so a table ends after its ROWS rather than at the end of the file.
+   * 
+   * @param tableObj the table object
+   * @return the ROWS of the table, or null if they are missing or not a number
+   */
+  public static Long getRows(final ObjectStatement tableObj) {
+    final AttributeStatement rowsAttrib = tableObj.getAttribute("ROWS"); //$NON-NLS-1$
+    if (rowsAttrib == null) {
+      return null;
+    }
+    try {
+      return Long.valueOf(rowsAttrib.getValue().toString());
+    } catch (NumberFormatException e) {
+      // the label validation reports the bad value
+      return null;
+    }
+  }
+
   public Map<Numeric, File> getFileMap(final PointerStatement pointer) {
     return this.resolver.resolveFileMap(pointer);
   }
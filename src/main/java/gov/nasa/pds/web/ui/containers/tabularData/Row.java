@@ -20,45 +20,26 @@ public class Row implements Serializable {
 
   public Row(final String rowData, final List<Column> columns, final int lineNumber,
       final TabularData tabularData) {
-    for (Column column : columns) {
-
-      int startIndex = column.getStartByte() - 1;
-      int endIndex = column.getBytes() + startIndex;
-      String data = null;
-      try {
-        data = rowData.substring(startIndex, endIndex);
-
-      } catch (StringIndexOutOfBoundsException e) {
-        // missing values in row at end probably, try getting truncated
-        // version
-        try {
-          data = rowData.substring(startIndex);
-          // add COLUMN_LENGTH_MISMATCH problem
-          final int length = endIndex - startIndex;
-          final AttributeStatement statement = getBytesStatement(column);
-          tabularData.addProblem(statement, "validation.error.columnLengthMismatch", //$NON-NLS-1$
-              ProblemType.COLUMN_LENGTH_MISMATCH, length, data.length());
-          // column def indicated a length of ## but line length
-          // limited
-        } catch (StringIndexOutOfBoundsException e2) {
-          // note, DataSetValidator.validateTabularFile() will
-          // complain about COLUMN_NUMBER_MISMATCH
-          final AttributeStatement statement = getStartByteStatement(column);
-          tabularData.addProblem(statement, "validation.error.columnOutOfRange", //$NON-NLS-1$
-              ProblemType.COLUMN_DEF_OOR, startIndex, rowData.length());
-        }
-      }
-      if (data != null) {
-        Element element = new Element(data, column, lineNumber);
-        column.addElement(element);
-        this.elements.add(element);
-      }
-    }
+    this(rowData, columns, lineNumber, tabularData, true);
   }
 
   public Row(final int lineNumber, final String rowData, final List<Column> columns,
       final TabularData tabularData) {
+    this(rowData, columns, lineNumber, tabularData, true);
+  }
 
+  /**
+   * Splits a fixed width row into its elements.
+   * 
+   * @param rowData
+   * @param columns
+   * @param lineNumber
+   * @param tabularData
+   * @param retain whether the elements are also added to their columns. Rows that are streamed
+   *        are not retained, so that a whole table can be read in bounded memory.
+   */
+  public Row(final String rowData, final List<Column> columns, final int lineNumber,
+      final TabularData tabularData, final boolean retain) {
     for (Column column : columns) {
 
       int startIndex = column.getStartByte() - 1;
@@ -88,9 +69,7 @@ public class Row implements Serializable {
         }
       }
       if (data != null) {
-        Element element = new Element(data, column, lineNumber);
-        column.addElement(element);
-        this.elements.add(element);
+        addElement(new Element(data, column, lineNumber), retain);
       }
     }
   }
@@ -107,6 +86,22 @@ public class Row implements Serializable {
    */
   public Row(final int lineNumber, final String rowData, final List<Column> columns,
       final TabularData tabularData, String fieldDelimiter, int fieldsCount) {
+    this(lineNumber, rowData, columns, tabularData, fieldDelimiter, fieldsCount, true);
+  }
+
+  /**
+   * Used for FieldDelimited tables, optionally without adding the elements to their columns.
+   * 
+   * @param lineNumber
+   * @param rowData
+   * @param columns
+   * @param tabularData
+   * @param fieldDelimiter
+   * @param retain whether the elements are also added to their columns
+   */
+  public Row(final int lineNumber, final String rowData, final List<Column> columns,
+      final TabularData tabularData, String fieldDelimiter, int fieldsCount,
+      final boolean retain) {
 
     // index and storage for delimited data
     int rowFieldIndex = 0;
@@ -133,13 +128,18 @@ public class Row implements Serializable {
       }
 
       if (data != null) {
-        Element element = new Element(data, column, lineNumber);
-        column.addElement(element);
-        this.elements.add(element);
+        addElement(new Element(data, column, lineNumber), retain);
       }
     }
   }
 
+  private void addElement(final Element element, final boolean retain) {
+    if (retain) {
+      element.getColumn().addElement(element);
+    }
+    this.elements.add(element);
+  }
+
   public List<Element> getElements() {
     return this.elements;
   }
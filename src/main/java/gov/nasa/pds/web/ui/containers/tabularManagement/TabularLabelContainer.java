@@ -156,9 +156,9 @@ public class TabularLabelContainer extends LabelContainer {
           // numRows, delimiterValue);
         }
 
-        return new TabularData(tabFileUrl, columns, startByte, numRows);
+        return new TabularData(tabFileUrl, columns, startByte, numRows, getRows(tableObj));
       }
-      return new TabularData(tabularFile, columns, startByte, numRows);
+      return new TabularData(tabularFile, columns, startByte, numRows, getRows(tableObj));
 
     }
 
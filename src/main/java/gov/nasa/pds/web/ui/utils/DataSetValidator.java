@@ -6,23 +6,41 @@ import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.UnsupportedEncodingException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Observable;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 import gov.nasa.arc.pds.tools.util.FileUtils;
 import gov.nasa.arc.pds.tools.util.StrUtils;
 import gov.nasa.pds.tools.LabelParserException;
 import gov.nasa.pds.tools.constants.Constants;
 import gov.nasa.pds.tools.constants.Constants.ProblemType;
 import gov.nasa.pds.tools.containers.FileReference;
+import gov.nasa.pds.tools.containers.SimpleDictionaryChange;
 import gov.nasa.pds.tools.containers.VolumeContainerSimple;
 import gov.nasa.pds.tools.dict.Dictionary;
 import gov.nasa.pds.tools.dict.parser.DictionaryParser;
@@ -43,13 +61,43 @@ import gov.nasa.pds.web.ui.containers.dataSet.ValidationResults;
 import gov.nasa.pds.web.ui.containers.dataSet.ValidationResults.NewValue;
 import gov.nasa.pds.web.ui.containers.tabularData.Column;
 import gov.nasa.pds.web.ui.containers.tabularData.Element;
-import gov.nasa.pds.web.ui.containers.tabularData.Row;
 
 public class DataSetValidator extends Observable {
 
-  private static Dictionary masterDictionary;
+  // compiled once, these are matched against every value of every table
+  private static final Pattern ASCII_REAL_PATTERN = Pattern.compile(Constants.ASCII_REAL_REGEX);
 
-  private static byte[] masterDDSerialized;
+  private static final Pattern ASCII_INTEGER_PATTERN =
+      Pattern.compile(Constants.ASCII_INTEGER_REGEX);
+
+  private static final Pattern CHARACTER_PATTERN = Pattern.compile(Constants.CHARACTER_REGEX);
+
+  private static final Pattern INTEGER_TYPE_PATTERN =
+      Pattern.compile("INTEGER|MSB_INTEGER|MAC_INTEGER"); //$NON-NLS-1$
+
+  private static final Charset TEXT_FILE_CHARSET =
+      Charset.forName(DataSetConstants.TEXT_FILE_ENCODING);
+
+  // never modified once parsed, shared by every volume without local
+  // dictionaries
+  private static volatile Dictionary masterDictionary;
+
+  private static volatile byte[] masterDDSerialized;
+
+  private static final int MAX_MERGED_DICTIONARIES = 16;
+
+  // master dictionary merged with local dictionaries, by the content of the
+  // local dictionaries, so volumes that ship the same local dictionaries
+  // share one merged copy
+  private static final Map<String, MergedDictionary> mergedDictionaries =
+      new LinkedHashMap<String, MergedDictionary>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MergedDictionary> eldest) {
+          return size() > MAX_MERGED_DICTIONARIES;
+        }
+      };
 
   protected Dictionary dictionary;
 
@@ -61,6 +109,24 @@ public class DataSetValidator extends Observable {
 
   private StandardPathResolver resolver = new StandardPathResolver();
 
+  // number of labels parsed and checked at the same time
+  private static final int LABEL_THREADS = Runtime.getRuntime().availableProcessors();
+
+  // pool shared with the rest of the run, or null to create one per call to
+  // validate()
+  private ForkJoinPool workerPool = null;
+
+  // executor of the label workers while validate() runs
+  private ExecutorService labelExecutor = null;
+
+  // copies of the dictionary not in use by a worker. the dictionary classes
+  // do not document that they can be read concurrently, so labels parsed at
+  // the same time each get their own copy, and this thread keeps the original
+  private final Queue<Dictionary> spareDictionaries = new ConcurrentLinkedQueue<>();
+
+  // the dictionary of the run, serialized once to make the copies
+  private byte[] serializedDictionary = null;
+
   // folders that don't need to have labels indexed
   private final List<File> nonIndexedFolders = new ArrayList<>();
 
@@ -68,26 +134,26 @@ public class DataSetValidator extends Observable {
   private final List<File> illegalIndexedFolders = new ArrayList<>();
 
   // files that should be or are labels
-  private final Map<Integer, File> labelFiles = new HashMap<>();
+  private final Map<Integer, File> labelFiles = new LinkedHashMap<>();
 
   // files listed in an index, required files, pointed from labels, known
   // labels, etc
   private final Map<Integer, File> knownFiles = new HashMap<>();
 
   // files listed in an index
-  private final Map<Integer, File> indexedFiles = new HashMap<>();
+  private final Map<Integer, File> indexedFiles = new LinkedHashMap<>();
 
   // labels that don't need to be indexed and are known about
-  private final Map<Integer, File> nonIndexedFiles = new HashMap<>();
+  private final Map<Integer, File> nonIndexedFiles = new LinkedHashMap<>();
 
   // label fragments pointed to by other files
-  private final Map<Integer, File> labelFragments = new HashMap<>();
+  private final Map<Integer, File> labelFragments = new LinkedHashMap<>();
 
   private Map<Integer, File> files = new HashMap<>();
 
   private File volDesc;
 
-  private final List<Integer> validatedLabels = new ArrayList<>(); // need_file?
+  private final Set<Integer> validatedLabels = new HashSet<>(); // need_file?
 
   private final StatusContainer status;
 
@@ -108,6 +174,10 @@ public class DataSetValidator extends Observable {
     return this.status;
   }
 
+  public void setWorkerPool(final ForkJoinPool workerPool) {
+    this.workerPool = workerPool;
+  }
+
   private void updateStatus(final String key) throws CancelledException {
     updateStatus(key, true);
   }
@@ -128,8 +198,25 @@ public class DataSetValidator extends Observable {
     this.volume = new VolumeContainerSimple(baseDir);
   }
 
-  @SuppressWarnings("nls")
   public void validate() throws CancelledException {
+    // one pool for all the label lists of the volume, unless one is shared
+    final ExecutorService ownPool =
+        this.workerPool == null ? Executors.newFixedThreadPool(LABEL_THREADS) : null;
+    this.labelExecutor = ownPool != null ? ownPool : this.workerPool;
+    try {
+      validateVolume();
+    } finally {
+      if (ownPool != null) {
+        ownPool.shutdownNow();
+      }
+      this.labelExecutor = null;
+      this.spareDictionaries.clear();
+      this.serializedDictionary = null;
+    }
+  }
+
+  @SuppressWarnings("nls")
+  private void validateVolume() throws CancelledException {
     // get current date to find duration
     Date now = new Date();
     final long start = now.getTime();
@@ -324,10 +411,7 @@ public class DataSetValidator extends Observable {
   }
 
   private void markValidated(final File labelFile) {
-    final int hashCode = labelFile.hashCode();
-    if (!this.validatedLabels.contains(hashCode)) {
-      this.validatedLabels.add(hashCode);
-    }
+    this.validatedLabels.add(labelFile.hashCode());
   }
 
   private boolean validated(final File labelFile) {
@@ -636,46 +720,113 @@ public class DataSetValidator extends Observable {
     validateKnownLabels(testFiles, labelType, true);
   }
 
-  @SuppressWarnings("nls")
   private void validateKnownLabels(final Map<Integer, File> testFiles, final String labelType,
       final boolean checkIndexed) throws CancelledException {
-    final Iterator<Entry<Integer, File>> labelFilesIt = testFiles.entrySet().iterator();
-    int numFiles = testFiles.size();
-    int curFile = 0;
-    while (labelFilesIt.hasNext()) {
-      final Entry<Integer, File> entry = labelFilesIt.next();
-      final File labelFile = entry.getValue();
-      curFile++;
-      // TODO: get message through props file
-      updateStatus("Validating " + labelType + " " + curFile + " of " + numFiles + ".", false);
-      // make sure label was in index if it's supposed to be
-      final Integer hashCode = entry.getKey();
-      if (checkIndexed) {
-        verifyIndexed(labelFile, hashCode);
-      }
-      // do the actual validation - protected from duplicate validation
-      // force capture of parse exceptions
-      validateLabel(labelFile, true);
-    }
+    // do the actual validation - protected from duplicate validation
+    // force capture of parse exceptions
+    validateConcurrently(new ArrayList<>(testFiles.values()), labelType, checkIndexed,
+        (labelFile, dict) -> new LabelContainer(labelFile, this.volume, dict, true));
   }
 
   @SuppressWarnings("nls")
   private void validateLabelFragments() throws CancelledException {
-    final Iterator<Entry<Integer, File>> labelFilesIt = this.labelFragments.entrySet().iterator();
-    int numFiles = this.labelFragments.size();
-    int curFile = 0;
-    while (labelFilesIt.hasNext()) {
-      final Entry<Integer, File> entry = labelFilesIt.next();
-      final File labelFile = entry.getValue();
-      curFile++;
-      // TODO: get message through props file
-      updateStatus("Validating label fragment " + curFile + " of " + numFiles + ".", false);
+    validateConcurrently(new ArrayList<>(this.labelFragments.values()), "label fragment", false,
+        (labelFile, dict) -> new LabelFragmentContainer(labelFile, this.volume, dict));
+  }
 
-      // do the actual validation - protected from duplicate validation
-      // force capture of parse exceptions
-      final LabelFragmentContainer fragment =
-          new LabelFragmentContainer(labelFile, this.volume, this.dictionary);
-      validateLabel(fragment, true);
+  // labels are parsed, checked against the dictionary and have their tables
+  // read on worker threads, a bounded number ahead of the one being applied.
+  // the results are applied to the state of the volume validation on this
+  // thread in list order, so the report does not depend on thread scheduling
+  @SuppressWarnings("nls")
+  private void validateConcurrently(final List<File> testFiles, final String labelType,
+      final boolean checkIndexed, final BiFunction<File, Dictionary, LabelContainer> parser)
+      throws CancelledException {
+    final int numFiles = testFiles.size();
+    final ExecutorService executor = this.labelExecutor;
+    final int threads =
+        this.workerPool != null ? this.workerPool.getParallelism() : LABEL_THREADS;
+    final Deque<Future<PreparedLabel>> pending = new ArrayDeque<>();
+    try {
+      int nextFile = 0;
+      for (int curFile = 1; curFile <= numFiles; curFile++) {
+        while (nextFile < numFiles && pending.size() < 2 * threads) {
+          final File labelFile = testFiles.get(nextFile++);
+          if (validated(labelFile)) {
+            pending.add(CompletableFuture.completedFuture(null));
+          } else {
+            pending.add(executor.submit(() -> prepareLabel(labelFile, parser)));
+          }
+        }
+        final File labelFile = testFiles.get(curFile - 1);
+        final PreparedLabel prepared = waitFor(pending.poll());
+        // TODO: get message through props file
+        updateStatus("Validating " + labelType + " " + curFile + " of " + numFiles + ".", false);
+        // make sure label was in index if it's supposed to be
+        if (checkIndexed) {
+          verifyIndexed(labelFile, labelFile.hashCode());
+        }
+        if (prepared != null) {
+          validateLabel(prepared, true);
+        }
+      }
+    } finally {
+      // the pool keeps running, only drop the labels read ahead
+      for (final Future<PreparedLabel> future : pending) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  // parses and prepares a label on a worker thread, with a copy of the
+  // dictionary that no other worker uses at the same time
+  private PreparedLabel prepareLabel(final File labelFile,
+      final BiFunction<File, Dictionary, LabelContainer> parser) {
+    Dictionary copy = this.spareDictionaries.poll();
+    if (copy == null) {
+      copy = copyDictionary();
+    }
+    try {
+      return prepareLabel(parser.apply(labelFile, copy));
+    } finally {
+      this.spareDictionaries.add(copy);
+    }
+  }
+
+  private Dictionary copyDictionary() {
+    synchronized (this.spareDictionaries) {
+      if (this.serializedDictionary == null) {
+        if (this.dictionary == masterDictionary) {
+          initMasterDDSerialized();
+          this.serializedDictionary = masterDDSerialized;
+        } else {
+          this.serializedDictionary = serialize(this.dictionary);
+        }
+      }
+    }
+    final Dictionary copy = deserialize(this.serializedDictionary);
+    if (copy == null) {
+      throw new IllegalStateException("Cannot copy the dictionary for a label worker"); //$NON-NLS-1$
+    }
+    return copy;
+  }
+
+  private static PreparedLabel waitFor(final Future<PreparedLabel> prepared)
+      throws CancelledException {
+    try {
+      return prepared.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancelledException();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
     }
   }
 
@@ -741,10 +892,41 @@ public class DataSetValidator extends Observable {
   protected LabelContainer validateLabel(final File labelFile, final boolean forceValidate) {
     final LabelContainer label =
         new LabelContainer(labelFile, this.volume, this.dictionary, forceValidate);
-    return validateLabel(label, forceValidate);
+    return validateLabel(prepareLabel(label), forceValidate);
+  }
+
+  // a parsed label, with its table checked
+  private static class PreparedLabel {
+    final LabelContainer label;
+
+    // check of the table of the label, null if it has none
+    TabularCheck tabularCheck = null;
+
+    PreparedLabel(final LabelContainer label) {
+      this.label = label;
+    }
   }
 
-  private LabelContainer validateLabel(final LabelContainer label, final boolean forceValidate) {
+  // the part of the validation of a label that only depends on the label, its
+  // table and the dictionary, so it can run on a worker thread
+  private PreparedLabel prepareLabel(final LabelContainer label) {
+    final PreparedLabel prepared = new PreparedLabel(label);
+    if (label.isValid() && !label.getPointers().isEmpty()) {
+      // validate tabular data
+      try {
+        // only the column definitions are loaded, the rows are
+        // streamed through the validation
+        TabularData tabularData = label.getTabularData(0);
+        prepared.tabularCheck = validateTabularFile(label, tabularData);
+      } catch (Exception e) {
+        // should just be bad pointer, handled elsewhere
+      }
+    }
+    return prepared;
+  }
+
+  private LabelContainer validateLabel(final PreparedLabel prepared, final boolean forceValidate) {
+    final LabelContainer label = prepared.label;
     final File labelFile = label.getLabelFile();
     boolean useNewValues = labelFile.equals(this.volDesc)
         || FileUtils.isParent(this.volume.getCatalogFolder(), labelFile);
@@ -784,23 +966,19 @@ public class DataSetValidator extends Observable {
             }
           }
 
-          // validate tabular data
-          try {
-            // just get the first three rows to test
-            // TODO: return to 3 when you fix below to only add a
-            // problem
-            // once for a given type of error
-            TabularData tabularData = label.getTabularData(1);
-            validateTabularFile(label, tabularData);
-          } catch (Exception e) {
-            // should just be bad pointer, handled elsewhere
-          }
-
           // TODO: if .fmt file found, try to validate format of
           // referenced
           // file
         }
 
+        // tabular data was validated with the label, once for all pointers
+        if (prepared.tabularCheck != null) {
+          final File dataFile = prepared.tabularCheck.tabularData.getDataFile();
+          for (final TabularProblem problem : prepared.tabularCheck.problems) {
+            addProblem(dataFile, problem.key, problem.type, problem.arguments);
+          }
+        }
+
         // do pass through of problems last since new ones may be added
         // in tabular validation
         for (LabelParserException e : label.getProblems()) {
@@ -835,32 +1013,38 @@ public class DataSetValidator extends Observable {
     return label;
   }
 
-  private void validateTabularFile(final LabelContainer label, final TabularData tabularData) {
-    if (tabularData != null) {
+  // problems found in the values are kept in the returned check rather than
+  // reported, since this runs on the worker threads
+  private TabularCheck validateTabularFile(final LabelContainer label,
+      final TabularData tabularData) {
+    if (tabularData == null) {
+      return null;
+    }
+    final int definedColumns = tabularData.getColumnDefs().size();
+    final TabularCheck check = new TabularCheck(tabularData);
+    tabularData.forEachRow(row -> {
       // check row length
-      final List<Row> rows = tabularData.getRows();
-      int numColumns = 0;
-      int definedColumns = tabularData.getColumnDefs().size();
-      for (final Row row : rows) {
-        final List<Element> elements = row.getElements();
-        numColumns = Math.max(numColumns, elements.size());
-      }
-      if (numColumns != definedColumns) {
-        addProblem(tabularData.getDataFile(), "validation.error.columnNumberMismatch", //$NON-NLS-1$
-            ProblemType.COLUMN_NUMBER_MISMATCH, null, numColumns, definedColumns);
-      }
+      final List<Element> elements = row.getElements();
+      check.numColumns = Math.max(check.numColumns, elements.size());
 
       // compare elements to column defs
-      final List<Column> columns = tabularData.getColumns();
-      for (final Column column : columns) {
-        final List<Element> elements = column.getElements();
-        for (final Element element : elements) {
-          final List<String> values = element.getValues();
-          for (final String value : values) {
-            validateTabElement(value, column, tabularData);
-          }
+      for (final Element element : elements) {
+        for (final String value : element.getValues()) {
+          validateTabElement(value, element.getColumn(), check);
         }
       }
+      return true;
+    });
+    if (check.numColumns != definedColumns) {
+      check.addProblem("validation.error.columnNumberMismatch", //$NON-NLS-1$
+          ProblemType.COLUMN_NUMBER_MISMATCH, check.numColumns, definedColumns);
+    }
+    for (final Entry<Column, Integer> entry : check.problemCounts.entrySet()) {
+      final int unreported = entry.getValue() - TabularData.MAX_PROBLEMS_PER_COLUMN;
+      if (unreported > 0) {
+        check.addProblem("validation.error.excessColumnProblems", //$NON-NLS-1$
+            ProblemType.INVALID_VALUE_FOR_COLUMN, entry.getKey().getName(), unreported);
+      }
     }
     // if file is selected file, validate all rows and do extra
     // validation
@@ -868,10 +1052,8 @@ public class DataSetValidator extends Observable {
     // header area
 
     // pass through problems
-    if (tabularData != null) {
-      label.addProblems(tabularData.getProblems());
-    }
-
+    label.addProblems(tabularData.getProblems());
+    return check;
   }
 
   private void setVolumeId() {
@@ -909,41 +1091,39 @@ public class DataSetValidator extends Observable {
     }
 
     if (dictionaries.size() > 0) {
-      // get copy of master dictionary
-      Dictionary master = getMasterDictionaryCopy();
-
-      // initialize merged dictionary
       for (final File dictionaryFile : dictionaries) {
         // mark dictionary as a "label" that's been seen
         addKnownFile(dictionaryFile);
-        Dictionary localDictionary = null;
-        try {
-          localDictionary = DictionaryParser.parse(dictionaryFile, true);
-          // pass through problems
-          final List<LabelParserException> problems = localDictionary.getProblems();
-          for (final LabelParserException problem : problems) {
-            addProblem(dictionaryFile, problem);
-          }
-
-          // clear problems from dictionary to reduce memory -
-          localDictionary.clearProblems();
-
-          // merge local into the master
-          master.merge(localDictionary);
+      }
 
-          // pass through definition changes from merge
-          this.results.setDictionaryChanges(master.getMergeChanges());
+      final String key = getMergedDictionaryKey(dictionaries);
+      MergedDictionary merged = null;
+      if (key != null) {
+        synchronized (mergedDictionaries) {
+          merged = mergedDictionaries.get(key);
+        }
+      }
+      if (merged == null) {
+        merged = mergeLocalDictionaries(dictionaries);
+        if (key != null) {
+          synchronized (mergedDictionaries) {
+            mergedDictionaries.put(key, merged);
+          }
+        }
+      }
 
-        } catch (LabelParserException e) {
-          // TODO: push parse exceptions into the Dictionary container
-          e.printStackTrace();
-        } catch (IOException e) {
-          // TODO Auto-generated catch block
-          e.printStackTrace();
+      // pass through problems
+      for (int i = 0; i < dictionaries.size(); i++) {
+        for (final LabelParserException problem : merged.problems.get(i)) {
+          addProblem(dictionaries.get(i), problem);
         }
       }
+      if (merged.changes != null) {
+        // pass through definition changes from merge
+        this.results.setDictionaryChanges(merged.changes);
+      }
       // set dictionary as merged master
-      this.dictionary = master;
+      this.dictionary = merged.dictionary;
     }
 
     if (this.dictionary == null) {
@@ -951,8 +1131,75 @@ public class DataSetValidator extends Observable {
     }
   }
 
-  public static synchronized void initMasterDictionary(final URL dictionaryURL) {
-    if (masterDictionary == null) {
+  // master dictionary with local dictionaries merged in, along with what
+  // was found while merging them
+  private static class MergedDictionary {
+    // null when no local dictionary could be parsed
+    Dictionary dictionary;
+
+    List<SimpleDictionaryChange> changes;
+
+    // parse problems of each local dictionary, in order
+    final List<List<LabelParserException>> problems = new ArrayList<>();
+  }
+
+  private static MergedDictionary mergeLocalDictionaries(final List<File> dictionaries) {
+    final MergedDictionary merged = new MergedDictionary();
+    for (final File dictionaryFile : dictionaries) {
+      List<LabelParserException> problems = new ArrayList<>();
+      try {
+        final Dictionary localDictionary = DictionaryParser.parse(dictionaryFile, true);
+        problems = new ArrayList<>(localDictionary.getProblems());
+
+        // clear problems from dictionary to reduce memory -
+        localDictionary.clearProblems();
+
+        // the shared master is never modified, it is only copied once a
+        // local dictionary has to be merged into it
+        if (merged.dictionary == null) {
+          merged.dictionary = getMasterDictionaryCopy();
+        }
+
+        // merge local into the master
+        merged.dictionary.merge(localDictionary);
+        merged.changes = merged.dictionary.getMergeChanges();
+      } catch (LabelParserException e) {
+        // TODO: push parse exceptions into the Dictionary container
+        e.printStackTrace();
+      } catch (IOException e) {
+        // TODO Auto-generated catch block
+        e.printStackTrace();
+      }
+      merged.problems.add(problems);
+    }
+    return merged;
+  }
+
+  // identify local dictionaries by name and content rather than location,
+  // null if one cannot be read
+  private static String getMergedDictionaryKey(final List<File> dictionaries) {
+    final StringBuilder key = new StringBuilder();
+    for (final File dictionaryFile : dictionaries) {
+      final CRC32 crc = new CRC32();
+      try {
+        crc.update(Files.readAllBytes(dictionaryFile.toPath()));
+      } catch (IOException e) {
+        return null;
+      }
+      key.append(dictionaryFile.getName()).append('/').append(dictionaryFile.length()).append('/')
+          .append(Long.toHexString(crc.getValue())).append('\n');
+    }
+    return key.toString();
+  }
+
+  public static void initMasterDictionary(final URL dictionaryURL) {
+    if (masterDictionary != null) {
+      return;
+    }
+    synchronized (DataSetValidator.class) {
+      if (masterDictionary != null) {
+        return;
+      }
       try {
         masterDictionary = DictionaryParser.parse(dictionaryURL);
       } catch (LabelParserException e) {
@@ -966,8 +1213,14 @@ public class DataSetValidator extends Observable {
     }
   }
 
-  protected static synchronized void initMasterDictionary() {
-    if (masterDictionary == null) {
+  protected static void initMasterDictionary() {
+    if (masterDictionary != null) {
+      return;
+    }
+    synchronized (DataSetValidator.class) {
+      if (masterDictionary != null) {
+        return;
+      }
       File dataDictionaryFile;
       URL dictionaryURL = DataSetValidator.class.getResource("/masterdd.full"); //$NON-NLS-1$
       try {
@@ -996,23 +1249,43 @@ public class DataSetValidator extends Observable {
   }
 
   public static void initMasterDDSerialized() {
-    if (masterDDSerialized == null) {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      ObjectOutputStream oos;
-      try {
-        oos = new ObjectOutputStream(baos);
-
-        oos.writeObject(getMasterDictionary());
-        masterDDSerialized = baos.toByteArray();
-      } catch (IOException e) {
-        e.printStackTrace();
+    if (masterDDSerialized != null) {
+      return;
+    }
+    synchronized (DataSetValidator.class) {
+      if (masterDDSerialized != null) {
+        return;
       }
+      masterDDSerialized = serialize(getMasterDictionary());
     }
   }
 
   public static Dictionary getMasterDictionaryCopy() {
     initMasterDDSerialized();
-    ByteArrayInputStream bais = new ByteArrayInputStream(masterDDSerialized);
+    return deserialize(masterDDSerialized);
+  }
+
+  // null if the dictionary cannot be serialized
+  private static byte[] serialize(final Dictionary dictionary) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos;
+    try {
+      oos = new ObjectOutputStream(baos);
+
+      oos.writeObject(dictionary);
+      return baos.toByteArray();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    return null;
+  }
+
+  // a deep copy of a serialized dictionary, null if it cannot be read
+  private static Dictionary deserialize(final byte[] serialized) {
+    if (serialized == null) {
+      return null;
+    }
+    ByteArrayInputStream bais = new ByteArrayInputStream(serialized);
     ObjectInputStream ois;
     try {
       ois = new ObjectInputStream(bais);
@@ -1026,44 +1299,94 @@ public class DataSetValidator extends Observable {
     return null;
   }
 
+  // state of the validation of the rows of one table
+  private static class TabularCheck {
+    final TabularData tabularData;
+
+    // problems found per column, including those not reported
+    final Map<Column, Integer> problemCounts = new LinkedHashMap<>();
+
+    // problems to report on the data file
+    final List<TabularProblem> problems = new ArrayList<>();
+
+    int numColumns = 0;
+
+    // wrapper used to parse dates, created for the first date
+    Label dateLabel = null;
+
+    TabularCheck(final TabularData tabularData) {
+      this.tabularData = tabularData;
+    }
+
+    Label getDateLabel() {
+      if (this.dateLabel == null) {
+        // TODO: Label wrap is a hack to get the file through the
+        // formatter, need to update to take file or url from variety of
+        // containers
+        this.dateLabel = new Label(this.tabularData.getDataFile());
+      }
+      return this.dateLabel;
+    }
+
+    void addProblem(final String key, final ProblemType type, final Object... arguments) {
+      this.problems.add(new TabularProblem(key, type, arguments));
+    }
+  }
+
+  private static class TabularProblem {
+    final String key;
+
+    final ProblemType type;
+
+    final Object[] arguments;
+
+    TabularProblem(final String key, final ProblemType type, final Object[] arguments) {
+      this.key = key;
+      this.type = type;
+      this.arguments = arguments;
+    }
+  }
+
+  // report a problem with a value, at most
+  // TabularData.MAX_PROBLEMS_PER_COLUMN times for a column
+  private void addColumnProblem(final TabularCheck check, final Column column, final String key,
+      final Object... arguments) {
+    final int count = check.problemCounts.merge(column, 1, Integer::sum);
+    if (count <= TabularData.MAX_PROBLEMS_PER_COLUMN) {
+      check.addProblem(key, ProblemType.INVALID_VALUE_FOR_COLUMN, arguments);
+    }
+  }
+
   // validate a single value or portion of a value against the column def
   // TODO: factor out each check to own method
   private void validateTabElement(final String value, final Column column,
-      final TabularData tabularData) {
-    // don't consider the quotes as part of the value except
-    // for evaluating character type matching
-    String stringVal = StrUtils.dequote(value);
+      final TabularCheck check) {
     final String dataType = column.getDataType();
 
-    int actualBytes;
-    // TODO: is forcing ASCII necessary?
-    // TODO: should actual bytes include padding?
-    final String trimmed = value.trim();
-    try {
-      actualBytes = trimmed.getBytes(DataSetConstants.TEXT_FILE_ENCODING).length;
-    } catch (UnsupportedEncodingException e) {
-      actualBytes = trimmed.getBytes().length;
-    }
-
     // check data type
     boolean badType = false;
     if (dataType.equals("ASCII_REAL")) { //$NON-NLS-1$
-      if (!value.matches(Constants.ASCII_REAL_REGEX)) {
+      if (!ASCII_REAL_PATTERN.matcher(value).matches()) {
         badType = true;
       }
     } else if (dataType.equals("ASCII_INTEGER")) { //$NON-NLS-1$
-      if (!value.matches(Constants.ASCII_INTEGER_REGEX)) {
+      if (!ASCII_INTEGER_PATTERN.matcher(value).matches()) {
         badType = true;
       }
-    } else if (dataType.matches("INTEGER|MSB_INTEGER|MAC_INTEGER")) { //$NON-NLS-1$
+    } else if (INTEGER_TYPE_PATTERN.matcher(dataType).matches()) {
+      // TODO: is forcing ASCII necessary?
+      // TODO: should actual bytes include padding?
+      final int actualBytes = value.trim().getBytes(TEXT_FILE_CHARSET).length;
       // wrong byte count
       // TODO: is this correct? see spec
       // http://pds.jpl.nasa.gov/documents/sr/Chapter03.pdf
       // page 3
       if (actualBytes != 1 && actualBytes != 2 && actualBytes != 4) {
-        addProblem(tabularData.getDataFile(), "validation.error.badInteger", //$NON-NLS-1$
-            ProblemType.INVALID_VALUE_FOR_COLUMN, column.getName(), dataType, actualBytes, value);
-      } else if (!stringVal.matches(Constants.ASCII_INTEGER_REGEX)) {
+        addColumnProblem(check, column, "validation.error.badInteger", //$NON-NLS-1$
+            column.getName(), dataType, actualBytes, value);
+      } else if (!ASCII_INTEGER_PATTERN.matcher(StrUtils.dequote(value)).matches()) {
+        // don't consider the quotes as part of the value except
+        // for evaluating character type matching
         badType = true;
         // TODO: make better error message instead of
         // generic?
@@ -1074,28 +1397,24 @@ public class DataSetValidator extends Observable {
       // then shows example without milliseconds
       Date testDate = null;
       try {
-        // TODO: Label wrap is a hack to get the file through the
-        // formatter, need to update to take file or url from variety of
-        // containers
-        testDate = DateTimeFormatter.parse(new Label(tabularData.getDataFile()), value, 1);
+        testDate = DateTimeFormatter.parse(check.getDateLabel(), value, 1);
       } catch (Exception e) {
         // noop
       }
       if (testDate == null) {
-        addProblem(tabularData.getDataFile(), "validation.error.badDate", //$NON-NLS-1$
-            ProblemType.INVALID_VALUE_FOR_COLUMN, column.getName(), dataType, value);
+        addColumnProblem(check, column, "validation.error.badDate", //$NON-NLS-1$
+            column.getName(), dataType, value);
       }
     } else if (dataType.equals("CHARACTER")) { //$NON-NLS-1$
-      String originalStringVal = value;
       // if has space and not quoted, bad char value
-      if (!originalStringVal.matches(Constants.CHARACTER_REGEX)) {
+      if (!CHARACTER_PATTERN.matcher(value).matches()) {
         badType = true;
       }
     }
 
     if (badType) {
-      addProblem(tabularData.getDataFile(), "validation.error.columnTypeMismatch", //$NON-NLS-1$
-          ProblemType.INVALID_VALUE_FOR_COLUMN, column.getName(), dataType, value);
+      addColumnProblem(check, column, "validation.error.columnTypeMismatch", //$NON-NLS-1$
+          column.getName(), dataType, value);
     }
 
     // TODO: add tests for other types listed below
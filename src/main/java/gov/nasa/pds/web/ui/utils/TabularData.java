@@ -1,14 +1,18 @@
 package gov.nasa.pds.web.ui.utils;
 
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import gov.nasa.pds.tools.LabelParserException;
 import gov.nasa.pds.tools.constants.Constants.ProblemType;
 import gov.nasa.pds.tools.label.Statement;
@@ -18,6 +22,12 @@ import gov.nasa.pds.web.ui.containers.tabularData.Row;
 
 public class TabularData {
 
+  /**
+   * Most problems reported for one column, or one column definition, of a table. Every row of a
+   * table is validated, and a bad definition would otherwise be reported once per row.
+   */
+  public static final int MAX_PROBLEMS_PER_COLUMN = 10;
+
   // TODO: init at correct size
   private List<Column> columns = new ArrayList<>();
 
@@ -29,6 +39,16 @@ public class TabularData {
 
   private URL dataUrl;
 
+  private long startByte;
+
+  private String fieldDelimiter;
+
+  private int fieldsCount;
+
+  private Long tableRows;
+
+  private final Map<Statement, Integer> definitionProblemCounts = new IdentityHashMap<>();
+
   private final List<LabelParserException> problems = new ArrayList<>();
 
   // instantiate with meta data (from label?)
@@ -55,41 +75,28 @@ public class TabularData {
 
   public TabularData(URL fileUrl, List<ColumnInfo> columnInfos, long startByte,
       final Long readRows) {
-    this.dataFile = null; // no file, url instead
-    this.dataUrl = fileUrl;
-    if (columnInfos != null) {
-      this.columnDefs.addAll(columnInfos);
-      for (ColumnInfo columnInfo : columnInfos) {
-        final int currentSize = this.columns.size();
-        final Column column = new Column(columnInfo, currentSize);
-        // TODO: fix to use index from column info
-        this.columns.add(column);
-      }
-
-      Collections.sort(this.columns, Comparators.TABULAR_COLUMN_COMPARATOR);
-
-      try {
-
-        // need to handle here if url case is wrong?
-        final BufferedReader br = new BufferedReader(new InputStreamReader(fileUrl.openStream()));
-        String currLine = null;
-        int lineNumber = 1;
-
-        br.skip(startByte);
-
-        while ((currLine = br.readLine()) != null && (readRows == null || readRows >= lineNumber)) {
-          final Row row = new Row(currLine, this.columns, lineNumber, this);
-          lineNumber++;
-          this.rows.add(row);
-        }
+    this(fileUrl, columnInfos, startByte, readRows, null);
+  }
 
-      } catch (IOException e) {
-        // TODO Auto-generated catch block
-        throw new RuntimeException("Problem reading source file:" //$NON-NLS-1$
-            + fileUrl.toString());
-      }
-    }
+  /**
+   * Creates the data of a table that holds a known number of rows. The data file of a PDS3 label
+   * may hold other objects after the table, so no more than the ROWS of the table object are read.
+   * 
+   * @param tabularFile the data file
+   * @param columnInfos the columns of the table
+   * @param startByte the offset of the table in the file
+   * @param readRows the number of rows to keep, or null to keep every row
+   * @param tableRows the ROWS of the table object, or null to read to the end of the file
+   */
+  public TabularData(final File tabularFile, List<ColumnInfo> columnInfos, long startByte,
+      final Long readRows, final Long tableRows) {
+    this(toURL(tabularFile), columnInfos, startByte, readRows, tableRows);
+    this.dataFile = tabularFile;
+  }
 
+  public TabularData(URL fileUrl, List<ColumnInfo> columnInfos, long startByte,
+      final Long readRows, final Long tableRows) {
+    this(fileUrl, columnInfos, startByte, readRows, null, 0, tableRows);
   }
 
   /**
@@ -103,8 +110,17 @@ public class TabularData {
    */
   public TabularData(URL fileUrl, List<ColumnInfo> columnInfos, long startByte, final Long readRows,
       String fieldDelimiter, int fieldsCount) {
+    this(fileUrl, columnInfos, startByte, readRows, fieldDelimiter, fieldsCount, null);
+  }
+
+  private TabularData(URL fileUrl, List<ColumnInfo> columnInfos, long startByte,
+      final Long readRows, String fieldDelimiter, int fieldsCount, final Long tableRows) {
     this.dataFile = null;
     this.dataUrl = fileUrl;
+    this.startByte = startByte;
+    this.fieldDelimiter = fieldDelimiter;
+    this.fieldsCount = fieldsCount;
+    this.tableRows = tableRows;
 
     if (columnInfos != null) {
       this.columnDefs.addAll(columnInfos);
@@ -117,29 +133,71 @@ public class TabularData {
 
       Collections.sort(this.columns, Comparators.TABULAR_COLUMN_COMPARATOR);
 
-      try {
+      if (readRows == null || readRows > 0) {
+        readRows(row -> {
+          this.rows.add(row);
+          return readRows == null || readRows > this.rows.size();
+        }, true);
+      }
+    }
 
-        // need to handle here if url case is wrong?
-        final BufferedReader br = new BufferedReader(new InputStreamReader(fileUrl.openStream()));
-        String currLine = null;
-        int lineNumber = 1;
-        br.skip(startByte);
+  }
 
-        while ((currLine = br.readLine()) != null && (readRows == null || readRows >= lineNumber)) {
-          final Row row =
-              new Row(lineNumber, currLine, this.columns, this, fieldDelimiter, fieldsCount);
+  /**
+   * Reads every row of the table, one at a time, without keeping them. The rows passed to the
+   * handler are not added to the rows or to the elements of the columns, so a table of any length
+   * is validated in bounded memory. When the ROWS of the table are known, the bytes after the last
+   * row are left unread.
+   * 
+   * @param handler receives each row
+   */
+  public void forEachRow(final RowHandler handler) {
+    if (!this.columnDefs.isEmpty()) {
+      readRows(handler, false);
+    }
+  }
 
-          lineNumber++;
-          this.rows.add(row);
+  private void readRows(final RowHandler handler, final boolean retain) {
+    // need to handle here if url case is wrong?
+    try (InputStream input = this.dataUrl.openStream()) {
+      // the start byte counts bytes, so skip them before decoding
+      input.skipNBytes(this.startByte);
+      final BufferedReader br = new BufferedReader(new InputStreamReader(input));
+      String currLine = null;
+      int lineNumber = 1;
+      // stop at the end of the table rather than at the end of the file
+      while ((this.tableRows == null || lineNumber <= this.tableRows)
+          && (currLine = br.readLine()) != null) {
+        final Row row;
+        if (this.fieldDelimiter == null) {
+          row = new Row(currLine, this.columns, lineNumber, this, retain);
+        } else {
+          row = new Row(lineNumber, currLine, this.columns, this, this.fieldDelimiter,
+              this.fieldsCount, retain);
+        }
+        lineNumber++;
+        if (!handler.row(row)) {
+          break;
         }
-
-      } catch (IOException e) {
-        // TODO Auto-generated catch block
-        throw new RuntimeException("Problem reading source file:" //$NON-NLS-1$
-            + fileUrl.toString());
       }
+    } catch (EOFException e) {
+      // the table starts past the end of the file, so it has no rows
+    } catch (IOException e) {
+      // TODO Auto-generated catch block
+      throw new RuntimeException("Problem reading source file:" //$NON-NLS-1$
+          + this.dataUrl.toString());
     }
+  }
 
+  /**
+   * Receives the rows of a table as they are read.
+   */
+  public interface RowHandler {
+    /**
+     * @param row the next row
+     * @return false to stop reading
+     */
+    boolean row(Row row);
   }
 
   public Column getColumn(final String searchName) {
@@ -179,6 +237,13 @@ public class TabularData {
     return this.dataFile;
   }
 
+  /**
+   * @return the ROWS of the table object, or null if the table is read to the end of the file
+   */
+  public Long getTableRows() {
+    return this.tableRows;
+  }
+
   private static URL toURL(final File file) {
     try {
       return file.toURI().toURL();
@@ -217,6 +282,10 @@ public class TabularData {
 
   public void addProblem(final Statement statement, final Integer column, final String key,
       final ProblemType type, final Object... arguments) {
+    final int count = this.definitionProblemCounts.merge(statement, 1, Integer::sum);
+    if (count > MAX_PROBLEMS_PER_COLUMN) {
+      return;
+    }
     if (statement.getSourceFile() != null) {
       addProblem(statement.getSourceFile(), statement.getLineNumber(), column, key, type,
           arguments);
@@ -0,0 +1,154 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.inventory.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the streaming of inventory records, in both the stream and the memory-mapped modes.
+ */
+class InventoryRecordScannerTest {
+
+  @TempDir
+  Path dir;
+
+  private Path write(String name, String content) throws IOException {
+    Path file = this.dir.resolve(name);
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static List<String[]> readAll(Path file) throws IOException {
+    List<String[]> records = new ArrayList<>();
+    try (InventoryRecordScanner scanner =
+        new InventoryRecordScanner(file.toUri().toURL(), ',')) {
+      while (scanner.next()) {
+        String[] fields = new String[scanner.getFieldCount()];
+        for (int i = 0; i < fields.length; i++) {
+          fields[i] = scanner.getField(i + 1);
+        }
+        records.add(fields);
+      }
+    }
+    return records;
+  }
+
+  /** The fields the reader got from String.split() before the scanner replaced it. */
+  private static String[] split(String line) {
+    String[] fields = line.split(",");
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = fields[i].trim();
+    }
+    return fields;
+  }
+
+  @Test
+  void testFieldsMatchSplit() throws IOException {
+    String[] lines = {"P,urn:nasa:pds:bundle:data:product::1.0",
+        " S , urn:nasa:pds:bundle:data:other::2.0 ", "P,urn:nasa:pds:bundle:data:trailing,,",
+        ",urn:nasa:pds:bundle:data:leading", "", ",,", "P,urn:nasa:pds:bundle:data:été::1.0"};
+    Path file = write("inventory.csv", String.join("\r\n", lines) + "\r\n");
+
+    List<String[]> records = readAll(file);
+    assertEquals(lines.length, records.size());
+    for (int i = 0; i < lines.length; i++) {
+      assertEquals(List.of(split(lines[i])), List.of(records.get(i)), "line " + (i + 1));
+    }
+  }
+
+  @Test
+  void testLineEndings() throws IOException {
+    Path file = write("inventory.csv", "P,a\nS,b\r\nP,c\rS,d");
+    List<String[]> records = readAll(file);
+    assertEquals(4, records.size());
+    assertEquals("d", records.get(3)[1]);
+  }
+
+  @Test
+  void testLineState() throws IOException {
+    Path file = write("inventory.csv", "P,urn:a\r\n   \r\nS,urn:b");
+    try (InventoryRecordScanner scanner =
+        new InventoryRecordScanner(file.toUri().toURL(), ',')) {
+      assertTrue(scanner.next());
+      assertFalse(scanner.isBlank());
+      assertEquals("P,urn:a", scanner.getLine());
+      // Single characters such as the member status are shared instances.
+      assertSame("P", scanner.getField(1));
+      assertNull(scanner.getField(3));
+      assertNull(scanner.getField(0));
+
+      assertTrue(scanner.next());
+      assertTrue(scanner.isBlank());
+
+      assertTrue(scanner.next());
+      assertEquals(3, scanner.getLineNumber());
+      assertEquals("urn:b", scanner.getField(2));
+      assertFalse(scanner.next());
+    }
+  }
+
+  @Test
+  void testMappedFile() throws IOException {
+    StringBuilder content = new StringBuilder();
+    long count = 0;
+    while (content.length() < InventoryRecordScanner.MAP_THRESHOLD + 1024) {
+      content.append(count % 2 == 0 ? "P" : "S").append(",urn:nasa:pds:bundle:data:product_")
+          .append(count).append("::1.0\r\n");
+      count++;
+    }
+    Path file = write("large.csv", content.toString());
+
+    long read = 0;
+    try (InventoryRecordScanner scanner =
+        new InventoryRecordScanner(file.toUri().toURL(), ',')) {
+      while (scanner.next()) {
+        assertEquals(read % 2 == 0 ? "P" : "S", scanner.getField(1));
+        assertEquals("urn:nasa:pds:bundle:data:product_" + read + "::1.0", scanner.getField(2));
+        read++;
+      }
+    }
+    assertEquals(count, read);
+  }
+
+}
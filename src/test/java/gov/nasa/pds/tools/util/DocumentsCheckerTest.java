@@ -0,0 +1,88 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the check of a document content against its document standard.
+ */
+class DocumentsCheckerTest {
+
+  private final DocumentsChecker checker = new DocumentsChecker();
+
+  private static FileHeader header(byte[] head) {
+    return new FileHeader(head.length, head, new byte[0]);
+  }
+
+  private static FileHeader header(String head) {
+    return header(head.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  void testPdfDeclaredAsTextIsReported() {
+    FileHeader pdf = header("%PDF-1.7\n%âãÏÓ\n1 0 obj\n");
+    assertFalse(this.checker.isContentCorrect(pdf, "UTF-8 Text"));
+    assertFalse(this.checker.isContentCorrect(pdf, "7-Bit ASCII Text"));
+  }
+
+  @Test
+  void testTextDeclaredAsTextIsAccepted() {
+    assertTrue(this.checker.isContentCorrect(header("PDS4 readme\r\n"), "7-Bit ASCII Text"));
+    assertTrue(this.checker.isContentCorrect(header("<?xml version=\"1.0\"?>\n<notes/>"),
+        "UTF-8 Text"));
+  }
+
+  @Test
+  void testOtherKnownFormatIsReported() {
+    FileHeader png = header(new byte[] {(byte) 0x89, 'P', 'N', 'G', 0x0d, 0x0a, 0x1a, 0x0a, 0});
+    assertFalse(this.checker.isContentCorrect(png, "GIF"));
+    assertTrue(this.checker.isContentCorrect(header("GIF89a\u0001\u0000"), "GIF"));
+  }
+
+  @Test
+  void testUnknownFormatIsAccepted() {
+    FileHeader unknown = header(new byte[] {0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07});
+    assertTrue(this.checker.isContentCorrect(unknown, "TIFF"));
+    assertTrue(this.checker.isContentCorrect(unknown, "UTF-8 Text"));
+  }
+
+  @Test
+  void testUnknownStandardIsNotChecked() {
+    assertTrue(DocumentsChecker.getExpectedFormats("SEED 2.4").isEmpty());
+    assertTrue(this.checker.isContentCorrect(header("%PDF-1.4\n"), "SEED 2.4"));
+  }
+
+}
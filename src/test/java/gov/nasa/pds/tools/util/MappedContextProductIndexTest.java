@@ -0,0 +1,166 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the lookups of the memory-mapped context product index against its sidecar.
+ */
+class MappedContextProductIndexTest {
+
+  @TempDir
+  Path dir;
+
+  private File json;
+
+  private File sidecar;
+
+  private MappedContextProductIndex index;
+
+  private static ContextProductReference product(String lid, String version, String name) {
+    return new ContextProductReference(lid, version, Arrays.asList("Mission"),
+        Arrays.asList(name));
+  }
+
+  @BeforeEach
+  void setUp() throws IOException {
+    this.json = this.dir.resolve("registered_context_products.json").toFile();
+    Files.write(this.json.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+    this.sidecar = MappedContextProductIndex.getSidecarFile(this.json);
+
+    List<ContextProductReference> products = new ArrayList<>();
+    products.add(product("urn:nasa:pds:context:investigation:mission.cassini-huygens", "1.0",
+        "Cassini-Huygens"));
+    products.add(product("urn:nasa:pds:context:instrument_host:spacecraft.co", "1.0", "Cassini"));
+    products.add(product("urn:nasa:pds:context:investigation:mission.cassini-huygens", "1.1",
+        "Cassini-Huygens 1.1"));
+    products.add(product("urn:nasa:pds:context:target:planet.saturn", null, "Saturn"));
+    products.add(product("urn:nasa:pds:context:target:comet.été", "1.0", "Été"));
+    products.add(product("urn:nasa:pds:context:target:planet.mars", "2.0", "Mars"));
+    MappedContextProductIndex.write(products, this.json, this.sidecar);
+    this.index = MappedContextProductIndex.open(this.sidecar);
+  }
+
+  @Test
+  void testSidecarIsCurrent() throws IOException {
+    assertTrue(MappedContextProductIndex.isCurrent(this.json, this.sidecar));
+    Files.write(this.json.toPath(), "{ }".getBytes(StandardCharsets.UTF_8));
+    assertFalse(MappedContextProductIndex.isCurrent(this.json, this.sidecar));
+  }
+
+  @Test
+  void testSize() {
+    assertEquals(6, this.index.size());
+  }
+
+  @Test
+  void testFindIgnoresLidCase() {
+    ContextProductReference found = this.index
+        .find(new ContextProductReference("URN:NASA:PDS:CONTEXT:TARGET:PLANET.MARS"));
+    assertEquals("urn:nasa:pds:context:target:planet.mars", found.getLid());
+    assertEquals("2.0", found.getVersion());
+    assertEquals(Arrays.asList("Mars"), found.getNames());
+    assertEquals(Arrays.asList("Mission"), found.getTypes());
+  }
+
+  @Test
+  void testFindWithoutVersionReturnsFirstInLoadOrder() {
+    ContextProductReference found = this.index.find(
+        new ContextProductReference("urn:nasa:pds:context:investigation:mission.cassini-huygens"));
+    assertEquals("1.0", found.getVersion());
+  }
+
+  @Test
+  void testFindMatchesVersion() {
+    String lid = "urn:nasa:pds:context:investigation:mission.cassini-huygens";
+    assertEquals("Cassini-Huygens 1.1",
+        this.index.find(new ContextProductReference(lid, "1.1", null, null)).getNames().get(0));
+    assertNull(this.index.find(new ContextProductReference(lid, "1.2", null, null)));
+    assertNull(this.index.find(new ContextProductReference(lid, "1", null, null)));
+  }
+
+  @Test
+  void testVersionedReferenceDoesNotMatchProductWithoutVersion() {
+    String lid = "urn:nasa:pds:context:target:planet.saturn";
+    assertTrue(this.index.contains(new ContextProductReference(lid)));
+    assertNull(this.index.find(new ContextProductReference(lid, "1.0", null, null)));
+  }
+
+  @Test
+  void testFindNonAsciiLid() {
+    ContextProductReference found = this.index
+        .find(new ContextProductReference("urn:nasa:pds:context:target:comet.ÉTÉ"));
+    assertEquals("Été", found.getNames().get(0));
+  }
+
+  @Test
+  void testMissingLids() {
+    assertNull(this.index.find(new ContextProductReference("urn:nasa:pds:context:target:a")));
+    assertNull(this.index.find(new ContextProductReference("urn:nasa:pds:context:target:zzz")));
+    assertNull(this.index.find(new ContextProductReference("urn:nasa:pds:context:target:planet")));
+  }
+
+  @Test
+  void testGetByLidInLoadOrder() {
+    List<ContextProductReference> products = this.index.getByLid(
+        new ContextProductReference("urn:nasa:pds:context:investigation:MISSION.CASSINI-HUYGENS"));
+    assertEquals(2, products.size());
+    assertEquals("1.0", products.get(0).getVersion());
+    assertEquals("1.1", products.get(1).getVersion());
+    assertTrue(this.index
+        .getByLid(new ContextProductReference("urn:nasa:pds:context:target:pluto")).isEmpty());
+  }
+
+  @Test
+  void testOpenRejectsOtherFiles() throws IOException {
+    File other = this.dir.resolve("other.idx").toFile();
+    Files.write(other.toPath(), new byte[64]);
+    assertThrows(IOException.class, () -> MappedContextProductIndex.open(other));
+  }
+
+}
@@ -0,0 +1,170 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the block-at-a-time UTF-8 byte stream check.
+ */
+class UTF8ValidatorTest {
+
+  /** Checks the bytes in one block and returns the offsets of the malformed sequences. */
+  private static List<Long> check(byte[] bytes) {
+    List<Long> offsets = new ArrayList<>();
+    UTF8Validator validator = new UTF8Validator(offset -> offsets.add(offset));
+    assertTrue(validator.update(bytes, 0, bytes.length));
+    assertTrue(validator.finish());
+    assertEquals(bytes.length, validator.getPosition());
+    assertEquals(offsets.size(), validator.getMalformedCount());
+    return offsets;
+  }
+
+  /** Checks the bytes in blocks of the given size, each copied into a larger buffer. */
+  private static List<Long> checkInBlocks(byte[] bytes, int blockSize) {
+    List<Long> offsets = new ArrayList<>();
+    UTF8Validator validator = new UTF8Validator(offset -> offsets.add(offset));
+    byte[] buffer = new byte[blockSize + 3];
+    for (int start = 0; start < bytes.length; start += blockSize) {
+      int length = Math.min(blockSize, bytes.length - start);
+      System.arraycopy(bytes, start, buffer, 3, length);
+      validator.update(buffer, 3, length);
+    }
+    validator.finish();
+    return offsets;
+  }
+
+  private static byte[] bytes(int... values) {
+    byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+
+  private static byte[] ascii(int length) {
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) 'a');
+    return bytes;
+  }
+
+  @Test
+  void testWellFormed() {
+    assertEquals(List.of(), check(ascii(100)));
+    assertEquals(List.of(),
+        check("Mars, Phobos, Deimos; héllo wörld 日本 😀"
+            .getBytes(StandardCharsets.UTF_8)));
+    assertEquals(List.of(), check(new byte[0]));
+  }
+
+  @Test
+  void testStrayContinuationAtWordBoundaries() {
+    // The ASCII fast path reads eight bytes at a time; the offset must not depend on where the
+    // malformed byte falls in a word.
+    for (int offset = 0; offset < 40; offset++) {
+      byte[] bytes = ascii(40);
+      bytes[offset] = (byte) 0x80;
+      assertEquals(List.of((long) offset), check(bytes), "offset " + offset);
+    }
+  }
+
+  @Test
+  void testInvalidLeadBytes() {
+    byte[] bytes = ascii(20);
+    bytes[3] = (byte) 0xFE;
+    bytes[16] = (byte) 0xFF;
+    assertEquals(List.of(3L, 16L), check(bytes));
+  }
+
+  @Test
+  void testTruncatedSequence() {
+    // A three byte sequence cut short by an ASCII byte, which is then checked on its own.
+    byte[] bytes = bytes('a', 'b', 0xE6, 0x97, 'c', 'd');
+    assertEquals(List.of(2L), check(bytes));
+    // A sequence cut short by the start of another one.
+    assertEquals(List.of(0L), check(bytes(0xE6, 0xC3, 0xA9)));
+  }
+
+  @Test
+  void testTruncatedAtEndOfStream() {
+    byte[] bytes = Arrays.copyOf(ascii(17), 19);
+    bytes[17] = (byte) 0xF0;
+    bytes[18] = (byte) 0x9F;
+    assertEquals(List.of(17L), check(bytes));
+  }
+
+  @Test
+  void testOverlongAndLongFormsAreAccepted() {
+    // Like the original byte stream rule, only the structure of the sequences is checked:
+    // overlong encodings and the five and six byte forms are not reported.
+    assertEquals(List.of(), check(bytes(0xC0, 0x80, 'a', 0xE0, 0x80, 0x80)));
+    assertEquals(List.of(), check(bytes(0xF8, 0x88, 0x80, 0x80, 0x80)));
+    assertEquals(List.of(), check(bytes(0xFC, 0x84, 0x80, 0x80, 0x80, 0x80)));
+  }
+
+  @Test
+  void testSequencesSpanningBlocks() {
+    byte[] bytes = ("Saturn – Titan 🪐 ringé ").repeat(5)
+        .getBytes(StandardCharsets.UTF_8);
+    bytes[9] = (byte) 0x80;
+    bytes[bytes.length - 30] = (byte) 0xC3;
+    List<Long> expected = check(bytes);
+    assertFalse(expected.isEmpty());
+    for (int blockSize = 1; blockSize <= 17; blockSize++) {
+      assertEquals(expected, checkInBlocks(bytes, blockSize), "block size " + blockSize);
+    }
+  }
+
+  @Test
+  void testListenerStopsTheCheck() {
+    byte[] bytes = ascii(30);
+    bytes[5] = (byte) 0x80;
+    bytes[25] = (byte) 0x80;
+    List<Long> offsets = new ArrayList<>();
+    UTF8Validator validator = new UTF8Validator(offset -> {
+      offsets.add(offset);
+      return false;
+    });
+    assertFalse(validator.update(bytes, 0, bytes.length));
+    assertFalse(validator.finish());
+    assertEquals(List.of(5L), offsets);
+    assertEquals(1, validator.getMalformedCount());
+  }
+
+}
@@ -0,0 +1,153 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.validate.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the records chosen by the spot check sampler.
+ */
+class SpotCheckSamplerTest {
+
+  private static List<Long> drain(SpotCheckSampler sampler) {
+    List<Long> indices = new ArrayList<>();
+    for (long index = sampler.next(); index != -1; index = sampler.next()) {
+      indices.add(index);
+    }
+    return indices;
+  }
+
+  @Test
+  void testNoneValidatesEveryRecord() {
+    assertFalse(SpotCheckPolicy.NONE.isEnabled());
+    assertNull(SpotCheckPolicy.NONE.newSampler(100, 10));
+  }
+
+  @Test
+  void testStrideInterval() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(3, SpotCheckPolicy.Mode.STRIDE, -1, -1, 0);
+    SpotCheckSampler sampler = policy.newSampler(10, -1);
+    assertEquals(List.of(1L, 4L, 7L, 10L), drain(sampler));
+    assertEquals(4, sampler.getSampleSize());
+  }
+
+  @Test
+  void testStrideWithoutRecordCount() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(5, SpotCheckPolicy.Mode.STRIDE, -1, -1, 0);
+    SpotCheckSampler sampler = policy.newSampler(-1, -1);
+    assertEquals(1, sampler.next());
+    assertEquals(6, sampler.next());
+    assertEquals(11, sampler.next());
+  }
+
+  @Test
+  void testRandomSampleIsSortedDistinctAndReproducible() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.RANDOM, 50, -1, 42);
+    List<Long> first = drain(policy.newSampler(1000, -1));
+    List<Long> second = drain(policy.newSampler(1000, -1));
+
+    assertEquals(50, first.size());
+    assertEquals(first, second);
+    for (int i = 0; i < first.size(); i++) {
+      assertTrue(first.get(i) >= 1 && first.get(i) <= 1000);
+      if (i > 0) {
+        assertTrue(first.get(i - 1) < first.get(i));
+      }
+    }
+  }
+
+  @Test
+  void testRandomSampleLargerThanTable() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.RANDOM, 20, -1, 7);
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L), drain(policy.newSampler(5, -1)));
+  }
+
+  @Test
+  void testStratifiedTakesOneRecordPerStratum() {
+    SpotCheckPolicy policy =
+        new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.STRATIFIED, 4, -1, 3);
+    List<Long> indices = drain(policy.newSampler(100, -1));
+    assertEquals(4, indices.size());
+    for (int i = 0; i < indices.size(); i++) {
+      assertTrue(indices.get(i) > i * 25L && indices.get(i) <= (i + 1) * 25L);
+    }
+  }
+
+  @Test
+  void testRandomModeWithoutRecordCountFallsBackToStride() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.RANDOM, 3, -1, 0);
+    assertEquals(List.of(1L, 2L, 3L), drain(policy.newSampler(-1, -1)));
+  }
+
+  @Test
+  void testByteBudgetIsConvertedToRecords() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.STRIDE, -1, 1000, 0);
+    assertFalse(policy.ignoresBudgetBytes(100));
+    SpotCheckSampler sampler = policy.newSampler(100, 100);
+    assertEquals(10, sampler.getSampleSize());
+    assertEquals(List.of(1L, 11L, 21L, 31L, 41L, 51L, 61L, 71L, 81L, 91L), drain(sampler));
+  }
+
+  @Test
+  void testByteBudgetWithUnknownRecordSize() {
+    SpotCheckPolicy policy = new SpotCheckPolicy(-1, SpotCheckPolicy.Mode.RANDOM, -1, 1000, 0);
+    assertTrue(policy.ignoresBudgetBytes(-1));
+    assertNull(policy.newSampler(100, -1));
+
+    SpotCheckPolicy withInterval =
+        new SpotCheckPolicy(10, SpotCheckPolicy.Mode.STRIDE, -1, 1000, 0);
+    assertTrue(withInterval.ignoresBudgetBytes(-1));
+    SpotCheckSampler sampler = withInterval.newSampler(30, -1);
+    assertNotNull(sampler);
+    assertEquals(List.of(1L, 11L, 21L), drain(sampler));
+  }
+
+  @Test
+  void testParseBudget() {
+    assertArrayEquals(new long[] {250, -1}, SpotCheckPolicy.parseBudget("250"));
+    assertArrayEquals(new long[] {-1, 512}, SpotCheckPolicy.parseBudget("512B"));
+    assertArrayEquals(new long[] {-1, 2048}, SpotCheckPolicy.parseBudget("2 kb"));
+    assertArrayEquals(new long[] {-1, 3L << 20}, SpotCheckPolicy.parseBudget("3MB"));
+    assertArrayEquals(new long[] {-1, 1L << 30}, SpotCheckPolicy.parseBudget("1GB"));
+    assertThrows(IllegalArgumentException.class, () -> SpotCheckPolicy.parseBudget("ten"));
+  }
+
+}
@@ -0,0 +1,206 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.validate.content.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import gov.nasa.pds.label.Label;
+import gov.nasa.pds.label.object.DataObject;
+import gov.nasa.pds.label.object.TableObject;
+import gov.nasa.pds.label.object.TableRecord;
+import gov.nasa.pds.objectAccess.RawTableReader;
+
+/**
+ * Tests the splitting of delimited records, on its own and against the table reader it replaces.
+ */
+class DelimitedRecordScannerTest {
+
+  /** Records covering plain, quoted, escaped and empty fields. */
+  private static final String[] RECORDS = {"1,abc,2.5", "\"a,b\",plain,\"x\"", ",,",
+      "\"say \"\"hi\"\"\",2,\"\"", "\"\",\"\",\"\""};
+
+  private static final String LABEL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<Product_Ancillary xmlns=\"http://pds.nasa.gov/pds4/pds/v1\">\n"
+      + "  <Identification_Area>\n"
+      + "    <logical_identifier>urn:nasa:pds:validate_test:data:delimited</logical_identifier>\n"
+      + "    <version_id>1.0</version_id>\n"
+      + "    <title>Delimited record scanner test</title>\n"
+      + "    <information_model_version>1.11.0.0</information_model_version>\n"
+      + "    <product_class>Product_Ancillary</product_class>\n"
+      + "  </Identification_Area>\n"
+      + "  <File_Area_Ancillary>\n"
+      + "    <File>\n"
+      + "      <file_name>table.csv</file_name>\n"
+      + "    </File>\n"
+      + "    <Table_Delimited>\n"
+      + "      <offset unit=\"byte\">0</offset>\n"
+      + "      <parsing_standard_id>PDS DSV 1</parsing_standard_id>\n"
+      + "      <records>" + RECORDS.length + "</records>\n"
+      + "      <record_delimiter>Carriage-Return Line-Feed</record_delimiter>\n"
+      + "      <field_delimiter>Comma</field_delimiter>\n"
+      + "      <Record_Delimited>\n"
+      + "        <fields>3</fields>\n"
+      + "        <groups>0</groups>\n"
+      + field(1) + field(2) + field(3)
+      + "      </Record_Delimited>\n"
+      + "    </Table_Delimited>\n"
+      + "  </File_Area_Ancillary>\n"
+      + "</Product_Ancillary>\n";
+
+  @TempDir
+  Path dir;
+
+  private static String field(int number) {
+    return "        <Field_Delimited>\n"
+        + "          <name>field" + number + "</name>\n"
+        + "          <field_number>" + number + "</field_number>\n"
+        + "          <data_type>ASCII_String</data_type>\n"
+        + "        </Field_Delimited>\n";
+  }
+
+  private static DelimitedRecordScanner scan(String line) {
+    DelimitedRecordScanner scanner = new DelimitedRecordScanner(',');
+    assertTrue(scanner.scan(line));
+    return scanner;
+  }
+
+  @Test
+  void testPlainFields() {
+    DelimitedRecordScanner scanner = scan("1,abc,2.5\r\n");
+    assertEquals(3, scanner.getFieldCount());
+    assertEquals(9, scanner.getContentLength());
+    assertEquals("1", scanner.getString(1));
+    assertEquals("abc", scanner.getString(2));
+    assertEquals("2.5", scanner.getString(3));
+  }
+
+  @Test
+  void testQuotedFieldKeepsDelimiterAndQuotes() {
+    DelimitedRecordScanner scanner = scan("\"a,b\",plain,\"x\"\n");
+    assertEquals(3, scanner.getFieldCount());
+    assertEquals("\"a,b\"", scanner.getString(1));
+    assertEquals("plain", scanner.getString(2));
+    assertEquals("\"x\"", scanner.getString(3));
+  }
+
+  @Test
+  void testEscapedQuotes() {
+    DelimitedRecordScanner scanner = scan("\"say \"\"hi, there\"\"\",2");
+    assertEquals(2, scanner.getFieldCount());
+    assertEquals("\"say \"\"hi, there\"\"\"", scanner.getString(1));
+    assertEquals("2", scanner.getString(2));
+  }
+
+  @Test
+  void testEmptyFields() {
+    DelimitedRecordScanner scanner = scan(",,\r\n");
+    assertEquals(3, scanner.getFieldCount());
+    for (int i = 1; i <= 3; i++) {
+      assertEquals("", scanner.getString(i));
+    }
+    scanner = scan("\"\",,\"\"");
+    assertEquals("\"\"", scanner.getString(1));
+    assertEquals("", scanner.getString(2));
+    assertEquals("\"\"", scanner.getString(3));
+  }
+
+  @Test
+  void testLineEndingInsideQuotedValue() {
+    DelimitedRecordScanner scanner = new DelimitedRecordScanner(',');
+    assertFalse(scanner.scan("1,\"starts here\r\n"));
+  }
+
+  @Test
+  void testScannerIsReused() {
+    DelimitedRecordScanner scanner = new DelimitedRecordScanner('|');
+    StringBuilder wide = new StringBuilder("0");
+    for (int i = 1; i < 40; i++) {
+      wide.append('|').append(i);
+    }
+    assertTrue(scanner.scan(wide.toString()));
+    assertEquals(40, scanner.getFieldCount());
+    assertEquals("39", scanner.getString(40));
+    assertTrue(scanner.scan("a|b"));
+    assertEquals(2, scanner.getFieldCount());
+    assertEquals("b", scanner.getString(2));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> scanner.getString(3));
+  }
+
+  @Test
+  void testDelimiterCharacters() {
+    assertEquals(',', DelimitedRecordScanner.toDelimiterCharacter("Comma"));
+    assertEquals('\t', DelimitedRecordScanner.toDelimiterCharacter("Horizontal Tab"));
+    assertEquals(';', DelimitedRecordScanner.toDelimiterCharacter(" semicolon "));
+    assertEquals('|', DelimitedRecordScanner.toDelimiterCharacter("Vertical Bar"));
+    assertNull(DelimitedRecordScanner.toDelimiterCharacter("Space"));
+    assertNull(DelimitedRecordScanner.toDelimiterCharacter(null));
+  }
+
+  /**
+   * The table validator splits delimited lines with the scanner instead of asking the table reader
+   * to parse the record again, so both must return the same field values.
+   */
+  @Test
+  void testAgreesWithTableReader() throws Exception {
+    Path label = this.dir.resolve("table.xml");
+    Files.write(label, LABEL.getBytes(StandardCharsets.UTF_8));
+    Files.write(this.dir.resolve("table.csv"),
+        (String.join("\r\n", RECORDS) + "\r\n").getBytes(StandardCharsets.UTF_8));
+
+    TableObject table = null;
+    for (DataObject object : Label.open(label.toUri().toURL()).getObjects()) {
+      if (object instanceof TableObject) {
+        table = (TableObject) object;
+      }
+    }
+    RawTableReader reader = table.getRawTableReader();
+    DelimitedRecordScanner scanner = new DelimitedRecordScanner(',');
+    for (int i = 0; i < RECORDS.length; i++) {
+      TableRecord record = reader.getRecord(i + 1, true);
+      assertTrue(scanner.scan(RECORDS[i] + "\r\n"));
+      assertEquals(3, scanner.getFieldCount(), RECORDS[i]);
+      for (int field = 1; field <= 3; field++) {
+        assertEquals(record.getString(field), scanner.getString(field),
+            "field " + field + " of " + RECORDS[i]);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.validate.content.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import gov.nasa.pds.label.object.FieldDescription;
+import gov.nasa.pds.label.object.FieldType;
+
+/**
+ * Tests the field layouts compiled from the field descriptions of a table.
+ */
+class TableLayoutTest {
+
+  private static FieldDescription field(String name, FieldType type, int offset, int length,
+      String format) {
+    FieldDescription field = new FieldDescription();
+    field.setName(name);
+    field.setType(type);
+    field.setOffset(offset);
+    field.setLength(length);
+    field.setFieldFormat(format);
+    return field;
+  }
+
+  private static FieldDescription bits(String name, int offset, int length, int startBit,
+      int stopBit) {
+    FieldDescription field = field(name, FieldType.UNSIGNEDBITSTRING, offset, length, null);
+    field.setStartBit(startBit);
+    field.setStopBit(stopBit);
+    return field;
+  }
+
+  /** A character table with three adjacent fields; a new array on each call, as jparser does. */
+  private static FieldDescription[] characterFields() {
+    return new FieldDescription[] {field("id", FieldType.ASCII_INTEGER, 0, 4, "%4d"),
+        field("value", FieldType.ASCII_REAL, 5, 8, null),
+        field("name", FieldType.ASCII_STRING, 14, 10, "%-10s")};
+  }
+
+  @Test
+  void testCompiledFields() {
+    TableLayout layout = TableLayout.of(characterFields());
+    assertEquals(3, layout.getFieldCount());
+    assertEquals(5, layout.getOffset(1));
+    assertEquals(8, layout.getLength(1));
+    assertEquals(FieldType.ASCII_REAL.getXMLType(), layout.getDataType(1));
+    assertEquals("%4d", layout.getFormat(0));
+    assertEquals("", layout.getFormat(1));
+    assertFalse(layout.isBitString(2));
+    for (int i = 0; i < 3; i++) {
+      assertNull(layout.getCharacterOverlap(i));
+      assertNull(layout.getFieldOverlap(i));
+    }
+  }
+
+  @Test
+  void testLayoutsAreShared() {
+    // Callers get a new field array for each record; the layout must still be found again.
+    assertSame(TableLayout.of(characterFields()), TableLayout.of(characterFields()));
+    assertSame(TableLayout.of(characterFields(), new int[] {1, 2, 3}),
+        TableLayout.of(characterFields()));
+    assertNotSame(TableLayout.of(characterFields(), new int[] {2, 3, 4}),
+        TableLayout.of(characterFields()));
+
+    FieldDescription[] other = characterFields();
+    other[2].setLength(11);
+    assertNotSame(TableLayout.of(other), TableLayout.of(characterFields()));
+  }
+
+  @Test
+  void testFieldNumbersFromLabel() {
+    TableLayout layout = TableLayout.of(characterFields(), new int[] {3, 5, 7});
+    assertEquals(3, layout.getFieldNumber(0));
+    assertEquals(7, layout.getFieldNumber(2));
+
+    TableLayout numbered = TableLayout.of(characterFields());
+    assertEquals(1, numbered.getFieldNumber(0));
+    assertEquals(3, numbered.getFieldNumber(2));
+
+    // Numbers that do not match the fields are ignored.
+    TableLayout mismatched = TableLayout.of(characterFields(), new int[] {9, 9});
+    assertEquals(2, mismatched.getFieldNumber(1));
+  }
+
+  @Test
+  void testOverlappingCharacterFields() {
+    FieldDescription[] fields = characterFields();
+    fields[1].setLength(10);
+    TableLayout layout = TableLayout.of(fields);
+
+    String overlap = layout.getCharacterOverlap(1);
+    assertNotNull(overlap);
+    assertTrue(overlap.contains("Current field ends at 15"), overlap);
+    assertNotNull(layout.getFieldOverlap(1));
+    assertEquals(2, layout.getFieldOverlapNumber(1));
+    assertNull(layout.getCharacterOverlap(0));
+    assertNull(layout.getFieldOverlap(0));
+  }
+
+  @Test
+  void testBitFields() {
+    FieldDescription[] fields = {bits("flags", 0, 2, 0, 3), bits("mode", 0, 2, 4, 7),
+        bits("level", 0, 2, 6, 9), field("count", FieldType.ASCII_INTEGER, 2, 4, null)};
+    TableLayout layout = TableLayout.of(fields);
+
+    assertTrue(layout.isBitString(0));
+    assertNull(layout.getFieldOverlap(0));
+    String overlap = layout.getFieldOverlap(1);
+    assertNotNull(overlap);
+    assertTrue(overlap.startsWith("The bit field overlaps the next field."), overlap);
+    // Bit fields sharing an offset are counted once in the reported field number.
+    assertEquals(1, layout.getFieldOverlapNumber(1));
+    assertNull(layout.getFieldOverlap(2));
+  }
+
+}
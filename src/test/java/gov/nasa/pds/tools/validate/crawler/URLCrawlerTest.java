@@ -0,0 +1,204 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.validate.crawler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gov.nasa.pds.tools.validate.Target;
+
+/**
+ * Tests the directory listings of the URL crawler against an embedded HTTP server.
+ */
+class URLCrawlerTest {
+
+  private HttpServer server;
+
+  private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+  /** Holds the responses until it is released, so that concurrent requests overlap. */
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.setExecutor(Executors.newCachedThreadPool());
+    this.server.createContext("/", this::handle);
+    this.server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.release.countDown();
+    this.server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    this.requests.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+    try {
+      this.release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    String body;
+    int status = 200;
+    if (path.equals("/bundle/")) {
+      body = "<html><body><a href=\"/\">Parent Directory</a>"
+          + "<a href=\"/bundle/bundle.xml\">bundle.xml</a>"
+          + "<a href=\"/bundle/data/\">data/</a></body></html>";
+    } else if (path.equals("/wide/")) {
+      StringBuilder links = new StringBuilder("<html><body>");
+      for (int i = 0; i < URLCrawler.MAX_LISTINGS + 10; i++) {
+        links.append("<a href=\"/wide/dir").append(i).append("/\">dir").append(i).append("/</a>");
+      }
+      body = links.append("</body></html>").toString();
+    } else if (path.startsWith("/wide/dir")) {
+      body = "<html><body></body></html>";
+    } else if (path.equals("/bundle/data/")) {
+      body = "<html><body><a href=\"/bundle/\">Parent Directory</a>"
+          + "<a href=\"/bundle/data/table.xml\">table.xml</a></body></html>";
+    } else {
+      body = "Not found";
+      status = 404;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private URL url(String path) throws Exception {
+    return new URL("http://127.0.0.1:" + this.server.getAddress().getPort() + path);
+  }
+
+  private int requestCount(String path) {
+    AtomicInteger count = this.requests.get(path);
+    return count == null ? 0 : count.get();
+  }
+
+  @Test
+  void testConcurrentCrawlsShareOneRequest() throws Exception {
+    URL bundle = url("/bundle/");
+    ExecutorService crawlers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<Target>>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(crawlers
+            .submit(() -> new URLCrawler().crawl(bundle, true, TrueFileFilter.TRUE)));
+      }
+      // Let the crawlers reach the listing before the server answers.
+      Thread.sleep(200);
+      this.release.countDown();
+      for (Future<List<Target>> result : results) {
+        List<Target> targets = result.get(10, TimeUnit.SECONDS);
+        assertEquals(2, targets.size());
+        assertTrue(targets.contains(new Target(url("/bundle/bundle.xml"), false)));
+        assertTrue(targets.contains(new Target(url("/bundle/data/"), true)));
+      }
+    } finally {
+      crawlers.shutdownNow();
+    }
+    assertEquals(1, requestCount("/bundle/"));
+  }
+
+  @Test
+  void testSubdirectoryListingIsPrefetched() throws Exception {
+    this.release.countDown();
+    new URLCrawler().crawl(url("/bundle/"), true, TrueFileFilter.TRUE);
+
+    List<Target> targets = new URLCrawler().crawl(url("/bundle/data/"), true, TrueFileFilter.TRUE);
+    assertEquals(1, targets.size());
+    assertFalse(targets.get(0).isDir());
+    assertEquals(1, requestCount("/bundle/data/"));
+  }
+
+  @Test
+  void testPrefetchStopsAtTheCacheSize() throws Exception {
+    this.release.countDown();
+    List<Target> targets = new URLCrawler().crawl(url("/wide/"), true, TrueFileFilter.TRUE);
+    assertEquals(URLCrawler.MAX_LISTINGS + 10, targets.size());
+
+    long deadline = System.currentTimeMillis() + 10000;
+    while (prefetchCount() < URLCrawler.MAX_LISTINGS && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    // Give an extra prefetch the time to show up.
+    Thread.sleep(200);
+    assertEquals(URLCrawler.MAX_LISTINGS, prefetchCount());
+  }
+
+  private int prefetchCount() {
+    int count = 0;
+    for (String path : this.requests.keySet()) {
+      if (path.startsWith("/wide/dir")) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  void testFailedListingIsRetried() throws Exception {
+    this.release.countDown();
+    URL missing = url("/missing/");
+    assertThrows(IOException.class,
+        () -> new URLCrawler().crawl(missing, true, TrueFileFilter.TRUE));
+    assertThrows(IOException.class,
+        () -> new URLCrawler().crawl(missing, true, TrueFileFilter.TRUE));
+    assertEquals(2, requestCount("/missing/"));
+  }
+
+}
@@ -0,0 +1,133 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.tools.validate.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import gov.nasa.pds.tools.validate.task.Task.Status;
+
+/**
+ * Tests the task manager that shares a work-stealing pool with its tasks.
+ */
+class ForkJoinTaskManagerTest {
+
+  private ForkJoinTaskManager manager;
+
+  @BeforeEach
+  void setUp() {
+    this.manager = new ForkJoinTaskManager(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.manager.shutdown();
+  }
+
+  @Test
+  void testTaskRunsOnSubmittingThread() {
+    RecordingTask task = new RecordingTask();
+    this.manager.submit(task);
+
+    assertSame(Thread.currentThread(), task.thread);
+    assertEquals(Status.COMPLETE, this.manager.getStatus(task));
+    ForkJoinTaskManager.TaskMetrics metrics = this.manager.getMetrics(task);
+    assertNotNull(metrics);
+    assertEquals(Status.COMPLETE, metrics.getStatus());
+    assertTrue(metrics.getRunTime() >= 0);
+  }
+
+  @Test
+  void testRemoveDropsMetrics() {
+    RecordingTask task = new RecordingTask();
+    this.manager.submit(task);
+    this.manager.remove(task);
+
+    assertNull(this.manager.getMetrics(task));
+    // Tasks the manager no longer knows are treated as complete.
+    assertEquals(Status.COMPLETE, this.manager.getStatus(task));
+  }
+
+  @Test
+  void testMetricsAreKeptWhenTaskFails() {
+    Task task = advisor -> {
+      advisor.setStatus(Status.RUNNING);
+      throw new IllegalStateException("failed");
+    };
+    assertThrows(IllegalStateException.class, () -> this.manager.submit(task));
+
+    ForkJoinTaskManager.TaskMetrics metrics = this.manager.getMetrics(task);
+    assertEquals(Status.RUNNING, metrics.getStatus());
+    assertTrue(metrics.getRunTime() >= 0);
+  }
+
+  @Test
+  void testCancelledValidationTaskDoesNotStart() {
+    ValidationTask task = new ValidationTask(null, null, null);
+    task.setLocation("file:/nowhere");
+    this.manager.cancel(task);
+    this.manager.submit(task);
+
+    assertTrue(task.getCancellationToken().isCancelled());
+    assertEquals(Status.CANCELED, this.manager.getStatus(task));
+  }
+
+  @Test
+  void testParallelism() {
+    assertEquals(2, this.manager.getParallelism());
+    ForkJoinTaskManager single = new ForkJoinTaskManager(0);
+    try {
+      assertEquals(1, single.getParallelism());
+    } finally {
+      single.shutdown();
+    }
+  }
+
+  private static class RecordingTask implements Task {
+
+    private Thread thread;
+
+    @Override
+    public void execute(TaskAdvisor advisor) {
+      advisor.setStatus(Status.RUNNING);
+      this.thread = Thread.currentThread();
+      advisor.setStatus(Status.COMPLETE);
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.validate.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.junit.jupiter.api.Test;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests the paged download of the registered context products against a mock Solr endpoint.
+ */
+class ContextProductsFetcherTest {
+
+  private static final int NUM_PRODUCTS = 95;
+
+  /**
+   * Each page is served from a newly shuffled list unless the request sorts on the fields that
+   * identify a product, like an index whose segments are merged between requests.
+   */
+  @Test
+  void testPagesAreSortedAndComplete() throws Exception {
+    MockSolrClient client = new MockSolrClient(NUM_PRODUCTS);
+    ContextProductsFetcher fetcher = new ContextProductsFetcher(client, 10, 3);
+
+    StringWriter out = new StringWriter();
+    long written = fetcher.fetch(new SolrQuery("*:*"), out);
+
+    assertEquals(NUM_PRODUCTS, written);
+    JsonObject json = JsonParser.parseString(out.toString()).getAsJsonObject();
+    JsonArray products = json.getAsJsonArray("Product_Context");
+    assertEquals(NUM_PRODUCTS, products.size());
+    Set<String> lidvids = new HashSet<>();
+    for (JsonElement product : products) {
+      lidvids.add(product.getAsJsonObject().get("lidvid").getAsString());
+    }
+    assertEquals(NUM_PRODUCTS, lidvids.size(), "a product was fetched twice");
+    assertTrue(client.sortedRequests > 0);
+    assertEquals(0, client.unsortedPageRequests);
+  }
+
+  @Test
+  void testDefaultConcurrencyMatchesProperties() {
+    assertEquals(2, ContextProductsFetcher.DEFAULT_CONCURRENCY);
+  }
+
+  @Test
+  void testFailedPageIsReported() {
+    MockSolrClient client = new MockSolrClient(NUM_PRODUCTS);
+    client.failAtStart = 20;
+    ContextProductsFetcher fetcher = new ContextProductsFetcher(client, 10, 2);
+
+    assertThrows(SolrServerException.class,
+        () -> fetcher.fetch(new SolrQuery("*:*"), new StringWriter()));
+  }
+
+  private static class MockSolrClient extends SolrClient {
+    private static final long serialVersionUID = 1L;
+
+    private final List<SolrDocument> documents = new ArrayList<>();
+
+    private final Random random = new Random(42);
+
+    private volatile int sortedRequests = 0;
+
+    private volatile int unsortedPageRequests = 0;
+
+    private volatile int failAtStart = -1;
+
+    MockSolrClient(int numProducts) {
+      for (int i = 0; i < numProducts; i++) {
+        SolrDocument document = new SolrDocument();
+        document.setField("identifier", String.format("urn:nasa:pds:context:target:t%03d", i));
+        document.setField("version_id", "1.0");
+        document.setField("data_product_type", "Target");
+        document.setField("target_name", "T" + i);
+        document.setField("target_type", "Asteroid");
+        this.documents.add(document);
+      }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public synchronized NamedList<Object> request(SolrRequest request, String collection)
+        throws SolrServerException, IOException {
+      SolrParams params = request.getParams();
+      int start = params.getInt(CommonParams.START, 0);
+      int rows = params.getInt(CommonParams.ROWS, 10);
+      String sort = params.get(CommonParams.SORT);
+
+      List<SolrDocument> ordered = new ArrayList<>(this.documents);
+      if ("identifier asc,version_id asc".equals(sort)) {
+        this.sortedRequests++;
+      } else {
+        if (rows > 0) {
+          this.unsortedPageRequests++;
+        }
+        Collections.shuffle(ordered, this.random);
+      }
+      if (start == this.failAtStart) {
+        throw new SolrServerException("Page at " + start + " failed");
+      }
+
+      SolrDocumentList page = new SolrDocumentList();
+      page.setNumFound(ordered.size());
+      page.setStart(start);
+      for (int i = start; i < Math.min(ordered.size(), start + rows); i++) {
+        page.add(ordered.get(i));
+      }
+      NamedList<Object> response = new NamedList<>();
+      response.add("response", page);
+      return response;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+}
@@ -0,0 +1,136 @@
+// Copyright 2019, California Institute of Technology ("Caltech").
+// U.S. Government sponsorship acknowledged.
+//
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// * Redistributions of source code must retain the above copyright notice,
+// this list of conditions and the following disclaimer.
+// * Redistributions must reproduce the above copyright notice, this list of
+// conditions and the following disclaimer in the documentation and/or other
+// materials provided with the distribution.
+// * Neither the name of Caltech nor its operating division, the Jet Propulsion
+// Laboratory, nor the names of its contributors may be used to endorse or
+// promote products derived from this software without specific prior written
+// permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+// POSSIBILITY OF SUCH DAMAGE.
+
+
+package gov.nasa.pds.web.ui.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import gov.nasa.pds.tools.dict.Dictionary;
+import gov.nasa.pds.web.ui.containers.LabelContainer;
+import gov.nasa.pds.web.ui.containers.tabularData.Row;
+
+/**
+ * Tests that the rows of a PDS3 table end at the ROWS of its table object.
+ */
+class TabularDataTest {
+
+  private static final String CRLF = "\r\n";
+
+  @TempDir
+  Path tempDir;
+
+  /**
+   * A data file holding a table followed by a text object, which must not be read as rows.
+   */
+  @Test
+  void testTableFollowedByAnotherObject() throws Exception {
+    File labelFile = writeTwoObjectProduct();
+    LabelContainer label = new LabelContainer(labelFile, null, new Dictionary());
+
+    TabularData tabularData = label.getTabularData("TABLE", 0);
+    assertNotNull(tabularData);
+    assertEquals(3L, tabularData.getTableRows());
+
+    List<Row> rows = new ArrayList<>();
+    tabularData.forEachRow(row -> rows.add(row));
+    assertEquals(3, rows.size());
+    for (Row row : rows) {
+      assertEquals(2, row.getElements().size());
+    }
+    assertTrue(tabularData.getProblems().isEmpty(), tabularData.getProblems().toString());
+  }
+
+  /**
+   * The rows kept by the constructor stop at the end of the table too.
+   */
+  @Test
+  void testRetainedRowsStopAtTableRows() throws Exception {
+    File labelFile = writeTwoObjectProduct();
+    LabelContainer label = new LabelContainer(labelFile, null, new Dictionary());
+
+    TabularData tabularData = label.getTabularData("TABLE", 10);
+    assertNotNull(tabularData);
+    assertEquals(3, tabularData.getRows().size());
+  }
+
+  private File writeTwoObjectProduct() throws Exception {
+    // 12 byte records: the table fills records 1 to 3, the text records 4 and 5
+    String data = "  1   1.50" + CRLF //
+        + "  2   2.50" + CRLF //
+        + "  3   3.50" + CRLF //
+        + "NOT A ROW " + CRLF //
+        + "OF THE TAB" + CRLF;
+    Files.write(this.tempDir.resolve("DATA.TAB"), data.getBytes(StandardCharsets.US_ASCII));
+
+    String label = "PDS_VERSION_ID = PDS3" + CRLF //
+        + "RECORD_TYPE = FIXED_LENGTH" + CRLF //
+        + "RECORD_BYTES = 12" + CRLF //
+        + "FILE_RECORDS = 5" + CRLF //
+        + "^TABLE = (\"DATA.TAB\", 1)" + CRLF //
+        + "^TEXT = (\"DATA.TAB\", 4)" + CRLF //
+        + "OBJECT = TABLE" + CRLF //
+        + "  INTERCHANGE_FORMAT = ASCII" + CRLF //
+        + "  ROWS = 3" + CRLF //
+        + "  COLUMNS = 2" + CRLF //
+        + "  ROW_BYTES = 12" + CRLF //
+        + "  OBJECT = COLUMN" + CRLF //
+        + "    NAME = ID" + CRLF //
+        + "    DATA_TYPE = ASCII_INTEGER" + CRLF //
+        + "    START_BYTE = 1" + CRLF //
+        + "    BYTES = 3" + CRLF //
+        + "  END_OBJECT = COLUMN" + CRLF //
+        + "  OBJECT = COLUMN" + CRLF //
+        + "    NAME = VALUE" + CRLF //
+        + "    DATA_TYPE = ASCII_REAL" + CRLF //
+        + "    START_BYTE = 5" + CRLF //
+        + "    BYTES = 6" + CRLF //
+        + "  END_OBJECT = COLUMN" + CRLF //
+        + "END_OBJECT = TABLE" + CRLF //
+        + "OBJECT = TEXT" + CRLF //
+        + "  PUBLICATION_DATE = 2020-01-01" + CRLF //
+        + "  NOTE = \"Trailing text\"" + CRLF //
+        + "END_OBJECT = TEXT" + CRLF //
+        + "END" + CRLF;
+    Path labelPath = this.tempDir.resolve("DATA.LBL");
+    Files.write(labelPath, label.getBytes(StandardCharsets.US_ASCII));
+    return labelPath.toFile();
+  }
+
+}